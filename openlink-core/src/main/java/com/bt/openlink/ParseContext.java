@@ -0,0 +1,279 @@
+package com.bt.openlink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallFeatureBoolean;
+import com.bt.openlink.type.CallFeatureHandset;
+import com.bt.openlink.type.CallFeatureSpeakerChannel;
+import com.bt.openlink.type.CallFeatureTextValue;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.Participant;
+import com.bt.openlink.type.PhoneNumber;
+
+/**
+ * The scratch state used whilst parsing a stanza, so that parsing a call event with many calls or features only
+ * allocates the objects that are parsed. Whilst a stanza is parsed with {@link #parse(ValidationLevel, Parser)}, each
+ * method resets and returns the same builder or list every time it is called on the parsing thread, so whatever it
+ * returns must be finished with - built, or copied - before the method is called again. In particular, a builder must
+ * not be held on to across a call to another parse method that may use the same builder.
+ * <p>
+ * The context is only kept by the thread for the duration of the outermost parse, and is removed from the thread
+ * when that parse finishes, so that nothing - in particular the class loader of an Openfire plugin that has since
+ * been unloaded - is kept alive by a pooled thread once it has finished parsing. Between parses the context is
+ * returned to a small pool owned by this class, so the next parse, on this or any other thread, reuses its builders
+ * rather than allocating new ones. Outside of a parse, {@link #get()} returns a new context every time it is called.
+ */
+public final class ParseContext {
+
+    private static final ThreadLocal<ParseContext> CONTEXT = new ThreadLocal<>();
+    private static final int MAX_POOLED_CONTEXTS = Runtime.getRuntime().availableProcessors();
+    private static final ArrayDeque<ParseContext> POOL = new ArrayDeque<>(MAX_POOLED_CONTEXTS);
+
+    /**
+     * Parses a stanza.
+     *
+     * @param <T>
+     *            the type of stanza parsed
+     * @param <E>
+     *            the exception thrown if the stanza cannot be read
+     */
+    @FunctionalInterface
+    public interface Parser<T, E extends Exception> {
+        T parse() throws E;
+    }
+
+    @Nonnull private ValidationLevel validationLevel = ValidationLevel.FULL;
+    @Nullable private ParseErrorList parseErrors;
+    @Nullable private CallStatus.Builder callStatusBuilder;
+    @Nullable private Call.Builder callBuilder;
+    @Nullable private Participant.Builder participantBuilder;
+    @Nullable private CallFeatureBoolean.Builder booleanFeatureBuilder;
+    @Nullable private CallFeatureHandset.Builder handsetFeatureBuilder;
+    @Nullable private CallFeatureSpeakerChannel.Builder speakerChannelFeatureBuilder;
+    @Nullable private CallFeatureTextValue.Builder textValueFeatureBuilder;
+    @Nonnull private final List<PhoneNumber> phoneNumbers = new ArrayList<>();
+
+    private ParseContext() {
+    }
+
+    /**
+     * @return the context of the parse in progress on the current thread, or a new context if there is none
+     */
+    @Nonnull
+    public static ParseContext get() {
+        final ParseContext context = CONTEXT.get();
+        return context == null ? new ParseContext() : context;
+    }
+
+    /**
+     * Parses a stanza at the validation level of the parse in progress on the current thread, if any, or in full
+     * otherwise, sharing the parse context for the duration of the parse.
+     *
+     * @param parser
+     *            parses the stanza
+     * @param <T>
+     *            the type of stanza parsed
+     * @param <E>
+     *            the exception thrown if the stanza cannot be read
+     * @return the stanza
+     * @throws E
+     *             if the stanza cannot be read
+     */
+    public static <T, E extends Exception> T parse(@Nonnull final Parser<T, E> parser) throws E {
+        final ParseContext context = CONTEXT.get();
+        return parse(context == null ? ValidationLevel.FULL : context.validationLevel, parser);
+    }
+
+    /**
+     * Parses a stanza, validating it, and any stanza parsed whilst it is, at the given level. Stanzas parsed on the
+     * current thread outside of a call to this method are validated in full. The parse context is removed from the
+     * current thread, and returned to the pool, once the outermost call to this method returns.
+     *
+     * @param validationLevel
+     *            how thoroughly to validate the stanza
+     * @param parser
+     *            parses the stanza
+     * @param <T>
+     *            the type of stanza parsed
+     * @param <E>
+     *            the exception thrown if the stanza cannot be read
+     * @return the stanza
+     * @throws E
+     *             if the stanza cannot be read
+     */
+    public static <T, E extends Exception> T parse(@Nonnull final ValidationLevel validationLevel, @Nonnull final Parser<T, E> parser) throws E {
+        final ParseContext outerContext = CONTEXT.get();
+        final ParseContext context = outerContext == null ? acquire() : outerContext;
+        final ValidationLevel previousLevel = context.validationLevel;
+        context.validationLevel = validationLevel;
+        if (outerContext == null) {
+            CONTEXT.set(context);
+        }
+        try {
+            return parser.parse();
+        } finally {
+            if (outerContext == null) {
+                CONTEXT.remove();
+                release(context);
+            } else {
+                context.validationLevel = previousLevel;
+            }
+        }
+    }
+
+    @Nonnull
+    private static ParseContext acquire() {
+        synchronized (POOL) {
+            final ParseContext context = POOL.pollFirst();
+            if (context != null) {
+                return context;
+            }
+        }
+        return new ParseContext();
+    }
+
+    private static void release(@Nonnull final ParseContext context) {
+        context.validationLevel = ValidationLevel.FULL;
+        // Don't keep what was last parsed alive whilst the context is pooled
+        context.phoneNumbers.clear();
+        if (context.callStatusBuilder != null) {
+            context.callStatusBuilder.reset();
+        }
+        if (context.callBuilder != null) {
+            context.callBuilder.reset();
+        }
+        if (context.participantBuilder != null) {
+            context.participantBuilder.reset();
+        }
+        synchronized (POOL) {
+            if (POOL.size() < MAX_POOLED_CONTEXTS) {
+                POOL.addFirst(context);
+            }
+        }
+    }
+
+    /**
+     * @return a new, empty list in which to collect the errors found whilst parsing a stanza, at the validation level
+     *         of the parse in progress on the current thread
+     */
+    @Nonnull
+    public static ParseErrorList newParseErrors() {
+        final ParseContext context = CONTEXT.get();
+        return new ParseErrorList(context == null ? ValidationLevel.FULL : context.validationLevel);
+    }
+
+    /**
+     * Returns an empty list in which to collect the errors found whilst parsing a stanza. The stanza must copy the
+     * errors, as {@link ParseErrorList#copyOf(List)} does, rather than keep the list.
+     *
+     * @return an empty list of errors, at the validation level of the current parse
+     */
+    @Nonnull
+    public ParseErrorList parseErrors() {
+        if (parseErrors != null && parseErrors.getValidationLevel() == validationLevel) {
+            parseErrors.clear();
+        } else {
+            parseErrors = new ParseErrorList(validationLevel);
+        }
+        return parseErrors;
+    }
+
+    @Nonnull
+    public CallStatus.Builder callStatusBuilder() {
+        if (callStatusBuilder == null) {
+            callStatusBuilder = CallStatus.Builder.start();
+        }
+        return callStatusBuilder.reset();
+    }
+
+    @Nonnull
+    public Call.Builder callBuilder() {
+        if (callBuilder == null) {
+            callBuilder = Call.Builder.start();
+        }
+        return callBuilder.reset();
+    }
+
+    @Nonnull
+    public Participant.Builder participantBuilder() {
+        if (participantBuilder == null) {
+            participantBuilder = Participant.Builder.start();
+        }
+        return participantBuilder.reset();
+    }
+
+    @Nonnull
+    public CallFeatureBoolean.Builder booleanFeatureBuilder() {
+        if (booleanFeatureBuilder == null) {
+            booleanFeatureBuilder = CallFeatureBoolean.Builder.start();
+        }
+        return booleanFeatureBuilder.reset();
+    }
+
+    @Nonnull
+    public CallFeatureHandset.Builder handsetFeatureBuilder() {
+        if (handsetFeatureBuilder == null) {
+            handsetFeatureBuilder = CallFeatureHandset.Builder.start();
+        }
+        return handsetFeatureBuilder.reset();
+    }
+
+    @Nonnull
+    public CallFeatureSpeakerChannel.Builder speakerChannelFeatureBuilder() {
+        if (speakerChannelFeatureBuilder == null) {
+            speakerChannelFeatureBuilder = CallFeatureSpeakerChannel.Builder.start();
+        }
+        return speakerChannelFeatureBuilder.reset();
+    }
+
+    @Nonnull
+    public CallFeatureTextValue.Builder textValueFeatureBuilder() {
+        if (textValueFeatureBuilder == null) {
+            textValueFeatureBuilder = CallFeatureTextValue.Builder.start();
+        }
+        return textValueFeatureBuilder.reset();
+    }
+
+    /**
+     * Parses a comma separated list of phone numbers, such as the {@code e164} attribute of a caller's number, without
+     * splitting it with a regular expression.
+     *
+     * @param commaSeparatedNumbers
+     *            the numbers, if any
+     * @return the numbers; empty entries are ignored
+     */
+    @Nonnull
+    public List<PhoneNumber> phoneNumbers(@Nullable final String commaSeparatedNumbers) {
+        phoneNumbers.clear();
+        if (commaSeparatedNumbers == null) {
+            return phoneNumbers;
+        }
+        final int length = commaSeparatedNumbers.length();
+        int start = 0;
+        while (start <= length) {
+            int end = commaSeparatedNumbers.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            final int next = end + 1;
+            while (start < end && commaSeparatedNumbers.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && commaSeparatedNumbers.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (end > start) {
+                phoneNumbers.add(PhoneNumber.from(commaSeparatedNumbers.substring(start, end)).get());
+            }
+            start = next;
+        }
+        return phoneNumbers;
+    }
+
+}
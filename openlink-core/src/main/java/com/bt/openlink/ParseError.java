@@ -0,0 +1,124 @@
+package com.bt.openlink;
+
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An error found whilst parsing a stanza. Rather than a message, the error records what was wrong, where and with which
+ * value; the message is only rendered if it is asked for, so that stanzas with errors that are never read are no more
+ * expensive to parse than those without.
+ */
+public final class ParseError {
+
+    /**
+     * What was wrong. Each code renders its message from the stanza description, the field and the value, in that
+     * order.
+     */
+    public enum Code {
+        MISSING_ATTRIBUTE("Invalid %s; missing '%s' attribute is mandatory"),
+        INVALID_INTEGER("Invalid %s; invalid %s '%s'; please supply an integer"),
+        INVALID_NUMBER_ATTRIBUTE("Invalid %s; Unable to parse number attribute %s: '%s'"),
+        INVALID_BOOLEAN("Invalid %s: %3$s is neither true or false"),
+        INVALID_ISO_8601("Invalid %s; invalid %s '%s'; format should be compliant with XEP-0082"),
+        INVALID_JAVA_UTIL_DATE("Invalid %s; invalid %s '%s'; format should be 'dow mon dd hh:mm:ss zzz yyyy'"),
+        INVALID_TIMESTAMP("Invalid %s; invalid %s '%s'; please supply a valid %2$s"),
+        /**
+         * Any other error; the value is the message.
+         */
+        OTHER("%3$s");
+
+        @Nonnull private final String format;
+
+        Code(@Nonnull final String format) {
+            this.format = format;
+        }
+    }
+
+    @Nonnull private final Code code;
+    @Nonnull private final String stanzaDescription;
+    @Nullable private final String field;
+    @Nullable private final String value;
+    // Rendered on demand; as strings are immutable, a race only means it may be rendered more than once
+    @Nullable private String message;
+
+    private ParseError(@Nonnull final Code code, @Nonnull final String stanzaDescription, @Nullable final String field, @Nullable final String value) {
+        this.code = code;
+        this.stanzaDescription = stanzaDescription;
+        this.field = field;
+        this.value = value;
+    }
+
+    /**
+     * @param code
+     *            what was wrong
+     * @param stanzaDescription
+     *            the description of the stanza, e.g. {@code get-call-history result}
+     * @param field
+     *            the element or attribute that was wrong
+     * @param value
+     *            the value of the element or attribute, if any
+     * @return the error
+     */
+    @Nonnull
+    public static ParseError of(@Nonnull final Code code, @Nonnull final String stanzaDescription, @Nonnull final String field, @Nullable final String value) {
+        return new ParseError(code, stanzaDescription, field, value);
+    }
+
+    /**
+     * @param message
+     *            the message describing the error
+     * @return an error with the code {@link Code#OTHER}
+     */
+    @Nonnull
+    public static ParseError of(@Nonnull final String message) {
+        return new ParseError(Code.OTHER, "", null, message);
+    }
+
+    @Nonnull
+    public Code getCode() {
+        return code;
+    }
+
+    @Nonnull
+    public String getStanzaDescription() {
+        return stanzaDescription;
+    }
+
+    @Nonnull
+    public Optional<String> getField() {
+        return Optional.ofNullable(field);
+    }
+
+    @Nonnull
+    public Optional<String> getValue() {
+        return Optional.ofNullable(value);
+    }
+
+    @Nonnull
+    public String getMessage() {
+        String renderedMessage = message;
+        if (renderedMessage == null) {
+            renderedMessage = code == Code.OTHER ? value : String.format(code.format, stanzaDescription, field, value);
+            message = renderedMessage;
+        }
+        return renderedMessage;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof ParseError && getMessage().equals(((ParseError) o).getMessage());
+    }
+
+    @Override
+    public int hashCode() {
+        return getMessage().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+
+}
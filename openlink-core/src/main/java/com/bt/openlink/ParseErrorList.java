@@ -0,0 +1,148 @@
+package com.bt.openlink;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The errors found whilst parsing a stanza. As a list of strings, it can be used wherever the parse errors are
+ * collected, but it holds the errors as {@link ParseError}s, so the message for each error is only rendered when the
+ * error is read. Errors should be added with {@link #add(List, ParseError.Code, String, String, String)}, which also
+ * works with any other list of strings. The list also carries the {@link ValidationLevel} of the parse.
+ */
+public final class ParseErrorList extends AbstractList<String> implements RandomAccess {
+
+    @Nonnull private final List<ParseError> errors;
+    @Nonnull private final ValidationLevel validationLevel;
+
+    /**
+     * Creates a list for a parse validated in full.
+     */
+    public ParseErrorList() {
+        this(ValidationLevel.FULL);
+    }
+
+    /**
+     * @param validationLevel
+     *            how thoroughly the stanza being parsed should be validated
+     */
+    public ParseErrorList(@Nonnull final ValidationLevel validationLevel) {
+        this.errors = new ArrayList<>(2);
+        this.validationLevel = validationLevel;
+    }
+
+    /**
+     * @param parseErrors
+     *            the errors to copy; if a {@code ParseErrorList}, the errors are copied without being rendered
+     */
+    public ParseErrorList(@Nonnull final Collection<String> parseErrors) {
+        if (parseErrors instanceof ParseErrorList) {
+            this.errors = new ArrayList<>(((ParseErrorList) parseErrors).errors);
+            this.validationLevel = ((ParseErrorList) parseErrors).validationLevel;
+        } else {
+            this.errors = new ArrayList<>(parseErrors.size());
+            this.validationLevel = ValidationLevel.FULL;
+            parseErrors.forEach(this::add);
+        }
+    }
+
+    /**
+     * Copies the errors found whilst parsing a stanza, for the stanza to keep.
+     *
+     * @param parseErrors
+     *            the errors, or null if the stanza was not parsed
+     * @return a copy of the errors, or a shared empty list if there are none
+     */
+    @Nonnull
+    public static List<String> copyOf(@Nullable final List<String> parseErrors) {
+        return parseErrors == null || parseErrors.isEmpty() ? Collections.emptyList() : new ParseErrorList(parseErrors);
+    }
+
+    /**
+     * Adds an error, without rendering its message if the list is a {@code ParseErrorList}.
+     *
+     * @param parseErrors
+     *            the list to add the error to
+     * @param code
+     *            what was wrong
+     * @param stanzaDescription
+     *            the description of the stanza
+     * @param field
+     *            the element or attribute that was wrong
+     * @param value
+     *            the value of the element or attribute, if any
+     */
+    public static void add(
+            @Nonnull final List<String> parseErrors,
+            @Nonnull final ParseError.Code code,
+            @Nonnull final String stanzaDescription,
+            @Nonnull final String field,
+            @Nullable final String value) {
+        final ParseError error = ParseError.of(code, stanzaDescription, field, value);
+        if (parseErrors instanceof ParseErrorList) {
+            ((ParseErrorList) parseErrors).errors.add(error);
+        } else {
+            parseErrors.add(error.getMessage());
+        }
+    }
+
+    /**
+     * @param parseErrors
+     *            the errors found whilst parsing a stanza
+     * @return the errors; errors that were added as strings have the code {@link ParseError.Code#OTHER}
+     */
+    @Nonnull
+    public static List<ParseError> getParseErrors(@Nonnull final List<String> parseErrors) {
+        if (parseErrors instanceof ParseErrorList) {
+            return Collections.unmodifiableList(((ParseErrorList) parseErrors).errors);
+        }
+        final List<ParseError> errors = new ArrayList<>(parseErrors.size());
+        parseErrors.forEach(message -> errors.add(ParseError.of(message)));
+        return errors;
+    }
+
+    @Nonnull
+    public ValidationLevel getValidationLevel() {
+        return validationLevel;
+    }
+
+    @Override
+    public String get(final int index) {
+        return errors.get(index).getMessage();
+    }
+
+    @Override
+    public int size() {
+        return errors.size();
+    }
+
+    @Override
+    public void add(final int index, @Nonnull final String message) {
+        errors.add(index, ParseError.of(message));
+        modCount++;
+    }
+
+    @Override
+    public String set(final int index, @Nonnull final String message) {
+        return errors.set(index, ParseError.of(message)).getMessage();
+    }
+
+    @Override
+    public String remove(final int index) {
+        modCount++;
+        return errors.remove(index).getMessage();
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        errors.clear();
+    }
+
+}
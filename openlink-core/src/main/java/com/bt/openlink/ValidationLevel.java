@@ -0,0 +1,54 @@
+package com.bt.openlink;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * How thoroughly a stanza is validated as it is parsed. The level is carried by the {@link ParseErrorList} that collects
+ * the parse errors, so applies to a single parse; builders given any other list of errors validate in full. The level
+ * of a parse is chosen by the caller, e.g. with {@link ParseContext#parse(ValidationLevel, ParseContext.Parser)}.
+ */
+public enum ValidationLevel {
+
+    /**
+     * The stanza is not validated, e.g. for high volume traffic from a trusted Openlink server. Errors found whilst
+     * parsing values are still reported.
+     */
+    OFF,
+    /**
+     * Only mandatory values are checked; checks that grow with the size of the stanza, such as the uniqueness of call
+     * ids, are skipped.
+     */
+    FAST,
+    /**
+     * The stanza is validated in full. The default.
+     */
+    FULL;
+
+    /**
+     * @param parseErrors
+     *            the list collecting the parse errors
+     * @return the level of validation to apply when building with the list
+     */
+    @Nonnull
+    public static ValidationLevel of(@Nullable final List<String> parseErrors) {
+        return parseErrors instanceof ParseErrorList ? ((ParseErrorList) parseErrors).getValidationLevel() : FULL;
+    }
+
+    /**
+     * @return true if the mandatory values should be checked
+     */
+    public boolean isEnabled() {
+        return this != OFF;
+    }
+
+    /**
+     * @return true if all checks, including those that grow with the size of the stanza, should be made
+     */
+    public boolean isFull() {
+        return this == FULL;
+    }
+
+}
@@ -0,0 +1,299 @@
+package com.bt.openlink.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A size-bounded cache of values that expire a fixed time after they are loaded. Values are loaded asynchronously; while
+ * a value is being loaded, every request for it shares the same load, so concurrent misses result in a single load. A
+ * load that fails is not cached.
+ * <p>
+ * Optionally, a value that is requested some time after it was loaded, but before it expires, is refreshed ahead of
+ * expiry; the cached value is returned immediately, and replaced once the refresh completes. Frequently used values
+ * are then never seen to expire.
+ * <p>
+ * Once the cache is full, the least recently used value is evicted to make room for another. The cache is thread-safe.
+ *
+ * @param <K>
+ *            the type of key
+ * @param <V>
+ *            the type of value
+ */
+public class ExpiringCache<K, V> {
+
+    @Nonnull private final Clock clock;
+    private final long timeToLiveMillis;
+    private final long refreshAfterMillis;
+    private final int maximumSize;
+    // In order of access, least recently used first
+    @Nonnull private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * @param timeToLive
+     *            the time for which a value is cached after it has been loaded
+     * @param maximumSize
+     *            the maximum number of values to cache
+     */
+    public ExpiringCache(@Nonnull final Duration timeToLive, final int maximumSize) {
+        this(timeToLive, null, maximumSize, Clock.systemUTC());
+    }
+
+    /**
+     * @param timeToLive
+     *            the time for which a value is cached after it has been loaded
+     * @param refreshAfter
+     *            the time after a value has been loaded that a request for it triggers a refresh; less than the time to
+     *            live
+     * @param maximumSize
+     *            the maximum number of values to cache
+     */
+    public ExpiringCache(@Nonnull final Duration timeToLive, @Nonnull final Duration refreshAfter, final int maximumSize) {
+        this(timeToLive, refreshAfter, maximumSize, Clock.systemUTC());
+    }
+
+    ExpiringCache(@Nonnull final Duration timeToLive, @Nullable final Duration refreshAfter, final int maximumSize, @Nonnull final Clock clock) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("The time to live must be positive");
+        }
+        if (refreshAfter != null && (refreshAfter.isNegative() || refreshAfter.compareTo(timeToLive) >= 0)) {
+            throw new IllegalArgumentException("The refresh time must be less than the time to live");
+        }
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be at least one");
+        }
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.refreshAfterMillis = refreshAfter == null ? Long.MAX_VALUE : refreshAfter.toMillis();
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached value for a key, loading it if it is not cached or has expired.
+     *
+     * @param key
+     *            the key
+     * @param loader
+     *            loads the value should it not be cached; it is not called if a load of the same key is in progress
+     * @return the value, once it has been loaded
+     */
+    @Nonnull
+    public CompletionStage<V> get(@Nonnull final K key, @Nonnull final Function<? super K, ? extends CompletionStage<V>> loader) {
+        final Entry<V> cachedEntry;
+        final boolean refresh;
+        final Entry<V> entry;
+        synchronized (this) {
+            final long now = clock.millis();
+            final Entry<V> existingEntry = entries.get(key);
+            if (existingEntry != null && !existingEntry.isDueAfter(now, timeToLiveMillis)) {
+                hitCount++;
+                cachedEntry = existingEntry;
+                refresh = cachedEntry.isDueAfter(now, refreshAfterMillis) && !cachedEntry.refreshing;
+                if (refresh) {
+                    cachedEntry.refreshing = true;
+                }
+                entry = null;
+            } else {
+                missCount++;
+                cachedEntry = null;
+                refresh = false;
+                entry = new Entry<>();
+                putEntry(key, entry);
+            }
+        }
+        // The loader is called outside the lock, both to refresh a cached value and to load a missing one, as it may
+        // take a while to send a request or may complete synchronously
+        if (cachedEntry != null) {
+            if (refresh) {
+                refresh(key, cachedEntry, loader);
+            }
+            return cachedEntry.value.thenApply(Function.identity());
+        }
+        load(key, loader).whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                entry.setLoaded(value, clock.millis());
+            } else {
+                synchronized (this) {
+                    entries.remove(key, entry);
+                }
+                entry.value.completeExceptionally(throwable);
+            }
+        });
+        return entry.value.thenApply(Function.identity());
+    }
+
+    private void refresh(@Nonnull final K key, @Nonnull final Entry<V> cachedEntry, @Nonnull final Function<? super K, ? extends CompletionStage<V>> loader) {
+        load(key, loader).whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                final Entry<V> refreshedEntry = new Entry<>();
+                refreshedEntry.setLoaded(value, clock.millis());
+                synchronized (this) {
+                    // Don't reinstate a value that has been invalidated or replaced in the meantime
+                    if (entries.get(key) == cachedEntry) {
+                        entries.put(key, refreshedEntry);
+                    }
+                }
+            } else {
+                // The cached value can still be used until it expires, and refreshed again on the next request
+                cachedEntry.refreshing = false;
+            }
+        });
+    }
+
+    @Nonnull
+    private static <K, V> CompletionStage<V> load(@Nonnull final K key, @Nonnull final Function<? super K, ? extends CompletionStage<V>> loader) {
+        try {
+            return loader.apply(key);
+        } catch (final RuntimeException e) {
+            final CompletableFuture<V> failedLoad = new CompletableFuture<>();
+            failedLoad.completeExceptionally(e);
+            return failedLoad;
+        }
+    }
+
+    private void putEntry(@Nonnull final K key, @Nonnull final Entry<V> entry) {
+        entries.put(key, entry);
+        if (entries.size() > maximumSize) {
+            final Iterator<Entry<V>> leastRecentlyUsed = entries.values().iterator();
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    /**
+     * Caches a value, replacing any cached value or load in progress, e.g. once the value has been written elsewhere.
+     *
+     * @param key
+     *            the key
+     * @param value
+     *            the value
+     */
+    public void put(@Nonnull final K key, @Nonnull final V value) {
+        final Entry<V> entry = new Entry<>();
+        entry.setLoaded(value, clock.millis());
+        synchronized (this) {
+            putEntry(key, entry);
+        }
+    }
+
+    /**
+     * Atomically replaces the cached value for a key with an updated value, e.g. to write a change through to it. Should
+     * the value not be cached, be loading or have expired, or should the update return null, the value is removed from
+     * the cache instead, so that it is loaded afresh when it is next requested. The update is called whilst the cache
+     * is locked, so must be quick.
+     *
+     * @param key
+     *            the key
+     * @param update
+     *            returns the updated value from the cached value, or null if the value must be reloaded
+     */
+    public synchronized void update(@Nonnull final K key, @Nonnull final Function<? super V, ? extends V> update) {
+        final V updatedValue = getIfPresent(key).map(update).orElse(null);
+        if (updatedValue == null) {
+            entries.remove(key);
+            return;
+        }
+        final Entry<V> entry = new Entry<>();
+        entry.setLoaded(updatedValue, clock.millis());
+        putEntry(key, entry);
+    }
+
+    /**
+     * @param key
+     *            the key
+     * @return the cached value for the key, if it has been loaded and has not expired
+     */
+    @Nonnull
+    public synchronized Optional<V> getIfPresent(@Nonnull final K key) {
+        final Entry<V> entry = entries.get(key);
+        if (entry == null || !entry.value.isDone() || entry.isDueAfter(clock.millis(), timeToLiveMillis)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry.value.getNow(null));
+    }
+
+    /**
+     * Removes a value from the cache. Should the value currently be loading, the load is allowed to complete but its
+     * value is not cached.
+     *
+     * @param key
+     *            the key of the value to remove
+     */
+    public synchronized void invalidate(@Nonnull final K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes every loaded value that matches a predicate from the cache.
+     *
+     * @param predicate
+     *            tests each key and loaded value
+     */
+    public synchronized void invalidateIf(@Nonnull final BiPredicate<? super K, ? super V> predicate) {
+        final Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<K, Entry<V>> entry = iterator.next();
+            final CompletableFuture<V> value = entry.getValue().value;
+            if (value.isDone() && !value.isCompletedExceptionally() && predicate.test(entry.getKey(), value.getNow(null))) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes every value from the cache.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of values cached or being loaded, including any that have expired but not yet been replaced
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of requests that were satisfied by a cached value or a load already in progress
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of requests that resulted in a load
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private static final class Entry<V> {
+        @Nonnull private final CompletableFuture<V> value = new CompletableFuture<>();
+        // Values don't expire until they have been loaded
+        private volatile long loadedAt = Long.MAX_VALUE;
+        private volatile boolean refreshing;
+
+        private void setLoaded(@Nullable final V loadedValue, final long now) {
+            loadedAt = now;
+            value.complete(loadedValue);
+        }
+
+        private boolean isDueAfter(final long now, final long millis) {
+            return loadedAt != Long.MAX_VALUE && now - loadedAt >= millis;
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.bt.openlink.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.ActiveFeature;
+import com.bt.openlink.type.Feature;
+import com.bt.openlink.type.FeatureId;
+import com.bt.openlink.type.ProfileId;
+
+/**
+ * Caches the results of get-features and query-features requests for each profile, e.g.
+ *
+ * <pre>
+ * final FeatureCache cache = new FeatureCache(new SmackFeatureLoader(connection, openlinkServer), Duration.ofMinutes(30), Duration.ofMinutes(25), 1000);
+ * cache.queryFeatures(profileId).thenAccept(features -&gt; showFeatures(features.getFeatures(FeatureType.SPEAKER_CHANNEL)));
+ * </pre>
+ *
+ * The features of a profile rarely change, so each result is refreshed in the background once it has been cached for
+ * a while, rather than being reloaded when it expires. A feature set with {@link #setFeature} is written through to
+ * the cached query-features result once the Openlink server has accepted it, so the cache need not be refreshed after
+ * every change.
+ */
+public class FeatureCache {
+
+    /**
+     * Sends the requests whose results are cached.
+     */
+    public interface Loader {
+
+        @Nonnull
+        CompletionStage<List<Feature>> getFeatures(@Nonnull ProfileId profileId);
+
+        @Nonnull
+        CompletionStage<List<ActiveFeature>> queryFeatures(@Nonnull ProfileId profileId);
+
+        /**
+         * Sends a set-features request, completing once a successful result has been received.
+         */
+        @Nonnull
+        CompletionStage<Void> setFeature(@Nonnull ProfileId profileId, @Nonnull FeatureId featureId, @Nonnull String value1, @Nullable String value2, @Nullable String value3);
+    }
+
+    @Nonnull private final Loader loader;
+    @Nonnull private final ExpiringCache<ProfileId, FeatureCatalogue<Feature>> features;
+    @Nonnull private final ExpiringCache<ProfileId, FeatureCatalogue<ActiveFeature>> activeFeatures;
+
+    /**
+     * @param loader
+     *            sends the requests
+     * @param timeToLive
+     *            the time for which a result is cached
+     * @param refreshAfter
+     *            the time after which a result that is used is refreshed in the background; less than the time to live
+     * @param maximumSize
+     *            the maximum number of profiles whose results of each kind are cached
+     */
+    public FeatureCache(@Nonnull final Loader loader, @Nonnull final Duration timeToLive, @Nonnull final Duration refreshAfter, final int maximumSize) {
+        this.loader = loader;
+        this.features = new ExpiringCache<>(timeToLive, refreshAfter, maximumSize);
+        this.activeFeatures = new ExpiringCache<>(timeToLive, refreshAfter, maximumSize);
+    }
+
+    /**
+     * @param profileId
+     *            the profile
+     * @return the features of the profile, as returned by a get-features request
+     */
+    @Nonnull
+    public CompletionStage<FeatureCatalogue<Feature>> getFeatures(@Nonnull final ProfileId profileId) {
+        return features.get(profileId, key -> loader.getFeatures(key).thenApply(FeatureCatalogue::new));
+    }
+
+    /**
+     * @param profileId
+     *            the profile
+     * @return the features of the profile and their current values, as returned by a query-features request
+     */
+    @Nonnull
+    public CompletionStage<FeatureCatalogue<ActiveFeature>> queryFeatures(@Nonnull final ProfileId profileId) {
+        return activeFeatures.get(profileId, key -> loader.queryFeatures(key).thenApply(FeatureCatalogue::new));
+    }
+
+    /**
+     * Sets the value of a feature. Once the Openlink server has accepted the change, the cached value of the feature is
+     * updated; any value not given is left unchanged.
+     *
+     * @param profileId
+     *            the profile
+     * @param featureId
+     *            the feature to set
+     * @param value1
+     *            the first value of the feature
+     * @param value2
+     *            the second value of the feature, if any
+     * @param value3
+     *            the third value of the feature, if any
+     * @return a stage that completes once the feature has been set
+     */
+    @Nonnull
+    public CompletionStage<Void> setFeature(@Nonnull final ProfileId profileId, @Nonnull final FeatureId featureId, @Nonnull final String value1, @Nullable final String value2, @Nullable final String value3) {
+        return loader.setFeature(profileId, featureId, value1, value2, value3)
+                .thenRun(() -> writeThrough(profileId, featureId, value1, value2, value3));
+    }
+
+    private void writeThrough(@Nonnull final ProfileId profileId, @Nonnull final FeatureId featureId, @Nonnull final String value1, @Nullable final String value2, @Nullable final String value3) {
+        // A feature that isn't known leaves nothing in the cache, so the server is asked for it
+        activeFeatures.update(profileId, catalogue -> catalogue.getFeature(featureId)
+                .map(feature -> catalogue.withFeature(withValues(feature, featureId, value1, value2, value3)))
+                .orElse(null));
+    }
+
+    @Nonnull
+    private static ActiveFeature withValues(@Nonnull final ActiveFeature feature, @Nonnull final FeatureId featureId, @Nonnull final String value1, @Nullable final String value2, @Nullable final String value3) {
+        final ActiveFeature.Builder builder = ActiveFeature.Builder.start()
+                .setId(featureId)
+                .setValue1(value1);
+        feature.getType().ifPresent(builder::setType);
+        feature.getLabel().ifPresent(builder::setLabel);
+        final Optional<String> updatedValue2 = value2 == null ? feature.getValue2() : Optional.of(value2);
+        updatedValue2.ifPresent(builder::setValue2);
+        final Optional<String> updatedValue3 = value3 == null ? feature.getValue3() : Optional.of(value3);
+        updatedValue3.ifPresent(builder::setValue3);
+        return builder.build(new ArrayList<>());
+    }
+
+    /**
+     * Invalidates the cached features of a profile, e.g. as the profile has changed.
+     *
+     * @param profileId
+     *            the profile
+     */
+    public void invalidate(@Nonnull final ProfileId profileId) {
+        features.invalidate(profileId);
+        activeFeatures.invalidate(profileId);
+    }
+
+    /**
+     * Invalidates every cached result.
+     */
+    public void invalidateAll() {
+        features.invalidateAll();
+        activeFeatures.invalidateAll();
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.bt.openlink.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+
+import com.bt.openlink.type.Feature;
+import com.bt.openlink.type.FeatureId;
+import com.bt.openlink.type.FeatureType;
+
+/**
+ * The features of a profile, indexed so that a feature can be found by id, or the features of a type listed, without
+ * searching the list. A catalogue is immutable; an updated feature results in a new catalogue.
+ *
+ * @param <F>
+ *            the type of feature
+ */
+public final class FeatureCatalogue<F extends Feature> {
+
+    @Nonnull private final List<F> features;
+    @Nonnull private final Map<FeatureId, F> featuresById = new LinkedHashMap<>();
+    @Nonnull private final Map<FeatureType, List<F>> featuresByType = new EnumMap<>(FeatureType.class);
+
+    /**
+     * @param features
+     *            the features of the profile, in the order returned by the Openlink server
+     */
+    public FeatureCatalogue(@Nonnull final List<F> features) {
+        this.features = Collections.unmodifiableList(new ArrayList<>(features));
+        for (final F feature : this.features) {
+            feature.getId().ifPresent(featureId -> featuresById.put(featureId, feature));
+            feature.getType().ifPresent(featureType -> featuresByType.computeIfAbsent(featureType, type -> new ArrayList<>()).add(feature));
+        }
+    }
+
+    /**
+     * @return every feature, in the order returned by the Openlink server
+     */
+    @Nonnull
+    public List<F> getFeatures() {
+        return features;
+    }
+
+    /**
+     * @param featureId
+     *            the id of the feature
+     * @return the feature with the id, if there is one
+     */
+    @Nonnull
+    public Optional<F> getFeature(@Nonnull final FeatureId featureId) {
+        return Optional.ofNullable(featuresById.get(featureId));
+    }
+
+    /**
+     * @param featureType
+     *            the type of feature
+     * @return every feature of the type, in the order returned by the Openlink server
+     */
+    @Nonnull
+    public List<F> getFeatures(@Nonnull final FeatureType featureType) {
+        return Collections.unmodifiableList(featuresByType.getOrDefault(featureType, Collections.emptyList()));
+    }
+
+    /**
+     * @param feature
+     *            the updated feature
+     * @return a catalogue in which the feature with the same id has been replaced by the updated feature
+     */
+    @Nonnull
+    FeatureCatalogue<F> withFeature(@Nonnull final F feature) {
+        final List<F> updatedFeatures = new ArrayList<>(features.size());
+        for (final F existingFeature : features) {
+            updatedFeatures.add(existingFeature.getId().equals(feature.getId()) ? feature : existingFeature);
+        }
+        return new FeatureCatalogue<>(updatedFeatures);
+    }
+
+}
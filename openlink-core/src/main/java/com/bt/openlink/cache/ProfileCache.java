@@ -0,0 +1,151 @@
+package com.bt.openlink.cache;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nonnull;
+
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.DeviceStatus;
+import com.bt.openlink.type.Interest;
+import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.Profile;
+import com.bt.openlink.type.ProfileId;
+
+/**
+ * Caches the results of get-profiles, get-profile, get-interests and get-interest requests, e.g.
+ *
+ * <pre>
+ * final ProfileCache&lt;Jid&gt; cache = new ProfileCache&lt;&gt;(new SmackProfileLoader(connection, openlinkServer), Duration.ofMinutes(5), 1000);
+ * cache.getProfiles(user).thenAccept(this::showProfiles);
+ * </pre>
+ *
+ * Each kind of result is held in its own {@link ExpiringCache}, so is loaded at most once at a time and expires after
+ * the time to live. As device status and call status indicate that a profile or interest has changed, any cached result
+ * that includes it should be invalidated by passing the status to {@link #onDeviceStatus(DeviceStatus)} or
+ * {@link #onCallStatus(CallStatus)}.
+ *
+ * @param <J>
+ *            the type of JID used by the XMPP library
+ */
+public class ProfileCache<J extends Serializable> {
+
+    /**
+     * Sends the requests whose results are cached.
+     *
+     * @param <J>
+     *            the type of JID used by the XMPP library
+     */
+    public interface Loader<J extends Serializable> {
+
+        @Nonnull
+        CompletionStage<List<Profile>> getProfiles(@Nonnull J user);
+
+        @Nonnull
+        CompletionStage<Profile> getProfile(@Nonnull ProfileId profileId);
+
+        @Nonnull
+        CompletionStage<List<Interest>> getInterests(@Nonnull ProfileId profileId);
+
+        @Nonnull
+        CompletionStage<Interest> getInterest(@Nonnull InterestId interestId);
+    }
+
+    @Nonnull private final Loader<J> loader;
+    @Nonnull private final ExpiringCache<J, List<Profile>> profilesByUser;
+    @Nonnull private final ExpiringCache<ProfileId, Profile> profiles;
+    @Nonnull private final ExpiringCache<ProfileId, List<Interest>> interestsByProfile;
+    @Nonnull private final ExpiringCache<InterestId, Interest> interests;
+
+    /**
+     * @param loader
+     *            sends the requests
+     * @param timeToLive
+     *            the time for which a result is cached
+     * @param maximumSize
+     *            the maximum number of results of each kind to cache
+     */
+    public ProfileCache(@Nonnull final Loader<J> loader, @Nonnull final Duration timeToLive, final int maximumSize) {
+        this.loader = loader;
+        this.profilesByUser = new ExpiringCache<>(timeToLive, maximumSize);
+        this.profiles = new ExpiringCache<>(timeToLive, maximumSize);
+        this.interestsByProfile = new ExpiringCache<>(timeToLive, maximumSize);
+        this.interests = new ExpiringCache<>(timeToLive, maximumSize);
+    }
+
+    @Nonnull
+    public CompletionStage<List<Profile>> getProfiles(@Nonnull final J user) {
+        return profilesByUser.get(user, loader::getProfiles);
+    }
+
+    @Nonnull
+    public CompletionStage<Profile> getProfile(@Nonnull final ProfileId profileId) {
+        return profiles.get(profileId, loader::getProfile);
+    }
+
+    @Nonnull
+    public CompletionStage<List<Interest>> getInterests(@Nonnull final ProfileId profileId) {
+        return interestsByProfile.get(profileId, loader::getInterests);
+    }
+
+    @Nonnull
+    public CompletionStage<Interest> getInterest(@Nonnull final InterestId interestId) {
+        return interests.get(interestId, loader::getInterest);
+    }
+
+    /**
+     * Invalidates every cached result that includes the profile of a device status.
+     *
+     * @param deviceStatus
+     *            the device status received
+     */
+    public void onDeviceStatus(@Nonnull final DeviceStatus deviceStatus) {
+        deviceStatus.getProfileId().ifPresent(this::invalidate);
+    }
+
+    /**
+     * Invalidates every cached result that includes the profile or interest of a call in a call status.
+     *
+     * @param callStatus
+     *            the call status received
+     */
+    public void onCallStatus(@Nonnull final CallStatus callStatus) {
+        for (final Call call : callStatus.getCalls()) {
+            call.getProfileId().ifPresent(this::invalidate);
+            call.getInterestId().ifPresent(this::invalidate);
+        }
+    }
+
+    /**
+     * @param profileId
+     *            the profile whose cached results are to be removed
+     */
+    public void invalidate(@Nonnull final ProfileId profileId) {
+        profiles.invalidate(profileId);
+        interestsByProfile.invalidate(profileId);
+        profilesByUser.invalidateIf((user, userProfiles) -> userProfiles.stream().anyMatch(profile -> profile.getId().map(profileId::equals).orElse(false)));
+    }
+
+    /**
+     * @param interestId
+     *            the interest whose cached results are to be removed
+     */
+    public void invalidate(@Nonnull final InterestId interestId) {
+        interests.invalidate(interestId);
+        interestsByProfile.invalidateIf((profileId, profileInterests) -> profileInterests.stream().anyMatch(interest -> interest.getId().map(interestId::equals).orElse(false)));
+    }
+
+    /**
+     * Removes every cached result.
+     */
+    public void invalidateAll() {
+        profilesByUser.invalidateAll();
+        profiles.invalidateAll();
+        interestsByProfile.invalidateAll();
+        interests.invalidateAll();
+    }
+
+}
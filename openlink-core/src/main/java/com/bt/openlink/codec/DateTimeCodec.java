@@ -0,0 +1,456 @@
+package com.bt.openlink.codec;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.zone.ZoneRules;
+import java.util.Locale;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Parses and formats the date/times used by Openlink, directly between text and milliseconds since the epoch. Unlike
+ * {@link Instant#parse(CharSequence)}, {@link java.sql.Timestamp#valueOf(String)} and {@link DateTimeFormatter}, text
+ * that is not valid is reported by returning {@link #INVALID} rather than by throwing an exception, and no objects are
+ * created other than the formatted text. As many date/times in a stanza share the same second, the formatted second is
+ * cached. The formats are
+ * <ul>
+ * <li>ISO 8601, as used by XEP-0082, e.g. {@code 2017-10-09T08:07:00.000Z}; used for call start times, call history
+ * start times and pub-sub delays.</li>
+ * <li>The format of {@link java.util.Date#toString()}, e.g. {@code Mon Oct 09 08:07:00 UTC 2017}; used for the legacy
+ * participant timestamp.</li>
+ * <li>The JDBC timestamp format, e.g. {@code 2017-10-09 09:07:00.0}, in the local time zone; used for the legacy call
+ * history timestamp and voice message creation dates.</li>
+ * </ul>
+ */
+public final class DateTimeCodec {
+
+    /**
+     * Returned when the text is not a valid date/time.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final String[] DAYS_OF_WEEK = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    private static final int SECONDS_PER_DAY = 86_400;
+    // The formatter is only used for time zones other than UTC
+    private static final DateTimeFormatter JAVA_UTIL_DATE_FORMATTER = DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss zzz yyyy", Locale.ENGLISH);
+
+    // The most recently formatted seconds; each is immutable, so can be shared between threads without locking
+    private static volatile FormattedSecond lastIso8601Second = new FormattedSecond(Long.MIN_VALUE, "");
+    private static volatile FormattedSecond lastJavaUtilDateSecond = new FormattedSecond(Long.MIN_VALUE, "");
+
+    private DateTimeCodec() {
+    }
+
+    /**
+     * @param epochMillis
+     *            milliseconds since the epoch, or {@link #INVALID}
+     * @return the instant, or empty if invalid
+     */
+    @Nonnull
+    public static Optional<Instant> toInstant(final long epochMillis) {
+        return epochMillis == INVALID ? Optional.empty() : Optional.of(Instant.ofEpochMilli(epochMillis));
+    }
+
+    /**
+     * Parses an ISO 8601 date/time in UTC, or with an offset from UTC, e.g. {@code 2017-10-09T08:07:00Z},
+     * {@code 2017-10-09T08:07:00.123Z} or {@code 2017-10-09T09:07:00+01:00}. Fractions of a millisecond are discarded.
+     *
+     * @param text
+     *            the text to parse
+     * @return the milliseconds since the epoch, or {@link #INVALID}
+     */
+    public static long parseIso8601(@Nonnull final CharSequence text) {
+        final int length = text.length();
+        if (length < 20 || text.charAt(10) != 'T') {
+            return INVALID;
+        }
+        final long dateTime = parseDateTime(text);
+        if (dateTime == INVALID) {
+            return INVALID;
+        }
+        int i = 19;
+        long millis = 0;
+        if (text.charAt(i) == '.') {
+            final int fractionStart = ++i;
+            while (i < length && isDigit(text.charAt(i))) {
+                if (i - fractionStart < 3) {
+                    millis = millis * 10 + text.charAt(i) - '0';
+                }
+                i++;
+            }
+            final int fractionLength = i - fractionStart;
+            if (fractionLength == 0 || fractionLength > 9 || i == length) {
+                return INVALID;
+            }
+            for (int digit = fractionLength; digit < 3; digit++) {
+                millis *= 10;
+            }
+        }
+        final char zone = text.charAt(i);
+        final int offsetSeconds;
+        if ((zone == 'Z' || zone == 'z') && i + 1 == length) {
+            offsetSeconds = 0;
+        } else if ((zone == '+' || zone == '-') && i + 6 == length && text.charAt(i + 3) == ':') {
+            final int offsetHours = parseDigits(text, i + 1, 2);
+            final int offsetMinutes = parseDigits(text, i + 4, 2);
+            if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+                return INVALID;
+            }
+            offsetSeconds = (zone == '+' ? 1 : -1) * (offsetHours * 3600 + offsetMinutes * 60);
+        } else {
+            return INVALID;
+        }
+        return (dateTime - offsetSeconds) * 1000 + millis;
+    }
+
+    /**
+     * Parses a date/time in the format of {@link java.util.Date#toString()}, e.g. {@code Mon Oct 09 08:07:00 UTC 2017}.
+     *
+     * @param text
+     *            the text to parse
+     * @return the milliseconds since the epoch, or {@link #INVALID}
+     */
+    public static long parseJavaUtilDate(@Nonnull final CharSequence text) {
+        final int length = text.length();
+        if (length < 26 || text.charAt(3) != ' ' || text.charAt(7) != ' ' || text.charAt(10) != ' ' || text.charAt(13) != ':' || text.charAt(16) != ':' || text.charAt(19) != ' ' || text.charAt(length - 5) != ' ') {
+            return INVALID;
+        }
+        final int zoneLength = length - 25;
+        if (!regionMatches(text, 20, "UTC", zoneLength) && !regionMatches(text, 20, "GMT", zoneLength)) {
+            // Rare enough that it isn't worth parsing other time zone names by hand
+            try {
+                return Instant.from(JAVA_UTIL_DATE_FORMATTER.parse(text)).toEpochMilli();
+            } catch (final DateTimeParseException ignored) {
+                return INVALID;
+            }
+        }
+        final int dayOfWeek = indexOf(DAYS_OF_WEEK, text, 0);
+        final int month = indexOf(MONTHS, text, 4) + 1;
+        final int day = parseDigits(text, 8, 2);
+        final int year = parseDigits(text, length - 4, 4);
+        final long epochDay = toEpochDay(year, month, day);
+        if (dayOfWeek < 0 || epochDay == INVALID || dayOfWeek != Math.floorMod(epochDay + 3, 7)) {
+            return INVALID;
+        }
+        final int secondOfDay = parseTime(text, 11);
+        return secondOfDay < 0 ? INVALID : (epochDay * SECONDS_PER_DAY + secondOfDay) * 1000;
+    }
+
+    /**
+     * Parses a date/time in the JDBC timestamp format, {@code yyyy-[m]m-[d]d hh:mm:ss[.f...]}, in a time zone. Fractions
+     * of a millisecond are discarded.
+     *
+     * @param text
+     *            the text to parse
+     * @param zoneId
+     *            the time zone of the date/time, usually the default time zone
+     * @return the milliseconds since the epoch, or {@link #INVALID}
+     */
+    public static long parseTimestamp(@Nonnull final CharSequence text, @Nonnull final ZoneId zoneId) {
+        final int length = text.length();
+        if (length < 17 || text.charAt(4) != '-') {
+            return INVALID;
+        }
+        final int year = parseDigits(text, 0, 4);
+        // The month and day may have one or two digits
+        int i = 5;
+        final int monthLength = i + 1 < length && text.charAt(i + 1) == '-' ? 1 : 2;
+        final int month = parseDigits(text, i, monthLength);
+        i += monthLength;
+        if (i >= length || text.charAt(i) != '-') {
+            return INVALID;
+        }
+        i++;
+        final int dayLength = i + 1 < length && text.charAt(i + 1) == ' ' ? 1 : 2;
+        final int day = parseDigits(text, i, dayLength);
+        i += dayLength;
+        if (i + 9 > length || text.charAt(i) != ' ' || text.charAt(i + 3) != ':' || text.charAt(i + 6) != ':') {
+            return INVALID;
+        }
+        final long epochDay = toEpochDay(year, month, day);
+        final int secondOfDay = parseTime(text, i + 1);
+        if (epochDay == INVALID || secondOfDay < 0) {
+            return INVALID;
+        }
+        i += 9;
+        long millis = 0;
+        if (i < length) {
+            if (text.charAt(i) != '.' || i + 1 == length || length - i - 1 > 9) {
+                return INVALID;
+            }
+            for (int digit = 0; digit < length - i - 1; digit++) {
+                final char c = text.charAt(i + 1 + digit);
+                if (!isDigit(c)) {
+                    return INVALID;
+                }
+                if (digit < 3) {
+                    millis = millis * 10 + c - '0';
+                }
+            }
+            for (int digit = length - i - 1; digit < 3; digit++) {
+                millis *= 10;
+            }
+        }
+        final long localSecond = epochDay * SECONDS_PER_DAY + secondOfDay;
+        return (localSecond - getOffsetSeconds(zoneId, localSecond)) * 1000 + millis;
+    }
+
+    /**
+     * @param epochMillis
+     *            milliseconds since the epoch
+     * @return the date/time in ISO 8601 format in UTC, e.g. {@code 2017-10-09T08:07:00.000Z}
+     */
+    @Nonnull
+    public static String formatIso8601(final long epochMillis) {
+        final long second = Math.floorDiv(epochMillis, 1000);
+        FormattedSecond formattedSecond = lastIso8601Second;
+        if (formattedSecond.second != second) {
+            final long epochDay = Math.floorDiv(second, SECONDS_PER_DAY);
+            final int secondOfDay = (int) Math.floorMod(second, SECONDS_PER_DAY);
+            final int[] date = toDate(epochDay);
+            if (date[0] < 0 || date[0] > 9999) {
+                return DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(epochMillis));
+            }
+            final StringBuilder text = new StringBuilder(20);
+            appendDigits(text, date[0], 4).append('-');
+            appendDigits(text, date[1], 2).append('-');
+            appendDigits(text, date[2], 2).append('T');
+            appendTime(text, secondOfDay).append('.');
+            formattedSecond = new FormattedSecond(second, text.toString());
+            lastIso8601Second = formattedSecond;
+        }
+        final int millis = (int) Math.floorMod(epochMillis, 1000);
+        final StringBuilder text = new StringBuilder(24).append(formattedSecond.text);
+        return appendDigits(text, millis, 3).append('Z').toString();
+    }
+
+    /**
+     * @param epochMillis
+     *            milliseconds since the epoch
+     * @return the date/time in the format of {@link java.util.Date#toString()} in UTC, e.g.
+     *         {@code Mon Oct 09 08:07:00 UTC 2017}
+     */
+    @Nonnull
+    public static String formatJavaUtilDate(final long epochMillis) {
+        final long second = Math.floorDiv(epochMillis, 1000);
+        FormattedSecond formattedSecond = lastJavaUtilDateSecond;
+        if (formattedSecond.second != second) {
+            final long epochDay = Math.floorDiv(second, SECONDS_PER_DAY);
+            final int secondOfDay = (int) Math.floorMod(second, SECONDS_PER_DAY);
+            final int[] date = toDate(epochDay);
+            if (date[0] < 0 || date[0] > 9999) {
+                return JAVA_UTIL_DATE_FORMATTER.format(Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC));
+            }
+            final StringBuilder text = new StringBuilder(28)
+                    .append(DAYS_OF_WEEK[(int) Math.floorMod(epochDay + 3, 7)]).append(' ')
+                    .append(MONTHS[date[1] - 1]).append(' ');
+            appendDigits(text, date[2], 2).append(' ');
+            appendTime(text, secondOfDay).append(" UTC ");
+            appendDigits(text, date[0], 4);
+            formattedSecond = new FormattedSecond(second, text.toString());
+            lastJavaUtilDateSecond = formattedSecond;
+        }
+        return formattedSecond.text;
+    }
+
+    /**
+     * @param epochMillis
+     *            milliseconds since the epoch
+     * @param zoneId
+     *            the time zone to format the date/time in, usually the default time zone
+     * @return the date/time in the format of {@link java.sql.Timestamp#toString()}, e.g. {@code 2017-10-09 09:07:00.0}
+     */
+    @Nonnull
+    public static String formatTimestamp(final long epochMillis, @Nonnull final ZoneId zoneId) {
+        final ZoneRules rules = zoneId.getRules();
+        final long second = Math.floorDiv(epochMillis, 1000);
+        final long localSecond = second + (rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH) : rules.getOffset(Instant.ofEpochSecond(second))).getTotalSeconds();
+        final long epochDay = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+        final int[] date = toDate(epochDay);
+        if (date[0] < 1000 || date[0] > 9999) {
+            return java.sql.Timestamp.valueOf(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zoneId)).toString();
+        }
+        final StringBuilder text = new StringBuilder(23);
+        appendDigits(text, date[0], 4).append('-');
+        appendDigits(text, date[1], 2).append('-');
+        appendDigits(text, date[2], 2).append(' ');
+        appendTime(text, (int) Math.floorMod(localSecond, SECONDS_PER_DAY)).append('.');
+        // As with Timestamp, trailing zeros are omitted from the fraction of a second
+        int millis = (int) Math.floorMod(epochMillis, 1000);
+        if (millis == 0) {
+            return text.append('0').toString();
+        }
+        int digits = 3;
+        while (millis % 10 == 0) {
+            millis /= 10;
+            digits--;
+        }
+        return appendDigits(text, millis, digits).toString();
+    }
+
+    private static long getOffsetSeconds(@Nonnull final ZoneId zoneId, final long localSecond) {
+        final ZoneRules rules = zoneId.getRules();
+        if (rules.isFixedOffset()) {
+            return rules.getOffset(Instant.EPOCH).getTotalSeconds();
+        }
+        // Use the offset in force at the local time, treated as UTC, to find the offset in force at the actual time
+        final int estimatedOffset = rules.getOffset(Instant.ofEpochSecond(localSecond)).getTotalSeconds();
+        return rules.getOffset(Instant.ofEpochSecond(localSecond - estimatedOffset)).getTotalSeconds();
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd?HH:mm:ss}, the separator between date and time having already been checked.
+     *
+     * @return the seconds since the epoch, or INVALID
+     */
+    private static long parseDateTime(@Nonnull final CharSequence text) {
+        if (text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return INVALID;
+        }
+        final long epochDay = toEpochDay(parseDigits(text, 0, 4), parseDigits(text, 5, 2), parseDigits(text, 8, 2));
+        final int secondOfDay = parseTime(text, 11);
+        return epochDay == INVALID || secondOfDay < 0 ? INVALID : epochDay * SECONDS_PER_DAY + secondOfDay;
+    }
+
+    /**
+     * Parses {@code HH:mm:ss}, the separators having already been checked.
+     *
+     * @return the second of the day, or -1 if invalid
+     */
+    private static int parseTime(@Nonnull final CharSequence text, final int start) {
+        final int hour = parseDigits(text, start, 2);
+        final int minute = parseDigits(text, start + 3, 2);
+        final int second = parseDigits(text, start + 6, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return -1;
+        }
+        return hour * 3600 + minute * 60 + second;
+    }
+
+    /**
+     * @return the value of the digits, or -1 if any character is not a digit
+     */
+    private static int parseDigits(@Nonnull final CharSequence text, final int start, final int count) {
+        if (start + count > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            final char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean regionMatches(@Nonnull final CharSequence text, final int start, @Nonnull final String expected, final int length) {
+        if (length != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(@Nonnull final String[] names, @Nonnull final CharSequence text, final int start) {
+        for (int i = 0; i < names.length; i++) {
+            if (regionMatches(text, start, names[i], 3)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the days since the epoch, or INVALID if the date is not valid
+     */
+    private static long toEpochDay(final int year, final int month, final int day) {
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return INVALID;
+        }
+        // See http://howardhinnant.github.io/date_algorithms.html#days_from_civil
+        final int y = month <= 2 ? year - 1 : year;
+        final int era = Math.floorDiv(y, 400);
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    /**
+     * @return the year, month and day of the days since the epoch
+     */
+    @Nonnull
+    private static int[] toDate(final long epochDay) {
+        // See http://howardhinnant.github.io/date_algorithms.html#civil_from_days
+        final long z = epochDay + 719_468;
+        final long era = Math.floorDiv(z, 146_097);
+        final int dayOfEra = (int) (z - era * 146_097);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146_096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int mp = (5 * dayOfYear + 2) / 153;
+        final int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        final int month = mp < 10 ? mp + 3 : mp - 9;
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return new int[]{(int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, year)), month, day};
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        switch (month) {
+        case 2:
+            return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    @Nonnull
+    private static StringBuilder appendTime(@Nonnull final StringBuilder text, final int secondOfDay) {
+        appendDigits(text, secondOfDay / 3600, 2).append(':');
+        appendDigits(text, secondOfDay / 60 % 60, 2).append(':');
+        return appendDigits(text, secondOfDay % 60, 2);
+    }
+
+    @Nonnull
+    private static StringBuilder appendDigits(@Nonnull final StringBuilder text, final int value, final int count) {
+        int divisor = 1;
+        for (int digit = 1; digit < count; digit++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            text.append((char) ('0' + value / divisor % 10));
+        }
+        return text;
+    }
+
+    private static final class FormattedSecond {
+        private final long second;
+        @Nonnull private final String text;
+
+        private FormattedSecond(final long second, @Nonnull final String text) {
+            this.second = second;
+            this.text = text;
+        }
+    }
+
+}
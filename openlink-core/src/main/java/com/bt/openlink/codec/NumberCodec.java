@@ -0,0 +1,157 @@
+package com.bt.openlink.codec;
+
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Parses the numbers used by Openlink directly from text. Unlike {@link Long#parseLong(String)} and
+ * {@link Float#parseFloat(String)}, text that is not a valid number is reported by returning {@link #INVALID} rather
+ * than by throwing an exception, so that malformed stanzas are no more expensive to parse than valid ones.
+ */
+public final class NumberCodec {
+
+    /**
+     * Returned when the text is not a valid number. As a consequence, {@link Long#MIN_VALUE} itself cannot be parsed;
+     * no Openlink value can be that large.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+            100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+            100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L,
+            1_000_000_000_000_000_000L};
+
+    private NumberCodec() {
+    }
+
+    /**
+     * @param value
+     *            the parsed value, or {@link #INVALID}
+     * @return the value, or empty if invalid
+     */
+    @Nonnull
+    public static Optional<Long> toOptional(final long value) {
+        return value == INVALID ? Optional.empty() : Optional.of(value);
+    }
+
+    /**
+     * Parses a decimal integer, with an optional sign, as {@link Long#parseLong(String)} does.
+     *
+     * @param text
+     *            the text to parse
+     * @return the value, or {@link #INVALID}
+     */
+    public static long parseLong(@Nullable final CharSequence text) {
+        if (text == null) {
+            return INVALID;
+        }
+        final int length = text.length();
+        final boolean negative = length > 0 && text.charAt(0) == '-';
+        final int start = length > 0 && (negative || text.charAt(0) == '+') ? 1 : 0;
+        if (start == length) {
+            return INVALID;
+        }
+        // Accumulate negatively, as the range of negative values is the larger
+        long value = 0;
+        for (int i = start; i < length; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+                return INVALID;
+            }
+            value = value * 10 - digit;
+        }
+        if (negative) {
+            return value;
+        }
+        return value == Long.MIN_VALUE ? INVALID : -value;
+    }
+
+    /**
+     * Parses a decimal integer, with an optional sign, as {@link Integer#parseInt(String)} does.
+     *
+     * @param text
+     *            the text to parse
+     * @return the value, or {@link #INVALID} if invalid or out of the range of an {@code int}
+     */
+    public static long parseInt(@Nullable final CharSequence text) {
+        final long value = parseLong(text);
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? INVALID : value;
+    }
+
+    /**
+     * Parses a decimal number of seconds, e.g. {@code 12.5} or {@code 1.25E1}, as used for the length of a voice
+     * message. As with {@code (long) (Float.parseFloat(text) * 1000)}, surrounding white space is ignored and fractions
+     * of a millisecond are discarded, but without the rounding errors of a float.
+     *
+     * @param text
+     *            the text to parse
+     * @return the number of milliseconds, or {@link #INVALID}
+     */
+    public static long parseSecondsAsMillis(@Nullable final CharSequence text) {
+        if (text == null) {
+            return INVALID;
+        }
+        int i = 0;
+        int length = text.length();
+        while (i < length && text.charAt(i) <= ' ') {
+            i++;
+        }
+        while (length > i && text.charAt(length - 1) <= ' ') {
+            length--;
+        }
+        final boolean negative = i < length && text.charAt(i) == '-';
+        if (i < length && (negative || text.charAt(i) == '+')) {
+            i++;
+        }
+        long mantissa = 0;
+        int digitCount = 0;
+        int scale = 3;
+        boolean pointSeen = false;
+        for (; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c == '.' && !pointSeen) {
+                pointSeen = true;
+            } else if (c >= '0' && c <= '9') {
+                // Digits beyond the precision of a long can't affect the result, other than by their position
+                if (mantissa < Long.MAX_VALUE / 100) {
+                    mantissa = mantissa * 10 + c - '0';
+                    if (pointSeen) {
+                        scale--;
+                    }
+                } else if (!pointSeen) {
+                    scale++;
+                }
+                digitCount++;
+            } else {
+                break;
+            }
+        }
+        if (digitCount == 0) {
+            return INVALID;
+        }
+        if (i < length) {
+            if ((text.charAt(i) != 'E' && text.charAt(i) != 'e') || i + 1 == length) {
+                return INVALID;
+            }
+            final long exponent = parseLong(text.subSequence(i + 1, length));
+            if (exponent == INVALID) {
+                return INVALID;
+            }
+            scale += (int) Math.max(-1000, Math.min(1000, exponent));
+        }
+        final long millis;
+        if (mantissa == 0) {
+            millis = 0;
+        } else if (scale < 0) {
+            millis = -scale < POWERS_OF_TEN.length ? mantissa / POWERS_OF_TEN[-scale] : 0;
+        } else if (scale < POWERS_OF_TEN.length && mantissa <= Long.MAX_VALUE / POWERS_OF_TEN[scale]) {
+            millis = mantissa * POWERS_OF_TEN[scale];
+        } else {
+            return INVALID;
+        }
+        return negative ? -millis : millis;
+    }
+
+}
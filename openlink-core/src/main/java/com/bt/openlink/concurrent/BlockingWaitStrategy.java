@@ -0,0 +1,44 @@
+package com.bt.openlink.concurrent;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Blocks the consumer until a producer signals that an item has been published. This uses no CPU while idle, but
+ * incurs the cost of waking the consumer; it is the appropriate choice when CPU is more important than latency.
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+
+    @Nonnull private final Lock lock = new ReentrantLock();
+    @Nonnull private final Condition published = lock.newCondition();
+
+    @Override
+    public long waitFor(final long sequence, @Nonnull final Sequence cursor) throws InterruptedException {
+        long availableSequence = cursor.get();
+        if (availableSequence < sequence) {
+            lock.lock();
+            try {
+                while ((availableSequence = cursor.get()) < sequence) {
+                    published.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.bt.openlink.concurrent;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Spins continuously waiting for an item. This gives the lowest latency, but dedicates a CPU core to the consumer, so
+ * should only be used when the consumer thread can be given a core of its own.
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public long waitFor(final long sequence, @Nonnull final Sequence cursor) throws InterruptedException {
+        long availableSequence;
+        while ((availableSequence = cursor.get()) < sequence) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        // Nothing is ever blocked
+    }
+
+}
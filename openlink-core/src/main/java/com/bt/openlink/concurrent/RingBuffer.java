@@ -0,0 +1,253 @@
+package com.bt.openlink.concurrent;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded, lock-free hand-off of items - typically parsed Openlink stanzas - from the thread(s) reading them off the
+ * wire to a single consumer thread. The slots are allocated once, up front, and producers and the consumer coordinate
+ * only through sequence numbers, so unlike a {@code LinkedBlockingQueue} there is neither an allocation nor a lock per
+ * item. The consumer can process everything published since it last looked as a single batch.
+ * <p>
+ * For example, to hand Smack stanzas to an application thread:
+ *
+ * <pre>
+ * final RingBuffer&lt;Stanza&gt; ringBuffer = RingBuffer.createSingleProducer(1024, new YieldingWaitStrategy());
+ * connection.addSyncStanzaListener(ringBuffer::publish, stanzaFilter);
+ * ...
+ * while (running) {
+ *     ringBuffer.awaitAndDrain(stanzaHandler, 256);
+ * }
+ * </pre>
+ *
+ * A single-producer ring buffer must only be published to from one thread at a time, e.g. the Smack reader thread. Use
+ * a multi-producer ring buffer when items are published from several threads, e.g. Openfire's packet handling threads.
+ * In either case items must only be consumed from one thread at a time.
+ *
+ * @param <E>
+ *            the type of item in the ring buffer
+ */
+public final class RingBuffer<E> {
+
+    private static final long INITIAL_SEQUENCE = -1L;
+
+    private final int bufferSize;
+    private final int indexMask;
+    private final int indexShift;
+    @Nonnull private final Object[] slots;
+    @Nonnull private final WaitStrategy waitStrategy;
+    @Nonnull private final Sequence cursor = new Sequence(INITIAL_SEQUENCE);
+    @Nonnull private final Sequence consumerSequence = new Sequence(INITIAL_SEQUENCE);
+    // Only used for a multi-producer ring buffer; records the lap of the ring in which each slot was last published
+    @Nullable private final AtomicIntegerArray availableLaps;
+    // Only used for a single-producer ring buffer, and only by the producing thread
+    private long nextSequence = INITIAL_SEQUENCE;
+
+    private RingBuffer(final int bufferSize, @Nonnull final WaitStrategy waitStrategy, final boolean multiProducer) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("The buffer size must be a power of two, not " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.indexMask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.slots = new Object[bufferSize];
+        this.waitStrategy = waitStrategy;
+        if (multiProducer) {
+            availableLaps = new AtomicIntegerArray(bufferSize);
+            for (int i = 0; i < bufferSize; i++) {
+                availableLaps.set(i, -1);
+            }
+        } else {
+            availableLaps = null;
+        }
+    }
+
+    /**
+     * Creates a ring buffer that will be published to by a single thread.
+     *
+     * @param bufferSize
+     *            the number of slots, which must be a power of two
+     * @param waitStrategy
+     *            how the consumer waits for items
+     * @param <E>
+     *            the type of item in the ring buffer
+     * @return the new ring buffer
+     */
+    @Nonnull
+    public static <E> RingBuffer<E> createSingleProducer(final int bufferSize, @Nonnull final WaitStrategy waitStrategy) {
+        return new RingBuffer<>(bufferSize, waitStrategy, false);
+    }
+
+    /**
+     * Creates a ring buffer that may be published to by several threads concurrently.
+     *
+     * @param bufferSize
+     *            the number of slots, which must be a power of two
+     * @param waitStrategy
+     *            how the consumer waits for items
+     * @param <E>
+     *            the type of item in the ring buffer
+     * @return the new ring buffer
+     */
+    @Nonnull
+    public static <E> RingBuffer<E> createMultiProducer(final int bufferSize, @Nonnull final WaitStrategy waitStrategy) {
+        return new RingBuffer<>(bufferSize, waitStrategy, true);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return the number of items published but not yet consumed
+     */
+    public int size() {
+        return (int) (cursor.get() - consumerSequence.get());
+    }
+
+    /**
+     * Publishes an item, waiting for a slot to become free if the ring buffer is full.
+     *
+     * @param item
+     *            the item to publish
+     */
+    public void publish(@Nonnull final E item) {
+        final long sequence = availableLaps == null ? nextSingleProducerSequence(true) : nextMultiProducerSequence(true);
+        publish(sequence, item);
+    }
+
+    /**
+     * Publishes an item if there is a free slot.
+     *
+     * @param item
+     *            the item to publish
+     * @return {@code true} if the item was published, {@code false} if the ring buffer is full
+     */
+    public boolean tryPublish(@Nonnull final E item) {
+        final long sequence = availableLaps == null ? nextSingleProducerSequence(false) : nextMultiProducerSequence(false);
+        if (sequence == INITIAL_SEQUENCE) {
+            return false;
+        }
+        publish(sequence, item);
+        return true;
+    }
+
+    private long nextSingleProducerSequence(final boolean wait) {
+        final long next = nextSequence + 1;
+        final long wrapPoint = next - bufferSize;
+        while (wrapPoint > consumerSequence.get()) {
+            if (!wait) {
+                return INITIAL_SEQUENCE;
+            }
+            LockSupport.parkNanos(1L);
+        }
+        nextSequence = next;
+        return next;
+    }
+
+    private long nextMultiProducerSequence(final boolean wait) {
+        while (true) {
+            final long current = cursor.get();
+            final long next = current + 1;
+            if (next - bufferSize > consumerSequence.get()) {
+                if (!wait) {
+                    return INITIAL_SEQUENCE;
+                }
+                LockSupport.parkNanos(1L);
+            } else if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    private void publish(final long sequence, @Nonnull final E item) {
+        final int index = (int) sequence & indexMask;
+        slots[index] = item;
+        if (availableLaps == null) {
+            cursor.set(sequence);
+        } else {
+            // The cursor has already been advanced when the sequence was claimed
+            availableLaps.set(index, (int) (sequence >>> indexShift));
+        }
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    private long getHighestPublishedSequence(final long lowerBound, final long availableSequence) {
+        if (availableLaps == null) {
+            return availableSequence;
+        }
+        for (long sequence = lowerBound; sequence <= availableSequence; sequence++) {
+            if (availableLaps.get((int) sequence & indexMask) != (int) (sequence >>> indexShift)) {
+                return sequence - 1;
+            }
+        }
+        return availableSequence;
+    }
+
+    /**
+     * Passes up to {@code maxItems} already published items to the consumer, without waiting.
+     *
+     * @param consumer
+     *            the consumer of the items
+     * @param maxItems
+     *            the maximum number of items to consume
+     * @return the number of items consumed
+     */
+    public int drainTo(@Nonnull final Consumer<? super E> consumer, final int maxItems) {
+        final long nextToConsume = consumerSequence.get() + 1;
+        return drain(consumer, nextToConsume, cursor.get(), maxItems);
+    }
+
+    /**
+     * Waits, according to the ring buffer's {@link WaitStrategy}, for at least one item to be published and then passes
+     * up to {@code maxItems} published items to the consumer.
+     *
+     * @param consumer
+     *            the consumer of the items
+     * @param maxItems
+     *            the maximum number of items to consume
+     * @return the number of items consumed
+     * @throws InterruptedException
+     *             if the consumer thread is interrupted while waiting
+     */
+    public int awaitAndDrain(@Nonnull final Consumer<? super E> consumer, final int maxItems) throws InterruptedException {
+        final long nextToConsume = consumerSequence.get() + 1;
+        int consumed;
+        do {
+            final long availableSequence = waitStrategy.waitFor(nextToConsume, cursor);
+            consumed = drain(consumer, nextToConsume, availableSequence, maxItems);
+        } while (consumed == 0);
+        return consumed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int drain(@Nonnull final Consumer<? super E> consumer, final long nextToConsume, final long availableSequence, final int maxItems) {
+        if (maxItems < 1) {
+            throw new IllegalArgumentException("At least one item must be consumed, not " + maxItems);
+        }
+        final long highestPublished = getHighestPublishedSequence(nextToConsume, Math.min(availableSequence, nextToConsume + maxItems - 1));
+        long sequence = nextToConsume;
+        try {
+            for (; sequence <= highestPublished; sequence++) {
+                final int index = (int) sequence & indexMask;
+                final E item = (E) slots[index];
+                // Don't keep a reference to the item once consumed
+                slots[index] = null;
+                consumer.accept(item);
+            }
+        } finally {
+            // If the consumer failed, the item it failed on is still treated as consumed
+            final long lastConsumed = Math.min(sequence, highestPublished);
+            if (lastConsumed >= nextToConsume) {
+                consumerSequence.set(lastConsumed);
+            }
+        }
+        return (int) (highestPublished - nextToConsume + 1);
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.bt.openlink.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A sequence number in a {@link RingBuffer}. The value is padded so that the producer and consumer sequences do not
+ * share a cache line, which would otherwise have every update by one side invalidate the other's cache.
+ */
+@SuppressWarnings("unused")
+public final class Sequence extends AtomicLong {
+
+    private static final long serialVersionUID = 1L;
+
+    // Padding to prevent false sharing with adjacent objects
+    private long p1, p2, p3, p4, p5, p6, p7;
+
+    Sequence(final long initialValue) {
+        super(initialValue);
+    }
+
+}
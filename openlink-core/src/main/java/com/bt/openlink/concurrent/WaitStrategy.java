@@ -0,0 +1,28 @@
+package com.bt.openlink.concurrent;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Determines how a {@link RingBuffer} consumer waits for a producer to publish an item.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Waits until the cursor has reached at least the given sequence.
+     *
+     * @param sequence
+     *            the sequence the consumer requires
+     * @param cursor
+     *            the producers' cursor
+     * @return the value of the cursor, which will be at least {@code sequence}
+     * @throws InterruptedException
+     *             if the waiting thread is interrupted
+     */
+    long waitFor(long sequence, @Nonnull Sequence cursor) throws InterruptedException;
+
+    /**
+     * Called by producers after publishing, to wake any consumer that is blocked waiting.
+     */
+    void signalAllWhenBlocking();
+
+}
@@ -0,0 +1,35 @@
+package com.bt.openlink.concurrent;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Spins for a short while waiting for an item, then yields the CPU between checks. This gives low latency without
+ * starving other threads of CPU, at the cost of a consumer that never sleeps.
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public long waitFor(final long sequence, @Nonnull final Sequence cursor) throws InterruptedException {
+        long availableSequence;
+        int counter = SPIN_TRIES;
+        while ((availableSequence = cursor.get()) < sequence) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (counter > 0) {
+                counter--;
+            } else {
+                Thread.yield();
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        // Nothing is ever blocked
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.bt.openlink.directory;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+
+import com.bt.openlink.cache.ExpiringCache;
+import com.bt.openlink.routing.PhoneNumbers;
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.PhoneNumber;
+
+/**
+ * Fills in the caller and called names of calls that have a number but no name, e.g. as some PBXs don't send them,
+ * by looking the number up in a {@link NameSource}. The names are cached in an {@link ExpiringCache}, so each number
+ * is looked up at most once at a time however many calls are received for it. Numbers that the source does not know are
+ * cached too, so that they are not looked up on every call.
+ * <p>
+ * {@link #enrich(Call.Builder)} never waits for a lookup, so can be used as a call is parsed or received: a name that
+ * has not yet been looked up is looked up in the background, ready for the next call with the same number.
+ * {@link #enrichAsync(Call.Builder)} waits for the lookups, without blocking the calling thread.
+ */
+public class CallNameEnricher {
+
+    @Nonnull private final ExpiringCache<PhoneNumber, Optional<String>> names;
+    @Nonnull private final Function<PhoneNumber, CompletionStage<Optional<String>>> loader;
+
+    /**
+     * @param source
+     *            looks up the names
+     * @param timeToLive
+     *            the time for which a name, or the absence of one, is cached
+     * @param maximumSize
+     *            the maximum number of names to cache
+     */
+    public CallNameEnricher(@Nonnull final NameSource source, @Nonnull final Duration timeToLive, final int maximumSize) {
+        this.names = new ExpiringCache<>(timeToLive, maximumSize);
+        this.loader = source::getName;
+    }
+
+    /**
+     * Sets the caller and called names of a call from the cache, where the call has a number but no name. Any name that
+     * is not cached is looked up in the background, and is not set.
+     *
+     * @param callBuilder
+     *            the call to enrich
+     * @return false if a name is being looked up, otherwise true
+     */
+    public boolean enrich(@Nonnull final Call.Builder callBuilder) {
+        boolean enriched = true;
+        if (isMissing(callBuilder.getCallerName())) {
+            enriched = callBuilder.getCallerNumber().map(number -> setCachedName(number, callBuilder::setCallerName)).orElse(true);
+        }
+        if (isMissing(callBuilder.getCalledName())) {
+            enriched &= callBuilder.getCalledNumber().map(number -> setCachedName(number, callBuilder::setCalledName)).orElse(true);
+        }
+        return enriched;
+    }
+
+    /**
+     * Sets the caller and called names of a call, where the call has a number but no name, once they have been looked
+     * up. Should a lookup fail, the name is left unset.
+     *
+     * @param callBuilder
+     *            the call to enrich
+     * @return the call, once the names have been set
+     */
+    @Nonnull
+    public CompletionStage<Call.Builder> enrichAsync(@Nonnull final Call.Builder callBuilder) {
+        CompletableFuture<Void> lookups = CompletableFuture.completedFuture(null);
+        if (isMissing(callBuilder.getCallerName()) && callBuilder.getCallerNumber().isPresent()) {
+            lookups = lookups.thenCombine(getName(callBuilder.getCallerNumber().get()), (ignored, name) -> {
+                name.ifPresent(callBuilder::setCallerName);
+                return null;
+            });
+        }
+        if (isMissing(callBuilder.getCalledName()) && callBuilder.getCalledNumber().isPresent()) {
+            lookups = lookups.thenCombine(getName(callBuilder.getCalledNumber().get()), (ignored, name) -> {
+                name.ifPresent(callBuilder::setCalledName);
+                return null;
+            });
+        }
+        return lookups.thenApply(ignored -> callBuilder);
+    }
+
+    /**
+     * @param phoneNumber
+     *            the number
+     * @return the name for the number, once it has been looked up; empty if the number is not known or the lookup
+     *         failed
+     */
+    @Nonnull
+    public CompletionStage<Optional<String>> getName(@Nonnull final PhoneNumber phoneNumber) {
+        return names.get(normalize(phoneNumber), loader)
+                .exceptionally(throwable -> Optional.empty());
+    }
+
+    /**
+     * @param phoneNumber
+     *            the number whose cached name should be discarded, e.g. as the directory has changed
+     */
+    public void invalidate(@Nonnull final PhoneNumber phoneNumber) {
+        names.invalidate(normalize(phoneNumber));
+    }
+
+    private boolean setCachedName(@Nonnull final PhoneNumber phoneNumber, @Nonnull final Consumer<String> setName) {
+        final PhoneNumber key = normalize(phoneNumber);
+        final Optional<Optional<String>> cachedName = names.getIfPresent(key);
+        if (!cachedName.isPresent()) {
+            // Start a lookup, or join the one in progress, but don't wait for it
+            names.get(key, loader);
+            return false;
+        }
+        cachedName.get().ifPresent(setName);
+        return true;
+    }
+
+    private static boolean isMissing(@Nonnull final Optional<String> name) {
+        return !name.isPresent() || name.get().trim().isEmpty();
+    }
+
+    @Nonnull
+    private static PhoneNumber normalize(@Nonnull final PhoneNumber phoneNumber) {
+        return PhoneNumbers.normalize(phoneNumber).orElse(phoneNumber);
+    }
+
+}
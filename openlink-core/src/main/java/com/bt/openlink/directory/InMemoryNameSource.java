@@ -0,0 +1,59 @@
+package com.bt.openlink.directory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import com.bt.openlink.routing.PhoneNumbers;
+import com.bt.openlink.type.PhoneNumber;
+
+/**
+ * A {@link NameSource} that holds the names in memory, e.g. as a stand-in for a directory service in tests. Lookups
+ * complete immediately.
+ */
+public class InMemoryNameSource implements NameSource {
+
+    @Nonnull private final Map<PhoneNumber, String> names = new ConcurrentHashMap<>();
+    @Nonnull private final AtomicLong lookupCount = new AtomicLong();
+
+    /**
+     * @param phoneNumber
+     *            the number, which is normalised to E.164 form where possible
+     * @param name
+     *            the name for the number
+     * @return this source
+     */
+    @Nonnull
+    public InMemoryNameSource setName(@Nonnull final PhoneNumber phoneNumber, @Nonnull final String name) {
+        names.put(PhoneNumbers.normalize(phoneNumber).orElse(phoneNumber), name);
+        return this;
+    }
+
+    /**
+     * @param phoneNumber
+     *            the number whose name should be removed
+     */
+    public void removeName(@Nonnull final PhoneNumber phoneNumber) {
+        names.remove(PhoneNumbers.normalize(phoneNumber).orElse(phoneNumber));
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Optional<String>> getName(@Nonnull final PhoneNumber phoneNumber) {
+        lookupCount.incrementAndGet();
+        return CompletableFuture.completedFuture(Optional.ofNullable(names.get(phoneNumber)));
+    }
+
+    /**
+     * @return the number of lookups made of this source
+     */
+    public long getLookupCount() {
+        return lookupCount.get();
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.bt.openlink.directory;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nonnull;
+
+import com.bt.openlink.type.PhoneNumber;
+
+/**
+ * Looks up the name for a phone number, e.g. in a corporate directory, for a {@link CallNameEnricher}.
+ */
+public interface NameSource {
+
+    /**
+     * Looks up the name for a phone number. The lookup should not block the calling thread.
+     *
+     * @param phoneNumber
+     *            the number, normalised to E.164 form where possible, see
+     *            {@link com.bt.openlink.routing.PhoneNumbers#normalize(PhoneNumber)}
+     * @return the name, once it has been looked up; empty if the number is not known
+     */
+    @Nonnull
+    CompletionStage<Optional<String>> getName(@Nonnull PhoneNumber phoneNumber);
+
+}
@@ -0,0 +1,281 @@
+package com.bt.openlink.flow;
+
+import java.io.Serializable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallDirection;
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.HistoricalCall;
+import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.PhoneNumber;
+import com.bt.openlink.type.UserId;
+
+/**
+ * Builds call history from live call status. Each call is tracked, per interest, from its first update until it
+ * reaches a {@link CallState#isTerminal() terminal} state, when a {@link HistoricalCall} is passed downstream. Values
+ * such as the caller and called names are taken from the latest update that includes them, the state is the terminal
+ * state, and the start time and duration are those reported by the server or, failing that, the times at which the
+ * first and terminal updates were received.
+ * <p>
+ * To bound the memory used, at most {@code maximumCalls} calls are tracked; should another call start, the call that was
+ * updated least recently is abandoned. A call that is not updated within the idle timeout is also abandoned, as its
+ * terminal update has presumably been lost. Idle calls are abandoned whenever call status is offered, or when
+ * {@link #abandonIdleCalls()} is called. Abandoned calls are not passed downstream. Calls without an id are ignored.
+ * <p>
+ * Servers commonly resend a call's terminal state, so the last {@code maximumCalls} calls to end within the idle
+ * timeout are remembered, and a terminal update for any of them is ignored rather than recorded as another call.
+ * <p>
+ * The recorder is thread-safe; call status may be offered from any thread.
+ *
+ * @param <J>
+ *            the type of JID used by the XMPP library
+ */
+public class CallHistoryRecorder<J extends Serializable> {
+
+    @Nonnull private final Clock clock;
+    @Nonnull private final Duration idleTimeout;
+    private final int maximumCalls;
+    @Nonnull private final Consumer<HistoricalCall<J>> downstream;
+    // In order of last update, least recently updated first
+    @Nonnull private final LinkedHashMap<CallKey, TrackedCall<J>> calls = new LinkedHashMap<>(16, 0.75f, true);
+    // The time each recently ended call ended, in order of ending, earliest first
+    @Nonnull private final LinkedHashMap<CallKey, Instant> recentlyEndedCalls = new LinkedHashMap<>();
+    private long callsRecorded;
+    private long callsAbandoned;
+
+    /**
+     * @param maximumCalls
+     *            the maximum number of calls to track at once
+     * @param idleTimeout
+     *            the time after which a call that has not been updated is abandoned
+     * @param downstream
+     *            receives each call, once it has ended
+     */
+    public CallHistoryRecorder(final int maximumCalls, @Nonnull final Duration idleTimeout, @Nonnull final Consumer<HistoricalCall<J>> downstream) {
+        this(maximumCalls, idleTimeout, downstream, Clock.systemUTC());
+    }
+
+    CallHistoryRecorder(final int maximumCalls, @Nonnull final Duration idleTimeout, @Nonnull final Consumer<HistoricalCall<J>> downstream, @Nonnull final Clock clock) {
+        if (maximumCalls < 1) {
+            throw new IllegalArgumentException("The maximum number of calls must be at least one");
+        }
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("The idle timeout must be positive");
+        }
+        this.maximumCalls = maximumCalls;
+        this.idleTimeout = idleTimeout;
+        this.downstream = downstream;
+        this.clock = clock;
+    }
+
+    /**
+     * Tracks the calls in a call status.
+     *
+     * @param callStatus
+     *            the call status received
+     */
+    public void offer(@Nonnull final CallStatus callStatus) {
+        offer(callStatus, null);
+    }
+
+    /**
+     * Tracks the calls in a call status.
+     *
+     * @param callStatus
+     *            the call status received
+     * @param tsc
+     *            the telephony server component that sent the call status, if known
+     */
+    public void offer(@Nonnull final CallStatus callStatus, @Nullable final J tsc) {
+        final Instant now = clock.instant();
+        final List<HistoricalCall<J>> endedCalls = new ArrayList<>();
+        synchronized (this) {
+            abandonCallsIdleSince(now.minus(idleTimeout));
+            for (final Call call : callStatus.getCalls()) {
+                if (!call.getId().isPresent()) {
+                    continue;
+                }
+                final CallKey key = new CallKey(call.getId().get(), call.getInterestId().orElse(null));
+                final boolean terminal = call.getState().map(CallState::isTerminal).orElse(false);
+                TrackedCall<J> trackedCall = calls.get(key);
+                if (trackedCall == null) {
+                    if (terminal && recentlyEndedCalls.containsKey(key)) {
+                        // The server has resent the terminal state of a call that has already been recorded
+                        continue;
+                    }
+                    recentlyEndedCalls.remove(key);
+                    if (calls.size() >= maximumCalls) {
+                        final Iterator<TrackedCall<J>> leastRecentlyUpdated = calls.values().iterator();
+                        leastRecentlyUpdated.next();
+                        leastRecentlyUpdated.remove();
+                        callsAbandoned++;
+                    }
+                    trackedCall = new TrackedCall<>(now);
+                    calls.put(key, trackedCall);
+                }
+                trackedCall.update(call, tsc, now);
+                if (terminal) {
+                    calls.remove(key);
+                    rememberEndedCall(key, now);
+                    callsRecorded++;
+                    endedCalls.add(trackedCall.toHistoricalCall(call.getState().get(), now));
+                }
+            }
+        }
+        endedCalls.forEach(downstream);
+    }
+
+    /**
+     * Abandons every call that has not been updated within the idle timeout.
+     */
+    public synchronized void abandonIdleCalls() {
+        abandonCallsIdleSince(clock.instant().minus(idleTimeout));
+    }
+
+    private void abandonCallsIdleSince(@Nonnull final Instant idleSince) {
+        final Iterator<Instant> endedIterator = recentlyEndedCalls.values().iterator();
+        while (endedIterator.hasNext() && endedIterator.next().isBefore(idleSince)) {
+            endedIterator.remove();
+        }
+        final Iterator<TrackedCall<J>> iterator = calls.values().iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().lastUpdated.isBefore(idleSince)) {
+                // Calls are held in order of last update, so no later call is idle either
+                return;
+            }
+            iterator.remove();
+            callsAbandoned++;
+        }
+    }
+
+    private void rememberEndedCall(@Nonnull final CallKey key, @Nonnull final Instant ended) {
+        recentlyEndedCalls.put(key, ended);
+        if (recentlyEndedCalls.size() > maximumCalls) {
+            final Iterator<Instant> earliestEnded = recentlyEndedCalls.values().iterator();
+            earliestEnded.next();
+            earliestEnded.remove();
+        }
+    }
+
+    /**
+     * @return the number of calls currently being tracked
+     */
+    public synchronized int getCallsTracked() {
+        return calls.size();
+    }
+
+    /**
+     * @return the number of ended calls that have been passed downstream
+     */
+    public synchronized long getCallsRecorded() {
+        return callsRecorded;
+    }
+
+    /**
+     * @return the number of calls abandoned because they were idle, or to make room for another call
+     */
+    public synchronized long getCallsAbandoned() {
+        return callsAbandoned;
+    }
+
+    private static final class CallKey {
+        @Nonnull private final CallId callId;
+        @Nullable private final InterestId interestId;
+
+        private CallKey(@Nonnull final CallId callId, @Nullable final InterestId interestId) {
+            this.callId = callId;
+            this.interestId = interestId;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final CallKey callKey = (CallKey) o;
+            return callId.equals(callKey.callId) && Objects.equals(interestId, callKey.interestId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(callId, interestId);
+        }
+    }
+
+    private static final class TrackedCall<J extends Serializable> {
+        @Nonnull private final Instant firstUpdated;
+        @Nonnull private Instant lastUpdated;
+        @Nullable private CallId callId;
+        @Nullable private UserId userId;
+        @Nullable private InterestId interestId;
+        @Nullable private CallDirection direction;
+        @Nullable private PhoneNumber callerNumber;
+        @Nullable private String callerName;
+        @Nullable private PhoneNumber calledNumber;
+        @Nullable private String calledName;
+        @Nullable private Instant startTime;
+        @Nullable private Duration duration;
+        @Nullable private J tsc;
+
+        private TrackedCall(@Nonnull final Instant firstUpdated) {
+            this.firstUpdated = firstUpdated;
+            this.lastUpdated = firstUpdated;
+        }
+
+        private void update(@Nonnull final Call call, @Nullable final J tsc, @Nonnull final Instant now) {
+            lastUpdated = now;
+            callId = call.getId().orElse(callId);
+            userId = call.getUserId().orElse(userId);
+            interestId = call.getInterestId().orElse(interestId);
+            direction = call.getDirection().orElse(direction);
+            callerNumber = call.getCallerNumber().orElse(callerNumber);
+            callerName = call.getCallerName().orElse(callerName);
+            calledNumber = call.getCalledNumber().orElse(calledNumber);
+            calledName = call.getCalledName().orElse(calledName);
+            startTime = call.getStartTime().orElse(startTime);
+            duration = call.getDuration().orElse(duration);
+            if (tsc != null) {
+                this.tsc = tsc;
+            }
+        }
+
+        @Nonnull
+        private HistoricalCall<J> toHistoricalCall(@Nonnull final CallState state, @Nonnull final Instant ended) {
+            final Instant callStartTime = startTime == null ? firstUpdated : startTime;
+            final HistoricalCall.Builder<J> builder = HistoricalCall.Builder.<J> start()
+                    .setState(state)
+                    .setStartTime(callStartTime)
+                    .setDuration(duration == null ? Duration.between(callStartTime, ended) : duration);
+            Optional.ofNullable(callId).ifPresent(builder::setId);
+            Optional.ofNullable(userId).ifPresent(builder::setUserId);
+            Optional.ofNullable(interestId).ifPresent(builder::setInterestId);
+            Optional.ofNullable(direction).ifPresent(builder::setDirection);
+            Optional.ofNullable(callerNumber).ifPresent(builder::setCallerNumber);
+            Optional.ofNullable(callerName).ifPresent(builder::setCallerName);
+            Optional.ofNullable(calledNumber).ifPresent(builder::setCalledNumber);
+            Optional.ofNullable(calledName).ifPresent(builder::setCalledName);
+            Optional.ofNullable(tsc).ifPresent(builder::setTsc);
+            // Call status does not always carry every mandatory field, so the call is recorded with what is known
+            return builder.build(new ArrayList<>());
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.bt.openlink.flow;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.PhoneNumber;
+
+/**
+ * Collapses rapid updates to the same call into a single update. Call status offered to the coalescer is held for up to
+ * the configured window; if a later update for the same call on the same interest arrives in that time it replaces the
+ * earlier one. At the end of the window the pending calls are passed downstream, one call status per interest, ready to
+ * be published to that interest's pub-sub node with e.g. a {@code PubSubPublishRequest} or {@code CallStatusMessage}.
+ * <p>
+ * A {@link CallState#isTerminal() terminal} state is never lost; should a call that has a pending terminal state be
+ * updated again, the pending state is passed downstream first. Call status is passed downstream by one thread at a
+ * time, so a flush can't overtake the delivery of a terminal state that has been superseded.
+ */
+public class CallStatusCoalescer implements AutoCloseable {
+
+    @Nonnull private final Duration window;
+    @Nonnull private final ScheduledExecutorService scheduler;
+    @Nonnull private final Consumer<CallStatus> downstream;
+    // Held whilst passing call status downstream, and taken before the lock on this
+    @Nonnull private final Object deliveryLock = new Object();
+    @Nonnull private Map<Optional<InterestId>, PendingCallStatus> pending = new LinkedHashMap<>();
+    @Nullable private ScheduledFuture<?> scheduledFlush;
+    private long updatesReceived;
+    private long updatesCoalesced;
+
+    /**
+     * @param window
+     *            the maximum time an update is held, waiting for later updates to the same call
+     * @param scheduler
+     *            the scheduler used to pass updates downstream at the end of the window
+     * @param downstream
+     *            receives the coalesced call status; each call status only contains calls for a single interest
+     */
+    public CallStatusCoalescer(@Nonnull final Duration window, @Nonnull final ScheduledExecutorService scheduler, @Nonnull final Consumer<CallStatus> downstream) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("The coalescing window must not be negative");
+        }
+        this.window = window;
+        this.scheduler = scheduler;
+        this.downstream = downstream;
+    }
+
+    /**
+     * Queues the calls in a call status for delivery downstream, replacing any pending update for the same calls.
+     *
+     * @param callStatus
+     *            the call status to coalesce
+     */
+    public void offer(@Nonnull final CallStatus callStatus) {
+        synchronized (deliveryLock) {
+            offerAndDeliverSupersededStatus(callStatus);
+        }
+        if (window.isZero()) {
+            flush();
+        }
+    }
+
+    private void offerAndDeliverSupersededStatus(@Nonnull final CallStatus callStatus) {
+        final List<CallStatus> supersededTerminalStatus = new ArrayList<>();
+        synchronized (this) {
+            final boolean wasEmpty = pending.isEmpty();
+            for (final Call call : callStatus.getCalls()) {
+                updatesReceived++;
+                final Optional<InterestId> interestId = call.getInterestId();
+                PendingCallStatus pendingCallStatus = pending.get(interestId);
+                if (pendingCallStatus != null && pendingCallStatus.hasTerminalStateFor(call)) {
+                    pending.remove(interestId);
+                    supersededTerminalStatus.add(pendingCallStatus.toCallStatus());
+                    pendingCallStatus = null;
+                }
+                if (pendingCallStatus == null) {
+                    pendingCallStatus = new PendingCallStatus();
+                    pending.put(interestId, pendingCallStatus);
+                }
+                if (pendingCallStatus.update(callStatus, call)) {
+                    updatesCoalesced++;
+                }
+            }
+            if (wasEmpty && !pending.isEmpty() && !window.isZero()) {
+                scheduledFlush = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        supersededTerminalStatus.forEach(downstream);
+    }
+
+    /**
+     * Immediately passes all pending updates downstream.
+     */
+    public void flush() {
+        synchronized (deliveryLock) {
+            final Map<Optional<InterestId>, PendingCallStatus> toFlush;
+            synchronized (this) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                toFlush = pending;
+                pending = new LinkedHashMap<>();
+            }
+            toFlush.values().forEach(pendingCallStatus -> downstream.accept(pendingCallStatus.toCallStatus()));
+        }
+    }
+
+    /**
+     * @return the total number of call updates offered to the coalescer
+     */
+    public synchronized long getUpdatesReceived() {
+        return updatesReceived;
+    }
+
+    /**
+     * @return the number of call updates that were replaced by a later update to the same call
+     */
+    public synchronized long getUpdatesCoalesced() {
+        return updatesCoalesced;
+    }
+
+    /**
+     * Passes any pending updates downstream.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private static final class PendingCallStatus {
+
+        @Nullable private Boolean callStatusBusy;
+        @Nullable private PhoneNumber callForward;
+        // Calls without an id can't be matched with later updates, so are keyed by a unique object
+        @Nonnull private final Map<Object, Call> calls = new LinkedHashMap<>();
+
+        @Nonnull
+        private static Object getKey(@Nonnull final Call call) {
+            return call.getId().isPresent() ? call.getId().get() : new Object();
+        }
+
+        private boolean hasTerminalStateFor(@Nonnull final Call call) {
+            final Call pendingCall = calls.get(getKey(call));
+            return pendingCall != null && pendingCall.getState().map(CallState::isTerminal).orElse(false);
+        }
+
+        private boolean update(@Nonnull final CallStatus callStatus, @Nonnull final Call call) {
+            callStatus.isCallStatusBusy().ifPresent(busy -> callStatusBusy = busy);
+            callStatus.getCallForward().ifPresent(forward -> callForward = forward);
+            return calls.put(getKey(call), call) != null;
+        }
+
+        @Nonnull
+        private CallStatus toCallStatus() {
+            final CallStatus.Builder builder = CallStatus.Builder.start().addCalls(new ArrayList<>(calls.values()));
+            if (callStatusBusy != null) {
+                builder.setCallStatusBusy(callStatusBusy);
+            }
+            if (callForward != null) {
+                builder.setCallForward(callForward);
+            }
+            return builder.build();
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.bt.openlink.flow;
+
+/**
+ * Determines what a {@link StatusPublisher} does with items that a subscriber has not yet requested.
+ */
+public enum OverflowStrategy {
+
+    /**
+     * Items are queued until requested. If the queue reaches capacity the subscription is cancelled and the subscriber
+     * is sent an error.
+     */
+    BUFFER,
+    /**
+     * Items are queued until requested. If the queue reaches capacity the oldest queued item is discarded.
+     */
+    DROP_OLDEST,
+    /**
+     * Only the most recent item for each call is queued; an older item for the same call(s) is replaced in place.
+     * Device status items are keyed by profile instead. If the number of queued items reaches capacity the oldest is
+     * discarded.
+     */
+    KEEP_LATEST_PER_CALL
+
+}
@@ -0,0 +1,127 @@
+package com.bt.openlink.flow;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.PubSubItem;
+import com.bt.openlink.type.PubSubNodeId;
+
+/**
+ * Groups items to be published to the same pub-sub node so that they can be sent in a single multi-item publish
+ * request, e.g.
+ *
+ * <pre>
+ * new PubSubPublishBatcher(50, Duration.ofMillis(20), scheduler, (nodeId, items) -&gt; component.send(
+ *         PubSubPublishRequest.Builder.start()
+ *                 .setTo(pubSubService)
+ *                 .setFrom(componentJID)
+ *                 .setPubSubNodeId(nodeId)
+ *                 .addItems(items)
+ *                 .build()));
+ * </pre>
+ *
+ * A batch is passed downstream as soon as it contains the maximum number of items, or once the oldest item in it has
+ * waited for the maximum delay, whichever is sooner.
+ */
+public class PubSubPublishBatcher implements AutoCloseable {
+
+    private final int maxItems;
+    @Nonnull private final Duration maxDelay;
+    @Nonnull private final ScheduledExecutorService scheduler;
+    @Nonnull private final BiConsumer<PubSubNodeId, List<PubSubItem>> downstream;
+    @Nonnull private Map<PubSubNodeId, List<PubSubItem>> pending = new LinkedHashMap<>();
+    @Nullable private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * @param maxItems
+     *            the maximum number of items in a batch
+     * @param maxDelay
+     *            the maximum time an item waits for other items to be batched with it
+     * @param scheduler
+     *            the scheduler used to pass batches downstream once the delay has expired
+     * @param downstream
+     *            receives each batch of items, along with the node they are to be published to
+     */
+    public PubSubPublishBatcher(final int maxItems, @Nonnull final Duration maxDelay, @Nonnull final ScheduledExecutorService scheduler, @Nonnull final BiConsumer<PubSubNodeId, List<PubSubItem>> downstream) {
+        if (maxItems < 1) {
+            throw new IllegalArgumentException("A batch must contain at least one item");
+        }
+        if (maxDelay.isNegative() || maxDelay.isZero()) {
+            throw new IllegalArgumentException("The maximum delay must be positive");
+        }
+        this.maxItems = maxItems;
+        this.maxDelay = maxDelay;
+        this.scheduler = scheduler;
+        this.downstream = downstream;
+    }
+
+    /**
+     * Adds an item to the batch for a node.
+     *
+     * @param pubSubNodeId
+     *            the node the item is to be published to
+     * @param item
+     *            the item to publish
+     */
+    public void publish(@Nonnull final PubSubNodeId pubSubNodeId, @Nonnull final PubSubItem item) {
+        final List<PubSubItem> fullBatch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                scheduledFlush = scheduler.schedule(this::flush, maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            final List<PubSubItem> batch = pending.computeIfAbsent(pubSubNodeId, nodeId -> new ArrayList<>());
+            batch.add(item);
+            if (batch.size() < maxItems) {
+                return;
+            }
+            pending.remove(pubSubNodeId);
+            fullBatch = batch;
+            if (pending.isEmpty()) {
+                cancelScheduledFlush();
+            }
+        }
+        downstream.accept(pubSubNodeId, fullBatch);
+    }
+
+    /**
+     * Immediately passes all pending batches downstream.
+     */
+    public void flush() {
+        final Map<PubSubNodeId, List<PubSubItem>> toFlush;
+        synchronized (this) {
+            cancelScheduledFlush();
+            if (pending.isEmpty()) {
+                return;
+            }
+            toFlush = pending;
+            pending = new LinkedHashMap<>();
+        }
+        toFlush.forEach(downstream);
+    }
+
+    private void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    /**
+     * Passes any pending batches downstream.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+}
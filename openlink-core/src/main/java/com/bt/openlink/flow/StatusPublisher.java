@@ -0,0 +1,298 @@
+package com.bt.openlink.flow;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.DeviceStatus;
+
+/**
+ * A Reactive Streams {@link Publisher} of Openlink status items that honours subscriber demand. Items are handed to the
+ * publisher with {@link #offer(Object)}, which never blocks; each subscriber has its own bounded queue, managed
+ * according to the publisher's {@link OverflowStrategy}, and is signalled on the publisher's {@link Executor}. A slow
+ * subscriber therefore cannot stall the thread reading from the XMPP connection, nor cause unbounded memory growth.
+ * <p>
+ * On Java 9 and later the publisher can be adapted to a {@code java.util.concurrent.Flow.Publisher} with
+ * {@code org.reactivestreams.FlowAdapters}.
+ *
+ * @param <T>
+ *            the type of item published
+ */
+public class StatusPublisher<T> implements Publisher<T>, AutoCloseable {
+
+    @Nonnull private final OverflowStrategy overflowStrategy;
+    private final int capacity;
+    @Nonnull private final Function<T, ?> keyFunction;
+    @Nonnull private final Executor executor;
+    @Nonnull private final List<StatusSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean closed = false;
+
+    public StatusPublisher(@Nonnull final OverflowStrategy overflowStrategy, final int capacity, @Nonnull final Function<T, ?> keyFunction, @Nonnull final Executor executor) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least one");
+        }
+        this.overflowStrategy = overflowStrategy;
+        this.capacity = capacity;
+        this.keyFunction = keyFunction;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a publisher of call status, where {@link OverflowStrategy#KEEP_LATEST_PER_CALL} treats call status items
+     * containing the same calls as superseding each other.
+     *
+     * @param overflowStrategy
+     *            how to handle items that have not yet been requested
+     * @param capacity
+     *            the maximum number of items queued per subscriber
+     * @return a new publisher signalling subscribers on the common fork-join pool
+     */
+    @Nonnull
+    public static StatusPublisher<CallStatus> forCallStatus(@Nonnull final OverflowStrategy overflowStrategy, final int capacity) {
+        return new StatusPublisher<>(overflowStrategy, capacity, StatusPublisher::getCallIds, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a publisher of device status, where {@link OverflowStrategy#KEEP_LATEST_PER_CALL} treats device status
+     * items for the same profile as superseding each other.
+     *
+     * @param overflowStrategy
+     *            how to handle items that have not yet been requested
+     * @param capacity
+     *            the maximum number of items queued per subscriber
+     * @return a new publisher signalling subscribers on the common fork-join pool
+     */
+    @Nonnull
+    public static StatusPublisher<DeviceStatus> forDeviceStatus(@Nonnull final OverflowStrategy overflowStrategy, final int capacity) {
+        return new StatusPublisher<>(overflowStrategy, capacity, deviceStatus -> deviceStatus.getProfileId().orElse(null), ForkJoinPool.commonPool());
+    }
+
+    @Nonnull
+    private static List<Optional<?>> getCallIds(@Nonnull final CallStatus callStatus) {
+        return callStatus.getCalls().stream().map(Call::getId).collect(Collectors.toList());
+    }
+
+    @Nonnull
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getNumberOfSubscribers() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void subscribe(@Nonnull final Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "The subscriber must not be null");
+        final StatusSubscription subscription = new StatusSubscription(subscriber);
+        if (!closed) {
+            subscriptions.add(subscription);
+        }
+        subscription.start(closed);
+    }
+
+    /**
+     * Queues an item for delivery to all current subscribers. This method does not block.
+     *
+     * @param item
+     *            the item to publish
+     */
+    public void offer(@Nonnull final T item) {
+        Objects.requireNonNull(item, "The item must not be null");
+        if (closed) {
+            throw new IllegalStateException("The publisher has been closed");
+        }
+        subscriptions.forEach(subscription -> subscription.offer(item));
+    }
+
+    /**
+     * Completes every subscription once the items already queued for it have been delivered.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        subscriptions.forEach(StatusSubscription::complete);
+    }
+
+    private final class StatusSubscription implements Subscription, Runnable {
+
+        @Nonnull private final Subscriber<? super T> subscriber;
+        @Nonnull private final ArrayDeque<T> queue = new ArrayDeque<>();
+        @Nonnull private final Map<Object, T> latestByKey = new LinkedHashMap<>();
+        @Nonnull private final AtomicLong demand = new AtomicLong();
+        @Nonnull private final AtomicInteger workInProgress = new AtomicInteger();
+        private boolean subscribed = false;
+        private volatile boolean cancelled = false;
+        private volatile boolean completed = false;
+        @Nullable private volatile Throwable error;
+
+        private StatusSubscription(@Nonnull final Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void start(final boolean alreadyClosed) {
+            completed = alreadyClosed;
+            schedule();
+        }
+
+        private void offer(@Nonnull final T item) {
+            if (cancelled) {
+                return;
+            }
+            synchronized (this) {
+                switch (overflowStrategy) {
+                case KEEP_LATEST_PER_CALL:
+                    final Object key = keyFunction.apply(item);
+                    if (latestByKey.replace(key, item) == null) {
+                        if (latestByKey.size() == capacity) {
+                            final Iterator<T> iterator = latestByKey.values().iterator();
+                            iterator.next();
+                            iterator.remove();
+                        }
+                        latestByKey.put(key, item);
+                    }
+                    break;
+                case DROP_OLDEST:
+                    if (queue.size() == capacity) {
+                        queue.poll();
+                    }
+                    queue.offer(item);
+                    break;
+                default:
+                    if (queue.size() == capacity) {
+                        error = new IllegalStateException("The subscriber has not kept up; more than " + capacity + " items are queued");
+                    } else {
+                        queue.offer(item);
+                    }
+                    break;
+                }
+            }
+            schedule();
+        }
+
+        @Nullable
+        private synchronized T poll() {
+            if (overflowStrategy == OverflowStrategy.KEEP_LATEST_PER_CALL) {
+                final Iterator<T> iterator = latestByKey.values().iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                final T item = iterator.next();
+                iterator.remove();
+                return item;
+            } else {
+                return queue.poll();
+            }
+        }
+
+        private synchronized boolean isEmpty() {
+            return queue.isEmpty() && latestByKey.isEmpty();
+        }
+
+        private synchronized void clear() {
+            queue.clear();
+            latestByKey.clear();
+        }
+
+        private void complete() {
+            completed = true;
+            schedule();
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("The number of items requested must be positive (Reactive Streams rule 3.9) - " + n + " is not");
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            schedule();
+        }
+
+        private void schedule() {
+            if (workInProgress.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Signals the subscriber. Only one thread at a time runs this, as guaranteed by the work-in-progress counter.
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (!subscribed) {
+                    subscribed = true;
+                    subscriber.onSubscribe(this);
+                }
+                drain();
+                missed = workInProgress.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            while (!cancelled) {
+                final Throwable throwable = error;
+                if (throwable != null) {
+                    terminate();
+                    subscriber.onError(throwable);
+                    return;
+                }
+                if (isEmpty()) {
+                    if (completed) {
+                        terminate();
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+                if (demand.get() == 0) {
+                    return;
+                }
+                final T item = poll();
+                if (item != null) {
+                    demand.decrementAndGet();
+                    subscriber.onNext(item);
+                }
+            }
+            clear();
+        }
+
+        private void terminate() {
+            cancelled = true;
+            subscriptions.remove(this);
+            clear();
+        }
+    }
+}
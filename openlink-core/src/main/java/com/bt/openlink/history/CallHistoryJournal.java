@@ -0,0 +1,450 @@
+package com.bt.openlink.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.HistoricalCall;
+
+/**
+ * A persistent, append-only journal of historical calls, e.g. for an Openlink service that needs to retain call history
+ * across restarts without a database:
+ *
+ * <pre>
+ * final CallHistoryJournal&lt;JID&gt; journal = CallHistoryJournal.open(directory, CallHistoryJournal.DEFAULT_SEGMENT_SIZE, JID::toString, jid -&gt; Optional.of(new JID(jid)));
+ * journal.readAll(store::add);
+ * ...
+ * journal.append(call);
+ * store.add(call);
+ * </pre>
+ *
+ * The journal is split into fixed size segment files, each memory-mapped in full; when a call does not fit in the
+ * current segment a new one is started. Each call is written as its encoded length, a CRC32 of the encoded call and the
+ * call itself, with the length written last so a partly written call is never read. On opening, each segment is scanned
+ * up to the first missing or corrupt call to rebuild a sparse index holding the range of start times for each block of
+ * calls. A read for a time window skips any segment or block that cannot contain a matching call, and reads the rest
+ * sequentially straight from the mapped segment, decoding only the calls in the window.
+ * <p>
+ * Calls appended with {@link #append(HistoricalCall)} are visible to readers immediately, but only guaranteed to be on
+ * disk once {@link #force()} has been called. A consumer passed to one of the read methods must not append to the
+ * journal.
+ *
+ * @param <J>
+ *            the type of JID used by the XMPP library
+ */
+public class CallHistoryJournal<J extends Serializable> implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int MAGIC_NUMBER = 0x4F4C4A31;
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int CALL_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int CALLS_PER_INDEX_ENTRY = 64;
+    private static final int INITIAL_ENCODING_BUFFER_SIZE = 1024;
+    private static final String SEGMENT_FILE_GLOB = "history-*.journal";
+    private static final String SEGMENT_FILE_PREFIX = "history-";
+    private static final String SEGMENT_FILE_SUFFIX = ".journal";
+    private static final String SEGMENT_FILE_FORMAT = SEGMENT_FILE_PREFIX + "%010d" + SEGMENT_FILE_SUFFIX;
+
+    @Nonnull private final Path directory;
+    private final int segmentSize;
+    @Nonnull private final HistoricalCallCodec<J> codec;
+    @Nonnull private final Lock readLock;
+    @Nonnull private final Lock writeLock;
+    @Nonnull private final List<Segment> segments = new ArrayList<>();
+    @Nonnull private ByteBuffer encodingBuffer = ByteBuffer.allocate(INITIAL_ENCODING_BUFFER_SIZE);
+    // Follows on from the last segment file, rather than counting them, as old segment files may have been deleted
+    private long nextSegmentNumber;
+    private boolean closed;
+
+    private CallHistoryJournal(@Nonnull final Path directory, final int segmentSize, @Nonnull final HistoricalCallCodec<J> codec) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.codec = codec;
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    /**
+     * Opens a journal, creating it if it does not already exist.
+     *
+     * @param directory
+     *            the directory containing the journal's segment files
+     * @param segmentSize
+     *            the size of each new segment file, in bytes
+     * @param tscEncoder
+     *            converts the TSC of a call to a string
+     * @param tscDecoder
+     *            converts a string back to the TSC of a call
+     * @param <J>
+     *            the type of JID used by the XMPP library
+     * @return the journal
+     * @throws IOException
+     *             if the journal could not be opened
+     */
+    @Nonnull
+    public static <J extends Serializable> CallHistoryJournal<J> open(
+            @Nonnull final Path directory,
+            final int segmentSize,
+            @Nonnull final Function<J, String> tscEncoder,
+            @Nonnull final Function<String, Optional<J>> tscDecoder) throws IOException {
+        if (segmentSize <= SEGMENT_HEADER_SIZE + CALL_HEADER_SIZE) {
+            throw new IllegalArgumentException("The segment size is too small");
+        }
+        Files.createDirectories(directory);
+        final CallHistoryJournal<J> journal = new CallHistoryJournal<>(directory, segmentSize, new HistoricalCallCodec<>(tscEncoder, tscDecoder));
+        final List<Path> segmentFiles = new ArrayList<>();
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_FILE_GLOB)) {
+            files.forEach(segmentFiles::add);
+        }
+        segmentFiles.sort(null);
+        try {
+            for (final Path segmentFile : segmentFiles) {
+                journal.segments.add(Segment.open(segmentFile));
+                journal.nextSegmentNumber = Math.max(journal.nextSegmentNumber, getSegmentNumber(segmentFile) + 1);
+            }
+        } catch (final IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * Appends a call to the journal.
+     *
+     * @param call
+     *            the call to append
+     * @throws IOException
+     *             if a new segment could not be created
+     * @throws IllegalArgumentException
+     *             if the call is too large to fit in a segment
+     */
+    public void append(@Nonnull final HistoricalCall<J> call) throws IOException {
+        writeLock.lock();
+        try {
+            checkNotClosed();
+            final ByteBuffer encodedCall = encode(call);
+            if (SEGMENT_HEADER_SIZE + CALL_HEADER_SIZE + encodedCall.remaining() > segmentSize) {
+                throw new IllegalArgumentException("The historical call is too large to fit in a segment");
+            }
+            final Segment currentSegment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (currentSegment == null || !currentSegment.append(encodedCall)) {
+                if (currentSegment != null) {
+                    currentSegment.buffer.force();
+                }
+                final Segment newSegment = Segment.create(directory.resolve(String.format(SEGMENT_FILE_FORMAT, nextSegmentNumber)), segmentSize);
+                nextSegmentNumber++;
+                segments.add(newSegment);
+                newSegment.append(encodedCall);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /*
+     * Returns the number in the name of a segment file, or -1 if it does not have one.
+     */
+    private static long getSegmentNumber(@Nonnull final Path segmentFile) {
+        final String fileName = segmentFile.getFileName().toString();
+        final String number = fileName.substring(SEGMENT_FILE_PREFIX.length(), fileName.length() - SEGMENT_FILE_SUFFIX.length());
+        try {
+            return Long.parseLong(number);
+        } catch (final NumberFormatException ignored) {
+            return -1;
+        }
+    }
+
+    @Nonnull
+    private ByteBuffer encode(@Nonnull final HistoricalCall<J> call) {
+        while (true) {
+            encodingBuffer.clear();
+            try {
+                codec.encode(call, encodingBuffer);
+                encodingBuffer.flip();
+                return encodingBuffer;
+            } catch (final BufferOverflowException ignored) {
+                if (encodingBuffer.capacity() >= segmentSize) {
+                    throw new IllegalArgumentException("The historical call is too large to fit in a segment");
+                }
+                encodingBuffer = ByteBuffer.allocate(Math.min(encodingBuffer.capacity() * 2, segmentSize));
+            }
+        }
+    }
+
+    /**
+     * Ensures that every call appended to the journal is written to disk.
+     */
+    public void force() {
+        writeLock.lock();
+        try {
+            checkNotClosed();
+            if (!segments.isEmpty()) {
+                segments.get(segments.size() - 1).buffer.force();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reads every call in the journal, in the order they were appended.
+     *
+     * @param consumer
+     *            receives each call
+     */
+    public void readAll(@Nonnull final Consumer<HistoricalCall<J>> consumer) {
+        read(Long.MIN_VALUE, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Reads the calls that started within a time window, in the order they were appended.
+     *
+     * @param from
+     *            the start of the window, inclusive
+     * @param upTo
+     *            the end of the window, exclusive
+     * @param consumer
+     *            receives each call in the window
+     */
+    public void read(@Nonnull final Instant from, @Nonnull final Instant upTo, @Nonnull final Consumer<HistoricalCall<J>> consumer) {
+        read(from.toEpochMilli(), upTo.toEpochMilli(), consumer);
+    }
+
+    /**
+     * Reads the calls that started on or between two dates, as used by a get-call-history request, in the order they
+     * were appended.
+     *
+     * @param fromDate
+     *            the first date, or {@code null} to read from the start of the journal
+     * @param upToDate
+     *            the last date, or {@code null} to read to the end of the journal
+     * @param zoneId
+     *            the time zone used to interpret the dates
+     * @param consumer
+     *            receives each call in the window
+     */
+    public void read(@Nullable final LocalDate fromDate, @Nullable final LocalDate upToDate, @Nonnull final ZoneId zoneId, @Nonnull final Consumer<HistoricalCall<J>> consumer) {
+        final long from = fromDate == null ? Long.MIN_VALUE : fromDate.atStartOfDay(zoneId).toInstant().toEpochMilli();
+        final long upTo = upToDate == null ? Long.MAX_VALUE : upToDate.plusDays(1).atStartOfDay(zoneId).toInstant().toEpochMilli();
+        read(from, upTo, consumer);
+    }
+
+    private void read(final long from, final long upTo, @Nonnull final Consumer<HistoricalCall<J>> consumer) {
+        readLock.lock();
+        try {
+            checkNotClosed();
+            for (final Segment segment : segments) {
+                segment.read(from, upTo, codec, consumer);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("The call history journal has been closed");
+        }
+    }
+
+    /**
+     * Writes any outstanding calls to disk and closes the journal.
+     *
+     * @throws IOException
+     *             if a segment file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            IOException exception = null;
+            for (final Segment segment : segments) {
+                try {
+                    segment.close();
+                } catch (final IOException e) {
+                    exception = e;
+                }
+            }
+            if (exception != null) {
+                throw exception;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static final class Segment {
+
+        @Nonnull private final FileChannel channel;
+        @Nonnull private final MappedByteBuffer buffer;
+        @Nonnull private final CRC32 crc = new CRC32();
+        private int writePosition = SEGMENT_HEADER_SIZE;
+        private int callCount;
+        private long minimumStartTime = Long.MAX_VALUE;
+        private long maximumStartTime = Long.MIN_VALUE;
+        // The sparse index; one entry for each block of calls, recording where the block starts and its range of start times
+        @Nonnull private int[] blockPositions = new int[16];
+        @Nonnull private long[] blockMinimumStartTimes = new long[16];
+        @Nonnull private long[] blockMaximumStartTimes = new long[16];
+        private int blockCount;
+
+        private Segment(@Nonnull final FileChannel channel, @Nonnull final MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        @Nonnull
+        private static Segment create(@Nonnull final Path path, final int size) throws IOException {
+            final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            final Segment segment = new Segment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            segment.buffer.putInt(0, MAGIC_NUMBER);
+            segment.buffer.putInt(Integer.BYTES, VERSION);
+            return segment;
+        }
+
+        @Nonnull
+        private static Segment open(@Nonnull final Path path) throws IOException {
+            final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            final Segment segment = new Segment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            if (segment.buffer.capacity() < SEGMENT_HEADER_SIZE || segment.buffer.getInt(0) != MAGIC_NUMBER || segment.buffer.getInt(Integer.BYTES) != VERSION) {
+                channel.close();
+                throw new IOException("Not a call history journal segment: " + path);
+            }
+            segment.recover();
+            return segment;
+        }
+
+        private void recover() {
+            final ByteBuffer call = buffer.duplicate();
+            while (writePosition + CALL_HEADER_SIZE <= buffer.capacity()) {
+                final int length = buffer.getInt(writePosition);
+                if (length == 0) {
+                    return;
+                }
+                final int callPosition = writePosition + CALL_HEADER_SIZE;
+                if (length < 0 || callPosition + length > buffer.capacity()) {
+                    break;
+                }
+                call.limit(callPosition + length).position(callPosition);
+                if (buffer.getInt(writePosition + Integer.BYTES) != checksum(call)) {
+                    break;
+                }
+                call.position(callPosition);
+                index(writePosition, HistoricalCallCodec.getStartTime(call));
+                writePosition = callPosition + length;
+            }
+            // The rest of the segment was left by a partly written call, so is cleared to be written again
+            for (int position = writePosition; position < buffer.capacity(); position++) {
+                buffer.put(position, (byte) 0);
+            }
+        }
+
+        private int checksum(@Nonnull final ByteBuffer call) {
+            crc.reset();
+            crc.update(call);
+            return (int) crc.getValue();
+        }
+
+        private boolean append(@Nonnull final ByteBuffer encodedCall) {
+            final int length = encodedCall.remaining();
+            final int callPosition = writePosition + CALL_HEADER_SIZE;
+            if (callPosition + length > buffer.capacity()) {
+                return false;
+            }
+            final int encodedPosition = encodedCall.position();
+            final long startTime = HistoricalCallCodec.getStartTime(encodedCall);
+            final int checksum = checksum(encodedCall);
+            encodedCall.position(encodedPosition);
+            final ByteBuffer destination = buffer.duplicate();
+            destination.position(callPosition);
+            destination.put(encodedCall);
+            buffer.putInt(writePosition + Integer.BYTES, checksum);
+            // The length is written last, as a non-zero length marks the call as complete
+            buffer.putInt(writePosition, length);
+            index(writePosition, startTime);
+            writePosition = callPosition + length;
+            return true;
+        }
+
+        private void index(final int position, final long startTime) {
+            if (callCount % CALLS_PER_INDEX_ENTRY == 0) {
+                if (blockCount == blockPositions.length) {
+                    blockPositions = Arrays.copyOf(blockPositions, blockCount * 2);
+                    blockMinimumStartTimes = Arrays.copyOf(blockMinimumStartTimes, blockCount * 2);
+                    blockMaximumStartTimes = Arrays.copyOf(blockMaximumStartTimes, blockCount * 2);
+                }
+                blockPositions[blockCount] = position;
+                blockMinimumStartTimes[blockCount] = startTime;
+                blockMaximumStartTimes[blockCount] = startTime;
+                blockCount++;
+            } else {
+                blockMinimumStartTimes[blockCount - 1] = Math.min(blockMinimumStartTimes[blockCount - 1], startTime);
+                blockMaximumStartTimes[blockCount - 1] = Math.max(blockMaximumStartTimes[blockCount - 1], startTime);
+            }
+            minimumStartTime = Math.min(minimumStartTime, startTime);
+            maximumStartTime = Math.max(maximumStartTime, startTime);
+            callCount++;
+        }
+
+        private <J extends Serializable> void read(final long from, final long upTo, @Nonnull final HistoricalCallCodec<J> codec, @Nonnull final Consumer<HistoricalCall<J>> consumer) {
+            if (callCount == 0 || maximumStartTime < from || minimumStartTime >= upTo) {
+                return;
+            }
+            final ByteBuffer call = buffer.duplicate();
+            for (int block = 0; block < blockCount; block++) {
+                if (blockMaximumStartTimes[block] < from || blockMinimumStartTimes[block] >= upTo) {
+                    continue;
+                }
+                final int blockEnd = block + 1 < blockCount ? blockPositions[block + 1] : writePosition;
+                int position = blockPositions[block];
+                while (position < blockEnd) {
+                    final int callPosition = position + CALL_HEADER_SIZE;
+                    final int callEnd = callPosition + buffer.getInt(position);
+                    call.limit(callEnd).position(callPosition);
+                    final long startTime = HistoricalCallCodec.getStartTime(call);
+                    if (startTime >= from && startTime < upTo) {
+                        consumer.accept(codec.decode(call));
+                    }
+                    position = callEnd;
+                }
+            }
+        }
+
+        private void close() throws IOException {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.bt.openlink.history;
+
+import java.io.Serializable;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+
+import com.bt.openlink.type.HistoricalCall;
+
+/**
+ * Receives the contents of a get-call-history result as it is parsed, rather than once the whole result has been
+ * parsed. The record counts are always reported before the first call.
+ *
+ * @param <J>
+ *            the type of JID used by the XMPP library
+ */
+@FunctionalInterface
+public interface CallHistoryListener<J extends Serializable> {
+
+    /**
+     * Called once, before any calls, with the record counts from the result.
+     *
+     * @param totalRecordCount
+     *            the total number of records that match the request
+     * @param firstRecordNumber
+     *            the number of the first record in this result
+     * @param recordCountInBatch
+     *            the number of records in this result
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    default void onRecordCounts(@Nonnull final Optional<Long> totalRecordCount, @Nonnull final Optional<Long> firstRecordNumber, @Nonnull final Optional<Long> recordCountInBatch) {
+        // Most listeners are only interested in the calls
+    }
+
+    /**
+     * Called for each call in the result, in the order they appear.
+     *
+     * @param call
+     *            the call
+     */
+    void onCall(@Nonnull HistoricalCall<J> call);
+
+}
@@ -0,0 +1,196 @@
+package com.bt.openlink.history;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nonnull;
+
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.HistoricalCall;
+
+/**
+ * Merges the call history of a user from several Openlink servers into a single history, newest call first, e.g.
+ *
+ * <pre>
+ * final CallHistoryMerger&lt;Jid&gt; merger = new CallHistoryMerger&lt;&gt;(Arrays.asList(
+ *         new SmackCallHistoryPageFetcher(connection, () -&gt; GetCallHistoryRequest.Builder.start().setTo(server1).setJID(user)),
+ *         new SmackCallHistoryPageFetcher(connection, () -&gt; GetCallHistoryRequest.Builder.start().setTo(server2).setJID(user))), 100);
+ * merger.fetch(0, 20).thenAccept(page -&gt; display(page.getCalls()));
+ * </pre>
+ *
+ * Each server is expected to return its history newest call first. The first page from every server is requested
+ * concurrently, and the calls are then merged by start time with a heap; a further page is only requested from a
+ * server once every call already received from it has been merged. To find the calls at a given position in the merged
+ * history, the calls before it must still be merged, so no more than {@code start + count} calls are requested from any
+ * one server unless duplicates are found.
+ * <p>
+ * A call with the same call id as one already merged is a duplicate, and is dropped. As duplicates are not known until
+ * the history has been merged, the total record count of a merged page is not known.
+ * <p>
+ * The merger is itself a {@link CallHistoryPager.PageFetcher}, so a merged history can be walked with a
+ * {@link CallHistoryPager}.
+ *
+ * @param <J>
+ *            the type of JID used by the XMPP library
+ */
+public class CallHistoryMerger<J extends Serializable> implements CallHistoryPager.PageFetcher<J> {
+
+    // Newest first; calls without a start time are treated as the oldest
+    private static final Comparator<Head<?>> NEWEST_FIRST = Comparator.<Head<?>> comparingLong(head -> head.startTime).reversed()
+            .thenComparingInt(head -> head.source.index);
+
+    @Nonnull private final List<CallHistoryPager.PageFetcher<J>> fetchers;
+    private final long maximumPageSize;
+
+    /**
+     * @param fetchers
+     *            one fetcher for each server that may hold the history
+     * @param maximumPageSize
+     *            the maximum number of records to request from a server at a time
+     */
+    public CallHistoryMerger(@Nonnull final List<CallHistoryPager.PageFetcher<J>> fetchers, final long maximumPageSize) {
+        if (fetchers.isEmpty()) {
+            throw new IllegalArgumentException("At least one fetcher is required");
+        }
+        if (maximumPageSize < 1) {
+            throw new IllegalArgumentException("The page size must be at least one");
+        }
+        this.fetchers = Collections.unmodifiableList(new ArrayList<>(fetchers));
+        this.maximumPageSize = maximumPageSize;
+    }
+
+    /**
+     * @param start
+     *            the position in the merged history of the first call to return
+     * @param count
+     *            the maximum number of calls to return
+     * @return the calls, once they have been merged; should any request fail, the stage completes exceptionally
+     */
+    @Nonnull
+    @Override
+    public CompletionStage<CallHistoryPage<J>> fetch(final long start, final long count) {
+        if (start < 0 || count < 0) {
+            throw new IllegalArgumentException("The start and count must not be negative");
+        }
+        return new Merge(start, count).start();
+    }
+
+    private final class Merge {
+        @Nonnull private final List<Source> sources = new ArrayList<>();
+        @Nonnull private final PriorityQueue<Head<J>> heads = new PriorityQueue<>(NEWEST_FIRST);
+        @Nonnull private final Set<CallId> mergedCallIds = new HashSet<>();
+        @Nonnull private final List<HistoricalCall<J>> calls = new ArrayList<>();
+        private final long count;
+        private long callsToSkip;
+
+        private Merge(final long start, final long count) {
+            this.callsToSkip = start;
+            this.count = count;
+            final long pageSize = Math.max(1, Math.min(maximumPageSize, start + count));
+            for (int i = 0; i < fetchers.size(); i++) {
+                sources.add(new Source(i, fetchers.get(i), pageSize));
+            }
+        }
+
+        @Nonnull
+        private CompletionStage<CallHistoryPage<J>> start() {
+            if (count == 0) {
+                return CompletableFuture.completedFuture(CallHistoryPage.of(Optional.empty(), calls));
+            }
+            final CompletableFuture<?>[] firstPages = new CompletableFuture<?>[sources.size()];
+            for (int i = 0; i < firstPages.length; i++) {
+                firstPages[i] = sources.get(i).fetchNextPage();
+            }
+            return CompletableFuture.allOf(firstPages).thenCompose(ignored -> {
+                sources.forEach(this::addHead);
+                return merge();
+            });
+        }
+
+        @Nonnull
+        private CompletionStage<CallHistoryPage<J>> merge() {
+            while (calls.size() < count && !heads.isEmpty()) {
+                final Head<J> head = heads.poll();
+                accept(head.call);
+                final Source source = head.source;
+                if (!source.calls.hasNext() && !source.exhausted) {
+                    // The next call from this server may be newer than any other, so must be fetched before merging
+                    return source.fetchNextPage().thenCompose(ignored -> {
+                        addHead(source);
+                        return merge();
+                    });
+                }
+                addHead(source);
+            }
+            return CompletableFuture.completedFuture(CallHistoryPage.of(Optional.empty(), calls));
+        }
+
+        private void accept(@Nonnull final HistoricalCall<J> call) {
+            if (call.getId().isPresent() && !mergedCallIds.add(call.getId().get())) {
+                return;
+            }
+            if (callsToSkip > 0) {
+                callsToSkip--;
+            } else {
+                calls.add(call);
+            }
+        }
+
+        private void addHead(@Nonnull final Source source) {
+            if (source.calls.hasNext()) {
+                heads.add(new Head<>(source, source.calls.next()));
+            }
+        }
+    }
+
+    private final class Source {
+        private final int index;
+        @Nonnull private final CallHistoryPager.PageFetcher<J> fetcher;
+        private final long pageSize;
+        @Nonnull private Iterator<HistoricalCall<J>> calls = Collections.emptyIterator();
+        private long nextStart;
+        private boolean exhausted;
+
+        private Source(final int index, @Nonnull final CallHistoryPager.PageFetcher<J> fetcher, final long pageSize) {
+            this.index = index;
+            this.fetcher = fetcher;
+            this.pageSize = pageSize;
+        }
+
+        @Nonnull
+        private CompletableFuture<Void> fetchNextPage() {
+            final long pageStart = nextStart;
+            nextStart += pageSize;
+            return fetcher.fetch(pageStart, pageSize).toCompletableFuture().thenAccept(page -> {
+                calls = page.getCalls().iterator();
+                // A short page, or one that reaches the total, means there are no more records
+                exhausted = page.getCalls().size() < pageSize
+                        || page.getTotalRecordCount().map(total -> nextStart >= total).orElse(false);
+            });
+        }
+    }
+
+    private static final class Head<J extends Serializable> {
+        @Nonnull private final CallHistoryMerger<J>.Source source;
+        @Nonnull private final HistoricalCall<J> call;
+        private final long startTime;
+
+        private Head(@Nonnull final CallHistoryMerger<J>.Source source, @Nonnull final HistoricalCall<J> call) {
+            this.source = source;
+            this.call = call;
+            this.startTime = call.getStartTime().map(Instant::toEpochMilli).orElse(Long.MIN_VALUE);
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.bt.openlink.history;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.HistoricalCall;
+
+/**
+ * A single page of call history, as returned by a get-call-history result.
+ *
+ * @param <J>
+ *            the type of JID used by the XMPP library
+ */
+public final class CallHistoryPage<J extends Serializable> {
+
+    @Nullable private final Long totalRecordCount;
+    @Nonnull private final List<HistoricalCall<J>> calls;
+
+    private CallHistoryPage(@Nullable final Long totalRecordCount, @Nonnull final List<HistoricalCall<J>> calls) {
+        this.totalRecordCount = totalRecordCount;
+        this.calls = Collections.unmodifiableList(new ArrayList<>(calls));
+    }
+
+    /**
+     * @param totalRecordCount
+     *            the total number of records that match the request, if known
+     * @param calls
+     *            the calls in this page
+     * @param <J>
+     *            the type of JID used by the XMPP library
+     * @return the page
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    @Nonnull
+    public static <J extends Serializable> CallHistoryPage<J> of(@Nonnull final Optional<Long> totalRecordCount, @Nonnull final List<HistoricalCall<J>> calls) {
+        return new CallHistoryPage<>(totalRecordCount.orElse(null), calls);
+    }
+
+    @Nonnull
+    public Optional<Long> getTotalRecordCount() {
+        return Optional.ofNullable(totalRecordCount);
+    }
+
+    @Nonnull
+    public List<HistoricalCall<J>> getCalls() {
+        return calls;
+    }
+
+}
@@ -0,0 +1,219 @@
+package com.bt.openlink.history;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.HistoricalCall;
+
+/**
+ * Walks every record matching a get-call-history request, page by page, e.g.
+ *
+ * <pre>
+ * final CallHistoryPager&lt;Jid&gt; pager = new CallHistoryPager&lt;&gt;(fetcher, 100, 4, 8);
+ * try (Stream&lt;HistoricalCall&lt;Jid&gt;&gt; calls = pager.stream()) {
+ *     calls.forEach(exporter::export);
+ * }
+ * </pre>
+ *
+ * The first page is requested on its own to discover the total number of records; after that up to {@code parallelism}
+ * pages are requested at a time, and up to {@code readAhead} pages are held ahead of the consumer. Calls are supplied
+ * in the order the server returns them. As records may be added while the history is being walked, a call may appear on
+ * more than one page; each call id is only supplied once.
+ * <p>
+ * A page with fewer records than were requested ends the stream only if it reaches the total record count, or the
+ * total is not known. Should the server return fewer records than requested before then, e.g. as it caps the size of
+ * a page, the history is walked on from the record after the last one returned, in pages of the size the server
+ * returned.
+ * <p>
+ * Should a page request fail, the stream throws a {@link java.util.concurrent.CompletionException} wrapping the cause.
+ * Closing the stream cancels any outstanding requests.
+ *
+ * @param <J>
+ *            the type of JID used by the XMPP library
+ */
+public class CallHistoryPager<J extends Serializable> {
+
+    /**
+     * Requests a single page of call history.
+     *
+     * @param <J>
+     *            the type of JID used by the XMPP library
+     */
+    @FunctionalInterface
+    public interface PageFetcher<J extends Serializable> {
+
+        /**
+         * @param start
+         *            the number of the first record to return
+         * @param count
+         *            the maximum number of records to return
+         * @return the page, once it has been received
+         */
+        @Nonnull
+        CompletionStage<CallHistoryPage<J>> fetch(long start, long count);
+    }
+
+    @Nonnull private final PageFetcher<J> fetcher;
+    private final long pageSize;
+    private final int parallelism;
+    private final int readAhead;
+
+    /**
+     * @param fetcher
+     *            used to request each page
+     * @param pageSize
+     *            the number of records to request in each page
+     * @param parallelism
+     *            the maximum number of page requests outstanding at any one time
+     * @param readAhead
+     *            the maximum number of pages, requested or received, held ahead of the consumer; at least
+     *            {@code parallelism}
+     */
+    public CallHistoryPager(@Nonnull final PageFetcher<J> fetcher, final long pageSize, final int parallelism, final int readAhead) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("The page size must be at least one");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least one");
+        }
+        if (readAhead < parallelism) {
+            throw new IllegalArgumentException("The read-ahead must be at least the parallelism");
+        }
+        this.fetcher = fetcher;
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+        this.readAhead = readAhead;
+    }
+
+    /**
+     * @return a lazily-filled stream of every matching call; no pages are requested until the stream is consumed
+     */
+    @Nonnull
+    public Stream<HistoricalCall<J>> stream() {
+        return stream(0);
+    }
+
+    /**
+     * @param firstRecordNumber
+     *            the number of the first record to return
+     * @return a lazily-filled stream of the matching calls from the first record onwards; no pages are requested until
+     *         the stream is consumed
+     */
+    @Nonnull
+    public Stream<HistoricalCall<J>> stream(final long firstRecordNumber) {
+        final PageSpliterator spliterator = new PageSpliterator(firstRecordNumber);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::cancel);
+    }
+
+    private final class PageSpliterator extends Spliterators.AbstractSpliterator<HistoricalCall<J>> {
+
+        @Nonnull private final Deque<RequestedPage<J>> requestedPages = new ArrayDeque<>();
+        @Nonnull private final Set<CallId> suppliedCallIds = new HashSet<>();
+        @Nonnull private Iterator<HistoricalCall<J>> currentPage = Collections.emptyIterator();
+        @Nullable private Long totalRecordCount;
+        private long nextStart;
+        private long nextPageSize = pageSize;
+        private boolean lastPageReceived;
+
+        private PageSpliterator(final long firstRecordNumber) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.nextStart = firstRecordNumber;
+        }
+
+        @Override
+        public boolean tryAdvance(@Nonnull final Consumer<? super HistoricalCall<J>> action) {
+            do {
+                while (currentPage.hasNext()) {
+                    final HistoricalCall<J> call = currentPage.next();
+                    if (call.getId().map(suppliedCallIds::add).orElse(true)) {
+                        action.accept(call);
+                        return true;
+                    }
+                }
+            } while (nextPage());
+            return false;
+        }
+
+        private boolean nextPage() {
+            if (lastPageReceived) {
+                return false;
+            }
+            requestPages();
+            final RequestedPage<J> nextPage = requestedPages.pollFirst();
+            if (nextPage == null) {
+                lastPageReceived = true;
+                return false;
+            }
+            final CallHistoryPage<J> page = nextPage.page.join();
+            // Records may have been added since the previous page, so the latest total is always used
+            page.getTotalRecordCount().ifPresent(total -> totalRecordCount = total);
+            final int callCount = page.getCalls().size();
+            if (callCount < nextPage.count) {
+                final long followingStart = nextPage.start + callCount;
+                if (callCount == 0 || totalRecordCount == null || followingStart >= totalRecordCount) {
+                    lastPageReceived = true;
+                } else {
+                    // The server returned fewer records than were requested, so the pages already requested would
+                    // skip some; they are requested again from the record after the last one returned
+                    nextStart = followingStart;
+                    nextPageSize = callCount;
+                }
+                cancel();
+            }
+            currentPage = page.getCalls().iterator();
+            if (!lastPageReceived) {
+                requestPages();
+            }
+            return true;
+        }
+
+        private void requestPages() {
+            // Until the total record count is known, there is no way of telling which pages exist
+            final int maximumPages = totalRecordCount == null ? 1 : readAhead;
+            while (requestedPages.size() < maximumPages
+                    && getOutstandingRequestCount() < parallelism
+                    && (totalRecordCount == null || nextStart < totalRecordCount)) {
+                requestedPages.addLast(new RequestedPage<>(nextStart, nextPageSize, fetcher.fetch(nextStart, nextPageSize).toCompletableFuture()));
+                nextStart += nextPageSize;
+            }
+        }
+
+        private long getOutstandingRequestCount() {
+            return requestedPages.stream().filter(requestedPage -> !requestedPage.page.isDone()).count();
+        }
+
+        private void cancel() {
+            requestedPages.forEach(requestedPage -> requestedPage.page.cancel(false));
+            requestedPages.clear();
+        }
+    }
+
+    private static final class RequestedPage<J extends Serializable> {
+        private final long start;
+        private final long count;
+        @Nonnull private final CompletableFuture<CallHistoryPage<J>> page;
+
+        private RequestedPage(final long start, final long count, @Nonnull final CompletableFuture<CallHistoryPage<J>> page) {
+            this.start = start;
+            this.count = count;
+            this.page = page;
+        }
+    }
+
+}
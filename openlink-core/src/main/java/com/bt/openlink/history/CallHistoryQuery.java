@@ -0,0 +1,160 @@
+package com.bt.openlink.history;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.CallType;
+import com.bt.openlink.type.UserId;
+
+/**
+ * The filters of a get-call-history request, as answered by a {@link CallHistoryStore}. The request identifies the user
+ * by JID; it is up to the server to map that to the user id recorded against each call.
+ */
+public final class CallHistoryQuery {
+
+    @Nullable private final UserId userId;
+    @Nullable private final String caller;
+    @Nullable private final String called;
+    @Nullable private final CallType callType;
+    @Nullable private final LocalDate fromDate;
+    @Nullable private final LocalDate upToDate;
+    private final long start;
+    @Nullable private final Long count;
+
+    private CallHistoryQuery(@Nonnull final Builder builder) {
+        this.userId = builder.userId;
+        this.caller = builder.caller;
+        this.called = builder.called;
+        this.callType = builder.callType;
+        this.fromDate = builder.fromDate;
+        this.upToDate = builder.upToDate;
+        this.start = builder.start == null ? 0 : builder.start;
+        this.count = builder.count;
+    }
+
+    @Nonnull
+    public Optional<UserId> getUserId() {
+        return Optional.ofNullable(userId);
+    }
+
+    @Nonnull
+    public Optional<String> getCaller() {
+        return Optional.ofNullable(caller);
+    }
+
+    @Nonnull
+    public Optional<String> getCalled() {
+        return Optional.ofNullable(called);
+    }
+
+    @Nonnull
+    public Optional<CallType> getCallType() {
+        return Optional.ofNullable(callType);
+    }
+
+    @Nonnull
+    public Optional<LocalDate> getFromDate() {
+        return Optional.ofNullable(fromDate);
+    }
+
+    @Nonnull
+    public Optional<LocalDate> getUpToDate() {
+        return Optional.ofNullable(upToDate);
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    @Nonnull
+    public Optional<Long> getCount() {
+        return Optional.ofNullable(count);
+    }
+
+    public static final class Builder {
+
+        @Nullable private UserId userId;
+        @Nullable private String caller;
+        @Nullable private String called;
+        @Nullable private CallType callType;
+        @Nullable private LocalDate fromDate;
+        @Nullable private LocalDate upToDate;
+        @Nullable private Long start;
+        @Nullable private Long count;
+
+        private Builder() {
+        }
+
+        @Nonnull
+        public static Builder start() {
+            return new Builder();
+        }
+
+        @Nonnull
+        public CallHistoryQuery build() {
+            if (fromDate != null && upToDate != null && upToDate.isBefore(fromDate)) {
+                throw new IllegalStateException("The call history query upToDate cannot be before the fromDate");
+            }
+            if (start != null && start < 0) {
+                throw new IllegalStateException("The call history query start cannot be negative");
+            }
+            if (count != null && count < 0) {
+                throw new IllegalStateException("The call history query count cannot be negative");
+            }
+            return new CallHistoryQuery(this);
+        }
+
+        @Nonnull
+        public Builder setUserId(@Nonnull final UserId userId) {
+            this.userId = userId;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setCaller(@Nonnull final String caller) {
+            this.caller = caller;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setCalled(@Nonnull final String called) {
+            this.called = called;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setCallType(@Nonnull final CallType callType) {
+            this.callType = callType;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setFromDate(@Nonnull final LocalDate fromDate) {
+            this.fromDate = fromDate;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setUpToDate(@Nonnull final LocalDate upToDate) {
+            this.upToDate = upToDate;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setStart(final long start) {
+            this.start = start;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setCount(final long count) {
+            this.count = count;
+            return this;
+        }
+
+    }
+
+}
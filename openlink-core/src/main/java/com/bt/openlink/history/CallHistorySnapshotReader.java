@@ -0,0 +1,534 @@
+package com.bt.openlink.history;
+
+import static com.bt.openlink.history.SnapshotColumns.NO_CALL_TYPE;
+import static com.bt.openlink.history.SnapshotColumns.readBits;
+import static com.bt.openlink.history.SnapshotColumns.readVarLong;
+import static com.bt.openlink.history.SnapshotColumns.readZigZag;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.CallDirection;
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.CallType;
+import com.bt.openlink.type.HistoricalCall;
+import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.PhoneNumber;
+import com.bt.openlink.type.UserId;
+
+/**
+ * Reads a snapshot written by a {@link CallHistorySnapshotWriter}. A {@link #scan(CallHistoryQuery, ZoneId, Consumer)
+ * scan} splits the row groups of the snapshot across a fork-join pool; row groups that cannot contain a matching call,
+ * according to their range of start times and the call types they contain, are skipped without being read, and within
+ * a row group only the columns needed to filter the calls are decoded until a call is known to match.
+ *
+ * @param <J>
+ *            the type of JID used by the XMPP library
+ */
+public class CallHistorySnapshotReader<J extends Serializable> implements Closeable {
+
+    private static final CallState[] STATES = CallState.values();
+    private static final CallDirection[] DIRECTIONS = CallDirection.values();
+    // The minimum number of row groups scanned by a single fork-join task
+    private static final int GROUPS_PER_TASK = 1;
+
+    @Nonnull private final FileChannel channel;
+    @Nonnull private final Function<String, Optional<J>> tscDecoder;
+    @Nonnull private final String[] dictionary;
+    @Nonnull private final Map<String, Integer> dictionaryIds;
+    // The dictionary id of the label of each state and direction, by ordinal; 0 if not in the snapshot
+    @Nonnull private final int[] stateIds;
+    @Nonnull private final int[] directionIds;
+    @Nonnull private final long[] groupPositions;
+    @Nonnull private final int[] groupLengths;
+    @Nonnull private final int[] groupRowCounts;
+    @Nonnull private final long[] groupMinimumStartTimes;
+    @Nonnull private final long[] groupMaximumStartTimes;
+    @Nonnull private final int[] groupCallTypeMasks;
+    private final long rowCount;
+    private volatile boolean closed;
+
+    private CallHistorySnapshotReader(@Nonnull final FileChannel channel, @Nonnull final Function<String, Optional<J>> tscDecoder, @Nonnull final ByteBuffer footer) {
+        this.channel = channel;
+        this.tscDecoder = tscDecoder;
+        this.dictionary = new String[(int) readVarLong(footer)];
+        this.dictionaryIds = new HashMap<>(dictionary.length * 2);
+        for (int i = 0; i < dictionary.length; i++) {
+            final int length = (int) readVarLong(footer);
+            dictionary[i] = new String(footer.array(), footer.arrayOffset() + footer.position(), length, StandardCharsets.UTF_8);
+            dictionaryIds.put(dictionary[i], i + 1);
+            footer.position(footer.position() + length);
+        }
+        this.stateIds = new int[STATES.length];
+        for (final CallState state : STATES) {
+            stateIds[state.ordinal()] = dictionaryIds.getOrDefault(state.getLabel(), 0);
+        }
+        this.directionIds = new int[DIRECTIONS.length];
+        for (final CallDirection direction : DIRECTIONS) {
+            directionIds[direction.ordinal()] = dictionaryIds.getOrDefault(direction.getLabel(), 0);
+        }
+        final int groupCount = (int) readVarLong(footer);
+        this.groupPositions = new long[groupCount];
+        this.groupLengths = new int[groupCount];
+        this.groupRowCounts = new int[groupCount];
+        this.groupMinimumStartTimes = new long[groupCount];
+        this.groupMaximumStartTimes = new long[groupCount];
+        this.groupCallTypeMasks = new int[groupCount];
+        long rows = 0;
+        for (int group = 0; group < groupCount; group++) {
+            groupPositions[group] = footer.getLong();
+            groupLengths[group] = footer.getInt();
+            groupRowCounts[group] = footer.getInt();
+            groupMinimumStartTimes[group] = footer.getLong();
+            groupMaximumStartTimes[group] = footer.getLong();
+            groupCallTypeMasks[group] = footer.getInt();
+            rows += groupRowCounts[group];
+        }
+        this.rowCount = rows;
+    }
+
+    /**
+     * Opens an existing snapshot.
+     *
+     * @param path
+     *            the snapshot file
+     * @param tscDecoder
+     *            converts the string written by the writer's TSC encoder back to a TSC
+     * @param <J>
+     *            the type of JID used by the XMPP library
+     * @return the reader
+     * @throws IOException
+     *             if the file could not be read, or is not a complete snapshot
+     */
+    @Nonnull
+    public static <J extends Serializable> CallHistorySnapshotReader<J> open(@Nonnull final Path path, @Nonnull final Function<String, Optional<J>> tscDecoder) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final long size = channel.size();
+            if (size < SnapshotColumns.HEADER_SIZE + SnapshotColumns.TRAILER_SIZE) {
+                throw new IOException("The call history snapshot " + path + " is incomplete");
+            }
+            final ByteBuffer header = readFully(channel, 0, SnapshotColumns.HEADER_SIZE);
+            if (header.getInt() != SnapshotColumns.MAGIC_NUMBER || header.getInt() != SnapshotColumns.VERSION) {
+                throw new IOException("The file " + path + " is not a supported call history snapshot");
+            }
+            final ByteBuffer trailer = readFully(channel, size - SnapshotColumns.TRAILER_SIZE, SnapshotColumns.TRAILER_SIZE);
+            final long footerPosition = trailer.getLong();
+            if (trailer.getInt() != SnapshotColumns.MAGIC_NUMBER || footerPosition < SnapshotColumns.HEADER_SIZE || footerPosition > size - SnapshotColumns.TRAILER_SIZE) {
+                throw new IOException("The call history snapshot " + path + " is incomplete");
+            }
+            final ByteBuffer footer = readFully(channel, footerPosition, (int) (size - SnapshotColumns.TRAILER_SIZE - footerPosition));
+            return new CallHistorySnapshotReader<>(channel, tscDecoder, footer);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Nonnull
+    private static ByteBuffer readFully(@Nonnull final FileChannel channel, final long position, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of call history snapshot");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return the number of calls in the snapshot
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Reads every call in the snapshot, in the order they were written, on the calling thread.
+     *
+     * @param consumer
+     *            the consumer of each call
+     * @throws IOException
+     *             if the snapshot could not be read
+     */
+    public void readAll(@Nonnull final Consumer<HistoricalCall<J>> consumer) throws IOException {
+        checkOpen();
+        final Filter filter = new Filter(CallHistoryQuery.Builder.start().build(), ZoneId.systemDefault());
+        for (int group = 0; group < groupPositions.length; group++) {
+            scanGroup(group, filter, consumer, null);
+        }
+    }
+
+    /**
+     * Scans the snapshot, in parallel on the common fork-join pool, for calls that match the query.
+     *
+     * @param query
+     *            the query; the start and count of the query are ignored, as the calls are not scanned in order
+     * @param zoneId
+     *            the zone in which the dates of the query are interpreted
+     * @param consumer
+     *            the consumer of each matching call; it may be called concurrently from several threads, and in no
+     *            particular order
+     * @throws IOException
+     *             if the snapshot could not be read
+     */
+    public void scan(@Nonnull final CallHistoryQuery query, @Nonnull final ZoneId zoneId, @Nonnull final Consumer<HistoricalCall<J>> consumer) throws IOException {
+        scan(query, zoneId, ForkJoinPool.commonPool(), consumer);
+    }
+
+    /**
+     * Scans the snapshot, in parallel on the given fork-join pool, for calls that match the query.
+     *
+     * @param query
+     *            the query; the start and count of the query are ignored, as the calls are not scanned in order
+     * @param zoneId
+     *            the zone in which the dates of the query are interpreted
+     * @param pool
+     *            the pool to scan the row groups on
+     * @param consumer
+     *            the consumer of each matching call; it may be called concurrently from several threads, and in no
+     *            particular order
+     * @throws IOException
+     *             if the snapshot could not be read
+     */
+    public void scan(@Nonnull final CallHistoryQuery query, @Nonnull final ZoneId zoneId, @Nonnull final ForkJoinPool pool, @Nonnull final Consumer<HistoricalCall<J>> consumer) throws IOException {
+        checkOpen();
+        final Filter filter = new Filter(query, zoneId);
+        if (filter.matchesNothing) {
+            return;
+        }
+        invoke(pool, new ScanTask(0, groupPositions.length, filter, consumer, null));
+    }
+
+    /**
+     * Counts the calls in the snapshot that match the query, without decoding them.
+     *
+     * @param query
+     *            the query; the start and count of the query are ignored
+     * @param zoneId
+     *            the zone in which the dates of the query are interpreted
+     * @return the number of matching calls
+     * @throws IOException
+     *             if the snapshot could not be read
+     */
+    public long count(@Nonnull final CallHistoryQuery query, @Nonnull final ZoneId zoneId) throws IOException {
+        checkOpen();
+        final Filter filter = new Filter(query, zoneId);
+        if (filter.matchesNothing) {
+            return 0;
+        }
+        final LongAdder matches = new LongAdder();
+        invoke(ForkJoinPool.commonPool(), new ScanTask(0, groupPositions.length, filter, null, matches));
+        return matches.sum();
+    }
+
+    private void invoke(@Nonnull final ForkJoinPool pool, @Nonnull final ScanTask task) throws IOException {
+        try {
+            pool.invoke(task);
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The call history snapshot reader has been closed");
+        }
+    }
+
+    private boolean mayMatch(final int group, @Nonnull final Filter filter) {
+        if (groupRowCounts[group] == 0) {
+            return false;
+        }
+        if (filter.hasDateRange && (groupMaximumStartTimes[group] < filter.from || groupMinimumStartTimes[group] >= filter.upTo)) {
+            return false;
+        }
+        return filter.callTypeMask == 0 || (groupCallTypeMasks[group] & filter.callTypeMask) != 0;
+    }
+
+    /*
+     * Scans a single row group, either passing each matching call to the consumer or, if there is no consumer, adding
+     * the number of matches to the counter.
+     */
+    private void scanGroup(final int group, @Nonnull final Filter filter, final Consumer<HistoricalCall<J>> consumer, final LongAdder counter) throws IOException {
+        if (!mayMatch(group, filter)) {
+            return;
+        }
+        final int rows = groupRowCounts[group];
+        final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, groupPositions[group], groupLengths[group]);
+        final ByteBuffer startTimeColumn = nextColumn(buffer);
+        final ByteBuffer stateColumn = nextColumn(buffer);
+        final ByteBuffer directionColumn = nextColumn(buffer);
+        final ByteBuffer durationColumn = nextColumn(buffer);
+        final ByteBuffer[] stringColumns = new ByteBuffer[SnapshotColumns.STRING_COLUMN_COUNT];
+        for (int column = 0; column < stringColumns.length; column++) {
+            stringColumns[column] = nextColumn(buffer);
+        }
+        final ByteBuffer callIdColumn = nextColumn(buffer);
+
+        final boolean[] startTimePresent = new boolean[rows];
+        final long[] startTimes = new long[rows];
+        readTimes(startTimeColumn, rows, startTimePresent, startTimes);
+        final int[] states = readIds(stateColumn, rows);
+        final int[] directions = readIds(directionColumn, rows);
+        final int[][] stringIds = new int[SnapshotColumns.STRING_COLUMN_COUNT][];
+
+        final boolean[] selected = new boolean[rows];
+        int selectedCount = 0;
+        for (int row = 0; row < rows; row++) {
+            if (filter.hasDateRange && (!startTimePresent[row] || startTimes[row] < filter.from || startTimes[row] >= filter.upTo)) {
+                continue;
+            }
+            if (filter.callTypeMask != 0 && (callTypeBit(states[row], directions[row]) & filter.callTypeMask) == 0) {
+                continue;
+            }
+            selected[row] = true;
+            selectedCount++;
+        }
+        selectedCount = filterByDictionaryId(stringColumns, stringIds, SnapshotColumns.USER_ID_COLUMN, filter.userId, rows, selected, selectedCount);
+        selectedCount = filterByDictionaryId(stringColumns, stringIds, SnapshotColumns.CALLER_NUMBER_COLUMN, filter.callerNumber, rows, selected, selectedCount);
+        selectedCount = filterByDictionaryId(stringColumns, stringIds, SnapshotColumns.CALLED_NUMBER_COLUMN, filter.calledNumber, rows, selected, selectedCount);
+        if (selectedCount == 0) {
+            return;
+        }
+        if (consumer == null) {
+            counter.add(selectedCount);
+            return;
+        }
+
+        final boolean[] durationPresent = new boolean[rows];
+        final long[] durations = new long[rows];
+        readTimes(durationColumn, rows, durationPresent, durations);
+        for (int column = 0; column < stringIds.length; column++) {
+            if (stringIds[column] == null) {
+                stringIds[column] = readIds(stringColumns[column], rows);
+            }
+        }
+        for (int row = 0; row < rows; row++) {
+            final int length = (int) readVarLong(callIdColumn);
+            String callId = null;
+            if (length > 0) {
+                if (selected[row]) {
+                    callId = decodeString(callIdColumn, length - 1);
+                }
+                callIdColumn.position(callIdColumn.position() + length - 1);
+            }
+            if (!selected[row]) {
+                continue;
+            }
+            final HistoricalCall.Builder<J> builder = HistoricalCall.Builder.start();
+            if (callId != null) {
+                CallId.from(callId).ifPresent(builder::setId);
+            }
+            if (startTimePresent[row]) {
+                builder.setStartTime(Instant.ofEpochMilli(startTimes[row]));
+            }
+            if (durationPresent[row]) {
+                builder.setDuration(Duration.ofMillis(durations[row]));
+            }
+            final CallState state = getState(states[row]);
+            if (state != null) {
+                builder.setState(state);
+            }
+            final CallDirection direction = getDirection(directions[row]);
+            if (direction != null) {
+                builder.setDirection(direction);
+            }
+            getString(stringIds, SnapshotColumns.USER_ID_COLUMN, row).flatMap(UserId::from).ifPresent(builder::setUserId);
+            getString(stringIds, SnapshotColumns.CALLER_NUMBER_COLUMN, row).flatMap(PhoneNumber::from).ifPresent(builder::setCallerNumber);
+            getString(stringIds, SnapshotColumns.CALLER_NAME_COLUMN, row).ifPresent(builder::setCallerName);
+            getString(stringIds, SnapshotColumns.CALLED_NUMBER_COLUMN, row).flatMap(PhoneNumber::from).ifPresent(builder::setCalledNumber);
+            getString(stringIds, SnapshotColumns.CALLED_NAME_COLUMN, row).ifPresent(builder::setCalledName);
+            getString(stringIds, SnapshotColumns.INTEREST_ID_COLUMN, row).flatMap(InterestId::from).ifPresent(builder::setInterestId);
+            getString(stringIds, SnapshotColumns.TSC_COLUMN, row).flatMap(tscDecoder).ifPresent(builder::setTsc);
+            // Calls are snapshotted as received, so may legitimately be missing mandatory fields
+            consumer.accept(builder.build(new ArrayList<>()));
+        }
+    }
+
+    private static int filterByDictionaryId(@Nonnull final ByteBuffer[] stringColumns, @Nonnull final int[][] stringIds, final int column, final int id, final int rows, @Nonnull final boolean[] selected, final int selectedCount) {
+        if (id == 0 || selectedCount == 0) {
+            return selectedCount;
+        }
+        stringIds[column] = readIds(stringColumns[column], rows);
+        int remaining = selectedCount;
+        for (int row = 0; row < rows; row++) {
+            if (selected[row] && stringIds[column][row] != id) {
+                selected[row] = false;
+                remaining--;
+            }
+        }
+        return remaining;
+    }
+
+    private int callTypeBit(final int stateId, final int directionId) {
+        return CallType.of(getState(stateId), getDirection(directionId)).map(SnapshotColumns::callTypeBit).orElse(NO_CALL_TYPE);
+    }
+
+    @Nullable
+    private CallState getState(final int id) {
+        for (int i = 0; id != 0 && i < stateIds.length; i++) {
+            if (stateIds[i] == id) {
+                return STATES[i];
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private CallDirection getDirection(final int id) {
+        for (int i = 0; id != 0 && i < directionIds.length; i++) {
+            if (directionIds[i] == id) {
+                return DIRECTIONS[i];
+            }
+        }
+        return null;
+    }
+
+    @Nonnull
+    private static ByteBuffer nextColumn(@Nonnull final ByteBuffer buffer) {
+        final int length = (int) readVarLong(buffer);
+        final ByteBuffer column = buffer.slice();
+        column.limit(length);
+        buffer.position(buffer.position() + length);
+        return column;
+    }
+
+    private static void readTimes(@Nonnull final ByteBuffer column, final int rows, @Nonnull final boolean[] present, @Nonnull final long[] times) {
+        final int[] presence = new int[rows];
+        readBits(column, presence, rows, 1);
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+            if (presence[row] != 0) {
+                present[row] = true;
+                previous += readZigZag(column);
+                times[row] = previous;
+            }
+        }
+    }
+
+    @Nonnull
+    private static int[] readIds(@Nonnull final ByteBuffer column, final int rows) {
+        final int[] ids = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            ids[row] = (int) readVarLong(column);
+        }
+        return ids;
+    }
+
+    @Nonnull
+    private Optional<String> getString(@Nonnull final int[][] stringIds, final int column, final int row) {
+        final int id = stringIds[column][row];
+        return id == 0 ? Optional.empty() : Optional.of(dictionary[id - 1]);
+    }
+
+    @Nonnull
+    private static String decodeString(@Nonnull final ByteBuffer buffer, final int length) {
+        final ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        return StandardCharsets.UTF_8.decode(slice).toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+
+    /**
+     * A query translated to the terms of the snapshot; filtered values are replaced by their dictionary ids, so that
+     * they can be compared without decoding any strings.
+     */
+    private final class Filter {
+        private final boolean hasDateRange;
+        private final long from;
+        private final long upTo;
+        private final int callTypeMask;
+        private final int userId;
+        private final int callerNumber;
+        private final int calledNumber;
+        private final boolean matchesNothing;
+
+        private Filter(@Nonnull final CallHistoryQuery query, @Nonnull final ZoneId zoneId) {
+            this.hasDateRange = query.getFromDate().isPresent() || query.getUpToDate().isPresent();
+            this.from = query.getFromDate().map(date -> toEpochMilli(date, zoneId)).orElse(Long.MIN_VALUE);
+            this.upTo = query.getUpToDate().map(date -> toEpochMilli(date.plusDays(1), zoneId)).orElse(Long.MAX_VALUE);
+            this.callTypeMask = query.getCallType().map(SnapshotColumns::callTypeBit).orElse(0);
+            this.userId = getDictionaryId(query.getUserId().map(UserId::value));
+            this.callerNumber = getDictionaryId(query.getCaller());
+            this.calledNumber = getDictionaryId(query.getCalled());
+            this.matchesNothing = userId < 0 || callerNumber < 0 || calledNumber < 0;
+        }
+
+        /*
+         * Returns 0 if the value is not filtered on, or -1 if it cannot match as it is not in the snapshot.
+         */
+        @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+        private int getDictionaryId(@Nonnull final Optional<String> value) {
+            return value.map(key -> dictionaryIds.getOrDefault(key, -1)).orElse(0);
+        }
+
+        private long toEpochMilli(@Nonnull final LocalDate date, @Nonnull final ZoneId zoneId) {
+            return date.atStartOfDay(zoneId).toInstant().toEpochMilli();
+        }
+    }
+
+    private final class ScanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int firstGroup;
+        private final int lastGroup;
+        @Nonnull private final transient Filter filter;
+        private final transient Consumer<HistoricalCall<J>> consumer;
+        private final transient LongAdder counter;
+
+        private ScanTask(final int firstGroup, final int lastGroup, @Nonnull final Filter filter, final Consumer<HistoricalCall<J>> consumer, final LongAdder counter) {
+            this.firstGroup = firstGroup;
+            this.lastGroup = lastGroup;
+            this.filter = filter;
+            this.consumer = consumer;
+            this.counter = counter;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastGroup - firstGroup > GROUPS_PER_TASK) {
+                final int middle = (firstGroup + lastGroup) >>> 1;
+                invokeAll(new ScanTask(firstGroup, middle, filter, consumer, counter), new ScanTask(middle, lastGroup, filter, consumer, counter));
+                return;
+            }
+            for (int group = firstGroup; group < lastGroup; group++) {
+                try {
+                    scanGroup(group, filter, consumer, counter);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,300 @@
+package com.bt.openlink.history;
+
+import static com.bt.openlink.history.SnapshotColumns.NO_CALL_TYPE;
+import static com.bt.openlink.history.SnapshotColumns.writeBits;
+import static com.bt.openlink.history.SnapshotColumns.writeVarLong;
+import static com.bt.openlink.history.SnapshotColumns.writeZigZag;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+
+import com.bt.openlink.type.CallDirection;
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.HistoricalCall;
+import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.PhoneNumber;
+import com.bt.openlink.type.UserId;
+
+/**
+ * Writes historical calls to a columnar snapshot file, to be read with a {@link CallHistorySnapshotReader}, e.g.
+ *
+ * <pre>
+ * try (CallHistorySnapshotWriter&lt;JID&gt; writer = CallHistorySnapshotWriter.create(path, JID::toString)) {
+ *     journal.readAll(writer::write);
+ * }
+ * </pre>
+ *
+ * Calls are buffered a row group at a time; the snapshot is only complete, and readable, once the writer has been
+ * closed. The layout of the file is described in {@link SnapshotColumns}.
+ *
+ * @param <J>
+ *            the type of JID used by the XMPP library
+ */
+public class CallHistorySnapshotWriter<J extends Serializable> implements Closeable {
+
+    @Nonnull private final FileChannel channel;
+    @Nonnull private final Function<J, String> tscEncoder;
+    private final int rowsPerGroup;
+    @Nonnull private final Map<String, Integer> dictionaryIds = new HashMap<>();
+    @Nonnull private final List<String> dictionary = new ArrayList<>();
+    @Nonnull private final ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    private int groupCount;
+    private long position = SnapshotColumns.HEADER_SIZE;
+    private boolean closed;
+
+    // The columns of the current row group
+    private int rowCount;
+    @Nonnull private final int[] startTimePresent;
+    @Nonnull private final long[] startTimes;
+    @Nonnull private final int[] durationPresent;
+    @Nonnull private final long[] durations;
+    @Nonnull private final int[] states;
+    @Nonnull private final int[] directions;
+    @Nonnull private final int[][] stringIds;
+    @Nonnull private final String[] callIds;
+    private long minimumStartTime;
+    private long maximumStartTime;
+    private int callTypeMask;
+
+    private CallHistorySnapshotWriter(@Nonnull final FileChannel channel, @Nonnull final Function<J, String> tscEncoder, final int rowsPerGroup) {
+        this.channel = channel;
+        this.tscEncoder = tscEncoder;
+        this.rowsPerGroup = rowsPerGroup;
+        this.startTimePresent = new int[rowsPerGroup];
+        this.startTimes = new long[rowsPerGroup];
+        this.durationPresent = new int[rowsPerGroup];
+        this.durations = new long[rowsPerGroup];
+        this.states = new int[rowsPerGroup];
+        this.directions = new int[rowsPerGroup];
+        this.stringIds = new int[SnapshotColumns.STRING_COLUMN_COUNT][rowsPerGroup];
+        this.callIds = new String[rowsPerGroup];
+        startRowGroup();
+    }
+
+    /**
+     * Creates a new snapshot file, replacing any existing file.
+     *
+     * @param path
+     *            the file to create
+     * @param tscEncoder
+     *            converts the TSC of a call to a string
+     * @param <J>
+     *            the type of JID used by the XMPP library
+     * @return the writer
+     * @throws IOException
+     *             if the file could not be created
+     */
+    @Nonnull
+    public static <J extends Serializable> CallHistorySnapshotWriter<J> create(@Nonnull final Path path, @Nonnull final Function<J, String> tscEncoder) throws IOException {
+        return create(path, tscEncoder, SnapshotColumns.DEFAULT_ROWS_PER_GROUP);
+    }
+
+    /**
+     * @param path
+     *            the file to create
+     * @param tscEncoder
+     *            converts the TSC of a call to a string
+     * @param rowsPerGroup
+     *            the number of calls in each row group; the unit of parallelism and of skipping when reading
+     * @param <J>
+     *            the type of JID used by the XMPP library
+     * @return the writer
+     * @throws IOException
+     *             if the file could not be created
+     */
+    @Nonnull
+    public static <J extends Serializable> CallHistorySnapshotWriter<J> create(@Nonnull final Path path, @Nonnull final Function<J, String> tscEncoder, final int rowsPerGroup) throws IOException {
+        if (rowsPerGroup < 1) {
+            throw new IllegalArgumentException("A row group must contain at least one row");
+        }
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        final ByteBuffer header = ByteBuffer.allocate(SnapshotColumns.HEADER_SIZE);
+        header.putInt(SnapshotColumns.MAGIC_NUMBER).putInt(SnapshotColumns.VERSION).flip();
+        try {
+            writeFully(channel, header);
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new CallHistorySnapshotWriter<>(channel, tscEncoder, rowsPerGroup);
+    }
+
+    /**
+     * @param call
+     *            the call to add to the snapshot
+     * @throws IOException
+     *             if a row group could not be written
+     */
+    public void write(@Nonnull final HistoricalCall<J> call) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("The call history snapshot writer has been closed");
+        }
+        final int row = rowCount;
+        if (call.getStartTime().isPresent()) {
+            final long startTime = call.getStartTime().get().toEpochMilli();
+            startTimePresent[row] = 1;
+            startTimes[row] = startTime;
+            minimumStartTime = Math.min(minimumStartTime, startTime);
+            maximumStartTime = Math.max(maximumStartTime, startTime);
+        } else {
+            startTimePresent[row] = 0;
+        }
+        if (call.getDuration().isPresent()) {
+            durationPresent[row] = 1;
+            durations[row] = call.getDuration().get().toMillis();
+        } else {
+            durationPresent[row] = 0;
+        }
+        states[row] = getDictionaryId(call.getState().map(CallState::getLabel));
+        directions[row] = getDictionaryId(call.getDirection().map(CallDirection::getLabel));
+        callTypeMask |= call.getCallType().map(SnapshotColumns::callTypeBit).orElse(NO_CALL_TYPE);
+        stringIds[SnapshotColumns.USER_ID_COLUMN][row] = getDictionaryId(call.getUserId().map(UserId::value));
+        stringIds[SnapshotColumns.CALLER_NUMBER_COLUMN][row] = getDictionaryId(call.getCallerNumber().map(PhoneNumber::value));
+        stringIds[SnapshotColumns.CALLER_NAME_COLUMN][row] = getDictionaryId(call.getCallerName());
+        stringIds[SnapshotColumns.CALLED_NUMBER_COLUMN][row] = getDictionaryId(call.getCalledNumber().map(PhoneNumber::value));
+        stringIds[SnapshotColumns.CALLED_NAME_COLUMN][row] = getDictionaryId(call.getCalledName());
+        stringIds[SnapshotColumns.INTEREST_ID_COLUMN][row] = getDictionaryId(call.getInterestId().map(InterestId::value));
+        stringIds[SnapshotColumns.TSC_COLUMN][row] = getDictionaryId(call.getTsc().map(tscEncoder));
+        callIds[row] = call.getId().map(CallId::value).orElse(null);
+        rowCount++;
+        if (rowCount == rowsPerGroup) {
+            writeRowGroup();
+        }
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private int getDictionaryId(@Nonnull final Optional<String> value) {
+        if (!value.isPresent()) {
+            return 0;
+        }
+        return dictionaryIds.computeIfAbsent(value.get(), key -> {
+            dictionary.add(key);
+            return dictionary.size();
+        });
+    }
+
+    private void startRowGroup() {
+        rowCount = 0;
+        minimumStartTime = Long.MAX_VALUE;
+        maximumStartTime = Long.MIN_VALUE;
+        callTypeMask = 0;
+    }
+
+    private void writeRowGroup() throws IOException {
+        final ByteArrayOutputStream group = new ByteArrayOutputStream(rowCount * 16);
+        final ByteArrayOutputStream column = new ByteArrayOutputStream(rowCount * 4);
+
+        writeTimes(column, startTimePresent, startTimes);
+        writeColumn(group, column);
+        writeIds(column, states);
+        writeColumn(group, column);
+        writeIds(column, directions);
+        writeColumn(group, column);
+        writeTimes(column, durationPresent, durations);
+        writeColumn(group, column);
+        for (final int[] ids : stringIds) {
+            writeIds(column, ids);
+            writeColumn(group, column);
+        }
+        for (int row = 0; row < rowCount; row++) {
+            if (callIds[row] == null) {
+                writeVarLong(column, 0);
+            } else {
+                final byte[] bytes = callIds[row].getBytes(StandardCharsets.UTF_8);
+                writeVarLong(column, bytes.length + 1L);
+                column.write(bytes, 0, bytes.length);
+            }
+        }
+        writeColumn(group, column);
+
+        final byte[] bytes = group.toByteArray();
+        writeFully(channel, ByteBuffer.wrap(bytes));
+        final ByteBuffer entry = ByteBuffer.allocate(SnapshotColumns.ROW_GROUP_ENTRY_SIZE);
+        entry.putLong(position).putInt(bytes.length).putInt(rowCount).putLong(minimumStartTime).putLong(maximumStartTime).putInt(callTypeMask);
+        footer.write(entry.array(), 0, entry.capacity());
+        position += bytes.length;
+        groupCount++;
+        startRowGroup();
+    }
+
+    private void writeTimes(@Nonnull final ByteArrayOutputStream column, @Nonnull final int[] present, @Nonnull final long[] times) {
+        writeBits(column, present, rowCount, 1);
+        long previous = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (present[row] != 0) {
+                writeZigZag(column, times[row] - previous);
+                previous = times[row];
+            }
+        }
+    }
+
+    private void writeIds(@Nonnull final ByteArrayOutputStream column, @Nonnull final int[] ids) {
+        for (int row = 0; row < rowCount; row++) {
+            writeVarLong(column, ids[row]);
+        }
+    }
+
+    private static void writeColumn(@Nonnull final ByteArrayOutputStream group, @Nonnull final ByteArrayOutputStream column) throws IOException {
+        writeVarLong(group, column.size());
+        column.writeTo(group);
+        column.reset();
+    }
+
+    private static void writeFully(@Nonnull final FileChannel channel, @Nonnull final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Writes any buffered calls and the footer, completing the snapshot.
+     *
+     * @throws IOException
+     *             if the snapshot could not be completed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (rowCount > 0) {
+                writeRowGroup();
+            }
+            final ByteArrayOutputStream footerBytes = new ByteArrayOutputStream();
+            writeVarLong(footerBytes, dictionary.size());
+            for (final String value : dictionary) {
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(footerBytes, bytes.length);
+                footerBytes.write(bytes, 0, bytes.length);
+            }
+            writeVarLong(footerBytes, groupCount);
+            footer.writeTo(footerBytes);
+            final ByteBuffer trailer = ByteBuffer.allocate(SnapshotColumns.TRAILER_SIZE);
+            trailer.putLong(position).putInt(SnapshotColumns.MAGIC_NUMBER).flip();
+            writeFully(channel, ByteBuffer.wrap(footerBytes.toByteArray()));
+            writeFully(channel, trailer);
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,289 @@
+package com.bt.openlink.history;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.Nonnull;
+
+import com.bt.openlink.iq.GetCallHistoryResultBuilder;
+import com.bt.openlink.type.CallType;
+import com.bt.openlink.type.HistoricalCall;
+import com.bt.openlink.type.PhoneNumber;
+import com.bt.openlink.type.UserId;
+
+/**
+ * An in-memory store of historical calls that answers get-call-history requests without scanning every call, e.g.
+ *
+ * <pre>
+ * final CallHistoryQuery query = CallHistoryQuery.Builder.start()
+ *         .setUserId(userIdFor(request.getJID().get()))
+ *         .setCallType(CallType.MISSED)
+ *         .setFromDate(request.getFromDate().get())
+ *         .build();
+ * final GetCallHistoryResult.Builder resultBuilder = GetCallHistoryResult.Builder.createResultBuilder(request);
+ * store.query(query, resultBuilder);
+ * </pre>
+ *
+ * Calls are indexed by user, caller number, called number and call type; each index holds the calls in start time
+ * order, so a date range is found by binary search. A query walks only the smallest index that matches its filters,
+ * checking the remaining filters against each call in the date range. Results are returned newest first.
+ * <p>
+ * The store is safe for concurrent use; queries run in parallel with each other, but not with additions.
+ *
+ * @param <J>
+ *            the type of JID used by the XMPP library
+ */
+public class CallHistoryStore<J extends Serializable> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    @Nonnull private final ZoneId zoneId;
+    @Nonnull private final Lock readLock;
+    @Nonnull private final Lock writeLock;
+    @Nonnull private final List<HistoricalCall<J>> calls = new ArrayList<>();
+    // The start time of each call, in millis since the epoch, indexed in the same way as the calls
+    @Nonnull private long[] startTimes = new long[INITIAL_CAPACITY];
+    @Nonnull private final PostingList allCalls = new PostingList();
+    @Nonnull private final Map<UserId, PostingList> callsByUser = new HashMap<>();
+    @Nonnull private final Map<String, PostingList> callsByCaller = new HashMap<>();
+    @Nonnull private final Map<String, PostingList> callsByCalled = new HashMap<>();
+    @Nonnull private final Map<CallType, PostingList> callsByCallType = new EnumMap<>(CallType.class);
+
+    /**
+     * Creates a store that interprets the dates in a query in the system default time zone.
+     */
+    public CallHistoryStore() {
+        this(ZoneId.systemDefault());
+    }
+
+    /**
+     * @param zoneId
+     *            the time zone used to interpret the dates in a query
+     */
+    public CallHistoryStore(@Nonnull final ZoneId zoneId) {
+        this.zoneId = zoneId;
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    /**
+     * Adds a call to the store. Calls are best added in start time order; adding an older call means moving the newer
+     * entries in each index to make room.
+     *
+     * @param call
+     *            the call to add
+     */
+    public void add(@Nonnull final HistoricalCall<J> call) {
+        writeLock.lock();
+        try {
+            addToIndexes(call);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @param callsToAdd
+     *            the calls to add to the store
+     */
+    public void addAll(@Nonnull final Collection<HistoricalCall<J>> callsToAdd) {
+        writeLock.lock();
+        try {
+            callsToAdd.forEach(this::addToIndexes);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void addToIndexes(@Nonnull final HistoricalCall<J> call) {
+        final int ordinal = calls.size();
+        calls.add(call);
+        if (ordinal == startTimes.length) {
+            startTimes = Arrays.copyOf(startTimes, ordinal * 2);
+        }
+        startTimes[ordinal] = call.getStartTime().map(Instant::toEpochMilli).orElse(Long.MIN_VALUE);
+        allCalls.add(ordinal);
+        call.getUserId().ifPresent(userId -> callsByUser.computeIfAbsent(userId, key -> new PostingList()).add(ordinal));
+        call.getCallerNumber().map(PhoneNumber::value).ifPresent(caller -> callsByCaller.computeIfAbsent(caller, key -> new PostingList()).add(ordinal));
+        call.getCalledNumber().map(PhoneNumber::value).ifPresent(called -> callsByCalled.computeIfAbsent(called, key -> new PostingList()).add(ordinal));
+        call.getCallType().ifPresent(callType -> callsByCallType.computeIfAbsent(callType, key -> new PostingList()).add(ordinal));
+    }
+
+    /**
+     * @return the number of calls in the store
+     */
+    public int size() {
+        readLock.lock();
+        try {
+            return calls.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * @param query
+     *            the query to answer
+     * @return the requested page of calls that match the query, newest first, along with the total number of calls that
+     *         match
+     */
+    @Nonnull
+    public CallHistoryPage<J> query(@Nonnull final CallHistoryQuery query) {
+        readLock.lock();
+        try {
+            return answer(query);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Answers a query, adding the record counts and calls to a get-call-history result.
+     *
+     * @param query
+     *            the query to answer
+     * @param resultBuilder
+     *            the builder of the result
+     */
+    public void query(@Nonnull final CallHistoryQuery query, @Nonnull final GetCallHistoryResultBuilder<?, J, ?> resultBuilder) {
+        final CallHistoryPage<J> page = query(query);
+        page.getTotalRecordCount().ifPresent(resultBuilder::setTotalRecordCount);
+        resultBuilder.setFirstRecordNumber(query.getStart());
+        resultBuilder.setRecordCountInBatch(page.getCalls().size());
+        resultBuilder.addCalls(page.getCalls());
+    }
+
+    @Nonnull
+    private CallHistoryPage<J> answer(@Nonnull final CallHistoryQuery query) {
+        final List<PostingList> candidates = new ArrayList<>();
+        if (!addCandidate(candidates, query.getUserId(), callsByUser)
+                || !addCandidate(candidates, query.getCaller(), callsByCaller)
+                || !addCandidate(candidates, query.getCalled(), callsByCalled)
+                || !addCandidate(candidates, query.getCallType(), callsByCallType)) {
+            return CallHistoryPage.of(Optional.of(0L), new ArrayList<>());
+        }
+        PostingList smallest = candidates.isEmpty() ? allCalls : candidates.get(0);
+        for (final PostingList candidate : candidates) {
+            if (candidate.size < smallest.size) {
+                smallest = candidate;
+            }
+        }
+        final long from = query.getFromDate().map(this::toEpochMilli).orElse(Long.MIN_VALUE);
+        final long upTo = query.getUpToDate().map(upToDate -> toEpochMilli(upToDate.plusDays(1))).orElse(Long.MAX_VALUE);
+        final int lowest = smallest.indexOfFirstCallFrom(from);
+        final int highest = smallest.indexOfFirstCallFrom(upTo) - 1;
+        final long start = query.getStart();
+        final long count = query.getCount().orElse(Long.MAX_VALUE);
+        final List<HistoricalCall<J>> page = new ArrayList<>();
+
+        if (candidates.size() <= 1) {
+            // Every call in the date range matches, so the page can be read directly
+            for (long i = highest - start; i >= lowest && page.size() < count; i--) {
+                page.add(calls.get(smallest.ordinals[(int) i]));
+            }
+            return CallHistoryPage.of(Optional.of((long) Math.max(0, highest - lowest + 1)), page);
+        }
+
+        long matches = 0;
+        for (int i = highest; i >= lowest; i--) {
+            final HistoricalCall<J> call = calls.get(smallest.ordinals[i]);
+            if (matches(call, query)) {
+                if (matches >= start && page.size() < count) {
+                    page.add(call);
+                }
+                matches++;
+            }
+        }
+        return CallHistoryPage.of(Optional.of(matches), page);
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private <K> boolean addCandidate(@Nonnull final List<PostingList> candidates, @Nonnull final Optional<K> key, @Nonnull final Map<K, PostingList> index) {
+        if (!key.isPresent()) {
+            return true;
+        }
+        final PostingList postingList = index.get(key.get());
+        if (postingList == null) {
+            return false;
+        }
+        candidates.add(postingList);
+        return true;
+    }
+
+    private static boolean matches(@Nonnull final HistoricalCall<?> call, @Nonnull final CallHistoryQuery query) {
+        return matches(query.getUserId(), call.getUserId())
+                && matches(query.getCaller(), call.getCallerNumber().map(PhoneNumber::value))
+                && matches(query.getCalled(), call.getCalledNumber().map(PhoneNumber::value))
+                && matches(query.getCallType(), call.getCallType());
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private static <K> boolean matches(@Nonnull final Optional<K> filter, @Nonnull final Optional<K> value) {
+        return !filter.isPresent() || filter.equals(value);
+    }
+
+    private long toEpochMilli(@Nonnull final LocalDate date) {
+        return date.atStartOfDay(zoneId).toInstant().toEpochMilli();
+    }
+
+    /**
+     * The ordinals of a set of calls, in start time order; calls with the same start time are held in the order they
+     * were added.
+     */
+    private final class PostingList {
+
+        @Nonnull private int[] ordinals = new int[INITIAL_CAPACITY];
+        private int size;
+
+        private void add(final int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            final int index = indexOfFirstCallFrom(startTimes[ordinal] == Long.MAX_VALUE ? Long.MAX_VALUE : startTimes[ordinal] + 1);
+            if (index < size) {
+                System.arraycopy(ordinals, index, ordinals, index + 1, size - index);
+            }
+            ordinals[index] = ordinal;
+            size++;
+        }
+
+        /**
+         * @param time
+         *            the time, in millis since the epoch
+         * @return the index of the first call that starts at or after the time, or the size of the list if there is
+         *         none
+         */
+        private int indexOfFirstCallFrom(final long time) {
+            // Calls are usually added in order, so check the end of the list first
+            if (size == 0 || startTimes[ordinals[size - 1]] < time) {
+                return size;
+            }
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (startTimes[ordinals[mid]] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.bt.openlink.history;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.CallDirection;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.CallType;
+
+/**
+ * The aggregate statistics of a set of calls; the number of calls of each call type, direction and state, and the
+ * total and longest duration. Rollups of disjoint sets of calls can be {@link #merge(CallRollup) merged} to give the
+ * statistics of the combined set.
+ * <p>
+ * A rollup is not thread-safe; see {@link CallRollupEngine} for a thread-safe collection of rollups.
+ */
+public final class CallRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final CallType[] CALL_TYPES = CallType.values();
+    private static final CallDirection[] DIRECTIONS = CallDirection.values();
+    private static final CallState[] STATES = CallState.values();
+
+    private long callCount;
+    // Indexed by ordinal; calls without a value are only included in the call count
+    @Nonnull private final long[] callTypeCounts = new long[CALL_TYPES.length];
+    @Nonnull private final long[] directionCounts = new long[DIRECTIONS.length];
+    @Nonnull private final long[] stateCounts = new long[STATES.length];
+    private long callsWithDuration;
+    private long totalDurationMillis;
+    private long longestDurationMillis;
+
+    public CallRollup() {
+    }
+
+    public CallRollup(@Nonnull final CallRollup rollup) {
+        merge(rollup);
+    }
+
+    /**
+     * Adds a single call to the rollup.
+     *
+     * @param state
+     *            the state of the call, if known
+     * @param direction
+     *            the direction of the call, if known
+     * @param duration
+     *            the duration of the call, if known
+     */
+    public void add(@Nullable final CallState state, @Nullable final CallDirection direction, @Nullable final Duration duration) {
+        callCount++;
+        CallType.of(state, direction).ifPresent(callType -> callTypeCounts[callType.ordinal()]++);
+        if (direction != null) {
+            directionCounts[direction.ordinal()]++;
+        }
+        if (state != null) {
+            stateCounts[state.ordinal()]++;
+        }
+        if (duration != null) {
+            final long durationMillis = duration.toMillis();
+            callsWithDuration++;
+            totalDurationMillis += durationMillis;
+            longestDurationMillis = Math.max(longestDurationMillis, durationMillis);
+        }
+    }
+
+    /**
+     * Adds the statistics of another rollup, of a different set of calls, to this one.
+     *
+     * @param rollup
+     *            the rollup to merge in to this one
+     */
+    public void merge(@Nonnull final CallRollup rollup) {
+        callCount += rollup.callCount;
+        add(callTypeCounts, rollup.callTypeCounts);
+        add(directionCounts, rollup.directionCounts);
+        add(stateCounts, rollup.stateCounts);
+        callsWithDuration += rollup.callsWithDuration;
+        totalDurationMillis += rollup.totalDurationMillis;
+        longestDurationMillis = Math.max(longestDurationMillis, rollup.longestDurationMillis);
+    }
+
+    private static void add(@Nonnull final long[] counts, @Nonnull final long[] otherCounts) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += otherCounts[i];
+        }
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    public long getCallCount(@Nonnull final CallType callType) {
+        return callTypeCounts[callType.ordinal()];
+    }
+
+    public long getCallCount(@Nonnull final CallDirection direction) {
+        return directionCounts[direction.ordinal()];
+    }
+
+    public long getCallCount(@Nonnull final CallState state) {
+        return stateCounts[state.ordinal()];
+    }
+
+    @Nonnull
+    public Duration getTotalDuration() {
+        return Duration.ofMillis(totalDurationMillis);
+    }
+
+    @Nonnull
+    public Duration getLongestDuration() {
+        return Duration.ofMillis(longestDurationMillis);
+    }
+
+    /**
+     * @return the mean duration of the calls whose duration is known, if there are any
+     */
+    @Nonnull
+    public Optional<Duration> getAverageDuration() {
+        return callsWithDuration == 0 ? Optional.empty() : Optional.of(Duration.ofMillis(totalDurationMillis / callsWithDuration));
+    }
+
+    @Override
+    public String toString() {
+        return "CallRollup[callCount=" + callCount + ", totalDuration=" + getTotalDuration() + ']';
+    }
+
+}
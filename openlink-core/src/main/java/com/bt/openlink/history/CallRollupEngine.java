@@ -0,0 +1,180 @@
+package com.bt.openlink.history;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallDirection;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.HistoricalCall;
+import com.bt.openlink.type.UserId;
+
+/**
+ * Maintains {@link CallRollup rollups} of calls for each user in fixed-size time buckets, e.g.
+ *
+ * <pre>
+ * final CallRollupEngine engine = new CallRollupEngine(Duration.ofHours(1));
+ * journal.readAll(engine::add);
+ * final CallRollup today = engine.query(userId, startOfDay, endOfDay);
+ * final long missedCalls = today.getCallCount(CallType.MISSED);
+ * </pre>
+ *
+ * Buckets are aligned to the epoch, so that engines with the same bucket size on different threads or nodes can be
+ * {@link #merge(CallRollupEngine) merged}. Calls are bucketed by start time; calls without a start time or a user id
+ * are ignored. Each call should be added once, once it has completed; the engine does not detect duplicates.
+ * <p>
+ * The engine is thread-safe. A query takes constant time for each bucket it spans, however many calls were added.
+ */
+public class CallRollupEngine {
+
+    @Nonnull private final ConcurrentMap<UserId, ConcurrentNavigableMap<Long, CallRollup>> rollupsByUser = new ConcurrentHashMap<>();
+    private final long bucketSizeMillis;
+
+    /**
+     * @param bucketSize
+     *            the size of each time bucket, at least a millisecond
+     */
+    public CallRollupEngine(@Nonnull final Duration bucketSize) {
+        if (bucketSize.toMillis() < 1) {
+            throw new IllegalArgumentException("The bucket size must be at least one millisecond");
+        }
+        this.bucketSizeMillis = bucketSize.toMillis();
+    }
+
+    @Nonnull
+    public Duration getBucketSize() {
+        return Duration.ofMillis(bucketSizeMillis);
+    }
+
+    /**
+     * @param call
+     *            the historical call to add
+     */
+    public void add(@Nonnull final HistoricalCall<?> call) {
+        add(call.getUserId().orElse(null), call.getStartTime().orElse(null), call.getState().orElse(null), call.getDirection().orElse(null), call.getDuration().orElse(null));
+    }
+
+    /**
+     * @param call
+     *            the completed call to add
+     */
+    public void add(@Nonnull final Call call) {
+        add(call.getUserId().orElse(null), call.getStartTime().orElse(null), call.getState().orElse(null), call.getDirection().orElse(null), call.getDuration().orElse(null));
+    }
+
+    private void add(@Nullable final UserId userId, @Nullable final Instant startTime, @Nullable final CallState state, @Nullable final CallDirection direction, @Nullable final Duration duration) {
+        if (userId == null || startTime == null) {
+            return;
+        }
+        final CallRollup rollup = rollupsByUser.computeIfAbsent(userId, key -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(getBucketStart(startTime.toEpochMilli()), key -> new CallRollup());
+        synchronized (rollup) {
+            rollup.add(state, direction, duration);
+        }
+    }
+
+    private long getBucketStart(final long epochMilli) {
+        return Math.floorDiv(epochMilli, bucketSizeMillis) * bucketSizeMillis;
+    }
+
+    /**
+     * @param userId
+     *            the user
+     * @param from
+     *            the start of the period, rounded down to the start of its bucket
+     * @param upTo
+     *            the end of the period, exclusive, rounded up to the end of its bucket
+     * @return the rollup of every call of the user in the period
+     */
+    @Nonnull
+    public CallRollup query(@Nonnull final UserId userId, @Nonnull final Instant from, @Nonnull final Instant upTo) {
+        final CallRollup total = new CallRollup();
+        getBuckets(userId, from, upTo).values().forEach(total::merge);
+        return total;
+    }
+
+    /**
+     * @param userId
+     *            the user
+     * @param from
+     *            the start of the period, rounded down to the start of its bucket
+     * @param upTo
+     *            the end of the period, exclusive, rounded up to the end of its bucket
+     * @return a copy of the rollup of each bucket in the period that contains a call, keyed by the start of the bucket
+     */
+    @Nonnull
+    public SortedMap<Instant, CallRollup> getBuckets(@Nonnull final UserId userId, @Nonnull final Instant from, @Nonnull final Instant upTo) {
+        final ConcurrentNavigableMap<Long, CallRollup> rollups = rollupsByUser.get(userId);
+        if (rollups == null) {
+            return Collections.emptySortedMap();
+        }
+        final long upToMillis = upTo.toEpochMilli();
+        final long lastBucketStart = getBucketStart(upToMillis) == upToMillis ? upToMillis : getBucketStart(upToMillis) + bucketSizeMillis;
+        final SortedMap<Instant, CallRollup> buckets = new TreeMap<>();
+        for (final Map.Entry<Long, CallRollup> entry : rollups.subMap(getBucketStart(from.toEpochMilli()), lastBucketStart).entrySet()) {
+            buckets.put(Instant.ofEpochMilli(entry.getKey()), copyOf(entry.getValue()));
+        }
+        return buckets;
+    }
+
+    @Nonnull
+    private static CallRollup copyOf(@Nonnull final CallRollup rollup) {
+        synchronized (rollup) {
+            return new CallRollup(rollup);
+        }
+    }
+
+    /**
+     * Adds every rollup of another engine, holding a different set of calls, to this one.
+     *
+     * @param engine
+     *            the engine to merge in to this one; it must have the same bucket size
+     */
+    public void merge(@Nonnull final CallRollupEngine engine) {
+        if (engine.bucketSizeMillis != bucketSizeMillis) {
+            throw new IllegalArgumentException("Unable to merge call rollups with a different bucket size");
+        }
+        engine.rollupsByUser.forEach((userId, rollups) -> rollups.forEach((bucketStart, rollup) -> merge(userId, Instant.ofEpochMilli(bucketStart), copyOf(rollup))));
+    }
+
+    /**
+     * Adds a single rollup, e.g. one received from another node, to this engine.
+     *
+     * @param userId
+     *            the user the rollup is for
+     * @param bucketStart
+     *            the start of the bucket the rollup is for
+     * @param rollup
+     *            the rollup to add
+     */
+    public void merge(@Nonnull final UserId userId, @Nonnull final Instant bucketStart, @Nonnull final CallRollup rollup) {
+        final CallRollup existingRollup = rollupsByUser.computeIfAbsent(userId, key -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(getBucketStart(bucketStart.toEpochMilli()), key -> new CallRollup());
+        synchronized (existingRollup) {
+            existingRollup.merge(rollup);
+        }
+    }
+
+    /**
+     * Discards every rollup for buckets that start before the given time, to bound the memory used.
+     *
+     * @param before
+     *            the time before which buckets are discarded
+     */
+    public void discard(@Nonnull final Instant before) {
+        final long beforeMillis = before.toEpochMilli();
+        rollupsByUser.values().forEach(rollups -> rollups.headMap(beforeMillis).clear());
+    }
+
+}
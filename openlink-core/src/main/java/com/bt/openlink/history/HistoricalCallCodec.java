@@ -0,0 +1,168 @@
+package com.bt.openlink.history;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+
+import com.bt.openlink.type.CallDirection;
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.HistoricalCall;
+import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.PhoneNumber;
+import com.bt.openlink.type.UserId;
+
+/**
+ * A compact binary encoding of a historical call. Each call starts with a bit mask of the fields present, followed by
+ * the start time and duration in millis, then each string field as an unsigned short length and UTF-8 bytes. Enums are
+ * written by label rather than ordinal, so the encoding survives values being added.
+ *
+ * @param <J>
+ *            the type of JID used by the XMPP library
+ */
+final class HistoricalCallCodec<J extends Serializable> {
+
+    private static final int START_TIME = 1;
+    private static final int DURATION = 1 << 1;
+    private static final int CALL_ID = 1 << 2;
+    private static final int USER_ID = 1 << 3;
+    private static final int INTEREST_ID = 1 << 4;
+    private static final int STATE = 1 << 5;
+    private static final int DIRECTION = 1 << 6;
+    private static final int CALLER_NUMBER = 1 << 7;
+    private static final int CALLER_NAME = 1 << 8;
+    private static final int CALLED_NUMBER = 1 << 9;
+    private static final int CALLED_NAME = 1 << 10;
+    private static final int TSC = 1 << 11;
+    private static final int MAXIMUM_STRING_LENGTH = 0xFFFF;
+
+    @Nonnull private final Function<J, String> tscEncoder;
+    @Nonnull private final Function<String, Optional<J>> tscDecoder;
+
+    HistoricalCallCodec(@Nonnull final Function<J, String> tscEncoder, @Nonnull final Function<String, Optional<J>> tscDecoder) {
+        this.tscEncoder = tscEncoder;
+        this.tscDecoder = tscDecoder;
+    }
+
+    /**
+     * @param call
+     *            the call to encode
+     * @param buffer
+     *            the buffer to write the call to
+     * @throws java.nio.BufferOverflowException
+     *             if the buffer is too small
+     * @throws IllegalArgumentException
+     *             if a field is too long to encode
+     */
+    void encode(@Nonnull final HistoricalCall<J> call, @Nonnull final ByteBuffer buffer) {
+        final int fieldsPosition = buffer.position();
+        buffer.putShort((short) 0);
+        int fields = 0;
+        if (call.getStartTime().isPresent()) {
+            buffer.putLong(call.getStartTime().get().toEpochMilli());
+            fields |= START_TIME;
+        }
+        if (call.getDuration().isPresent()) {
+            buffer.putLong(call.getDuration().get().toMillis());
+            fields |= DURATION;
+        }
+        fields |= putString(buffer, CALL_ID, call.getId().map(CallId::value));
+        fields |= putString(buffer, USER_ID, call.getUserId().map(UserId::value));
+        fields |= putString(buffer, INTEREST_ID, call.getInterestId().map(InterestId::value));
+        fields |= putString(buffer, STATE, call.getState().map(CallState::getLabel));
+        fields |= putString(buffer, DIRECTION, call.getDirection().map(CallDirection::getLabel));
+        fields |= putString(buffer, CALLER_NUMBER, call.getCallerNumber().map(PhoneNumber::value));
+        fields |= putString(buffer, CALLER_NAME, call.getCallerName());
+        fields |= putString(buffer, CALLED_NUMBER, call.getCalledNumber().map(PhoneNumber::value));
+        fields |= putString(buffer, CALLED_NAME, call.getCalledName());
+        fields |= putString(buffer, TSC, call.getTsc().map(tscEncoder));
+        buffer.putShort(fieldsPosition, (short) fields);
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private static int putString(@Nonnull final ByteBuffer buffer, final int field, @Nonnull final Optional<String> value) {
+        if (!value.isPresent()) {
+            return 0;
+        }
+        final byte[] bytes = value.get().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAXIMUM_STRING_LENGTH) {
+            throw new IllegalArgumentException("Unable to encode a historical call field longer than " + MAXIMUM_STRING_LENGTH + " bytes");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+        return field;
+    }
+
+    /**
+     * Reads the start time of an encoded call without decoding the rest of it.
+     *
+     * @param buffer
+     *            the buffer, positioned at the start of the call; the position is not changed
+     * @return the start time in millis since the epoch, or {@link Long#MIN_VALUE} if the call has no start time
+     */
+    static long getStartTime(@Nonnull final ByteBuffer buffer) {
+        final int position = buffer.position();
+        if ((buffer.getShort(position) & START_TIME) == 0) {
+            return Long.MIN_VALUE;
+        }
+        return buffer.getLong(position + Short.BYTES);
+    }
+
+    /**
+     * @param buffer
+     *            the buffer, positioned at the start of the call; on return it is positioned after the call
+     * @return the decoded call
+     */
+    @Nonnull
+    HistoricalCall<J> decode(@Nonnull final ByteBuffer buffer) {
+        final int fields = buffer.getShort() & 0xFFFF;
+        final HistoricalCall.Builder<J> builder = HistoricalCall.Builder.start();
+        if ((fields & START_TIME) != 0) {
+            builder.setStartTime(Instant.ofEpochMilli(buffer.getLong()));
+        }
+        if ((fields & DURATION) != 0) {
+            builder.setDuration(Duration.ofMillis(buffer.getLong()));
+        }
+        getString(buffer, fields, CALL_ID).flatMap(CallId::from).ifPresent(builder::setId);
+        getString(buffer, fields, USER_ID).flatMap(UserId::from).ifPresent(builder::setUserId);
+        getString(buffer, fields, INTEREST_ID).flatMap(InterestId::from).ifPresent(builder::setInterestId);
+        getString(buffer, fields, STATE).flatMap(CallState::from).ifPresent(builder::setState);
+        getString(buffer, fields, DIRECTION).flatMap(CallDirection::from).ifPresent(builder::setDirection);
+        getString(buffer, fields, CALLER_NUMBER).flatMap(PhoneNumber::from).ifPresent(builder::setCallerNumber);
+        getString(buffer, fields, CALLER_NAME).ifPresent(builder::setCallerName);
+        getString(buffer, fields, CALLED_NUMBER).flatMap(PhoneNumber::from).ifPresent(builder::setCalledNumber);
+        getString(buffer, fields, CALLED_NAME).ifPresent(builder::setCalledName);
+        getString(buffer, fields, TSC).flatMap(tscDecoder).ifPresent(builder::setTsc);
+        // Calls are journaled as received, so may legitimately be missing mandatory fields
+        return builder.build(new ArrayList<>());
+    }
+
+    @Nonnull
+    private static Optional<String> getString(@Nonnull final ByteBuffer buffer, final int fields, final int field) {
+        if ((fields & field) == 0) {
+            return Optional.empty();
+        }
+        final int length = buffer.getShort() & 0xFFFF;
+        final String value = decodeString(buffer, length);
+        buffer.position(buffer.position() + length);
+        return Optional.of(value);
+    }
+
+    @Nonnull
+    private static String decodeString(@Nonnull final ByteBuffer buffer, final int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        }
+        final ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        return StandardCharsets.UTF_8.decode(slice).toString();
+    }
+
+}
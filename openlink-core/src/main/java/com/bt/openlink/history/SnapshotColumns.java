@@ -0,0 +1,128 @@
+package com.bt.openlink.history;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import javax.annotation.Nonnull;
+
+import com.bt.openlink.type.CallType;
+
+/**
+ * The constants and primitive encodings shared by {@link CallHistorySnapshotWriter} and {@link CallHistorySnapshotReader}.
+ * <p>
+ * A snapshot file consists of a header, a series of row groups and a footer. Each row group holds the columns for up
+ * to {@link #DEFAULT_ROWS_PER_GROUP} calls, each column prefixed by its length in bytes so that a reader can skip
+ * columns it does not need:
+ * <ol>
+ * <li>start time - a presence bit per row, then the zig-zag varint delta from the previous start time</li>
+ * <li>state - the varint id of the state's label in the dictionary, 0 for none</li>
+ * <li>direction - as for state</li>
+ * <li>duration - as for start time, in millis</li>
+ * <li>user id, caller number, caller name, called number, called name, interest id and TSC - the varint id of each
+ * value in the dictionary, 0 for none</li>
+ * <li>call id - a varint of the length plus one, 0 for none, then the UTF-8 bytes</li>
+ * </ol>
+ * States and directions are stored by label, and call types by a fixed bit, so that a snapshot does not depend on the
+ * order of the constants in those enums.
+ * <p>
+ * The footer holds the dictionary shared by every row group, and for each row group its position, length, row count,
+ * range of start times and the call types it contains. It ends with the position of the footer and the magic number.
+ */
+final class SnapshotColumns {
+
+    static final int MAGIC_NUMBER = 0x4F4C4331;
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 2 * Integer.BYTES;
+    static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+    static final int DEFAULT_ROWS_PER_GROUP = 65536;
+    static final int USER_ID_COLUMN = 0;
+    static final int CALLER_NUMBER_COLUMN = 1;
+    static final int CALLER_NAME_COLUMN = 2;
+    static final int CALLED_NUMBER_COLUMN = 3;
+    static final int CALLED_NAME_COLUMN = 4;
+    static final int INTEREST_ID_COLUMN = 5;
+    static final int TSC_COLUMN = 6;
+    static final int STRING_COLUMN_COUNT = 7;
+    static final int ROW_GROUP_ENTRY_SIZE = Long.BYTES + 2 * Integer.BYTES + 2 * Long.BYTES + Integer.BYTES;
+    // Set in a row group's call type mask if any call in the group has no call type
+    static final int NO_CALL_TYPE = 1 << 3;
+
+    private SnapshotColumns() {
+    }
+
+    static int callTypeBit(@Nonnull final CallType callType) {
+        switch (callType) {
+        case INBOUND:
+            return 1;
+        case OUTBOUND:
+            return 1 << 1;
+        case MISSED:
+            return 1 << 2;
+        default:
+            throw new IllegalArgumentException("Unknown call type " + callType);
+        }
+    }
+
+    static void writeVarLong(@Nonnull final ByteArrayOutputStream out, final long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.write((int) remaining);
+    }
+
+    static long readVarLong(@Nonnull final ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    static void writeZigZag(@Nonnull final ByteArrayOutputStream out, final long value) {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readZigZag(@Nonnull final ByteBuffer buffer) {
+        final long value = readVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeBits(@Nonnull final ByteArrayOutputStream out, @Nonnull final int[] values, final int count, final int bitsPerValue) {
+        long bits = 0;
+        int bitCount = 0;
+        for (int i = 0; i < count; i++) {
+            bits |= (long) values[i] << bitCount;
+            bitCount += bitsPerValue;
+            while (bitCount >= Byte.SIZE) {
+                out.write((int) bits);
+                bits >>>= Byte.SIZE;
+                bitCount -= Byte.SIZE;
+            }
+        }
+        if (bitCount > 0) {
+            out.write((int) bits);
+        }
+    }
+
+    static void readBits(@Nonnull final ByteBuffer buffer, @Nonnull final int[] values, final int count, final int bitsPerValue) {
+        final int mask = (1 << bitsPerValue) - 1;
+        long bits = 0;
+        int bitCount = 0;
+        for (int i = 0; i < count; i++) {
+            while (bitCount < bitsPerValue) {
+                bits |= (long) (buffer.get() & 0xFF) << bitCount;
+                bitCount += Byte.SIZE;
+            }
+            values[i] = (int) (bits & mask);
+            bits >>>= bitsPerValue;
+            bitCount -= bitsPerValue;
+        }
+    }
+
+}
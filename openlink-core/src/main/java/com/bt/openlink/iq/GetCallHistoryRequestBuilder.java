@@ -1,7 +1,6 @@
 package com.bt.openlink.iq;
 
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
 
 import javax.annotation.Nonnull;
@@ -38,17 +37,6 @@ public abstract class GetCallHistoryRequestBuilder<B extends GetCallHistoryReque
         }
     }
 
-    @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
-    }
-
     @SuppressWarnings("unchecked")
     @Nonnull
     public B setJID(@Nonnull final J jid) {
@@ -16,6 +16,7 @@ public abstract class GetCallHistoryResultBuilder<B extends GetCallHistoryResult
     @Nullable private Long firstRecordNumber;
     @Nullable private Long recordCountInBatch;
     @Nonnull private List<HistoricalCall<J>> calls = new ArrayList<>();
+    private long streamedCallCount;
 
     protected GetCallHistoryResultBuilder(final Class<T> typeClass) {
         super(typeClass);
@@ -59,6 +60,19 @@ public abstract class GetCallHistoryResultBuilder<B extends GetCallHistoryResult
         return (B) this;
     }
 
+    /**
+     * Records that a call was passed directly to a listener instead of being added to the result, so that the result
+     * can still be validated against the number of records in the batch.
+     *
+     * @return this builder
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public B addStreamedCall() {
+        streamedCallCount++;
+        return (B) this;
+    }
+
     @Nonnull
     public Optional<Long> getTotalRecordCount() {
         return Optional.ofNullable(totalRecordCount);
@@ -79,40 +93,37 @@ public abstract class GetCallHistoryResultBuilder<B extends GetCallHistoryResult
         return calls;
     }
 
+    private long getCallCount() {
+        return calls.size() + streamedCallCount;
+    }
+
     @Override
     protected void validate() {
         super.validate();
         if (totalRecordCount == null) {
             throw new IllegalStateException("The total record count of the get-call-history result has not been set");
         }
-        if (firstRecordNumber == null && calls.size() > 0) {
+        if (firstRecordNumber == null && getCallCount() > 0) {
             throw new IllegalStateException("The first record number of the get-call-history result has not been set");
         }
         if (recordCountInBatch == null) {
-            recordCountInBatch = (long) calls.size();
-        } else if (recordCountInBatch != calls.size()) {
+            recordCountInBatch = getCallCount();
+        } else if (recordCountInBatch != getCallCount()) {
             throw new IllegalStateException("The number of records of the get-call-history result is not correctly set");
         }
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (totalRecordCount == null) {
             errors.add("Invalid call history; missing or invalid total record count");
         }
-        if (firstRecordNumber == null && calls.size() > 0) {
+        if (firstRecordNumber == null && getCallCount() > 0) {
             errors.add("Invalid call history; missing or invalid first record number");
         }
         if (recordCountInBatch == null) {
-            recordCountInBatch = (long) calls.size();
-        } else if (recordCountInBatch != calls.size()) {
+            recordCountInBatch = getCallCount();
+        } else if (recordCountInBatch != getCallCount()) {
             errors.add("Invalid call history; incorrect batch record count");
         }
     }
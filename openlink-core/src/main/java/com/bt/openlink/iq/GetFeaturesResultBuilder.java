@@ -1,13 +1,16 @@
 package com.bt.openlink.iq;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.bt.openlink.ValidationLevel;
 import com.bt.openlink.type.Feature;
 import com.bt.openlink.type.FeatureId;
 import com.bt.openlink.type.ProfileId;
@@ -62,31 +65,25 @@ public abstract class GetFeaturesResultBuilder<B extends GetFeaturesResultBuilde
     }
 
     private void validateUniqueness(final Consumer<FeatureId> errorConsumer) {
-        for (int i = 0; i < features.size(); i++) {
-            final Optional<FeatureId> featureIdOptional = features.get(i).getId();
-            if (featureIdOptional.isPresent()) {
-                for (int j = i + 1; j < features.size(); j++) {
-                    if (featureIdOptional.equals(features.get(j).getId())) {
-                        errorConsumer.accept(featureIdOptional.get());
-                    }
+        final Set<FeatureId> ids = new HashSet<>(features.size() * 2);
+        final Set<FeatureId> duplicateIds = new HashSet<>();
+        for (final Feature feature : features) {
+            feature.getId().ifPresent(id -> {
+                if (!ids.add(id) && duplicateIds.add(id)) {
+                    errorConsumer.accept(id);
                 }
-            }
+            });
         }
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if(profileId==null) {
             errors.add("Invalid get-features result stanza; missing profile");
         }
-        validateUniqueness(profile -> errors.add("Invalid get-features result stanza; each feature id must be unique - " + profile + " appears more than once"));
+        if (ValidationLevel.of(errors).isFull()) {
+            validateUniqueness(profile -> errors.add("Invalid get-features result stanza; each feature id must be unique - " + profile + " appears more than once"));
+        }
     }
 
 }
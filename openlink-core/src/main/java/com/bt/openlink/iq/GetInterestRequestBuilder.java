@@ -43,14 +43,7 @@ public abstract class GetInterestRequestBuilder<B extends GetInterestRequestBuil
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (interestId == null) {
             errors.add("Invalid get-interest request stanza; missing 'interest'");
         }
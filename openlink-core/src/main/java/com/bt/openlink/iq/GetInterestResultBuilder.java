@@ -43,14 +43,7 @@ public abstract class GetInterestResultBuilder<B extends GetInterestResultBuilde
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (interest == null) {
             errors.add("Invalid get-interest result stanza; missing 'interest'");
         }
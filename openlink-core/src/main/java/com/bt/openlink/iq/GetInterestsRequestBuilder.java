@@ -43,14 +43,7 @@ public abstract class GetInterestsRequestBuilder<B extends GetInterestsRequestBu
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (profileId == null) {
             errors.add("Invalid get-interests request stanza; missing 'profile'");
         }
@@ -1,12 +1,14 @@
 package com.bt.openlink.iq;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 
+import com.bt.openlink.ValidationLevel;
 import com.bt.openlink.type.Interest;
 import com.bt.openlink.type.InterestId;
 
@@ -45,25 +47,21 @@ public abstract class GetInterestsResultBuilder<B extends GetInterestsResultBuil
     }
 
     private void validateUniqueness(final Consumer<InterestId> errorConsumer) {
-        for (int i = 0; i < interests.size(); i++) {
-            final Optional<InterestId> interestIdOptional = interests.get(i).getId();
-            for (int j = i + 1; j < interests.size(); j++) {
-                if (interestIdOptional.isPresent() && interestIdOptional.equals(interests.get(j).getId())) {
-                    errorConsumer.accept(interestIdOptional.get());
+        final Set<InterestId> ids = new HashSet<>(interests.size() * 2);
+        final Set<InterestId> duplicateIds = new HashSet<>();
+        for (final Interest interest : interests) {
+            interest.getId().ifPresent(id -> {
+                if (!ids.add(id) && duplicateIds.add(id)) {
+                    errorConsumer.accept(id);
                 }
-            }
+            });
         }
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
+    protected void validateFields(final List<String> errors) {
+        if (ValidationLevel.of(errors).isFull()) {
+            validateUniqueness(interestId -> errors.add("Invalid get-interests result stanza; each interest id must be unique - " + interestId + " appears more than once"));
         }
-        validateUniqueness(interestId -> errors.add("Invalid get-interests result stanza; each interest id must be unique - " + interestId + " appears more than once"));
     }
 }
@@ -43,14 +43,7 @@ public abstract class GetProfileResultBuilder<B extends GetProfileResultBuilder,
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (profile == null) {
             errors.add("Invalid get-profile result stanza; missing 'profile'");
         }
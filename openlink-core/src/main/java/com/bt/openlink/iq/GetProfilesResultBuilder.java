@@ -1,12 +1,14 @@
 package com.bt.openlink.iq;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 
+import com.bt.openlink.ValidationLevel;
 import com.bt.openlink.type.Profile;
 import com.bt.openlink.type.ProfileId;
 
@@ -45,27 +47,21 @@ public abstract class GetProfilesResultBuilder<B extends GetProfilesResultBuilde
     }
 
     private void validateUniqueness(final Consumer<ProfileId> errorConsumer) {
-        for (int i = 0; i < profiles.size(); i++) {
-            final Optional<ProfileId> profileIdOptional = profiles.get(i).getId();
-            if (profileIdOptional.isPresent()) {
-                for (int j = i + 1; j < profiles.size(); j++) {
-                    if (profileIdOptional.equals(profiles.get(j).getId())) {
-                        errorConsumer.accept(profileIdOptional.get());
-                    }
+        final Set<ProfileId> ids = new HashSet<>(profiles.size() * 2);
+        final Set<ProfileId> duplicateIds = new HashSet<>();
+        for (final Profile profile : profiles) {
+            profile.getId().ifPresent(id -> {
+                if (!ids.add(id) && duplicateIds.add(id)) {
+                    errorConsumer.accept(id);
                 }
-            }
+            });
         }
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
+    protected void validateFields(final List<String> errors) {
+        if (ValidationLevel.of(errors).isFull()) {
+            validateUniqueness(profileId -> errors.add("Invalid get-profiles result stanza; each profile id must be unique - " + profileId + " appears more than once"));
         }
-        validateUniqueness(profileId -> errors.add("Invalid get-profiles result stanza; each profile id must be unique - " + profileId + " appears more than once"));
     }
 }
\ No newline at end of file
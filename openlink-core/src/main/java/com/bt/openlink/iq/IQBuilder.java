@@ -7,6 +7,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import com.bt.openlink.StanzaBuilder;
+import com.bt.openlink.ValidationLevel;
 
 @SuppressWarnings("unchecked")
 public abstract class IQBuilder<B extends IQBuilder, J, T extends Enum<T>> extends StanzaBuilder<B, J> {
@@ -43,6 +44,40 @@ public abstract class IQBuilder<B extends IQBuilder, J, T extends Enum<T>> exten
     }
 
     public void validate(final List<String> errors) {
+        validate(errors, true);
+    }
+
+    /**
+     * Validates the builder as thoroughly as the {@link ValidationLevel} of the list of errors requires; at
+     * {@link ValidationLevel#OFF} nothing is checked.
+     *
+     * @param errors
+     *            the list to add any errors to
+     * @param checkIQFields
+     *            true if the 'to', 'from', 'id' and 'type' of the stanza should be checked as well as the fields of
+     *            the builder
+     */
+    protected final void validate(final List<String> errors, final boolean checkIQFields) {
+        if (!ValidationLevel.of(errors).isEnabled()) {
+            return;
+        }
+        if (checkIQFields) {
+            validateIQFields(errors);
+        }
+        validateFields(errors);
+    }
+
+    /**
+     * Checks the fields specific to the type of stanza being built. Only called if the stanza is being validated.
+     *
+     * @param errors
+     *            the list to add any errors to
+     */
+    protected void validateFields(final List<String> errors) {
+        // Nothing to check by default
+    }
+
+    private void validateIQFields(final List<String> errors) {
         if (!getTo().isPresent()) {
             errors.add("Invalid stanza; missing 'to' attribute is mandatory");
         }
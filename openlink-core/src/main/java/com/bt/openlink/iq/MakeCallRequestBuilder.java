@@ -120,14 +120,7 @@ public abstract class MakeCallRequestBuilder<B extends MakeCallRequestBuilder, J
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (jid == null) {
             errors.add("Invalid make-call request stanza; missing or invalid 'jid'");
         }
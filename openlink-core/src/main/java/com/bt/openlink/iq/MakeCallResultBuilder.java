@@ -42,14 +42,7 @@ public abstract class MakeCallResultBuilder<B extends MakeCallResultBuilder, J,
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (callStatus == null) {
             errors.add("Invalid make-call result stanza; missing or invalid callstatus");
         }
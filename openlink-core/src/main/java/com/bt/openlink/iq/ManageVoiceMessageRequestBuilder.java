@@ -58,14 +58,7 @@ public abstract class ManageVoiceMessageRequestBuilder<B extends ManageVoiceMess
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
 
         if (profileId == null) {
             errors.add("Invalid manage-voice-message request stanza; missing 'profile'");
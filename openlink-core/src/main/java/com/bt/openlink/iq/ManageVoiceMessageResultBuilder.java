@@ -31,14 +31,7 @@ public class ManageVoiceMessageResultBuilder <B extends ManageVoiceMessageResult
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (deviceStatus == null) {
             errors.add("Invalid devicestatus message stanza; the 'deviceStatus' has not been set");
         }
@@ -1,5 +1,6 @@
 package com.bt.openlink.iq;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -11,6 +12,7 @@ import com.bt.openlink.type.Call;
 import com.bt.openlink.type.CallStatus;
 import com.bt.openlink.type.DeviceStatus;
 import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.PubSubItem;
 import com.bt.openlink.type.PubSubNodeId;
 
 public abstract class PubSubPublishRequestBuilder<B extends PubSubPublishRequestBuilder, J, T extends Enum<T>> extends IQBuilder<B, J, T> {
@@ -18,6 +20,7 @@ public abstract class PubSubPublishRequestBuilder<B extends PubSubPublishRequest
     @Nullable private PubSubNodeId pubSubNodeId;
     @Nullable private CallStatus callStatus = null;
     @Nullable private DeviceStatus deviceStatus;
+    @Nonnull private final List<PubSubItem> items = new ArrayList<>();
 
     protected PubSubPublishRequestBuilder(final Class<T> typeClass) {
         super(typeClass);
@@ -77,21 +80,53 @@ public abstract class PubSubPublishRequestBuilder<B extends PubSubPublishRequest
         return Optional.ofNullable(deviceStatus);
     }
 
+    /**
+     * Adds an item to the request, so that several call status and/or device status items can be published in a single
+     * request. Items cannot be combined with {@link #setCallStatus(CallStatus)} or {@link #setDeviceStatus(DeviceStatus)}.
+     *
+     * @param item
+     *            the item to publish
+     * @return this builder
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public B addItem(@Nonnull final PubSubItem item) {
+        this.items.add(item);
+        return (B) this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public B addItems(@Nonnull final List<PubSubItem> items) {
+        this.items.addAll(items);
+        return (B) this;
+    }
+
+    @Nonnull
+    public List<PubSubItem> getItems() {
+        return items;
+    }
+
     @Override
     protected void validate() {
         super.validate();
         if (pubSubNodeId == null) {
             throw new IllegalStateException("The stanza 'pubSubNodeId'/'interestId' has not been set");
         }
-        getCallStatus().ifPresent(cs -> validateCallsAreOnTheCorrectInterest(cs, call -> {
+        final Consumer<Call> errorConsumer = call -> {
             throw new IllegalStateException("The call with id " + call.getId().orElse(null) + " is on interest " + call.getInterestId().orElse(null) + " which differs from the pub-sub node id " + pubSubNodeId);
-        }));
-        if (callStatus == null && deviceStatus == null) {
+        };
+        getCallStatus().ifPresent(cs -> validateCallsAreOnTheCorrectInterest(cs, errorConsumer));
+        items.forEach(item -> item.getCallStatus().ifPresent(cs -> validateCallsAreOnTheCorrectInterest(cs, errorConsumer)));
+        if (callStatus == null && deviceStatus == null && items.isEmpty()) {
             throw new IllegalStateException("Either a callstatus or a devicestatus event must be published");
         }
         if (callStatus != null && deviceStatus != null) {
             throw new IllegalStateException("A callstatus and a devicestatus event cannot be published in the same message");
         }
+        if ((callStatus != null || deviceStatus != null) && !items.isEmpty()) {
+            throw new IllegalStateException("Items cannot be added to a request that also has a callstatus or devicestatus set");
+        }
     }
 
     private void validateCallsAreOnTheCorrectInterest(final CallStatus callStatus, final Consumer<Call> errorConsumer) {
@@ -106,20 +141,16 @@ public abstract class PubSubPublishRequestBuilder<B extends PubSubPublishRequest
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (pubSubNodeId == null) {
             errors.add("Invalid pub-sub publish request stanza; missing node id/interest id");
         }
-        getCallStatus().ifPresent(
-                cs -> validateCallsAreOnTheCorrectInterest(cs,
-                        call -> errors.add("Invalid pub-sub publish request stanza; the call with id " + call.getId().orElse(null) + " is on interest " + call.getInterestId().orElse(null)
-                                + " which differs from the pub-sub node id " + pubSubNodeId)));
+        if (callStatus == null && deviceStatus == null && items.isEmpty()) {
+            errors.add("Invalid pub-sub publish request stanza; missing callstatus or devicestatus");
+        }
+        final Consumer<Call> errorConsumer = call -> errors.add("Invalid pub-sub publish request stanza; the call with id " + call.getId().orElse(null) + " is on interest " + call.getInterestId().orElse(null)
+                + " which differs from the pub-sub node id " + pubSubNodeId);
+        getCallStatus().ifPresent(cs -> validateCallsAreOnTheCorrectInterest(cs, errorConsumer));
+        items.forEach(item -> item.getCallStatus().ifPresent(cs -> validateCallsAreOnTheCorrectInterest(cs, errorConsumer)));
     }
 }
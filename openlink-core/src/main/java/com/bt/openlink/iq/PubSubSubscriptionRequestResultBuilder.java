@@ -85,14 +85,7 @@ public abstract class PubSubSubscriptionRequestResultBuilder<B extends PubSubSub
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (pubSubNodeId == null) {
             errors.add("Invalid pub-sub subscription request stanza; missing node id/interest id");
         }
@@ -39,15 +39,4 @@ public abstract class QueryFeaturesResultBuilder<B extends QueryFeaturesResultBu
         super.validate();
     }
 
-    @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
-    }
-
 }
@@ -142,14 +142,7 @@ public abstract class RequestActionRequestBuilder<B extends RequestActionRequest
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (interestId == null) {
             errors.add("Invalid request-action stanza; missing 'interestId'");
         }
@@ -43,14 +43,7 @@ public abstract class RequestActionResultBuilder<B extends RequestActionResultBu
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (callStatus == null) {
             errors.add("Invalid request-action result stanza; missing or invalid calls");
         }
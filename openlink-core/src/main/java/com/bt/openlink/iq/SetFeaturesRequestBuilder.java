@@ -149,14 +149,7 @@ public class SetFeaturesRequestBuilder<B extends SetFeaturesRequestBuilder, J, T
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (featureId == null) {
             errors.add("Invalid set-features request stanza; missing featureId");
         }
@@ -2,14 +2,12 @@ package com.bt.openlink.message;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import com.bt.openlink.type.Call;
+import com.bt.openlink.ValidationLevel;
 import com.bt.openlink.type.CallStatus;
-import com.bt.openlink.type.InterestId;
 
 public abstract class CallStatusMessageBuilder<B extends CallStatusMessageBuilder, J> extends PubSubMessageBuilder<B, J> {
 
@@ -43,9 +41,17 @@ public abstract class CallStatusMessageBuilder<B extends CallStatusMessageBuilde
 
     @Override
     public void validate(final List<String> errors) {
+        validate(errors, false);
+    }
+
+    @Override
+    protected void validateFields(final List<String> errors) {
         if (callStatus == null) {
             errors.add("Invalid callstatus message stanza; missing or invalid calls");
         }
+        if (!ValidationLevel.of(errors).isFull()) {
+            return;
+        }
         getCallStatus().ifPresent(
                 status ->
                 validateCallsAreOnTheCorrectInterest(status, call ->
@@ -54,14 +60,4 @@ public abstract class CallStatusMessageBuilder<B extends CallStatusMessageBuilde
                                 + getPubSubNodeId().orElse(null))));
     }
 
-    private void validateCallsAreOnTheCorrectInterest(final CallStatus callStatus, final Consumer<Call> errorConsumer) {
-        getPubSubNodeId().ifPresent(pubSubNodeId ->
-                callStatus.getCalls().forEach(call -> {
-                    final Optional<InterestId> interestId = call.getInterestId();
-                    if (interestId.isPresent() && !interestId.get().toPubSubNodeId().equals(pubSubNodeId)) {
-                        errorConsumer.accept(call);
-                    }
-                }));
-    }
-
 }
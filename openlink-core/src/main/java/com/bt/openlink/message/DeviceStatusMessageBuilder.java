@@ -33,14 +33,7 @@ public abstract class DeviceStatusMessageBuilder<B extends DeviceStatusMessageBu
     }
 
     @Override
-    public void validate(final List<String> errors) {
-        validate(errors, true);
-    }
-
-    protected void validate(List<String> errors, boolean checkIQFields) {
-        if (checkIQFields) {
-            super.validate(errors);
-        }
+    protected void validateFields(final List<String> errors) {
         if (deviceStatus == null) {
             errors.add("Invalid devicestatus message stanza; the 'deviceStatus' has not been set");
         }
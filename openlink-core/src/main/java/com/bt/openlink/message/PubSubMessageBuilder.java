@@ -1,15 +1,21 @@
 package com.bt.openlink.message;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import com.bt.openlink.StanzaBuilder;
+import com.bt.openlink.ValidationLevel;
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallStatus;
 import com.bt.openlink.type.InterestId;
 import com.bt.openlink.type.ItemId;
+import com.bt.openlink.type.PubSubItem;
 import com.bt.openlink.type.PubSubNodeId;
 
 public abstract class PubSubMessageBuilder<B extends PubSubMessageBuilder, J> extends StanzaBuilder<B, J> {
@@ -17,6 +23,7 @@ public abstract class PubSubMessageBuilder<B extends PubSubMessageBuilder, J> ex
     @Nullable private Instant delay;
     @Nullable private PubSubNodeId pubSubNodeId;
     @Nullable private ItemId itemId;
+    @Nonnull private final List<PubSubItem> additionalItems = new ArrayList<>();
 
     @SuppressWarnings("unchecked")
     @Nonnull
@@ -59,6 +66,33 @@ public abstract class PubSubMessageBuilder<B extends PubSubMessageBuilder, J> ex
         return Optional.ofNullable(itemId);
     }
 
+    /**
+     * Adds a further item to the event, following the item that carries the message's own payload. This allows a
+     * single message to carry several updates; the item is sent on the same node as the rest of the message.
+     *
+     * @param item
+     *            the item to add
+     * @return this builder
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public B addAdditionalItem(@Nonnull final PubSubItem item) {
+        this.additionalItems.add(item);
+        return (B) this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public B addAdditionalItems(@Nonnull final List<PubSubItem> items) {
+        this.additionalItems.addAll(items);
+        return (B) this;
+    }
+
+    @Nonnull
+    public List<PubSubItem> getAdditionalItems() {
+        return additionalItems;
+    }
+
     protected void validate() {
         if (!getTo().isPresent()) {
             throw new IllegalStateException("The stanza 'to' has not been set");
@@ -73,9 +107,70 @@ public abstract class PubSubMessageBuilder<B extends PubSubMessageBuilder, J> ex
         if (itemId == null) {
             itemId = ItemId.random();
         }
+        additionalItems.forEach(item -> item.getCallStatus().ifPresent(status -> validateCallsAreOnTheCorrectInterest(status, call -> {
+            throw new IllegalStateException("The call with id " + call.getId().orElse(null) + " is on interest " + call.getInterestId().orElse(null) + " which differs from the pub-sub node id " + pubSubNodeId);
+        })));
     }
 
     public void validate(final List<String> errors) {
+        validate(errors, true);
+    }
+
+    /**
+     * Validates the builder as thoroughly as the {@link ValidationLevel} of the list of errors requires; at
+     * {@link ValidationLevel#OFF} nothing is checked.
+     *
+     * @param errors
+     *            the list to add any errors to
+     * @param checkStanzaFields
+     *            true if the 'to', 'from', 'id' and pub-sub node of the stanza should be checked as well as the fields
+     *            of the builder
+     */
+    protected final void validate(final List<String> errors, final boolean checkStanzaFields) {
+        if (!ValidationLevel.of(errors).isEnabled()) {
+            return;
+        }
+        if (checkStanzaFields) {
+            validateStanzaFields(errors);
+        }
+        validateFields(errors);
+        if (ValidationLevel.of(errors).isFull()) {
+            additionalItems.forEach(item -> item.getCallStatus().ifPresent(status -> validateCallsAreOnTheCorrectInterest(status, call ->
+                    errors.add("Invalid pub-sub message stanza; the call with id " + call.getId().orElse(null) + " is on interest " + call.getInterestId().orElse(null)
+                            + " which differs from the pub-sub node id " + pubSubNodeId))));
+        }
+    }
+
+    /**
+     * Checks the fields specific to the type of message being built. Only called if the message is being validated.
+     *
+     * @param errors
+     *            the list to add any errors to
+     */
+    protected void validateFields(final List<String> errors) {
+        // Nothing to check by default
+    }
+
+    /**
+     * Passes each call in a call status that is on an interest other than that of the pub-sub node to a consumer.
+     *
+     * @param callStatus
+     *            the call status to check
+     * @param errorConsumer
+     *            receives each call on another interest
+     */
+    protected void validateCallsAreOnTheCorrectInterest(final CallStatus callStatus, final Consumer<Call> errorConsumer) {
+        if (pubSubNodeId != null) {
+            callStatus.getCalls().forEach(call -> {
+                final Optional<InterestId> interestId = call.getInterestId();
+                if (interestId.isPresent() && !interestId.get().toPubSubNodeId().equals(pubSubNodeId)) {
+                    errorConsumer.accept(call);
+                }
+            });
+        }
+    }
+
+    private void validateStanzaFields(final List<String> errors) {
         if (!getTo().isPresent()) {
             errors.add("Invalid stanza; missing 'to' attribute is mandatory");
         }
@@ -0,0 +1,88 @@
+package com.bt.openlink.routing;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.PhoneNumber;
+
+/**
+ * Routes calls by the longest prefix of the caller or called number, e.g. to an interest, desk or recording policy. The
+ * prefixes are held in a {@link PhoneNumberTrie}; when they change, a new trie is built and swapped in with
+ * {@link #setPrefixes(PhoneNumberTrie)}. Lookups never block, and each sees either the old or the new prefixes.
+ *
+ * @param <V>
+ *            the type of route
+ */
+public class PhoneNumberRouter<V> {
+
+    @Nonnull private volatile PhoneNumberTrie<V> prefixes;
+
+    /**
+     * @param prefixes
+     *            the initial prefixes
+     */
+    public PhoneNumberRouter(@Nonnull final PhoneNumberTrie<V> prefixes) {
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * @param prefixes
+     *            the prefixes that replace the current prefixes
+     */
+    public void setPrefixes(@Nonnull final PhoneNumberTrie<V> prefixes) {
+        this.prefixes = prefixes;
+    }
+
+    @Nonnull
+    public PhoneNumberTrie<V> getPrefixes() {
+        return prefixes;
+    }
+
+    /**
+     * @param number
+     *            the number
+     * @return the route of the longest prefix of the number, if any
+     */
+    @Nonnull
+    public Optional<V> getRoute(@Nonnull final PhoneNumber number) {
+        return prefixes.getLongestPrefixMatch(number);
+    }
+
+    /**
+     * @param call
+     *            the call
+     * @return the route of the caller's E.164 numbers, in order, or failing that the caller number, if any
+     */
+    @Nonnull
+    public Optional<V> getCallerRoute(@Nonnull final Call call) {
+        return Optional.ofNullable(getRoute(call.getCallerE164Numbers(), call.getCallerNumber().orElse(null)));
+    }
+
+    /**
+     * @param call
+     *            the call
+     * @return the route of the called E.164 numbers, in order, or failing that the called number, if any
+     */
+    @Nonnull
+    public Optional<V> getCalledRoute(@Nonnull final Call call) {
+        return Optional.ofNullable(getRoute(call.getCalledE164Numbers(), call.getCalledNumber().orElse(null)));
+    }
+
+    @Nullable
+    private V getRoute(@Nonnull final List<PhoneNumber> e164Numbers, @Nullable final PhoneNumber number) {
+        // Use the same trie for every number of the call
+        final PhoneNumberTrie<V> trie = prefixes;
+        for (final PhoneNumber e164Number : e164Numbers) {
+            final V route = trie.getLongestPrefixMatch(e164Number.value());
+            if (route != null) {
+                return route;
+            }
+        }
+        return number == null ? null : trie.getLongestPrefixMatch(number.value());
+    }
+
+}
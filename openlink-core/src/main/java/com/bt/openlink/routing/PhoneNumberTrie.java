@@ -0,0 +1,175 @@
+package com.bt.openlink.routing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.bt.openlink.type.PhoneNumber;
+
+/**
+ * An immutable map of phone number prefixes to values, that finds the value of the longest prefix of a number. Both
+ * prefixes and numbers are compared by their E.164 digits, see {@link PhoneNumbers}.
+ * <p>
+ * The trie is held in a few flat arrays rather than as a tree of nodes: each node has a bit mask of the digits that
+ * have a child, and its children are stored consecutively, so a child is found by counting the bits of the lower
+ * digits. A lookup walks the characters of the number directly, so allocates nothing. A trie is built once with a
+ * {@link Builder}; see {@link PhoneNumberRouter} to replace one while it is in use.
+ *
+ * @param <V>
+ *            the type of value
+ */
+public final class PhoneNumberTrie<V> {
+
+    private static final int NO_VALUE = -1;
+
+    // The digits of the children of each node, as a bit mask
+    @Nonnull private final short[] childDigits;
+    // The index of the first child of each node; the other children follow it in digit order
+    @Nonnull private final int[] firstChild;
+    // The index of the value of each node, or NO_VALUE if no prefix ends at the node
+    @Nonnull private final int[] valueIndex;
+    @Nonnull private final Object[] values;
+
+    private PhoneNumberTrie(@Nonnull final Node<V> root, final int nodeCount, @Nonnull final List<V> values) {
+        this.childDigits = new short[nodeCount];
+        this.firstChild = new int[nodeCount];
+        this.valueIndex = new int[nodeCount];
+        this.values = values.toArray();
+        // Number the nodes breadth first, so that the children of each node are numbered consecutively
+        final Deque<Node<V>> queue = new ArrayDeque<>();
+        queue.add(root);
+        int node = 0;
+        int nextChild = 1;
+        while (!queue.isEmpty()) {
+            final Node<V> current = queue.remove();
+            valueIndex[node] = current.valueIndex;
+            firstChild[node] = nextChild;
+            for (int digit = 0; digit < 10; digit++) {
+                final Node<V> child = current.children[digit];
+                if (child != null) {
+                    childDigits[node] |= 1 << digit;
+                    queue.add(child);
+                    nextChild++;
+                }
+            }
+            node++;
+        }
+    }
+
+    /**
+     * @param number
+     *            the number
+     * @return the value of the longest prefix of the number, if any prefix matches; characters after the longest
+     *         prefix are not examined
+     */
+    @Nonnull
+    public Optional<V> getLongestPrefixMatch(@Nonnull final PhoneNumber number) {
+        return Optional.ofNullable(getLongestPrefixMatch(number.value()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    V getLongestPrefixMatch(@Nonnull final CharSequence number) {
+        int node = 0;
+        int matchedValue = NO_VALUE;
+        final int length = number.length();
+        for (int i = PhoneNumbers.nextDigit(number, PhoneNumbers.firstDigit(number)); i != length; i = PhoneNumbers.nextDigit(number, i + 1)) {
+            if (i == PhoneNumbers.INVALID) {
+                return null;
+            }
+            final int digitBit = 1 << (number.charAt(i) - '0');
+            final int digits = childDigits[node];
+            if ((digits & digitBit) == 0) {
+                break;
+            }
+            node = firstChild[node] + Integer.bitCount(digits & (digitBit - 1));
+            if (valueIndex[node] != NO_VALUE) {
+                matchedValue = valueIndex[node];
+            }
+        }
+        return matchedValue == NO_VALUE ? null : (V) values[matchedValue];
+    }
+
+    /**
+     * @return the number of prefixes in the trie
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Builds a {@link PhoneNumberTrie}. A builder is not thread-safe.
+     *
+     * @param <V>
+     *            the type of value
+     */
+    public static final class Builder<V> {
+
+        @Nonnull private final Node<V> root = new Node<>();
+        @Nonnull private final List<V> values = new ArrayList<>();
+        private int nodeCount = 1;
+
+        private Builder() {
+        }
+
+        @Nonnull
+        public static <V> Builder<V> start() {
+            return new Builder<>();
+        }
+
+        /**
+         * Adds a prefix, replacing the value of any equivalent prefix already added.
+         *
+         * @param prefix
+         *            the prefix
+         * @param value
+         *            the value of the prefix
+         * @return this builder
+         * @throws IllegalArgumentException
+         *             if the prefix is not a phone number
+         */
+        @Nonnull
+        public Builder<V> addPrefix(@Nonnull final PhoneNumber prefix, @Nonnull final V value) {
+            final String number = prefix.value();
+            Node<V> node = root;
+            for (int i = PhoneNumbers.nextDigit(number, PhoneNumbers.firstDigit(number)); i != number.length(); i = PhoneNumbers.nextDigit(number, i + 1)) {
+                if (i == PhoneNumbers.INVALID) {
+                    throw new IllegalArgumentException("The prefix '" + prefix + "' is not a phone number");
+                }
+                final int digit = number.charAt(i) - '0';
+                if (node.children[digit] == null) {
+                    node.children[digit] = new Node<>();
+                    nodeCount++;
+                }
+                node = node.children[digit];
+            }
+            if (node == root) {
+                throw new IllegalArgumentException("The prefix '" + prefix + "' has no digits");
+            }
+            if (node.valueIndex == NO_VALUE) {
+                node.valueIndex = values.size();
+                values.add(value);
+            } else {
+                values.set(node.valueIndex, value);
+            }
+            return this;
+        }
+
+        @Nonnull
+        public PhoneNumberTrie<V> build() {
+            return new PhoneNumberTrie<>(root, nodeCount, values);
+        }
+    }
+
+    private static final class Node<V> {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        @Nonnull private final Node<V>[] children = new Node[10];
+        private int valueIndex = NO_VALUE;
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.bt.openlink.routing;
+
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+
+import com.bt.openlink.type.PhoneNumber;
+
+/**
+ * Normalises phone numbers to their E.164 digits, so that differently formatted numbers can be compared. For example,
+ * {@code +44 (0)20 7123-4567}, {@code 0044 20 7123 4567} and {@code 442071234567} all normalise to
+ * {@code +442071234567}. Spaces, hyphens, dots, slashes and parentheses are ignored, as is a national trunk prefix of
+ * {@code (0)}. A number without an international prefix is assumed to already be in international form; a number that
+ * contains any other character, e.g. a SIP URI, cannot be normalised.
+ */
+public final class PhoneNumbers {
+
+    /**
+     * Returned by {@link #nextDigit(CharSequence, int)} when the number contains a character that is not part of a
+     * phone number.
+     */
+    static final int INVALID = -1;
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * @param phoneNumber
+     *            the number to normalise
+     * @return the number in E.164 form, i.e. a '+' followed by digits, if it can be normalised
+     */
+    @Nonnull
+    public static Optional<PhoneNumber> normalize(@Nonnull final PhoneNumber phoneNumber) {
+        final String number = phoneNumber.value();
+        final StringBuilder digits = new StringBuilder(number.length() + 1).append('+');
+        for (int i = nextDigit(number, firstDigit(number)); i != number.length(); i = nextDigit(number, i + 1)) {
+            if (i == INVALID) {
+                return Optional.empty();
+            }
+            digits.append(number.charAt(i));
+        }
+        return digits.length() == 1 ? Optional.empty() : PhoneNumber.from(digits.toString());
+    }
+
+    /**
+     * @param number
+     *            the number
+     * @return the index of the first character after any international prefix
+     */
+    static int firstDigit(@Nonnull final CharSequence number) {
+        final int length = number.length();
+        int i = 0;
+        while (i < length && number.charAt(i) == ' ') {
+            i++;
+        }
+        if (i < length && number.charAt(i) == '+') {
+            return i + 1;
+        }
+        if (i + 1 < length && number.charAt(i) == '0' && number.charAt(i + 1) == '0') {
+            return i + 2;
+        }
+        return i;
+    }
+
+    /**
+     * @param number
+     *            the number
+     * @param from
+     *            the index to start from
+     * @return the index of the next digit at or after the index, the length of the number if there are no more digits,
+     *         or {@link #INVALID} if the number contains a character that is not part of a phone number
+     */
+    static int nextDigit(@Nonnull final CharSequence number, final int from) {
+        final int length = number.length();
+        int i = from;
+        while (i < length) {
+            final char c = number.charAt(i);
+            if (c >= '0' && c <= '9') {
+                return i;
+            } else if (c == '(' && i + 2 < length && number.charAt(i + 1) == '0' && number.charAt(i + 2) == ')') {
+                i += 3;
+            } else if (c == ' ' || c == '-' || c == '.' || c == '/' || c == '(' || c == ')') {
+                i++;
+            } else {
+                return INVALID;
+            }
+        }
+        return length;
+    }
+
+}
@@ -4,7 +4,6 @@ import java.io.Serializable;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,17 +51,17 @@ public class Call implements Serializable {
         this.direction = builder.direction;
         this.callerNumber = builder.callerNumber;
         this.callerName = builder.callerName;
-        this.callerE164Numbers = Collections.unmodifiableList(builder.callerE164Numbers);
+        this.callerE164Numbers = ImmutableLists.copyOf(builder.callerE164Numbers);
         this.calledNumber = builder.calledNumber;
         this.calledName = builder.calledName;
         this.calledDestination = builder.calledDestination;
-        this.calledE164Numbers = Collections.unmodifiableList(builder.calledE164Numbers);
-        this.originatorReferences = Collections.unmodifiableList(builder.originatorReferences);
+        this.calledE164Numbers = ImmutableLists.copyOf(builder.calledE164Numbers);
+        this.originatorReferences = ImmutableLists.copyOf(builder.originatorReferences);
         this.startTime = builder.startTime;
         this.duration = builder.duration;
-        this.actions = Collections.unmodifiableList(builder.actions);
-        this.features = Collections.unmodifiableList(builder.features);
-        this.participants = Collections.unmodifiableList(builder.participants);
+        this.actions = ImmutableLists.copyOf(builder.actions);
+        this.features = ImmutableLists.copyOf(builder.features);
+        this.participants = ImmutableLists.copyOf(builder.participants);
     }
 
     @Nonnull
@@ -326,6 +325,40 @@ public class Call implements Serializable {
             return new Builder();
         }
 
+        /**
+         * Clears the builder so that it can be reused to build another call. Calls already built are unaffected.
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder reset() {
+            callId = null;
+            telephonyCallId = null;
+            conferenceId = null;
+            site = null;
+            profileId = null;
+            deviceId = null;
+            userId = null;
+            interestId = null;
+            changed = null;
+            state = null;
+            direction = null;
+            callerNumber = null;
+            callerName = null;
+            callerE164Numbers.clear();
+            calledNumber = null;
+            calledName = null;
+            calledDestination = null;
+            calledE164Numbers.clear();
+            originatorReferences.clear();
+            startTime = null;
+            duration = null;
+            actions.clear();
+            features.clear();
+            participants.clear();
+            return this;
+        }
+
         @Nonnull
         public Call build() {
             if (callId == null) {
@@ -465,6 +498,16 @@ public class Call implements Serializable {
             return this;
         }
 
+        @Nonnull
+        public Optional<PhoneNumber> getCallerNumber() {
+            return Optional.ofNullable(callerNumber);
+        }
+
+        @Nonnull
+        public Optional<String> getCallerName() {
+            return Optional.ofNullable(callerName);
+        }
+
         @Nonnull
         public Builder addCallerE164Number(@Nonnull final PhoneNumber callerE164Number) {
             this.callerE164Numbers.add(callerE164Number);
@@ -495,6 +538,16 @@ public class Call implements Serializable {
             return this;
         }
 
+        @Nonnull
+        public Optional<PhoneNumber> getCalledNumber() {
+            return Optional.ofNullable(calledNumber);
+        }
+
+        @Nonnull
+        public Optional<String> getCalledName() {
+            return Optional.ofNullable(calledName);
+        }
+
         @Nonnull
         public Builder addCalledE164Number(@Nonnull final PhoneNumber calledE164Number) {
             this.calledE164Numbers.add(calledE164Number);
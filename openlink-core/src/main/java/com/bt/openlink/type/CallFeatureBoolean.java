@@ -32,6 +32,18 @@ public class CallFeatureBoolean extends CallFeature {
             return new Builder();
         }
 
+        /**
+         * Clears the builder so that it can be reused to build another feature. Features already built are unaffected.
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder reset() {
+            resetFeature();
+            enabled = null;
+            return this;
+        }
+
         @Nonnull
         public CallFeatureBoolean build() {
             validate();
@@ -40,6 +40,19 @@ public final class CallFeatureHandset extends CallFeature {
             return new Builder();
         }
 
+        /**
+         * Clears the builder so that it can be reused to build another feature. Features already built are unaffected.
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder reset() {
+            resetFeature();
+            enabled = null;
+            microphoneEnabled = null;
+            return this;
+        }
+
         @Nonnull
         public CallFeatureHandset build() {
             setType(FeatureType.HANDSET);
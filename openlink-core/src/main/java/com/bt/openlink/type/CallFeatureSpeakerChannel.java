@@ -49,6 +49,20 @@ public final class CallFeatureSpeakerChannel extends CallFeature {
             return new Builder();
         }
 
+        /**
+         * Clears the builder so that it can be reused to build another feature. Features already built are unaffected.
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder reset() {
+            resetFeature();
+            channel = null;
+            microphoneActive = null;
+            muteRequested = null;
+            return this;
+        }
+
         @Nonnull
         public CallFeatureSpeakerChannel build() {
             setType(FeatureType.SPEAKER_CHANNEL);
@@ -34,6 +34,18 @@ public class CallFeatureTextValue extends CallFeature {
             return new CallFeatureTextValue.Builder();
         }
 
+        /**
+         * Clears the builder so that it can be reused to build another feature. Features already built are unaffected.
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder reset() {
+            resetFeature();
+            value = null;
+            return this;
+        }
+
         @Nonnull
         public CallFeatureTextValue build() {
             validate();
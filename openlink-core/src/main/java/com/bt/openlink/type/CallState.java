@@ -70,4 +70,13 @@ public enum CallState {
         }
     }
 
+    /**
+     * Determine if this is the final state of a call, i.e. no further updates are expected for it
+     *
+     * @return true if the call has ended
+     */
+    public boolean isTerminal() {
+        return this == CONNECTION_CLEARED || this == CALL_MISSED || this == CALL_FAILED;
+    }
+
 }
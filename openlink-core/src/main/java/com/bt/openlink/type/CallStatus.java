@@ -2,14 +2,17 @@ package com.bt.openlink.type;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.bt.openlink.ValidationLevel;
+
 public class CallStatus implements Serializable {
     private static final long serialVersionUID = 1042623536248308079L;
     @Nullable private final Boolean callStatusBusy;
@@ -19,7 +22,7 @@ public class CallStatus implements Serializable {
     public CallStatus(@Nonnull final Builder builder) {
         this.callStatusBusy = builder.callStatusBusy;
         this.callForward = builder.callForward;
-        this.calls = Collections.unmodifiableList(builder.calls);
+        this.calls = ImmutableLists.copyOf(builder.calls);
     }
 
     @Nonnull
@@ -47,6 +50,20 @@ public class CallStatus implements Serializable {
             return new Builder();
         }
 
+        /**
+         * Clears the builder so that it can be reused to build another call status. Call statuses already built are
+         * unaffected.
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder reset() {
+            callStatusBusy = null;
+            callForward = null;
+            calls.clear();
+            return this;
+        }
+
         @Nonnull
         public Builder setCallForward(final PhoneNumber callForward) {
             this.callForward = callForward;
@@ -86,25 +103,27 @@ public class CallStatus implements Serializable {
 
         @Nonnull
         public CallStatus build(List<String> errors) {
-            if (calls.isEmpty()) {
+            final ValidationLevel validationLevel = ValidationLevel.of(errors);
+            if (validationLevel.isEnabled() && calls.isEmpty()) {
                 errors.add("Invalid callstatus; missing or invalid calls");
             }
 
-            validateUniqueness(callId -> errors.add("Invalid callstatus; each call id must be unique - " + callId + " appears more than once"));
+            if (validationLevel.isFull()) {
+                validateUniqueness(callId -> errors.add("Invalid callstatus; each call id must be unique - " + callId + " appears more than once"));
+            }
 
             return new CallStatus(this);
         }
 
         private void validateUniqueness(final Consumer<CallId> errorConsumer) {
-            for (int i = 0; i < calls.size(); i++) {
-                final Optional<CallId> callIdOptional = calls.get(i).getId();
-                if (callIdOptional.isPresent()) {
-                    for (int j = i + 1; j < calls.size(); j++) {
-                        if (callIdOptional.equals(calls.get(j).getId())) {
-                            errorConsumer.accept(callIdOptional.get());
-                        }
+            final Set<CallId> callIds = new HashSet<>(calls.size() * 2);
+            final Set<CallId> duplicateCallIds = new HashSet<>();
+            for (final Call call : calls) {
+                call.getId().ifPresent(callId -> {
+                    if (!callIds.add(callId) && duplicateCallIds.add(callId)) {
+                        errorConsumer.accept(callId);
                     }
-                }
+                });
             }
         }
 
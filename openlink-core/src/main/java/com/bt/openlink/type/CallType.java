@@ -36,4 +36,25 @@ public enum CallType {
         return Optional.empty();
     }
 
+    /**
+     * @param state
+     *            the state of a call, if known
+     * @param direction
+     *            the direction of a call, if known
+     * @return the type of the call, as used to filter a get-call-history request; a missed call is {@link #MISSED}
+     *         whatever its direction
+     */
+    @Nonnull
+    public static Optional<CallType> of(@Nullable final CallState state, @Nullable final CallDirection direction) {
+        if (state == CallState.CALL_MISSED) {
+            return Optional.of(MISSED);
+        } else if (direction == CallDirection.INCOMING) {
+            return Optional.of(INBOUND);
+        } else if (direction == CallDirection.OUTGOING) {
+            return Optional.of(OUTBOUND);
+        } else {
+            return Optional.empty();
+        }
+    }
+
 }
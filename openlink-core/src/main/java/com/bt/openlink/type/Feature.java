@@ -40,6 +40,15 @@ public class Feature implements Serializable {
         @Nullable private FeatureType featureType = null;
         @Nullable private String label = null;
 
+        /**
+         * Clears the id, type and label, for builders that can be reset and reused.
+         */
+        protected void resetFeature() {
+            featureId = null;
+            featureType = null;
+            label = null;
+        }
+
         protected void validate() {
             if (featureId == null) {
                 throw new IllegalStateException("The feature id has not been set");
@@ -9,6 +9,8 @@ import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.bt.openlink.ValidationLevel;
+
 public class HistoricalCall<J extends Serializable> implements Serializable {
 
     private static final long serialVersionUID = 6147895706303266956L;
@@ -100,6 +102,15 @@ public class HistoricalCall<J extends Serializable> implements Serializable {
         return Optional.ofNullable(tsc);
     }
 
+    /**
+     * @return the type of call, as used to filter a get-call-history request; a missed call is {@link CallType#MISSED}
+     *         whatever its direction
+     */
+    @Nonnull
+    public Optional<CallType> getCallType() {
+        return CallType.of(state, direction);
+    }
+
     public static final class Builder<J extends Serializable> {
         @Nullable private CallId callId;
         @Nullable private UserId userId;
@@ -166,6 +177,9 @@ public class HistoricalCall<J extends Serializable> implements Serializable {
 
         @Nonnull
         public HistoricalCall<J> build(@Nonnull final List<String> errors) {
+            if (!ValidationLevel.of(errors).isEnabled()) {
+                return new HistoricalCall<>(this);
+            }
             if (callId == null) {
                 errors.add("Invalid historical call; missing call id is mandatory");
             }
@@ -0,0 +1,36 @@
+package com.bt.openlink.type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+final class ImmutableLists {
+
+    private ImmutableLists() {
+    }
+
+    /**
+     * Copies the list held by a builder, so that the builder can be reset and reused without changing the objects it has
+     * already built. Empty lists, the most common case, share a single instance.
+     *
+     * @param list
+     *            the list to copy
+     * @param <T>
+     *            the type of element in the list
+     * @return an unmodifiable copy of the list
+     */
+    @Nonnull
+    static <T> List<T> copyOf(@Nonnull final List<T> list) {
+        switch (list.size()) {
+        case 0:
+            return Collections.emptyList();
+        case 1:
+            return Collections.singletonList(list.get(0));
+        default:
+            return Collections.unmodifiableList(new ArrayList<>(list));
+        }
+    }
+
+}
@@ -7,6 +7,8 @@ import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.bt.openlink.ValidationLevel;
+
 public final class Interest implements Serializable {
     private static final long serialVersionUID = 7189237932741479652L;
     @Nullable private final InterestId interestId;
@@ -117,6 +119,9 @@ public final class Interest implements Serializable {
 
         @Nonnull
         public Interest build(final List<String> errors) {
+            if (!ValidationLevel.of(errors).isEnabled()) {
+                return new Interest(this);
+            }
             if (interestId == null) {
                 errors.add("Invalid interest; missing interest id is mandatory");
             }
@@ -7,6 +7,8 @@ import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.bt.openlink.ValidationLevel;
+
 public class Key implements Serializable {
 
     private static final long serialVersionUID = -2669473458366898279L;
@@ -109,6 +111,9 @@ public class Key implements Serializable {
 
         @Nonnull
         public Key build(final List<String> errors) {
+            if (!ValidationLevel.of(errors).isEnabled()) {
+                return new Key(this);
+            }
             if (id == null) {
                 errors.add("Invalid key : missing key id is mandatory.");
             }
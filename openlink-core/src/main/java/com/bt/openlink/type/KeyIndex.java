@@ -0,0 +1,154 @@
+package com.bt.openlink.type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+
+/**
+ * An index of the keys on the key pages of a {@link Profile}, so that the keys for an id, interest or function, or a
+ * key page, can be found without scanning every key on every page. The index is built once for a profile, see
+ * {@link Profile#getKeyIndex()}.
+ */
+public final class KeyIndex {
+
+    @Nonnull private final Map<KeyId, List<Location>> locationsById = new HashMap<>();
+    @Nonnull private final Map<KeyInterest, List<Location>> locationsByInterest = new HashMap<>();
+    @Nonnull private final Map<KeyFunction, List<Location>> locationsByFunction = new HashMap<>();
+    @Nonnull private final Map<KeyPageId, KeyPage> keyPagesById = new HashMap<>();
+
+    KeyIndex(@Nonnull final List<KeyPage> keyPages) {
+        for (int pageIndex = 0; pageIndex < keyPages.size(); pageIndex++) {
+            final KeyPage keyPage = keyPages.get(pageIndex);
+            keyPage.getKeyPageId().ifPresent(keyPageId -> keyPagesById.putIfAbsent(keyPageId, keyPage));
+            final List<Key> keys = keyPage.getKeys();
+            for (int keyIndex = 0; keyIndex < keys.size(); keyIndex++) {
+                final Location location = new Location(keys.get(keyIndex), keyPage, pageIndex, keyIndex);
+                location.key.getId().ifPresent(keyId -> add(locationsById, keyId, location));
+                location.key.getInterest().ifPresent(keyInterest -> add(locationsByInterest, keyInterest, location));
+                location.key.getFunction().ifPresent(keyFunction -> add(locationsByFunction, keyFunction, location));
+            }
+        }
+    }
+
+    private static <K> void add(@Nonnull final Map<K, List<Location>> locations, @Nonnull final K key, @Nonnull final Location location) {
+        locations.computeIfAbsent(key, k -> new ArrayList<>(1)).add(location);
+    }
+
+    @Nonnull
+    private static List<Location> get(@Nonnull final Map<?, List<Location>> locations, @Nonnull final Object key) {
+        final List<Location> keyLocations = locations.get(key);
+        return keyLocations == null ? Collections.emptyList() : Collections.unmodifiableList(keyLocations);
+    }
+
+    /**
+     * @param keyId
+     *            the id of the key
+     * @return the keys with the id, in page order; key ids need only be unique within a page
+     */
+    @Nonnull
+    public List<Location> getKeys(@Nonnull final KeyId keyId) {
+        return get(locationsById, keyId);
+    }
+
+    /**
+     * @param keyInterest
+     *            the interest of the key
+     * @return the keys on the interest, in page order
+     */
+    @Nonnull
+    public List<Location> getKeys(@Nonnull final KeyInterest keyInterest) {
+        return get(locationsByInterest, keyInterest);
+    }
+
+    /**
+     * @param interestId
+     *            the id of an interest, e.g. of a call in a call status
+     * @return the keys on the interest, in page order
+     */
+    @Nonnull
+    public List<Location> getKeys(@Nonnull final InterestId interestId) {
+        return getKeys(KeyInterest.from(interestId));
+    }
+
+    /**
+     * @param keyFunction
+     *            the function of the key
+     * @return the keys with the function, in page order
+     */
+    @Nonnull
+    public List<Location> getKeys(@Nonnull final KeyFunction keyFunction) {
+        return get(locationsByFunction, keyFunction);
+    }
+
+    /**
+     * @param keyPageId
+     *            the id of the key page
+     * @return the first key page with the id, if there is one
+     */
+    @Nonnull
+    public Optional<KeyPage> getKeyPage(@Nonnull final KeyPageId keyPageId) {
+        return Optional.ofNullable(keyPagesById.get(keyPageId));
+    }
+
+    /**
+     * A key, and where it is within the profile.
+     */
+    public static final class Location {
+
+        @Nonnull private final Key key;
+        @Nonnull private final KeyPage keyPage;
+        private final int pageIndex;
+        private final int keyIndex;
+
+        private Location(@Nonnull final Key key, @Nonnull final KeyPage keyPage, final int pageIndex, final int keyIndex) {
+            this.key = key;
+            this.keyPage = keyPage;
+            this.pageIndex = pageIndex;
+            this.keyIndex = keyIndex;
+        }
+
+        @Nonnull
+        public Key getKey() {
+            return key;
+        }
+
+        @Nonnull
+        public KeyPage getKeyPage() {
+            return keyPage;
+        }
+
+        @Nonnull
+        public Optional<KeyPageModule> getKeyPageModule() {
+            return keyPage.getKeyPageModule();
+        }
+
+        /**
+         * @return the position of the key page within the profile, starting at zero
+         */
+        public int getPageIndex() {
+            return pageIndex;
+        }
+
+        /**
+         * @return the position of the key within the key page, starting at zero
+         */
+        public int getKeyIndex() {
+            return keyIndex;
+        }
+
+        @Override
+        public String toString() {
+            return "KeyIndex.Location[" +
+                    "key=" + key.getId().orElse(null) +
+                    ", pageIndex=" + pageIndex +
+                    ", keyIndex=" + keyIndex +
+                    ']';
+        }
+    }
+
+}
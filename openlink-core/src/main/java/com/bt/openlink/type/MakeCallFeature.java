@@ -6,6 +6,8 @@ import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.bt.openlink.codec.NumberCodec;
+
 public class MakeCallFeature {
 
     @Nullable private final FeatureId featureId;
@@ -46,11 +48,7 @@ public class MakeCallFeature {
 
     @Nonnull
     public Optional<Long> getLongValue1() {
-        try {
-            return getValue1().map(Long::valueOf);
-        } catch (final NumberFormatException ignored) {
-            return Optional.empty();
-        }
+        return NumberCodec.toOptional(NumberCodec.parseLong(value1));
     }
 
     @Nonnull
@@ -25,7 +25,7 @@ public final class Participant implements Serializable {
     private Participant(@Nonnull final Builder builder) {
         this.jid = builder.jid;
         this.number = builder.number;
-        this.e164Numbers = new ArrayList<>(builder.e164Numbers);
+        this.e164Numbers = ImmutableLists.copyOf(builder.e164Numbers);
         this.destinationNumber = builder.destinationNumber;
         this.participantType = builder.participantType;
         this.participantCategory = builder.participantCategory;
@@ -99,6 +99,26 @@ public final class Participant implements Serializable {
             return new Builder();
         }
 
+        /**
+         * Clears the builder so that it can be reused to build another participant. Participants already built are
+         * unaffected.
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder reset() {
+            jid = null;
+            number = null;
+            e164Numbers.clear();
+            destinationNumber = null;
+            participantType = null;
+            participantCategory = null;
+            direction = null;
+            startTime = null;
+            duration = null;
+            return this;
+        }
+
         @Nonnull
         public Participant build() {
             if (jid == null && number == null) {
@@ -8,6 +8,8 @@ import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.bt.openlink.ValidationLevel;
+
 public final class Profile implements Serializable {
     private static final long serialVersionUID = -2429079888059635951L;
     @Nullable private final ProfileId profileId;
@@ -19,6 +21,7 @@ public final class Profile implements Serializable {
     @Nullable private final Site site;
     @Nonnull private final List<RequestAction> actions;
     @Nonnull private final List<KeyPage> keyPages;
+    @Nullable private transient volatile KeyIndex keyIndex;
 
     private Profile(@Nonnull final Builder builder) {
         this.profileId = builder.profileId;
@@ -89,6 +92,22 @@ public final class Profile implements Serializable {
         return keyPages;
     }
 
+    /**
+     * Returns an index of the keys on the key pages of this profile. The index is built the first time it is requested.
+     *
+     * @return the index of the keys of this profile
+     */
+    @Nonnull
+    public KeyIndex getKeyIndex() {
+        KeyIndex index = keyIndex;
+        if (index == null) {
+            // Should two threads build the index at once, both indexes are equivalent
+            index = new KeyIndex(keyPages);
+            keyIndex = index;
+        }
+        return index;
+    }
+
     @Override
     public String toString() {
         return "Profile[" +
@@ -144,6 +163,9 @@ public final class Profile implements Serializable {
 
         @Nonnull
         public Profile build(@Nonnull final List<String> errors) {
+            if (!ValidationLevel.of(errors).isEnabled()) {
+                return new Profile(this);
+            }
             if (profileId == null && !keyPageProfile) {
                 errors.add("Invalid profile; missing profile id is mandatory");
             }
@@ -0,0 +1,126 @@
+package com.bt.openlink.type;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A single item in a pub-sub publish request or event, carrying either a call status or a device status. Items
+ * received in an event also record the node they were published to.
+ */
+public final class PubSubItem implements Serializable {
+    private static final long serialVersionUID = 3283468447436338207L;
+    @Nullable private final PubSubNodeId pubSubNodeId;
+    @Nullable private final ItemId itemId;
+    @Nullable private final CallStatus callStatus;
+    @Nullable private final DeviceStatus deviceStatus;
+
+    private PubSubItem(@Nonnull final Builder builder) {
+        this.pubSubNodeId = builder.pubSubNodeId;
+        this.itemId = builder.itemId;
+        this.callStatus = builder.callStatus;
+        this.deviceStatus = builder.deviceStatus;
+    }
+
+    @Nonnull
+    public Optional<PubSubNodeId> getPubSubNodeId() {
+        return Optional.ofNullable(pubSubNodeId);
+    }
+
+    @Nonnull
+    public Optional<ItemId> getItemId() {
+        return Optional.ofNullable(itemId);
+    }
+
+    @Nonnull
+    public Optional<CallStatus> getCallStatus() {
+        return Optional.ofNullable(callStatus);
+    }
+
+    @Nonnull
+    public Optional<DeviceStatus> getDeviceStatus() {
+        return Optional.ofNullable(deviceStatus);
+    }
+
+    public static final class Builder {
+
+        @Nullable private PubSubNodeId pubSubNodeId;
+        @Nullable private ItemId itemId;
+        @Nullable private CallStatus callStatus;
+        @Nullable private DeviceStatus deviceStatus;
+
+        private Builder() {
+        }
+
+        @Nonnull
+        public static Builder start() {
+            return new Builder();
+        }
+
+        /**
+         * @param item
+         *            the item to copy
+         * @return a builder with the values of the item
+         */
+        @Nonnull
+        public static Builder start(@Nonnull final PubSubItem item) {
+            final Builder builder = new Builder();
+            builder.pubSubNodeId = item.pubSubNodeId;
+            builder.itemId = item.itemId;
+            builder.callStatus = item.callStatus;
+            builder.deviceStatus = item.deviceStatus;
+            return builder;
+        }
+
+        @Nonnull
+        public PubSubItem build() {
+            if (callStatus == null && deviceStatus == null) {
+                throw new IllegalStateException("Either a callstatus or a devicestatus must be set");
+            }
+            if (callStatus != null && deviceStatus != null) {
+                throw new IllegalStateException("A callstatus and a devicestatus cannot be set on the same item");
+            }
+            return new PubSubItem(this);
+        }
+
+        @Nonnull
+        public PubSubItem build(@Nonnull final List<String> errors) {
+            if (callStatus == null && deviceStatus == null) {
+                errors.add("Invalid pub-sub item; either a callstatus or a devicestatus is mandatory");
+            }
+            if (callStatus != null && deviceStatus != null) {
+                errors.add("Invalid pub-sub item; a callstatus and a devicestatus cannot both be present");
+            }
+            return new PubSubItem(this);
+        }
+
+        @Nonnull
+        public Builder setPubSubNodeId(@Nonnull final PubSubNodeId pubSubNodeId) {
+            this.pubSubNodeId = pubSubNodeId;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setItemId(@Nonnull final ItemId itemId) {
+            this.itemId = itemId;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setCallStatus(@Nonnull final CallStatus callStatus) {
+            this.callStatus = callStatus;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setDeviceStatus(@Nonnull final DeviceStatus deviceStatus) {
+            this.deviceStatus = deviceStatus;
+            return this;
+        }
+
+    }
+
+}
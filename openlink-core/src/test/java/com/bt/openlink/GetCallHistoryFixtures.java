@@ -1,10 +1,20 @@
 package com.bt.openlink;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.bt.openlink.type.CallDirection;
+import com.bt.openlink.type.CallId;
 import com.bt.openlink.type.CallState;
 import com.bt.openlink.type.HistoricalCall;
+import com.bt.openlink.type.PhoneNumber;
+import com.bt.openlink.type.UserId;
 
 public class GetCallHistoryFixtures {
 
@@ -60,6 +70,8 @@ public class GetCallHistoryFixtures {
             "  </command>\n" +
             "</iq>";
 
+    public static final String CALL_HISTORY_RESULT_WITH_BAD_TIMESTAMP = CALL_HISTORY_RESULT_WITH_MISMATCHED_TIMES.replace("2017-10-09 09:07:00.0", "not-a-timestamp");
+
     public static final String CALL_HISTORY_RESULT_WITH_BAD_VALUES = "<iq type='get'>\n" +
             "  <command xmlns='http://jabber.org/protocol/commands' node='http://xmpp.org/protocol/openlink:01:00:00#get-call-history' status='completed'>\n" +
             "    <iodata xmlns='urn:xmpp:tmp:io-data' type='output'>\n" +
@@ -143,4 +155,40 @@ public class GetCallHistoryFixtures {
                 .setTsc(tsc)
                 .build();
     }
+
+    public static HistoricalCall<String> getHistoricalCall(final String callId, final Instant startTime) {
+        return HistoricalCall.Builder.<String> start()
+                .setId(CallId.from(callId).get())
+                .setStartTime(startTime)
+                .build(new ArrayList<>());
+    }
+
+    public static HistoricalCall<String> getHistoricalCall(final String callId, final String startTime) {
+        return getHistoricalCall(callId, Instant.parse(startTime));
+    }
+
+    public static HistoricalCall<String> getHistoricalCall(final UserId userId, final CallDirection direction, final CallState state, final String startTime, final Duration duration) {
+        return getHistoricalCall(CoreFixtures.CALL_ID.value(), userId, direction, state, CoreFixtures.CALLER_NUMBER, CoreFixtures.CALLED_NUMBER, startTime, duration);
+    }
+
+    public static HistoricalCall<String> getHistoricalCall(final String callId, final UserId userId, final CallDirection direction, final CallState state, final PhoneNumber callerNumber, final PhoneNumber calledNumber, final String startTime, final Duration duration) {
+        return HistoricalCall.Builder.<String> start()
+                .setId(CallId.from(callId).get())
+                .setUserId(userId)
+                .setDirection(direction)
+                .setState(state)
+                .setCallerNumber(callerNumber)
+                .setCalledNumber(calledNumber)
+                .setStartTime(Instant.parse(startTime))
+                .setDuration(duration)
+                .build(new ArrayList<>());
+    }
+
+    public static <J extends Serializable> List<String> getCallIds(final Collection<HistoricalCall<J>> calls) {
+        return getCallIds(calls.stream());
+    }
+
+    public static <J extends Serializable> List<String> getCallIds(final Stream<HistoricalCall<J>> calls) {
+        return calls.map(call -> call.getId().get().value()).collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,142 @@
+package com.bt.openlink;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallFeatureBoolean;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.FeatureId;
+import com.bt.openlink.type.FeatureType;
+import com.bt.openlink.type.PhoneNumber;
+
+public class ParseContextTest {
+
+    @Test
+    public void willReuseTheSameBuilders() {
+        final ParseContext context = ParseContext.get();
+
+        assertThat(context.callStatusBuilder(), is(sameInstance(context.callStatusBuilder())));
+        assertThat(context.callBuilder(), is(sameInstance(context.callBuilder())));
+        assertThat(context.participantBuilder(), is(sameInstance(context.participantBuilder())));
+        assertThat(context.booleanFeatureBuilder(), is(sameInstance(context.booleanFeatureBuilder())));
+        assertThat(context.parseErrors(), is(sameInstance(context.parseErrors())));
+    }
+
+    @Test
+    public void willNotChangeWhatWasBuiltWhenTheBuilderIsReused() {
+        final ParseContext context = ParseContext.get();
+        final List<String> errors = new ArrayList<>();
+
+        final Call call = context.callBuilder()
+                .addCallerE164Number(CoreFixtures.CALLER_E164_NUMBER)
+                .addParticipant(CoreFixtures.LOCAL_PARTICIPANT)
+                .setCallerName(CoreFixtures.CALLER_NAME)
+                .build(errors);
+        final CallStatus callStatus = context.callStatusBuilder()
+                .addCall(call)
+                .build(errors);
+        final Call nextCall = context.callBuilder().build(errors);
+        context.callStatusBuilder().addCall(nextCall).build(errors);
+
+        assertThat(call.getCallerE164Numbers(), contains(CoreFixtures.CALLER_E164_NUMBER));
+        assertThat(call.getParticipants(), contains(CoreFixtures.LOCAL_PARTICIPANT));
+        assertThat(call.getCallerName(), is(Optional.of(CoreFixtures.CALLER_NAME)));
+        assertThat(callStatus.getCalls(), contains(call));
+        assertThat(nextCall.getCallerE164Numbers(), is(empty()));
+        assertThat(nextCall.getParticipants(), is(empty()));
+        assertThat(nextCall.getCallerName(), is(Optional.empty()));
+    }
+
+    @Test
+    public void willResetAFeatureBuilder() {
+        final ParseContext context = ParseContext.get();
+        final List<String> errors = new ArrayList<>();
+        context.booleanFeatureBuilder()
+                .setId(FeatureId.from("test-feature-id").get())
+                .setType(FeatureType.PRIVACY)
+                .setLabel("test-label")
+                .setEnabled(true)
+                .build(errors);
+
+        final CallFeatureBoolean feature = context.booleanFeatureBuilder().build(errors);
+
+        assertThat(feature.getId(), is(Optional.empty()));
+        assertThat(feature.getType(), is(Optional.empty()));
+        assertThat(feature.getLabel(), is(Optional.empty()));
+        assertThat(feature.isEnabled(), is(Optional.empty()));
+    }
+
+    @Test
+    public void willClearTheParseErrors() {
+        final ParseContext context = ParseContext.get();
+        context.parseErrors().add("Invalid stanza; missing 'to' attribute is mandatory");
+
+        assertThat(context.parseErrors(), is(empty()));
+    }
+
+    @Test
+    public void willCollectParseErrorsAtTheValidationLevelOfTheParse() {
+
+        final ValidationLevel level = ParseContext.parse(ValidationLevel.FAST, () -> ParseContext.newParseErrors().getValidationLevel());
+
+        assertThat(level, is(ValidationLevel.FAST));
+        assertThat(ParseContext.newParseErrors().getValidationLevel(), is(ValidationLevel.FULL));
+    }
+
+    @Test
+    public void willShareTheContextForTheDurationOfTheParse() {
+
+        final ParseContext[] contexts = ParseContext.parse(ValidationLevel.FULL, () -> new ParseContext[] {
+                ParseContext.get(),
+                ParseContext.get(),
+                ParseContext.parse(ValidationLevel.FAST, ParseContext::get)
+        });
+
+        assertThat(contexts[1], is(sameInstance(contexts[0])));
+        assertThat(contexts[2], is(sameInstance(contexts[0])));
+    }
+
+    @Test
+    public void willRemoveTheContextFromTheThreadOnceTheParseIsFinished() {
+
+        final ParseContext context = ParseContext.parse(ValidationLevel.FULL, ParseContext::get);
+
+        assertThat(ParseContext.get(), is(not(sameInstance(context))));
+        assertThat(ParseContext.get(), is(not(sameInstance(ParseContext.get()))));
+    }
+
+    @Test
+    public void willReuseTheBuildersForTheNextParseOnTheSameThread() {
+
+        final CallStatus.Builder firstBuilder = ParseContext.parse(ValidationLevel.FULL, () -> ParseContext.get().callStatusBuilder());
+        final CallStatus.Builder secondBuilder = ParseContext.parse(ValidationLevel.FAST, () -> ParseContext.get().callStatusBuilder());
+
+        assertThat(secondBuilder, is(sameInstance(firstBuilder)));
+        assertThat(ParseContext.newParseErrors().getValidationLevel(), is(ValidationLevel.FULL));
+    }
+
+    @Test
+    public void willParsePhoneNumbers() {
+        final ParseContext context = ParseContext.get();
+
+        assertThat(context.phoneNumbers(null), is(empty()));
+        assertThat(context.phoneNumbers(""), is(empty()));
+        assertThat(context.phoneNumbers(" , ,"), is(empty()));
+        assertThat(context.phoneNumbers("+441632960001"), contains(PhoneNumber.from("+441632960001").get()));
+        assertThat(context.phoneNumbers(" +441632960001 ,, +441632960002,"), contains(
+                PhoneNumber.from("+441632960001").get(),
+                PhoneNumber.from("+441632960002").get()));
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.bt.openlink;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class ParseErrorListTest {
+
+    @Test
+    public void willRenderTheMessageOfAnError() {
+        final List<String> parseErrors = new ParseErrorList();
+
+        ParseErrorList.add(parseErrors, ParseError.Code.INVALID_INTEGER, "get-call-history result", "duration", "not-a-duration");
+        ParseErrorList.add(parseErrors, ParseError.Code.INVALID_TIMESTAMP, "get-call-history result", "starttime", "not-a-time");
+        parseErrors.add("Invalid stanza; missing 'to' attribute is mandatory");
+
+        assertThat(parseErrors, contains(
+                "Invalid get-call-history result; invalid duration 'not-a-duration'; please supply an integer",
+                "Invalid get-call-history result; invalid starttime 'not-a-time'; please supply a valid starttime",
+                "Invalid stanza; missing 'to' attribute is mandatory"));
+    }
+
+    @Test
+    public void willRecordTheDetailsOfAnError() {
+        final List<String> parseErrors = new ParseErrorList();
+
+        ParseErrorList.add(parseErrors, ParseError.Code.INVALID_BOOLEAN, "device-status message", "online", "maybe");
+        parseErrors.add("Invalid stanza; missing 'to' attribute is mandatory");
+
+        final List<ParseError> errors = ParseErrorList.getParseErrors(ParseErrorList.copyOf(parseErrors));
+        assertThat(errors.get(0).getCode(), is(ParseError.Code.INVALID_BOOLEAN));
+        assertThat(errors.get(0).getStanzaDescription(), is("device-status message"));
+        assertThat(errors.get(0).getField(), is(Optional.of("online")));
+        assertThat(errors.get(0).getValue(), is(Optional.of("maybe")));
+        assertThat(errors.get(0).getMessage(), is("Invalid device-status message: maybe is neither true or false"));
+        assertThat(errors.get(1).getCode(), is(ParseError.Code.OTHER));
+        assertThat(errors.get(1).getMessage(), is("Invalid stanza; missing 'to' attribute is mandatory"));
+    }
+
+    @Test
+    public void willAddToAnyListOfStrings() {
+        final List<String> parseErrors = new ArrayList<>();
+
+        ParseErrorList.add(parseErrors, ParseError.Code.MISSING_ATTRIBUTE, "get-interest result", "id", null);
+
+        assertThat(parseErrors, contains("Invalid get-interest result; missing 'id' attribute is mandatory"));
+        assertThat(ParseErrorList.getParseErrors(parseErrors).get(0).getCode(), is(ParseError.Code.OTHER));
+    }
+
+    @Test
+    public void willShareTheEmptyList() {
+        assertThat(ParseErrorList.copyOf(null), is(sameInstance(Collections.<String> emptyList())));
+        assertThat(ParseErrorList.copyOf(new ParseErrorList()), is(sameInstance(Collections.<String> emptyList())));
+    }
+
+}
@@ -38,6 +38,43 @@ public class PubSubMessageFixtures {
                     "  </event>\n" +
                     "</message>";
 
+    public static final ItemId SECOND_ITEM_ID = ItemId.from("test-second-item-id").get();
+    public static final String CALL_STATUS_MESSAGE_WITH_MULTIPLE_ITEMS =
+            "<message from='" + CoreFixtures.FROM_JID_STRING + "' to='" + CoreFixtures.TO_JID_STRING + "' id='" + CoreFixtures.STANZA_ID + "'>\n" +
+                    "  <event xmlns='http://jabber.org/protocol/pubsub#event'>\n" +
+                    "    <items node='" + NODE_ID + "'>\n" +
+                    "      <item id='" + ITEM_ID + "'>\n" +
+                    CoreFixtures.CALL_STATUS_OUTGOING_CONFERENCED +
+                    "      </item>\n" +
+                    "      <item id='" + SECOND_ITEM_ID + "'>\n" +
+                    "        <devicestatus xmlns='http://xmpp.org/protocol/openlink:01:00:00#device-status'>\n" +
+                    "          <profile online='true' devicenum='" + CoreFixtures.DEVICE_ID + "'>\n" +
+                    "            " + CoreFixtures.PROFILE_ID + "\n" +
+                    "          </profile>\n" +
+                    "        </devicestatus>\n" +
+                    "      </item>\n" +
+                    "    </items>\n" +
+                    "  </event>\n" +
+                    "</message>";
+
+    public static final String DEVICE_STATUS_MESSAGE_WITH_MULTIPLE_ITEMS =
+            "<message from='" + CoreFixtures.FROM_JID_STRING + "' to='" + CoreFixtures.TO_JID_STRING + "' id='" + CoreFixtures.STANZA_ID + "'>\n" +
+                    "  <event xmlns='http://jabber.org/protocol/pubsub#event'>\n" +
+                    "    <items node='" + NODE_ID + "'>\n" +
+                    "      <item id='" + ITEM_ID + "'>\n" +
+                    "        <devicestatus xmlns='http://xmpp.org/protocol/openlink:01:00:00#device-status'>\n" +
+                    "          <profile online='true' devicenum='" + CoreFixtures.DEVICE_ID + "'>\n" +
+                    "            " + CoreFixtures.PROFILE_ID + "\n" +
+                    "          </profile>\n" +
+                    "        </devicestatus>\n" +
+                    "      </item>\n" +
+                    "      <item id='" + SECOND_ITEM_ID + "'>\n" +
+                    CoreFixtures.CALL_STATUS_OUTGOING_CONFERENCED +
+                    "      </item>\n" +
+                    "    </items>\n" +
+                    "  </event>\n" +
+                    "</message>";
+
     public static final String CALL_STATUS_MESSAGE_WITH_MISMATCHED_TIMESTAMPS = CALL_STATUS_MESSAGE.replace(" start='" + CoreFixtures.START_TIME_ISO_8601 + "'", " start='" + CoreFixtures.ISO_8601_FORMATTER.format(CoreFixtures.START_TIME.plusSeconds(60).atZone(ZoneOffset.UTC)) + "'");
 
     public static final String PUBSUB_MESSAGE_WITH_NO_FIELDS =
@@ -1,5 +1,7 @@
 package com.bt.openlink;
 
+import com.bt.openlink.type.ItemId;
+
 public class PubSubPublishFixtures {
 
     public static final String PUBLISH_REQUEST_CALL_STATUS =
@@ -28,4 +30,34 @@ public class PubSubPublishFixtures {
                     "  </pubsub>" +
                     "</iq>\n";
 
+    public static final String PUBLISH_REQUEST_WITHOUT_A_STATUS =
+            "<iq type='set' id='" + CoreFixtures.STANZA_ID + "' to='" + CoreFixtures.TO_JID_STRING + "' from='" + CoreFixtures.FROM_JID_STRING + "'>\n" +
+                    "   <pubsub xmlns='http://jabber.org/protocol/pubsub'>\n" +
+                    "    <publish node='" + CoreFixtures.INTEREST_ID + "'>\n" +
+                    "      <item/>\n" +
+                    "    </publish>\n" +
+                    "  </pubsub>" +
+                    "</iq>\n";
+
+    public static final ItemId CALL_STATUS_ITEM_ID = ItemId.from("test-call-status-item-id").get();
+    public static final ItemId DEVICE_STATUS_ITEM_ID = ItemId.from("test-device-status-item-id").get();
+
+    public static final String PUBLISH_REQUEST_MULTIPLE_ITEMS =
+            "<iq type='set' id='" + CoreFixtures.STANZA_ID + "' to='" + CoreFixtures.TO_JID_STRING + "' from='" + CoreFixtures.FROM_JID_STRING + "'>\n" +
+                    "   <pubsub xmlns='http://jabber.org/protocol/pubsub'>\n" +
+                    "    <publish node='" + CoreFixtures.INTEREST_ID + "'>\n" +
+                    "      <item id='" + CALL_STATUS_ITEM_ID + "'>\n" +
+                    CoreFixtures.CALL_STATUS_OUTGOING_CONFERENCED +
+                    "      </item>\n" +
+                    "      <item id='" + DEVICE_STATUS_ITEM_ID + "'>\n" +
+                    "        <devicestatus xmlns='http://xmpp.org/protocol/openlink:01:00:00#device-status'>\n" +
+                    "          <profile online='true' devicenum='"+ CoreFixtures.DEVICE_ID +"'>\n" +
+                    "            " + CoreFixtures.PROFILE_ID + "\n" +
+                    "          </profile>\n" +
+                    "        </devicestatus>\n" +
+                    "      </item>\n" +
+                    "    </publish>\n" +
+                    "  </pubsub>" +
+                    "</iq>\n";
+
 }
@@ -0,0 +1,188 @@
+package com.bt.openlink.cache;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExpiringCacheTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(60);
+    private static final Duration REFRESH_AFTER = Duration.ofSeconds(45);
+
+    @Mock private Clock clock;
+    private Map<String, CompletableFuture<String>> loads;
+    private Function<String, CompletionStage<String>> loader;
+    private ExpiringCache<String, String> cache;
+
+    @Before
+    public void setUp() {
+        when(clock.millis()).thenReturn(0L);
+        loads = new HashMap<>();
+        loader = key -> loads.computeIfAbsent(key, k -> new CompletableFuture<>());
+        cache = new ExpiringCache<>(TIME_TO_LIVE, null, 2, clock);
+    }
+
+    private String get(final String key) {
+        return cache.get(key, loader).toCompletableFuture().join();
+    }
+
+    @Test
+    public void willShareAConcurrentLoad() {
+        final CompletableFuture<String> first = cache.get("key", loader).toCompletableFuture();
+        final CompletableFuture<String> second = cache.get("key", loader).toCompletableFuture();
+        assertThat(first.isDone(), is(false));
+
+        loads.get("key").complete("value");
+
+        assertThat(first.join(), is("value"));
+        assertThat(second.join(), is("value"));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getHitCount(), is(1L));
+    }
+
+    @Test
+    public void willExpireAValue() {
+        cache.get("key", key -> CompletableFuture.completedFuture("value-1"));
+
+        when(clock.millis()).thenReturn(TIME_TO_LIVE.toMillis() - 1);
+        assertThat(cache.getIfPresent("key"), is(Optional.of("value-1")));
+        when(clock.millis()).thenReturn(TIME_TO_LIVE.toMillis());
+        assertThat(cache.getIfPresent("key"), is(Optional.empty()));
+
+        assertThat(cache.get("key", key -> CompletableFuture.completedFuture("value-2")).toCompletableFuture().join(), is("value-2"));
+    }
+
+    @Test
+    public void willNotCacheAFailedLoad() {
+        final CompletableFuture<String> failedLoad = new CompletableFuture<>();
+        failedLoad.completeExceptionally(new IllegalStateException("test failure"));
+        assertThat(cache.get("key", key -> failedLoad).toCompletableFuture().isCompletedExceptionally(), is(true));
+
+        assertThat(cache.size(), is(0));
+        assertThat(cache.get("key", key -> CompletableFuture.completedFuture("value")).toCompletableFuture().join(), is("value"));
+    }
+
+    @Test
+    public void willEvictTheLeastRecentlyUsedValue() {
+        cache.get("key-1", key -> CompletableFuture.completedFuture("value-1"));
+        cache.get("key-2", key -> CompletableFuture.completedFuture("value-2"));
+        get("key-1");
+        cache.get("key-3", key -> CompletableFuture.completedFuture("value-3"));
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.getIfPresent("key-1"), is(Optional.of("value-1")));
+        assertThat(cache.getIfPresent("key-2"), is(Optional.empty()));
+    }
+
+    @Test
+    public void willNotCacheALoadThatCompletesAfterInvalidation() {
+        final CompletableFuture<String> value = cache.get("key", loader).toCompletableFuture();
+
+        cache.invalidate("key");
+        loads.get("key").complete("stale-value");
+
+        assertThat(value.join(), is("stale-value"));
+        assertThat(cache.getIfPresent("key"), is(Optional.empty()));
+    }
+
+    @Test
+    public void willInvalidateMatchingValues() {
+        cache.get("key-1", key -> CompletableFuture.completedFuture("value-1"));
+        cache.get("key-2", key -> CompletableFuture.completedFuture("value-2"));
+
+        cache.invalidateIf((key, value) -> value.equals("value-2"));
+
+        assertThat(cache.getIfPresent("key-1"), is(Optional.of("value-1")));
+        assertThat(cache.getIfPresent("key-2"), is(Optional.empty()));
+    }
+
+    @Test
+    public void willReplaceAValueThatIsPut() {
+        cache.get("key", key -> CompletableFuture.completedFuture("value-1"));
+
+        cache.put("key", "value-2");
+
+        assertThat(get("key"), is("value-2"));
+        assertThat(cache.getMissCount(), is(1L));
+    }
+
+    @Test
+    public void willUpdateACachedValue() {
+        cache.get("key-1", key -> CompletableFuture.completedFuture("value-1"));
+        cache.get("key-2", key -> CompletableFuture.completedFuture("value-2"));
+
+        cache.update("key-1", value -> value + "-updated");
+        cache.update("key-2", value -> null);
+        cache.update("key-3", value -> "value-3");
+
+        assertThat(cache.getIfPresent("key-1"), is(Optional.of("value-1-updated")));
+        assertThat(cache.getIfPresent("key-2"), is(Optional.empty()));
+        assertThat(cache.getIfPresent("key-3"), is(Optional.empty()));
+    }
+
+    @Test
+    public void willRefreshAValueAheadOfExpiry() {
+        final ExpiringCache<String, String> refreshingCache = new ExpiringCache<>(TIME_TO_LIVE, REFRESH_AFTER, 2, clock);
+        refreshingCache.get("key", key -> CompletableFuture.completedFuture("value-1"));
+
+        when(clock.millis()).thenReturn(REFRESH_AFTER.toMillis());
+        assertThat(refreshingCache.get("key", loader).toCompletableFuture().join(), is("value-1"));
+        assertThat(refreshingCache.get("key", loader).toCompletableFuture().join(), is("value-1"));
+        assertThat(loads.size(), is(1));
+
+        loads.get("key").complete("value-2");
+        when(clock.millis()).thenReturn(TIME_TO_LIVE.toMillis());
+        assertThat(refreshingCache.getIfPresent("key"), is(Optional.of("value-2")));
+        assertThat(refreshingCache.getMissCount(), is(1L));
+    }
+
+    @Test
+    public void willNotHoldTheLockWhilstRefreshing() {
+        final ExpiringCache<String, String> refreshingCache = new ExpiringCache<>(TIME_TO_LIVE, REFRESH_AFTER, 2, clock);
+        refreshingCache.get("key", key -> CompletableFuture.completedFuture("value-1"));
+        final List<Boolean> lockHeld = new ArrayList<>();
+
+        when(clock.millis()).thenReturn(REFRESH_AFTER.toMillis());
+        refreshingCache.get("key", key -> {
+            lockHeld.add(Thread.holdsLock(refreshingCache));
+            return CompletableFuture.completedFuture("value-2");
+        });
+
+        assertThat(lockHeld, contains(false));
+        assertThat(refreshingCache.getIfPresent("key"), is(Optional.of("value-2")));
+    }
+
+    @Test
+    public void willKeepTheCachedValueIfARefreshFails() {
+        final ExpiringCache<String, String> refreshingCache = new ExpiringCache<>(TIME_TO_LIVE, REFRESH_AFTER, 2, clock);
+        refreshingCache.get("key", key -> CompletableFuture.completedFuture("value-1"));
+
+        when(clock.millis()).thenReturn(REFRESH_AFTER.toMillis());
+        refreshingCache.get("key", loader);
+        loads.remove("key").completeExceptionally(new IllegalStateException("test failure"));
+
+        assertThat(refreshingCache.getIfPresent("key"), is(Optional.of("value-1")));
+        refreshingCache.get("key", loader);
+        assertThat(loads.containsKey("key"), is(true));
+    }
+
+}
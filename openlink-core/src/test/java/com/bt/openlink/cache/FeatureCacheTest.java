@@ -0,0 +1,176 @@
+package com.bt.openlink.cache;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.type.ActiveFeature;
+import com.bt.openlink.type.Feature;
+import com.bt.openlink.type.FeatureId;
+import com.bt.openlink.type.FeatureType;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FeatureCacheTest {
+
+    private static final FeatureId UNKNOWN_FEATURE_ID = FeatureId.from("unknown-feature-id").get();
+    private static final Feature FEATURE = Feature.Builder.start()
+            .setId(CoreFixtures.FEATURE_ID)
+            .setType(FeatureType.HANDSET)
+            .setLabel("Handset")
+            .build();
+    private static final Feature SPEAKER_CHANNEL = Feature.Builder.start()
+            .setId(CoreFixtures.SPEAKER_CHANNEL_ID)
+            .setType(FeatureType.SPEAKER_CHANNEL)
+            .setLabel("Speaker channel")
+            .build();
+    private static final ActiveFeature ACTIVE_FEATURE = ActiveFeature.Builder.start()
+            .setId(CoreFixtures.FEATURE_ID)
+            .setType(FeatureType.HANDSET)
+            .setLabel("Handset")
+            .setValue1("false")
+            .setValue2("handset-1")
+            .build();
+
+    @Mock private FeatureCache.Loader loader;
+    private FeatureCache cache;
+
+    @Before
+    public void setUp() {
+        doReturn(CompletableFuture.completedFuture(Arrays.asList(FEATURE, SPEAKER_CHANNEL))).when(loader).getFeatures(CoreFixtures.PROFILE_ID);
+        doReturn(CompletableFuture.completedFuture(Collections.singletonList(ACTIVE_FEATURE))).when(loader).queryFeatures(CoreFixtures.PROFILE_ID);
+        cache = new FeatureCache(loader, Duration.ofMinutes(30), Duration.ofMinutes(25), 100);
+    }
+
+    private FeatureCatalogue<ActiveFeature> queryFeatures() {
+        return cache.queryFeatures(CoreFixtures.PROFILE_ID).toCompletableFuture().join();
+    }
+
+    @Test
+    public void willLookUpFeaturesByIdAndType() {
+        final FeatureCatalogue<Feature> features = cache.getFeatures(CoreFixtures.PROFILE_ID).toCompletableFuture().join();
+        cache.getFeatures(CoreFixtures.PROFILE_ID).toCompletableFuture().join();
+
+        verify(loader).getFeatures(CoreFixtures.PROFILE_ID);
+        assertThat(features.getFeatures(), contains(FEATURE, SPEAKER_CHANNEL));
+        assertThat(features.getFeature(CoreFixtures.SPEAKER_CHANNEL_ID), is(Optional.of(SPEAKER_CHANNEL)));
+        assertThat(features.getFeature(UNKNOWN_FEATURE_ID), is(Optional.empty()));
+        assertThat(features.getFeatures(FeatureType.HANDSET), contains(FEATURE));
+        assertThat(features.getFeatures(FeatureType.PRIVACY).isEmpty(), is(true));
+    }
+
+    @Test
+    public void willWriteThroughASetFeature() {
+        queryFeatures();
+        doReturn(CompletableFuture.completedFuture(null)).when(loader).setFeature(CoreFixtures.PROFILE_ID, CoreFixtures.FEATURE_ID, "true", null, null);
+
+        cache.setFeature(CoreFixtures.PROFILE_ID, CoreFixtures.FEATURE_ID, "true", null, null).toCompletableFuture().join();
+
+        final ActiveFeature feature = queryFeatures().getFeature(CoreFixtures.FEATURE_ID).get();
+        verify(loader).queryFeatures(CoreFixtures.PROFILE_ID);
+        assertThat(feature.getType(), is(Optional.of(FeatureType.HANDSET)));
+        assertThat(feature.getLabel(), is(Optional.of("Handset")));
+        assertThat(feature.getValue1(), is(Optional.of("true")));
+        assertThat(feature.getValue2(), is(Optional.of("handset-1")));
+    }
+
+    @Test
+    public void willNotWriteThroughAFailedSetFeature() {
+        queryFeatures();
+        final CompletableFuture<Void> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new IllegalStateException("test failure"));
+        doReturn(failure).when(loader).setFeature(CoreFixtures.PROFILE_ID, CoreFixtures.FEATURE_ID, "true", null, null);
+
+        assertThat(cache.setFeature(CoreFixtures.PROFILE_ID, CoreFixtures.FEATURE_ID, "true", null, null).toCompletableFuture().isCompletedExceptionally(), is(true));
+
+        assertThat(queryFeatures().getFeature(CoreFixtures.FEATURE_ID).get().getValue1(), is(Optional.of("false")));
+    }
+
+    @Test
+    public void willWriteThroughConcurrentSetFeaturesOfTheSameProfile() throws Exception {
+        final List<ActiveFeature> activeFeatures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            activeFeatures.add(ActiveFeature.Builder.start()
+                    .setId(FeatureId.from("feature-" + i).get())
+                    .setType(FeatureType.PRIVACY)
+                    .setLabel("Privacy " + i)
+                    .setValue1("false")
+                    .build());
+        }
+        doReturn(CompletableFuture.completedFuture(activeFeatures)).when(loader).queryFeatures(CoreFixtures.PROFILE_ID);
+        doReturn(CompletableFuture.completedFuture(null)).when(loader).setFeature(eq(CoreFixtures.PROFILE_ID), any(FeatureId.class), eq("true"), isNull(), isNull());
+        queryFeatures();
+        final ExecutorService executor = Executors.newFixedThreadPool(activeFeatures.size());
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> setFeatures = new ArrayList<>();
+        try {
+            for (final ActiveFeature activeFeature : activeFeatures) {
+                setFeatures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.setFeature(CoreFixtures.PROFILE_ID, activeFeature.getId().get(), "true", null, null).toCompletableFuture().join();
+                }));
+            }
+            start.countDown();
+            for (final Future<?> setFeature : setFeatures) {
+                setFeature.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final FeatureCatalogue<ActiveFeature> features = queryFeatures();
+        for (final ActiveFeature activeFeature : activeFeatures) {
+            assertThat(features.getFeature(activeFeature.getId().get()).get().getValue1(), is(Optional.of("true")));
+        }
+        verify(loader).queryFeatures(CoreFixtures.PROFILE_ID);
+    }
+
+    @Test
+    public void willReloadAfterSettingAnUnknownFeature() {
+        queryFeatures();
+        doReturn(CompletableFuture.completedFuture(null)).when(loader).setFeature(CoreFixtures.PROFILE_ID, UNKNOWN_FEATURE_ID, "true", null, null);
+
+        cache.setFeature(CoreFixtures.PROFILE_ID, UNKNOWN_FEATURE_ID, "true", null, null).toCompletableFuture().join();
+        queryFeatures();
+
+        verify(loader, times(2)).queryFeatures(CoreFixtures.PROFILE_ID);
+    }
+
+    @Test
+    public void willInvalidateAProfile() {
+        queryFeatures();
+        cache.getFeatures(CoreFixtures.PROFILE_ID);
+
+        cache.invalidate(CoreFixtures.PROFILE_ID);
+        queryFeatures();
+        cache.getFeatures(CoreFixtures.PROFILE_ID);
+
+        verify(loader, times(2)).queryFeatures(CoreFixtures.PROFILE_ID);
+        verify(loader, times(2)).getFeatures(CoreFixtures.PROFILE_ID);
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.bt.openlink.cache;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.InterestId;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProfileCacheTest {
+
+    @Mock private ProfileCache.Loader<String> loader;
+    private ProfileCache<String> cache;
+
+    @Before
+    public void setUp() {
+        doReturn(CompletableFuture.completedFuture(Collections.singletonList(CoreFixtures.PROFILE))).when(loader).getProfiles("user");
+        doReturn(CompletableFuture.completedFuture(CoreFixtures.PROFILE)).when(loader).getProfile(CoreFixtures.PROFILE_ID);
+        doReturn(CompletableFuture.completedFuture(Collections.singletonList(CoreFixtures.INTEREST))).when(loader).getInterests(CoreFixtures.PROFILE_ID);
+        doReturn(CompletableFuture.completedFuture(CoreFixtures.INTEREST)).when(loader).getInterest(CoreFixtures.INTEREST_ID);
+        cache = new ProfileCache<>(loader, Duration.ofMinutes(5), 100);
+    }
+
+    private void getEverything() {
+        cache.getProfiles("user").toCompletableFuture().join();
+        cache.getProfile(CoreFixtures.PROFILE_ID).toCompletableFuture().join();
+        cache.getInterests(CoreFixtures.PROFILE_ID).toCompletableFuture().join();
+        cache.getInterest(CoreFixtures.INTEREST_ID).toCompletableFuture().join();
+    }
+
+    @Test
+    public void willOnlyLoadEachResultOnce() {
+        getEverything();
+        getEverything();
+
+        assertThat(cache.getProfiles("user").toCompletableFuture().join(), contains(CoreFixtures.PROFILE));
+        verify(loader).getProfiles("user");
+        verify(loader).getProfile(CoreFixtures.PROFILE_ID);
+        verify(loader).getInterests(CoreFixtures.PROFILE_ID);
+        verify(loader).getInterest(CoreFixtures.INTEREST_ID);
+    }
+
+    @Test
+    public void willInvalidateTheProfileOnDeviceStatus() {
+        getEverything();
+
+        cache.onDeviceStatus(CoreFixtures.DEVICE_STATUS_LOGON);
+        getEverything();
+
+        verify(loader, times(2)).getProfiles("user");
+        verify(loader, times(2)).getProfile(CoreFixtures.PROFILE_ID);
+        verify(loader, times(2)).getInterests(CoreFixtures.PROFILE_ID);
+        verify(loader).getInterest(CoreFixtures.INTEREST_ID);
+    }
+
+    @Test
+    public void willInvalidateTheInterestOnCallStatus() {
+        getEverything();
+
+        cache.onCallStatus(Call.Builder.start()
+                .setInterestId(CoreFixtures.INTEREST_ID)
+                .setState(CallState.CALL_DELIVERED)
+                .build(new ArrayList<>())
+                .toCallStatus(false));
+        getEverything();
+
+        verify(loader).getProfiles("user");
+        verify(loader).getProfile(CoreFixtures.PROFILE_ID);
+        verify(loader, times(2)).getInterests(CoreFixtures.PROFILE_ID);
+        verify(loader, times(2)).getInterest(CoreFixtures.INTEREST_ID);
+    }
+
+    @Test
+    public void willNotInvalidateForAnotherInterest() {
+        getEverything();
+
+        cache.invalidate(InterestId.from("another-interest").get());
+        getEverything();
+
+        verify(loader).getInterests(CoreFixtures.PROFILE_ID);
+        verify(loader).getInterest(CoreFixtures.INTEREST_ID);
+        assertThat(cache.getInterest(CoreFixtures.INTEREST_ID).toCompletableFuture().join(), is(CoreFixtures.INTEREST));
+    }
+
+}
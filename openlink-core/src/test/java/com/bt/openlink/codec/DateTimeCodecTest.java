@@ -0,0 +1,92 @@
+package com.bt.openlink.codec;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class DateTimeCodecTest {
+
+    private static final DateTimeFormatter ISO_8601_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+    private static final DateTimeFormatter JAVA_UTIL_DATE_FORMATTER = DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss zzz yyyy", Locale.ENGLISH);
+    private static final ZoneId UTC = ZoneId.of("UTC");
+    private static final long START_TIME = Instant.parse("2017-10-09T08:07:00Z").toEpochMilli();
+
+    @Test
+    public void willParseIso8601() {
+        assertThat(DateTimeCodec.parseIso8601("2017-10-09T08:07:00Z"), is(START_TIME));
+        assertThat(DateTimeCodec.parseIso8601("2017-10-09T08:07:00.123Z"), is(START_TIME + 123));
+        assertThat(DateTimeCodec.parseIso8601("2017-10-09T08:07:00.1Z"), is(START_TIME + 100));
+        assertThat(DateTimeCodec.parseIso8601("2017-10-09T08:07:00.123456789Z"), is(START_TIME + 123));
+        assertThat(DateTimeCodec.parseIso8601("2017-10-09T09:07:00+01:00"), is(START_TIME));
+        assertThat(DateTimeCodec.parseIso8601("1969-12-31T23:59:59.999Z"), is(-1L));
+    }
+
+    @Test
+    public void willNotParseAnInvalidIso8601DateTime() {
+        assertThat(DateTimeCodec.parseIso8601("not-a-date-time"), is(DateTimeCodec.INVALID));
+        assertThat(DateTimeCodec.parseIso8601("2017-10-09 08:07:00Z"), is(DateTimeCodec.INVALID));
+        assertThat(DateTimeCodec.parseIso8601("2017-10-09T08:07:00"), is(DateTimeCodec.INVALID));
+        assertThat(DateTimeCodec.parseIso8601("2017-10-09T08:07:00.Z"), is(DateTimeCodec.INVALID));
+        assertThat(DateTimeCodec.parseIso8601("2017-02-29T08:07:00Z"), is(DateTimeCodec.INVALID));
+        assertThat(DateTimeCodec.parseIso8601("2017-10-09T24:07:00Z"), is(DateTimeCodec.INVALID));
+        assertThat(DateTimeCodec.toInstant(DateTimeCodec.parseIso8601("2017-13-09T08:07:00Z")), is(Optional.empty()));
+    }
+
+    @Test
+    public void willParseAJavaUtilDate() {
+        assertThat(DateTimeCodec.parseJavaUtilDate("Mon Oct 09 08:07:00 UTC 2017"), is(START_TIME));
+        assertThat(DateTimeCodec.parseJavaUtilDate("Mon Oct 09 08:07:00 GMT 2017"), is(START_TIME));
+        assertThat(DateTimeCodec.parseJavaUtilDate("Mon Oct 09 04:07:00 EDT 2017"), is(START_TIME));
+        assertThat(DateTimeCodec.parseJavaUtilDate("Tue Oct 09 08:07:00 UTC 2017"), is(DateTimeCodec.INVALID));
+        assertThat(DateTimeCodec.parseJavaUtilDate("Mon Oct 09 08:07:00 XYZ 2017"), is(DateTimeCodec.INVALID));
+        assertThat(DateTimeCodec.parseJavaUtilDate("2017-10-09T08:07:00Z"), is(DateTimeCodec.INVALID));
+    }
+
+    @Test
+    public void willParseATimestamp() {
+        assertThat(DateTimeCodec.parseTimestamp("2017-10-09 08:07:00.0", UTC), is(START_TIME));
+        assertThat(DateTimeCodec.parseTimestamp("2017-10-9 8:07:00", UTC), is(DateTimeCodec.INVALID));
+        assertThat(DateTimeCodec.parseTimestamp("2017-10-9 08:07:00.25", UTC), is(START_TIME + 250));
+        assertThat(DateTimeCodec.parseTimestamp("2017-10-09 09:07:00.0", ZoneId.of("Europe/London")), is(START_TIME));
+        assertThat(DateTimeCodec.parseTimestamp("not-a-timestamp", UTC), is(DateTimeCodec.INVALID));
+        assertThat(DateTimeCodec.parseTimestamp("2015-04-10 21:42:29.0", ZoneId.systemDefault()), is(Timestamp.valueOf("2015-04-10 21:42:29.0").getTime()));
+    }
+
+    @Test
+    public void willFormat() {
+        assertThat(DateTimeCodec.formatIso8601(START_TIME), is("2017-10-09T08:07:00.000Z"));
+        assertThat(DateTimeCodec.formatIso8601(START_TIME + 42), is("2017-10-09T08:07:00.042Z"));
+        assertThat(DateTimeCodec.formatIso8601(-1), is("1969-12-31T23:59:59.999Z"));
+        assertThat(DateTimeCodec.formatJavaUtilDate(START_TIME + 999), is("Mon Oct 09 08:07:00 UTC 2017"));
+        assertThat(DateTimeCodec.formatTimestamp(START_TIME, UTC), is("2017-10-09 08:07:00.0"));
+        assertThat(DateTimeCodec.formatTimestamp(START_TIME + 250, ZoneId.of("Europe/London")), is("2017-10-09 09:07:00.25"));
+    }
+
+    @Test
+    public void willFormatAndParseTheSameAsTheJavaTimeApi() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            // Any time within 130 years of the epoch
+            final long epochMillis = (long) ((random.nextDouble() - 0.5) * 2 * 4_102_444_800_000L);
+            final String iso8601 = ISO_8601_FORMATTER.format(Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC));
+            final String javaUtilDate = JAVA_UTIL_DATE_FORMATTER.format(Instant.ofEpochMilli(epochMillis).atZone(UTC));
+
+            assertThat(DateTimeCodec.formatIso8601(epochMillis), is(iso8601));
+            assertThat(DateTimeCodec.formatJavaUtilDate(epochMillis), is(javaUtilDate));
+            assertThat(DateTimeCodec.parseIso8601(iso8601), is(epochMillis));
+            assertThat(DateTimeCodec.parseJavaUtilDate(javaUtilDate), is(Math.floorDiv(epochMillis, 1000) * 1000));
+            assertThat(DateTimeCodec.formatTimestamp(epochMillis, ZoneId.systemDefault()), is(new Timestamp(epochMillis).toString()));
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.bt.openlink.codec;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class NumberCodecTest {
+
+    @Test
+    public void willParseALong() {
+        assertThat(NumberCodec.parseLong("0"), is(0L));
+        assertThat(NumberCodec.parseLong("42"), is(42L));
+        assertThat(NumberCodec.parseLong("+42"), is(42L));
+        assertThat(NumberCodec.parseLong("-42"), is(-42L));
+        assertThat(NumberCodec.parseLong("9223372036854775807"), is(Long.MAX_VALUE));
+        assertThat(NumberCodec.parseLong("-9223372036854775807"), is(-Long.MAX_VALUE));
+    }
+
+    @Test
+    public void willNotParseAnInvalidLong() {
+        assertThat(NumberCodec.parseLong(null), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.parseLong(""), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.parseLong("-"), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.parseLong("not-a-number"), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.parseLong("4 2"), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.parseLong("1.5"), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.parseLong("9223372036854775808"), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.parseLong("-9223372036854775809"), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.toOptional(NumberCodec.parseLong("x")), is(Optional.empty()));
+    }
+
+    @Test
+    public void willParseAnInt() {
+        assertThat(NumberCodec.parseInt("2147483647"), is((long) Integer.MAX_VALUE));
+        assertThat(NumberCodec.parseInt("-2147483648"), is((long) Integer.MIN_VALUE));
+        assertThat(NumberCodec.parseInt("2147483648"), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.parseInt("-2147483649"), is(NumberCodec.INVALID));
+    }
+
+    @Test
+    public void willParseSecondsAsMillis() {
+        assertThat(NumberCodec.parseSecondsAsMillis("12"), is(12_000L));
+        assertThat(NumberCodec.parseSecondsAsMillis("12.5"), is(12_500L));
+        assertThat(NumberCodec.parseSecondsAsMillis(" 1.234 "), is(1_234L));
+        assertThat(NumberCodec.parseSecondsAsMillis("1.2345"), is(1_234L));
+        assertThat(NumberCodec.parseSecondsAsMillis(".5"), is(500L));
+        assertThat(NumberCodec.parseSecondsAsMillis("-0.5"), is(-500L));
+        assertThat(NumberCodec.parseSecondsAsMillis("1.25E1"), is(12_500L));
+        assertThat(NumberCodec.parseSecondsAsMillis("1.0E-4"), is(0L));
+        assertThat(NumberCodec.parseSecondsAsMillis(null), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.parseSecondsAsMillis("."), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.parseSecondsAsMillis("1.2.3"), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.parseSecondsAsMillis("1E"), is(NumberCodec.INVALID));
+        assertThat(NumberCodec.parseSecondsAsMillis("not-a-number"), is(NumberCodec.INVALID));
+    }
+
+    @Test
+    public void willParseTheSameAsTheJavaApi() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            final long value = random.nextLong();
+            assertThat(NumberCodec.parseLong(Long.toString(value)), is(value));
+            final int millis = random.nextInt(10_000_000);
+            assertThat(NumberCodec.parseSecondsAsMillis(Float.toString(millis / 1000f)), is((long) millis));
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.bt.openlink.concurrent;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class RingBufferTest {
+
+    private static final int ITEMS_PER_PRODUCER = 20_000;
+
+    @Rule public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void willDrainPublishedItemsInOrder() {
+        final RingBuffer<String> ringBuffer = RingBuffer.createSingleProducer(4, new BusySpinWaitStrategy());
+        final List<String> received = new ArrayList<>();
+
+        ringBuffer.publish("one");
+        ringBuffer.publish("two");
+        ringBuffer.publish("three");
+
+        assertThat(ringBuffer.size(), is(3));
+        assertThat(ringBuffer.drainTo(received::add, 2), is(2));
+        assertThat(received, contains("one", "two"));
+        assertThat(ringBuffer.drainTo(received::add, 2), is(1));
+        assertThat(received, contains("one", "two", "three"));
+        assertThat(ringBuffer.drainTo(received::add, 2), is(0));
+        assertThat(ringBuffer.size(), is(0));
+    }
+
+    @Test
+    public void willNotPublishToAFullRingBuffer() {
+        final RingBuffer<String> ringBuffer = RingBuffer.createMultiProducer(2, new BusySpinWaitStrategy());
+
+        assertThat(ringBuffer.tryPublish("one"), is(true));
+        assertThat(ringBuffer.tryPublish("two"), is(true));
+        assertThat(ringBuffer.tryPublish("three"), is(false));
+
+        ringBuffer.drainTo(item -> {
+        }, 1);
+
+        assertThat(ringBuffer.tryPublish("three"), is(true));
+    }
+
+    @Test
+    public void willTreatAnItemAsConsumedIfTheConsumerFails() {
+        final RingBuffer<String> ringBuffer = RingBuffer.createSingleProducer(4, new BusySpinWaitStrategy());
+        final List<String> received = new ArrayList<>();
+        ringBuffer.publish("one");
+        ringBuffer.publish("two");
+
+        try {
+            ringBuffer.drainTo(item -> {
+                throw new IllegalStateException("test consumer failure");
+            }, 10);
+        } catch (final IllegalStateException ignored) {
+            // expected
+        }
+        ringBuffer.drainTo(received::add, 10);
+
+        assertThat(received, contains("two"));
+    }
+
+    @Test
+    public void willNotCreateARingBufferWhoseSizeIsNotAPowerOfTwo() {
+
+        expectedException.expect(IllegalArgumentException.class);
+
+        RingBuffer.createSingleProducer(1000, new BusySpinWaitStrategy());
+    }
+
+    @Test(timeout = 30_000)
+    public void willHandOffFromASingleProducer() throws Exception {
+        handOff(RingBuffer.createSingleProducer(64, new YieldingWaitStrategy()), 1);
+    }
+
+    @Test(timeout = 30_000)
+    public void willHandOffFromMultipleProducersWhenBlocking() throws Exception {
+        handOff(RingBuffer.createMultiProducer(64, new BlockingWaitStrategy()), 4);
+    }
+
+    @Test(timeout = 30_000)
+    public void willHandOffFromMultipleProducersWhenYielding() throws Exception {
+        handOff(RingBuffer.createMultiProducer(64, new YieldingWaitStrategy()), 4);
+    }
+
+    private static void handOff(final RingBuffer<Integer> ringBuffer, final int producers) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            for (int producer = 0; producer < producers; producer++) {
+                final int producerId = producer;
+                executor.execute(() -> {
+                    for (int i = 0; i < ITEMS_PER_PRODUCER; i++) {
+                        ringBuffer.publish(producerId * ITEMS_PER_PRODUCER + i);
+                    }
+                });
+            }
+
+            // Items from each producer must arrive in the order that producer published them
+            final int[] lastReceived = new int[producers];
+            for (int producer = 0; producer < producers; producer++) {
+                lastReceived[producer] = producer * ITEMS_PER_PRODUCER - 1;
+            }
+            int received = 0;
+            while (received < producers * ITEMS_PER_PRODUCER) {
+                received += ringBuffer.awaitAndDrain(item -> {
+                    final int producerId = item / ITEMS_PER_PRODUCER;
+                    assertThat(item, is(lastReceived[producerId] + 1));
+                    lastReceived[producerId] = item;
+                }, 16);
+            }
+            assertThat(ringBuffer.size(), is(0));
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+}
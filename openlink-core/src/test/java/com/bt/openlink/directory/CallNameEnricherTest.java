@@ -0,0 +1,112 @@
+package com.bt.openlink.directory;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.PhoneNumber;
+
+@SuppressWarnings("OptionalGetWithoutIsPresent")
+public class CallNameEnricherTest {
+
+    private static final PhoneNumber CALLER_NUMBER = PhoneNumber.from("+44 20 7123 4567").get();
+    private static final PhoneNumber CALLED_NUMBER = PhoneNumber.from("+12125550100").get();
+
+    private InMemoryNameSource source;
+    private CallNameEnricher enricher;
+
+    @Before
+    public void setUp() {
+        source = new InMemoryNameSource()
+                .setName(PhoneNumber.from("00442071234567").get(), "Trading Desk");
+        enricher = new CallNameEnricher(source, Duration.ofMinutes(10), 100);
+    }
+
+    private Call.Builder callBuilder() {
+        return Call.Builder.start()
+                .setCallerNumber(CALLER_NUMBER)
+                .setCallerName("")
+                .setCalledNumber(CALLED_NUMBER);
+    }
+
+    @Test
+    public void willSetCachedNamesWithoutWaiting() {
+        final Call.Builder first = callBuilder();
+        assertThat(enricher.enrich(first), is(false));
+        assertThat(first.getCallerName(), is(Optional.of("")));
+
+        final Call.Builder second = callBuilder();
+        assertThat(enricher.enrich(second), is(true));
+        assertThat(second.getCallerName(), is(Optional.of("Trading Desk")));
+        assertThat(second.getCalledName(), is(Optional.empty()));
+    }
+
+    @Test
+    public void willCacheNamesAndUnknownNumbers() {
+        for (int i = 0; i < 10; i++) {
+            enricher.enrichAsync(callBuilder()).toCompletableFuture().join();
+        }
+
+        assertThat(source.getLookupCount(), is(2L));
+    }
+
+    @Test
+    public void willSetNamesOnceLookedUp() {
+        final Call.Builder callBuilder = enricher.enrichAsync(callBuilder()).toCompletableFuture().join();
+
+        assertThat(callBuilder.getCallerName(), is(Optional.of("Trading Desk")));
+        assertThat(callBuilder.getCalledName(), is(Optional.empty()));
+    }
+
+    @Test
+    public void willNotReplaceAName() {
+        final Call.Builder callBuilder = callBuilder().setCallerName("Reception");
+
+        enricher.enrichAsync(callBuilder).toCompletableFuture().join();
+
+        assertThat(callBuilder.getCallerName(), is(Optional.of("Reception")));
+        assertThat(source.getLookupCount(), is(1L));
+    }
+
+    @Test
+    public void willShareALookupInProgress() {
+        final NameSource slowSource = mock(NameSource.class);
+        final CompletableFuture<Optional<String>> lookup = new CompletableFuture<>();
+        doReturn(lookup).when(slowSource).getName(any(PhoneNumber.class));
+        final CallNameEnricher slowEnricher = new CallNameEnricher(slowSource, Duration.ofMinutes(10), 100);
+        final Call.Builder callBuilder = Call.Builder.start().setCallerNumber(CALLER_NUMBER);
+
+        assertThat(slowEnricher.enrich(callBuilder), is(false));
+        final CompletableFuture<Call.Builder> enriched = slowEnricher.enrichAsync(callBuilder).toCompletableFuture();
+        assertThat(enriched.isDone(), is(false));
+        lookup.complete(Optional.of("Trading Desk"));
+
+        assertThat(enriched.join().getCallerName(), is(Optional.of("Trading Desk")));
+        verify(slowSource).getName(PhoneNumber.from("+442071234567").get());
+    }
+
+    @Test
+    public void willLeaveTheNameUnsetIfALookupFails() {
+        final NameSource failingSource = mock(NameSource.class);
+        final CompletableFuture<Optional<String>> lookup = new CompletableFuture<>();
+        lookup.completeExceptionally(new IllegalStateException("test failure"));
+        doReturn(lookup).when(failingSource).getName(any(PhoneNumber.class));
+
+        final Call.Builder callBuilder = new CallNameEnricher(failingSource, Duration.ofMinutes(10), 100)
+                .enrichAsync(Call.Builder.start().setCallerNumber(CALLER_NUMBER)).toCompletableFuture().join();
+
+        assertThat(callBuilder.getCallerName(), is(Optional.empty()));
+    }
+
+}
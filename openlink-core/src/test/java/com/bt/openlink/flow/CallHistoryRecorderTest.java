@@ -0,0 +1,165 @@
+package com.bt.openlink.flow;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallDirection;
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.CallType;
+import com.bt.openlink.type.HistoricalCall;
+import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.UserId;
+
+@SuppressWarnings("ConstantConditions")
+@RunWith(MockitoJUnitRunner.class)
+public class CallHistoryRecorderTest {
+
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(5);
+    private static final InterestId INTEREST_1 = InterestId.from("interest-1").get();
+    private static final InterestId INTEREST_2 = InterestId.from("interest-2").get();
+    private static final Instant START = Instant.parse("2018-01-01T09:00:00Z");
+
+    @Mock private Clock clock;
+    private List<HistoricalCall<String>> recorded;
+    private CallHistoryRecorder<String> recorder;
+
+    private static Call.Builder call(final InterestId interestId, final String callId, final CallState callState) {
+        return Call.Builder.start()
+                .setInterestId(interestId)
+                .setId(CallId.from(callId).get())
+                .setState(callState);
+    }
+
+    private void offerAt(final Instant time, final Call.Builder call) {
+        when(clock.instant()).thenReturn(time);
+        recorder.offer(call.build(new ArrayList<>()).toCallStatus(false), "tsc");
+    }
+
+    @Before
+    public void setUp() {
+        recorded = new ArrayList<>();
+        recorder = new CallHistoryRecorder<>(2, IDLE_TIMEOUT, recorded::add, clock);
+    }
+
+    @Test
+    public void willRecordACallOnceItHasEnded() {
+        offerAt(START, call(INTEREST_1, "call-1", CallState.CALL_DELIVERED)
+                .setUserId(UserId.from("user-1").get())
+                .setDirection(CallDirection.INCOMING));
+        offerAt(START.plusSeconds(5), call(INTEREST_1, "call-1", CallState.CALL_ESTABLISHED).setCallerName("Alice"));
+        assertThat(recorded, is(empty()));
+
+        offerAt(START.plusSeconds(65), call(INTEREST_1, "call-1", CallState.CONNECTION_CLEARED));
+
+        assertThat(recorded.size(), is(1));
+        final HistoricalCall<String> call = recorded.get(0);
+        assertThat(call.getId().get().value(), is("call-1"));
+        assertThat(call.getUserId().get().value(), is("user-1"));
+        assertThat(call.getInterestId().get(), is(INTEREST_1));
+        assertThat(call.getDirection().get(), is(CallDirection.INCOMING));
+        assertThat(call.getCallerName().get(), is("Alice"));
+        assertThat(call.getState().get(), is(CallState.CONNECTION_CLEARED));
+        assertThat(call.getStartTime().get(), is(START));
+        assertThat(call.getDuration().get(), is(Duration.ofSeconds(65)));
+        assertThat(call.getTsc().get(), is("tsc"));
+        assertThat(recorder.getCallsTracked(), is(0));
+        assertThat(recorder.getCallsRecorded(), is(1L));
+    }
+
+    @Test
+    public void willPreferTheTimesReportedByTheServer() {
+        final Instant serverStartTime = START.minusSeconds(2);
+        offerAt(START, call(INTEREST_1, "call-1", CallState.CALL_DELIVERED).setStartTime(serverStartTime));
+        offerAt(START.plusSeconds(65), call(INTEREST_1, "call-1", CallState.CALL_MISSED).setDuration(Duration.ZERO));
+
+        assertThat(recorded.get(0).getStartTime().get(), is(serverStartTime));
+        assertThat(recorded.get(0).getDuration().get(), is(Duration.ZERO));
+        assertThat(recorded.get(0).getCallType().get(), is(CallType.MISSED));
+    }
+
+    @Test
+    public void willTrackTheSameCallOnEachInterest() {
+        offerAt(START, call(INTEREST_1, "call-1", CallState.CALL_DELIVERED));
+        offerAt(START, call(INTEREST_2, "call-1", CallState.CALL_DELIVERED));
+        offerAt(START.plusSeconds(5), call(INTEREST_1, "call-1", CallState.CALL_FAILED));
+
+        assertThat(recorded.size(), is(1));
+        assertThat(recorded.get(0).getInterestId().get(), is(INTEREST_1));
+        assertThat(recorder.getCallsTracked(), is(1));
+    }
+
+    @Test
+    public void willIgnoreAResentTerminalState() {
+        offerAt(START, call(INTEREST_1, "call-1", CallState.CALL_ESTABLISHED));
+        offerAt(START.plusSeconds(65), call(INTEREST_1, "call-1", CallState.CONNECTION_CLEARED));
+
+        offerAt(START.plusSeconds(66), call(INTEREST_1, "call-1", CallState.CONNECTION_CLEARED));
+
+        assertThat(recorded.size(), is(1));
+        assertThat(recorded.get(0).getDuration().get(), is(Duration.ofSeconds(65)));
+        assertThat(recorder.getCallsTracked(), is(0));
+        assertThat(recorder.getCallsRecorded(), is(1L));
+    }
+
+    @Test
+    public void willRecordATerminalStateOnceTheEndedCallIsForgotten() {
+        offerAt(START, call(INTEREST_1, "call-1", CallState.CONNECTION_CLEARED));
+
+        offerAt(START.plus(IDLE_TIMEOUT).plusSeconds(1), call(INTEREST_1, "call-1", CallState.CONNECTION_CLEARED));
+
+        assertThat(recorded.size(), is(2));
+    }
+
+    @Test
+    public void willAbandonIdleCalls() {
+        offerAt(START, call(INTEREST_1, "call-1", CallState.CALL_DELIVERED));
+        offerAt(START.plusSeconds(60), call(INTEREST_1, "call-2", CallState.CALL_DELIVERED));
+
+        when(clock.instant()).thenReturn(START.plus(IDLE_TIMEOUT).plusSeconds(1));
+        recorder.abandonIdleCalls();
+
+        assertThat(recorder.getCallsTracked(), is(1));
+        assertThat(recorder.getCallsAbandoned(), is(1L));
+        offerAt(START.plus(IDLE_TIMEOUT).plusSeconds(2), call(INTEREST_1, "call-1", CallState.CONNECTION_CLEARED));
+        assertThat(recorded.get(0).getStartTime().get(), is(START.plus(IDLE_TIMEOUT).plusSeconds(2)));
+    }
+
+    @Test
+    public void willAbandonTheLeastRecentlyUpdatedCallWhenFull() {
+        offerAt(START, call(INTEREST_1, "call-1", CallState.CALL_DELIVERED));
+        offerAt(START.plusSeconds(1), call(INTEREST_1, "call-2", CallState.CALL_DELIVERED));
+        offerAt(START.plusSeconds(2), call(INTEREST_1, "call-1", CallState.CALL_ESTABLISHED));
+        offerAt(START.plusSeconds(3), call(INTEREST_1, "call-3", CallState.CALL_DELIVERED));
+
+        assertThat(recorder.getCallsTracked(), is(2));
+        assertThat(recorder.getCallsAbandoned(), is(1L));
+        offerAt(START.plusSeconds(4), call(INTEREST_1, "call-1", CallState.CONNECTION_CLEARED));
+        assertThat(recorded.get(0).getStartTime().get(), is(START));
+    }
+
+    @Test
+    public void willIgnoreCallsWithoutAnId() {
+        when(clock.instant()).thenReturn(START);
+        recorder.offer(Call.Builder.start().setState(CallState.CONNECTION_CLEARED).build(new ArrayList<>()).toCallStatus(false));
+
+        assertThat(recorded, is(empty()));
+        assertThat(recorder.getCallsTracked(), is(0));
+    }
+
+}
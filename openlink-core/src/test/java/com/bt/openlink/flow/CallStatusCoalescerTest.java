@@ -0,0 +1,174 @@
+package com.bt.openlink.flow;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.InterestId;
+
+@SuppressWarnings("ConstantConditions")
+@RunWith(MockitoJUnitRunner.class)
+public class CallStatusCoalescerTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(100);
+    private static final InterestId INTEREST_1 = InterestId.from("interest-1").get();
+    private static final InterestId INTEREST_2 = InterestId.from("interest-2").get();
+
+    @Mock private ScheduledExecutorService scheduler;
+    @Mock private ScheduledFuture<?> scheduledFuture;
+    private List<CallStatus> published;
+    private CallStatusCoalescer coalescer;
+
+    private static Call call(final InterestId interestId, final String callId, final CallState callState) {
+        return Call.Builder.start()
+                .setInterestId(interestId)
+                .setId(CallId.from(callId).get())
+                .setState(callState)
+                .build(new ArrayList<>());
+    }
+
+    private static List<Call> callsIn(final List<CallStatus> callStatusList) {
+        final List<Call> calls = new ArrayList<>();
+        callStatusList.forEach(callStatus -> calls.addAll(callStatus.getCalls()));
+        return calls;
+    }
+
+    @Before
+    public void setUp() {
+        doReturn(scheduledFuture).when(scheduler).schedule(any(Runnable.class), eq(WINDOW.toNanos()), eq(TimeUnit.NANOSECONDS));
+        published = new ArrayList<>();
+        coalescer = new CallStatusCoalescer(WINDOW, scheduler, published::add);
+    }
+
+    private Runnable getScheduledFlush() {
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(captor.capture(), eq(WINDOW.toNanos()), eq(TimeUnit.NANOSECONDS));
+        return captor.getValue();
+    }
+
+    @Test
+    public void willPublishOnlyTheLatestStateOfACallAtTheEndOfTheWindow() {
+        final Call ringing = call(INTEREST_1, "call-1", CallState.CALL_DELIVERED);
+        final Call answered = call(INTEREST_1, "call-1", CallState.CALL_ESTABLISHED);
+        final Call held = call(INTEREST_1, "call-1", CallState.CALL_HELD);
+
+        coalescer.offer(ringing.toCallStatus(false));
+        coalescer.offer(answered.toCallStatus(false));
+        coalescer.offer(held.toCallStatus(true));
+        assertThat(published, is(empty()));
+
+        getScheduledFlush().run();
+
+        assertThat(published.size(), is(1));
+        assertThat(published.get(0).getCalls(), contains(held));
+        assertThat(published.get(0).isCallStatusBusy().get(), is(true));
+        assertThat(coalescer.getUpdatesReceived(), is(3L));
+        assertThat(coalescer.getUpdatesCoalesced(), is(2L));
+    }
+
+    @Test
+    public void willPublishACallStatusPerInterest() {
+        final Call call1 = call(INTEREST_1, "call-1", CallState.CALL_DELIVERED);
+        final Call call2 = call(INTEREST_1, "call-2", CallState.CALL_DELIVERED);
+        final Call call3 = call(INTEREST_2, "call-1", CallState.CALL_ESTABLISHED);
+
+        coalescer.offer(call1.toCallStatus(false));
+        coalescer.offer(call2.toCallStatus(false));
+        coalescer.offer(call3.toCallStatus(false));
+        coalescer.flush();
+
+        assertThat(published.size(), is(2));
+        assertThat(published.get(0).getCalls(), contains(call1, call2));
+        assertThat(published.get(1).getCalls(), contains(call3));
+        verify(scheduledFuture).cancel(false);
+    }
+
+    @Test
+    public void willReplaceANonTerminalStateWithATerminalState() {
+        final Call answered = call(INTEREST_1, "call-1", CallState.CALL_ESTABLISHED);
+        final Call cleared = call(INTEREST_1, "call-1", CallState.CONNECTION_CLEARED);
+
+        coalescer.offer(answered.toCallStatus(false));
+        coalescer.offer(cleared.toCallStatus(false));
+        coalescer.flush();
+
+        assertThat(callsIn(published), contains(cleared));
+    }
+
+    @Test
+    public void willNotLoseATerminalState() {
+        final Call cleared = call(INTEREST_1, "call-1", CallState.CONNECTION_CLEARED);
+        final Call ringing = call(INTEREST_1, "call-1", CallState.CALL_DELIVERED);
+
+        coalescer.offer(cleared.toCallStatus(false));
+        coalescer.offer(ringing.toCallStatus(false));
+        assertThat(callsIn(published), contains(cleared));
+
+        coalescer.flush();
+
+        assertThat(callsIn(published), contains(cleared, ringing));
+    }
+
+    @Test
+    public void willNotFlushALaterStateBeforeASupersededTerminalState() throws Exception {
+        final Call cleared = call(INTEREST_1, "call-1", CallState.CONNECTION_CLEARED);
+        final Call ringing = call(INTEREST_1, "call-1", CallState.CALL_DELIVERED);
+        final List<Call> delivered = Collections.synchronizedList(new ArrayList<>());
+        final AtomicReference<CallStatusCoalescer> slowCoalescer = new AtomicReference<>();
+        final Thread scheduledFlush = new Thread(() -> slowCoalescer.get().flush());
+        slowCoalescer.set(new CallStatusCoalescer(WINDOW, scheduler, callStatus -> {
+            if (callStatus.getCalls().contains(cleared)) {
+                // The scheduled flush runs whilst the superseded terminal state is still being delivered
+                scheduledFlush.start();
+                try {
+                    scheduledFlush.join(100);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            delivered.addAll(callStatus.getCalls());
+        }));
+
+        slowCoalescer.get().offer(cleared.toCallStatus(false));
+        slowCoalescer.get().offer(ringing.toCallStatus(false));
+        scheduledFlush.join();
+
+        assertThat(delivered, contains(cleared, ringing));
+    }
+
+    @Test
+    public void willPublishImmediatelyWithNoWindow() {
+        final CallStatusCoalescer immediateCoalescer = new CallStatusCoalescer(Duration.ZERO, scheduler, published::add);
+        final Call ringing = call(INTEREST_1, "call-1", CallState.CALL_DELIVERED);
+
+        immediateCoalescer.offer(ringing.toCallStatus(false));
+
+        assertThat(callsIn(published), contains(ringing));
+    }
+
+}
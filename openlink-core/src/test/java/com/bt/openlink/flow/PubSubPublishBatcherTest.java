@@ -0,0 +1,98 @@
+package com.bt.openlink.flow;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.type.PubSubItem;
+import com.bt.openlink.type.PubSubNodeId;
+
+@SuppressWarnings("ConstantConditions")
+@RunWith(MockitoJUnitRunner.class)
+public class PubSubPublishBatcherTest {
+
+    private static final Duration MAX_DELAY = Duration.ofMillis(20);
+    private static final PubSubNodeId NODE_1 = PubSubNodeId.from("node-1").get();
+    private static final PubSubNodeId NODE_2 = PubSubNodeId.from("node-2").get();
+    private static final PubSubItem ITEM_1 = PubSubItem.Builder.start().setCallStatus(CoreFixtures.CALL_STATUS).build();
+    private static final PubSubItem ITEM_2 = PubSubItem.Builder.start().setDeviceStatus(CoreFixtures.DEVICE_STATUS_LOGON).build();
+    private static final PubSubItem ITEM_3 = PubSubItem.Builder.start().setCallStatus(CoreFixtures.CALL_STATUS).build();
+
+    @Mock private ScheduledExecutorService scheduler;
+    @Mock private ScheduledFuture<?> scheduledFuture;
+    private List<PubSubNodeId> publishedNodes;
+    private List<List<PubSubItem>> publishedBatches;
+    private PubSubPublishBatcher batcher;
+
+    @Before
+    public void setUp() {
+        doReturn(scheduledFuture).when(scheduler).schedule(any(Runnable.class), eq(MAX_DELAY.toNanos()), eq(TimeUnit.NANOSECONDS));
+        publishedNodes = new ArrayList<>();
+        publishedBatches = new ArrayList<>();
+        batcher = new PubSubPublishBatcher(2, MAX_DELAY, scheduler, (nodeId, items) -> {
+            publishedNodes.add(nodeId);
+            publishedBatches.add(items);
+        });
+    }
+
+    @Test
+    public void willPublishAFullBatchImmediately() {
+
+        batcher.publish(NODE_1, ITEM_1);
+        assertThat(publishedBatches, is(empty()));
+        batcher.publish(NODE_1, ITEM_2);
+
+        assertThat(publishedNodes, contains(NODE_1));
+        assertThat(publishedBatches.get(0), contains(ITEM_1, ITEM_2));
+        verify(scheduledFuture).cancel(false);
+    }
+
+    @Test
+    public void willPublishAPartialBatchOnceTheDelayHasExpired() {
+
+        batcher.publish(NODE_1, ITEM_1);
+        batcher.publish(NODE_2, ITEM_2);
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(captor.capture(), eq(MAX_DELAY.toNanos()), eq(TimeUnit.NANOSECONDS));
+        captor.getValue().run();
+
+        assertThat(publishedNodes, contains(NODE_1, NODE_2));
+        assertThat(publishedBatches.get(0), contains(ITEM_1));
+        assertThat(publishedBatches.get(1), contains(ITEM_2));
+    }
+
+    @Test
+    public void willKeepBatchingOtherNodesWhenOneBatchIsFull() {
+
+        batcher.publish(NODE_1, ITEM_1);
+        batcher.publish(NODE_2, ITEM_2);
+        batcher.publish(NODE_1, ITEM_3);
+        assertThat(publishedNodes, contains(NODE_1));
+
+        batcher.close();
+
+        assertThat(publishedNodes, contains(NODE_1, NODE_2));
+        assertThat(publishedBatches.get(1), contains(ITEM_2));
+    }
+
+}
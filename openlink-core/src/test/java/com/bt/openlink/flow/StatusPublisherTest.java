@@ -0,0 +1,220 @@
+package com.bt.openlink.flow;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.DeviceStatus;
+import com.bt.openlink.type.ProfileId;
+
+@SuppressWarnings("ConstantConditions")
+public class StatusPublisherTest {
+
+    @Rule public final ExpectedException expectedException = ExpectedException.none();
+
+    private static final CallStatus CALL_1_RINGING = callStatus("call-1", CallState.CALL_DELIVERED);
+    private static final CallStatus CALL_1_ESTABLISHED = callStatus("call-1", CallState.CALL_ESTABLISHED);
+    private static final CallStatus CALL_2_RINGING = callStatus("call-2", CallState.CALL_DELIVERED);
+    private static final CallStatus CALL_3_RINGING = callStatus("call-3", CallState.CALL_DELIVERED);
+
+    private TestSubscriber<CallStatus> subscriber;
+
+    private static CallStatus callStatus(final String callId, final CallState callState) {
+        return Call.Builder.start()
+                .setId(CallId.from(callId).get())
+                .setState(callState)
+                .build(new ArrayList<>())
+                .toCallStatus(false);
+    }
+
+    private static StatusPublisher<CallStatus> newPublisher(final OverflowStrategy overflowStrategy, final int capacity) {
+        return new StatusPublisher<>(overflowStrategy, capacity, callStatus -> callStatus.getCalls().get(0).getId(), Runnable::run);
+    }
+
+    @Before
+    public void setUp() {
+        subscriber = new TestSubscriber<>();
+    }
+
+    @Test
+    public void willOnlyDeliverItemsThatHaveBeenRequested() {
+        final StatusPublisher<CallStatus> publisher = newPublisher(OverflowStrategy.BUFFER, 10);
+        publisher.subscribe(subscriber);
+
+        publisher.offer(CALL_1_RINGING);
+        publisher.offer(CALL_2_RINGING);
+        assertThat(subscriber.items, is(empty()));
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.items, contains(CALL_1_RINGING));
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        publisher.offer(CALL_3_RINGING);
+        assertThat(subscriber.items, contains(CALL_1_RINGING, CALL_2_RINGING, CALL_3_RINGING));
+        assertThat(subscriber.error, is(nullValue()));
+    }
+
+    @Test
+    public void willSignalAnErrorWhenTheBufferOverflows() {
+        final StatusPublisher<CallStatus> publisher = newPublisher(OverflowStrategy.BUFFER, 2);
+        publisher.subscribe(subscriber);
+
+        publisher.offer(CALL_1_RINGING);
+        publisher.offer(CALL_2_RINGING);
+        publisher.offer(CALL_3_RINGING);
+
+        assertThat(subscriber.error, is(instanceOf(IllegalStateException.class)));
+        assertThat(publisher.getNumberOfSubscribers(), is(0));
+    }
+
+    @Test
+    public void willDropTheOldestItemWhenFull() {
+        final StatusPublisher<CallStatus> publisher = newPublisher(OverflowStrategy.DROP_OLDEST, 2);
+        publisher.subscribe(subscriber);
+
+        publisher.offer(CALL_1_RINGING);
+        publisher.offer(CALL_2_RINGING);
+        publisher.offer(CALL_3_RINGING);
+        subscriber.subscription.request(10);
+
+        assertThat(subscriber.items, contains(CALL_2_RINGING, CALL_3_RINGING));
+        assertThat(subscriber.error, is(nullValue()));
+    }
+
+    @Test
+    public void willKeepTheLatestItemPerCall() {
+        final StatusPublisher<CallStatus> publisher = newPublisher(OverflowStrategy.KEEP_LATEST_PER_CALL, 2);
+        publisher.subscribe(subscriber);
+
+        publisher.offer(CALL_1_RINGING);
+        publisher.offer(CALL_2_RINGING);
+        publisher.offer(CALL_1_ESTABLISHED);
+        subscriber.subscription.request(10);
+
+        assertThat(subscriber.items, contains(CALL_1_ESTABLISHED, CALL_2_RINGING));
+    }
+
+    @Test
+    public void willKeepTheLatestDeviceStatusPerProfile() {
+        final TestSubscriber<DeviceStatus> deviceStatusSubscriber = new TestSubscriber<>();
+        final Function<DeviceStatus, ?> keyFunction = deviceStatus -> deviceStatus.getProfileId().orElse(null);
+        final StatusPublisher<DeviceStatus> publisher = new StatusPublisher<>(OverflowStrategy.KEEP_LATEST_PER_CALL, 10, keyFunction, Runnable::run);
+        final DeviceStatus logoff = DeviceStatus.Builder.start().setProfileId(CoreFixtures.PROFILE_ID).setOnline(false).build();
+        final DeviceStatus otherProfile = DeviceStatus.Builder.start().setProfileId(ProfileId.from("other-profile").get()).setOnline(true).build();
+        publisher.subscribe(deviceStatusSubscriber);
+
+        publisher.offer(CoreFixtures.DEVICE_STATUS_LOGON);
+        publisher.offer(otherProfile);
+        publisher.offer(logoff);
+        deviceStatusSubscriber.subscription.request(10);
+
+        assertThat(deviceStatusSubscriber.items, contains(logoff, otherProfile));
+    }
+
+    @Test
+    public void willNotDeliverItemsAfterCancellation() {
+        final StatusPublisher<CallStatus> publisher = newPublisher(OverflowStrategy.BUFFER, 10);
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(10);
+
+        publisher.offer(CALL_1_RINGING);
+        subscriber.subscription.cancel();
+        publisher.offer(CALL_2_RINGING);
+
+        assertThat(subscriber.items, contains(CALL_1_RINGING));
+        assertThat(publisher.getNumberOfSubscribers(), is(0));
+    }
+
+    @Test
+    public void willSignalAnErrorForANonPositiveRequest() {
+        final StatusPublisher<CallStatus> publisher = newPublisher(OverflowStrategy.BUFFER, 10);
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertThat(subscriber.error, is(instanceOf(IllegalArgumentException.class)));
+    }
+
+    @Test
+    public void willCompleteOnceQueuedItemsAreDelivered() {
+        final StatusPublisher<CallStatus> publisher = newPublisher(OverflowStrategy.BUFFER, 10);
+        publisher.subscribe(subscriber);
+        publisher.offer(CALL_1_RINGING);
+
+        publisher.close();
+        assertThat(subscriber.completed, is(false));
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.items, contains(CALL_1_RINGING));
+        assertThat(subscriber.completed, is(true));
+    }
+
+    @Test
+    public void willCompleteASubscriptionToAClosedPublisher() {
+        final StatusPublisher<CallStatus> publisher = newPublisher(OverflowStrategy.BUFFER, 10);
+        publisher.close();
+
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.subscription, is(instanceOf(Subscription.class)));
+        assertThat(subscriber.completed, is(true));
+    }
+
+    @Test
+    public void willNotAcceptItemsAfterClosing() {
+        final StatusPublisher<CallStatus> publisher = newPublisher(OverflowStrategy.BUFFER, 10);
+        publisher.close();
+
+        expectedException.expect(IllegalStateException.class);
+
+        publisher.offer(CALL_1_RINGING);
+    }
+
+    private static class TestSubscriber<T> implements Subscriber<T> {
+
+        private final List<T> items = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.bt.openlink.history;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.unitils.reflectionassert.ReflectionAssert.assertReflectionEquals;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.GetCallHistoryFixtures;
+import com.bt.openlink.type.HistoricalCall;
+
+@SuppressWarnings("ConstantConditions")
+public class CallHistoryJournalTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    @Rule public final ExpectedException expectedException = ExpectedException.none();
+
+    private Path directory;
+    private CallHistoryJournal<String> journal;
+
+    private CallHistoryJournal<String> open() throws IOException {
+        return CallHistoryJournal.open(directory, SEGMENT_SIZE, tsc -> tsc, Optional::of);
+    }
+
+    private List<Path> getSegmentFiles() throws IOException {
+        final List<Path> segmentFiles = new ArrayList<>();
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            files.forEach(segmentFiles::add);
+        }
+        Collections.sort(segmentFiles);
+        return segmentFiles;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        directory = temporaryFolder.newFolder("journal").toPath();
+        journal = open();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    public void willReadBackEveryField() throws Exception {
+        final HistoricalCall<String> call = GetCallHistoryFixtures.getHistoricalCall(CoreFixtures.TSC);
+        journal.append(call);
+
+        final List<HistoricalCall<String>> calls = new ArrayList<>();
+        journal.readAll(calls::add);
+
+        assertReflectionEquals(Collections.singletonList(call), calls);
+    }
+
+    @Test
+    public void willRollOnToANewSegment() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            journal.append(GetCallHistoryFixtures.getHistoricalCall("call-" + i, "2018-01-01T00:00:00Z"));
+        }
+
+        final List<HistoricalCall<String>> calls = new ArrayList<>();
+        journal.readAll(calls::add);
+
+        assertThat(calls.size(), is(20));
+        assertThat(calls.get(19).getId().get().value(), is("call-19"));
+        assertThat(getSegmentFiles().size() > 1, is(true));
+    }
+
+    @Test
+    public void willReadATimeWindow() throws Exception {
+        for (int day = 1; day <= 9; day++) {
+            journal.append(GetCallHistoryFixtures.getHistoricalCall("call-" + day, "2018-01-0" + day + "T12:00:00Z"));
+        }
+
+        final List<HistoricalCall<String>> calls = new ArrayList<>();
+        journal.read(LocalDate.of(2018, 1, 3), LocalDate.of(2018, 1, 5), ZoneOffset.UTC, calls::add);
+
+        assertThat(GetCallHistoryFixtures.getCallIds(calls), contains("call-3", "call-4", "call-5"));
+    }
+
+    @Test
+    public void willReopenAnExistingJournal() throws Exception {
+        for (int day = 1; day <= 9; day++) {
+            journal.append(GetCallHistoryFixtures.getHistoricalCall("call-" + day, "2018-01-0" + day + "T12:00:00Z"));
+        }
+        journal.close();
+
+        journal = open();
+        journal.append(GetCallHistoryFixtures.getHistoricalCall("call-10", "2018-01-10T12:00:00Z"));
+        final List<HistoricalCall<String>> calls = new ArrayList<>();
+        journal.read(Instant.parse("2018-01-09T00:00:00Z"), Instant.parse("2018-01-11T00:00:00Z"), calls::add);
+
+        assertThat(GetCallHistoryFixtures.getCallIds(calls), contains("call-9", "call-10"));
+    }
+
+    @Test
+    public void willRollOnToANewSegmentAfterASegmentIsDeleted() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            journal.append(GetCallHistoryFixtures.getHistoricalCall("call-" + i, "2018-01-01T00:00:00Z"));
+        }
+        journal.close();
+        final List<Path> segmentFiles = getSegmentFiles();
+        assertThat(segmentFiles.size() > 2, is(true));
+        Files.delete(segmentFiles.get(1));
+
+        journal = open();
+        for (int i = 20; i < 40; i++) {
+            journal.append(GetCallHistoryFixtures.getHistoricalCall("call-" + i, "2018-01-02T00:00:00Z"));
+        }
+        final List<HistoricalCall<String>> calls = new ArrayList<>();
+        journal.readAll(calls::add);
+
+        assertThat(calls.get(calls.size() - 1).getId().get().value(), is("call-39"));
+        assertThat(getSegmentFiles().size() > segmentFiles.size(), is(true));
+    }
+
+    @Test
+    public void willIgnoreACorruptCall() throws Exception {
+        journal.append(GetCallHistoryFixtures.getHistoricalCall("call-1", "2018-01-01T12:00:00Z"));
+        journal.append(GetCallHistoryFixtures.getHistoricalCall("call-2", "2018-01-02T12:00:00Z"));
+        journal.close();
+        try (final RandomAccessFile segmentFile = new RandomAccessFile(getSegmentFiles().get(0).toFile(), "rw")) {
+            // Corrupt the last byte of the second call
+            int position = 8;
+            segmentFile.seek(position);
+            position += 8 + segmentFile.readInt();
+            segmentFile.seek(position);
+            position += 8 + segmentFile.readInt();
+            segmentFile.seek(position - 1);
+            final int lastByte = segmentFile.read();
+            segmentFile.seek(position - 1);
+            segmentFile.write(lastByte ^ 0xFF);
+        }
+
+        journal = open();
+        journal.append(GetCallHistoryFixtures.getHistoricalCall("call-3", "2018-01-03T12:00:00Z"));
+        final List<HistoricalCall<String>> calls = new ArrayList<>();
+        journal.readAll(calls::add);
+
+        assertThat(GetCallHistoryFixtures.getCallIds(calls), contains("call-1", "call-3"));
+    }
+
+    @Test
+    public void willNotAppendACallThatIsTooLarge() throws Exception {
+        final HistoricalCall<String> call = HistoricalCall.Builder.<String> start()
+                .setCallerName(String.join("", Collections.nCopies(SEGMENT_SIZE, "x")))
+                .build(new ArrayList<>());
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The historical call is too large to fit in a segment");
+
+        journal.append(call);
+    }
+
+    @Test
+    public void willNotReadAClosedJournal() throws Exception {
+        journal.close();
+
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("The call history journal has been closed");
+
+        journal.readAll(call -> {
+        });
+    }
+
+}
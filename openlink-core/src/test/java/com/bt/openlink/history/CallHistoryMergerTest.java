@@ -0,0 +1,163 @@
+package com.bt.openlink.history;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.bt.openlink.GetCallHistoryFixtures;
+import com.bt.openlink.type.HistoricalCall;
+
+@SuppressWarnings("ConstantConditions")
+public class CallHistoryMergerTest {
+
+    @Rule public final ExpectedException expectedException = ExpectedException.none();
+
+    /**
+     * A server holding the given calls, newest first, that records each request made of it.
+     */
+    private static class Server implements CallHistoryPager.PageFetcher<String> {
+        private final List<HistoricalCall<String>> calls;
+        private final List<String> requests = new ArrayList<>();
+        private final List<Runnable> pendingResponses = new ArrayList<>();
+        private boolean respondImmediately = true;
+
+        private Server(final List<HistoricalCall<String>> calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public CompletableFuture<CallHistoryPage<String>> fetch(final long start, final long count) {
+            requests.add(start + "+" + count);
+            final int from = (int) Math.min(start, calls.size());
+            final int to = (int) Math.min(start + count, calls.size());
+            final CallHistoryPage<String> page = CallHistoryPage.of(Optional.of((long) calls.size()), calls.subList(from, to));
+            if (respondImmediately) {
+                return CompletableFuture.completedFuture(page);
+            }
+            final CompletableFuture<CallHistoryPage<String>> pendingPage = new CompletableFuture<>();
+            pendingResponses.add(() -> pendingPage.complete(page));
+            return pendingPage;
+        }
+    }
+
+    @Test
+    public void willMergeServersByStartTime() {
+        final Server server1 = new Server(Arrays.asList(
+                GetCallHistoryFixtures.getHistoricalCall("a5", "2018-01-01T12:05:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("a3", "2018-01-01T12:03:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("a1", "2018-01-01T12:01:00Z")));
+        final Server server2 = new Server(Arrays.asList(
+                GetCallHistoryFixtures.getHistoricalCall("b4", "2018-01-01T12:04:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("b2", "2018-01-01T12:02:00Z")));
+        final CallHistoryMerger<String> merger = new CallHistoryMerger<>(Arrays.asList(server1, server2), 10);
+
+        final CallHistoryPage<String> page = merger.fetch(0, 10).toCompletableFuture().join();
+
+        assertThat(GetCallHistoryFixtures.getCallIds(page.getCalls()), contains("a5", "b4", "a3", "b2", "a1"));
+        assertThat(page.getTotalRecordCount().isPresent(), is(false));
+    }
+
+    @Test
+    public void willRemoveDuplicateCalls() {
+        final Server server1 = new Server(Arrays.asList(
+                GetCallHistoryFixtures.getHistoricalCall("call-3", "2018-01-01T12:03:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("call-2", "2018-01-01T12:02:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("call-1", "2018-01-01T12:01:00Z")));
+        final Server server2 = new Server(Arrays.asList(
+                GetCallHistoryFixtures.getHistoricalCall("call-3", "2018-01-01T12:03:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("call-0", "2018-01-01T12:00:00Z")));
+        final CallHistoryMerger<String> merger = new CallHistoryMerger<>(Arrays.asList(server1, server2), 10);
+
+        final CallHistoryPage<String> page = merger.fetch(0, 10).toCompletableFuture().join();
+
+        assertThat(GetCallHistoryFixtures.getCallIds(page.getCalls()), contains("call-3", "call-2", "call-1", "call-0"));
+    }
+
+    @Test
+    public void willOnlyRequestEnoughCallsForTheWindow() {
+        final Server server1 = new Server(Arrays.asList(
+                GetCallHistoryFixtures.getHistoricalCall("a9", "2018-01-01T12:09:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("a7", "2018-01-01T12:07:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("a5", "2018-01-01T12:05:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("a3", "2018-01-01T12:03:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("a1", "2018-01-01T12:01:00Z")));
+        final Server server2 = new Server(Arrays.asList(
+                GetCallHistoryFixtures.getHistoricalCall("b8", "2018-01-01T12:08:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("b6", "2018-01-01T12:06:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("b4", "2018-01-01T12:04:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("b2", "2018-01-01T12:02:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("b0", "2018-01-01T12:00:00Z")));
+        final CallHistoryMerger<String> merger = new CallHistoryMerger<>(Arrays.asList(server1, server2), 100);
+
+        final CallHistoryPage<String> page = merger.fetch(1, 2).toCompletableFuture().join();
+
+        assertThat(GetCallHistoryFixtures.getCallIds(page.getCalls()), contains("b8", "a7"));
+        assertThat(server1.requests, contains("0+3"));
+        assertThat(server2.requests, contains("0+3"));
+    }
+
+    @Test
+    public void willRequestFurtherPagesAsNeeded() {
+        final Server server1 = new Server(Arrays.asList(
+                GetCallHistoryFixtures.getHistoricalCall("a9", "2018-01-01T12:09:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("a8", "2018-01-01T12:08:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("a7", "2018-01-01T12:07:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("a1", "2018-01-01T12:01:00Z")));
+        final Server server2 = new Server(Arrays.asList(
+                GetCallHistoryFixtures.getHistoricalCall("b2", "2018-01-01T12:02:00Z"),
+                GetCallHistoryFixtures.getHistoricalCall("b0", "2018-01-01T12:00:00Z")));
+        final CallHistoryMerger<String> merger = new CallHistoryMerger<>(Arrays.asList(server1, server2), 2);
+
+        final CallHistoryPage<String> page = merger.fetch(0, 5).toCompletableFuture().join();
+
+        assertThat(GetCallHistoryFixtures.getCallIds(page.getCalls()), contains("a9", "a8", "a7", "b2", "a1"));
+        assertThat(server1.requests, contains("0+2", "2+2"));
+        assertThat(server2.requests, contains("0+2"));
+    }
+
+    @Test
+    public void willRequestTheFirstPagesConcurrently() {
+        final Server server1 = new Server(Arrays.asList(GetCallHistoryFixtures.getHistoricalCall("a1", "2018-01-01T12:01:00Z")));
+        final Server server2 = new Server(Arrays.asList(GetCallHistoryFixtures.getHistoricalCall("b2", "2018-01-01T12:02:00Z")));
+        server1.respondImmediately = false;
+        server2.respondImmediately = false;
+        final CallHistoryMerger<String> merger = new CallHistoryMerger<>(Arrays.asList(server1, server2), 10);
+
+        final CompletableFuture<CallHistoryPage<String>> page = merger.fetch(0, 10).toCompletableFuture();
+
+        assertThat(server1.requests, contains("0+10"));
+        assertThat(server2.requests, contains("0+10"));
+        server2.pendingResponses.forEach(Runnable::run);
+        assertThat(page.isDone(), is(false));
+        server1.pendingResponses.forEach(Runnable::run);
+        assertThat(GetCallHistoryFixtures.getCallIds(page.join().getCalls()), contains("b2", "a1"));
+    }
+
+    @Test
+    public void willFailIfAServerFails() {
+        final Server server1 = new Server(Arrays.asList(GetCallHistoryFixtures.getHistoricalCall("a1", "2018-01-01T12:01:00Z")));
+        final CallHistoryPager.PageFetcher<String> server2 = (start, count) -> {
+            final CompletableFuture<CallHistoryPage<String>> page = new CompletableFuture<>();
+            page.completeExceptionally(new IllegalStateException("server2 failed"));
+            return page;
+        };
+        final CallHistoryMerger<String> merger = new CallHistoryMerger<>(Arrays.asList(server1, server2), 10);
+
+        expectedException.expect(CompletionException.class);
+        expectedException.expectMessage("server2 failed");
+
+        merger.fetch(0, 10).toCompletableFuture().join();
+    }
+
+}
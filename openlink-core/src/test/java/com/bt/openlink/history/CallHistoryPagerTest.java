@@ -0,0 +1,183 @@
+package com.bt.openlink.history;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.GetCallHistoryFixtures;
+import com.bt.openlink.type.HistoricalCall;
+
+@SuppressWarnings("ConstantConditions")
+public class CallHistoryPagerTest {
+
+    @Rule public final ExpectedException expectedException = ExpectedException.none();
+
+    private Map<Long, CompletableFuture<CallHistoryPage<String>>> requests;
+
+    private static CallHistoryPage<String> page(final Long totalRecordCount, final long firstId, final long lastId) {
+        final List<HistoricalCall<String>> calls = LongStream.rangeClosed(firstId, lastId)
+                .mapToObj(id -> GetCallHistoryFixtures.getHistoricalCall("call-" + id, CoreFixtures.START_TIME))
+                .collect(Collectors.toList());
+        return CallHistoryPage.of(Optional.ofNullable(totalRecordCount), calls);
+    }
+
+    @Before
+    public void setUp() {
+        requests = new LinkedHashMap<>();
+    }
+
+    private CallHistoryPager<String> pager(final int parallelism, final int readAhead) {
+        return new CallHistoryPager<>((start, count) -> {
+            final CompletableFuture<CallHistoryPage<String>> page = new CompletableFuture<>();
+            requests.put(start, page);
+            return page;
+        }, 2, parallelism, readAhead);
+    }
+
+    @Test
+    public void willNotRequestAnythingUntilTheStreamIsConsumed() {
+
+        pager(2, 2).stream();
+
+        assertThat(requests.isEmpty(), is(true));
+    }
+
+    @Test
+    public void willRequestPagesInParallelOnceTheTotalIsKnown() {
+        final CallHistoryPager<String> pager = new CallHistoryPager<>((start, count) -> {
+            final CompletableFuture<CallHistoryPage<String>> page = new CompletableFuture<>();
+            requests.put(start, page);
+            if (start == 0) {
+                page.complete(page(7L, 1, 2));
+            }
+            return page;
+        }, 2, 2, 3);
+        final Stream<HistoricalCall<String>> stream = pager.stream();
+
+        stream.iterator().next();
+
+        assertThat(requests.keySet(), contains(0L, 2L, 4L));
+    }
+
+    @Test
+    public void willWalkEveryPage() {
+        final CallHistoryPager<String> pager = new CallHistoryPager<>((start, count) -> {
+            requests.put(start, null);
+            return CompletableFuture.completedFuture(page(5L, start + 1, Math.min(start + count, 5)));
+        }, 2, 2, 4);
+
+        final List<String> ids = GetCallHistoryFixtures.getCallIds(pager.stream());
+
+        assertThat(ids, contains("call-1", "call-2", "call-3", "call-4", "call-5"));
+        assertThat(requests.keySet(), contains(0L, 2L, 4L));
+    }
+
+    @Test
+    public void willStartAtTheRequestedRecord() {
+        final CallHistoryPager<String> pager = new CallHistoryPager<>((start, count) -> CompletableFuture.completedFuture(page(5L, start + 1, Math.min(start + count, 5))), 2, 1, 1);
+
+        assertThat(GetCallHistoryFixtures.getCallIds(pager.stream(3)), contains("call-4", "call-5"));
+    }
+
+    @Test
+    public void willNotSupplyTheSameCallTwice() {
+        // A new record was added after the first page was fetched, pushing call-2 on to the second page
+        final Map<Long, CallHistoryPage<String>> pages = new LinkedHashMap<>();
+        pages.put(0L, page(4L, 1, 2));
+        pages.put(2L, page(5L, 2, 3));
+        pages.put(4L, page(5L, 4, 4));
+        final CallHistoryPager<String> pager = new CallHistoryPager<>((start, count) -> CompletableFuture.completedFuture(pages.get(start)), 2, 1, 1);
+
+        assertThat(GetCallHistoryFixtures.getCallIds(pager.stream()), contains("call-1", "call-2", "call-3", "call-4"));
+    }
+
+    @Test
+    public void willRequestPagesSeriallyIfTheTotalIsUnknown() {
+        final CallHistoryPager<String> pager = new CallHistoryPager<>((start, count) -> {
+            requests.put(start, null);
+            return CompletableFuture.completedFuture(start < 4 ? page(null, start + 1, start + count) : CallHistoryPage.of(Optional.empty(), Collections.emptyList()));
+        }, 2, 4, 4);
+
+        assertThat(GetCallHistoryFixtures.getCallIds(pager.stream()), contains("call-1", "call-2", "call-3", "call-4"));
+        assertThat(requests.keySet(), contains(0L, 2L, 4L));
+    }
+
+    @Test
+    public void willStopAtAShortPageIfTheTotalIsUnknown() {
+        final CallHistoryPager<String> pager = new CallHistoryPager<>((start, count) -> CompletableFuture.completedFuture(page(null, start + 1, start + 1)), 2, 1, 1);
+
+        assertThat(GetCallHistoryFixtures.getCallIds(pager.stream()), contains("call-1"));
+    }
+
+    @Test
+    public void willCarryOnAfterAShortPageBeforeTheTotal() {
+        // The server caps each page at a single record, whatever the count requested
+        final CallHistoryPager<String> pager = new CallHistoryPager<>((start, count) -> {
+            requests.put(start, null);
+            return CompletableFuture.completedFuture(page(3L, start + 1, Math.min(start + 1, 3)));
+        }, 2, 2, 2);
+
+        assertThat(GetCallHistoryFixtures.getCallIds(pager.stream()), contains("call-1", "call-2", "call-3"));
+        assertThat(requests.keySet(), contains(0L, 1L, 2L));
+    }
+
+    @Test
+    public void willCancelOutstandingRequestsWhenClosed() {
+        final CallHistoryPager<String> pager = new CallHistoryPager<>((start, count) -> {
+            final CompletableFuture<CallHistoryPage<String>> page = new CompletableFuture<>();
+            requests.put(start, page);
+            if (start == 0) {
+                page.complete(page(10L, 1, 2));
+            }
+            return page;
+        }, 2, 2, 2);
+        final Stream<HistoricalCall<String>> stream = pager.stream();
+        stream.iterator().next();
+
+        stream.close();
+
+        assertThat(requests.get(2L).isCancelled(), is(true));
+        assertThat(requests.get(4L).isCancelled(), is(true));
+    }
+
+    @Test
+    public void willReportAFailedRequest() {
+        final IllegalStateException failure = new IllegalStateException("test failure");
+        final CallHistoryPager<String> pager = new CallHistoryPager<>((start, count) -> {
+            final CompletableFuture<CallHistoryPage<String>> page = new CompletableFuture<>();
+            page.completeExceptionally(failure);
+            return page;
+        }, 2, 1, 1);
+
+        expectedException.expect(CompletionException.class);
+
+        pager.stream().count();
+    }
+
+    @Test
+    public void willNotAllowTheReadAheadToBeLessThanTheParallelism() {
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The read-ahead must be at least the parallelism");
+
+        pager(4, 2);
+    }
+
+}
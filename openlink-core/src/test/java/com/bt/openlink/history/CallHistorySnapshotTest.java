@@ -0,0 +1,215 @@
+package com.bt.openlink.history;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.unitils.reflectionassert.ReflectionAssert.assertReflectionEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.GetCallHistoryFixtures;
+import com.bt.openlink.type.CallDirection;
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.CallType;
+import com.bt.openlink.type.HistoricalCall;
+import com.bt.openlink.type.PhoneNumber;
+import com.bt.openlink.type.UserId;
+
+@SuppressWarnings("ConstantConditions")
+public class CallHistorySnapshotTest {
+
+    private static final int ROWS_PER_GROUP = 4;
+
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    @Rule public final ExpectedException expectedException = ExpectedException.none();
+
+    private Path path;
+
+    private static List<HistoricalCall<String>> getCalls() {
+        final List<HistoricalCall<String>> calls = new ArrayList<>();
+        for (int day = 1; day <= 9; day++) {
+            final boolean even = day % 2 == 0;
+            calls.add(GetCallHistoryFixtures.getHistoricalCall("call-" + day, UserId.from(even ? "user-2" : "user-1").get(), even ? CallDirection.INCOMING : CallDirection.OUTGOING,
+                    day == 5 ? CallState.CALL_MISSED : CallState.CALL_CONFERENCED, PhoneNumber.from("100" + day % 3).get(), PhoneNumber.from("2000").get(), "2018-01-0" + day + "T12:00:00Z", Duration.ofSeconds(day)));
+        }
+        return calls;
+    }
+
+    private void write(final List<HistoricalCall<String>> calls) throws Exception {
+        try (final CallHistorySnapshotWriter<String> writer = CallHistorySnapshotWriter.create(path, tsc -> tsc, ROWS_PER_GROUP)) {
+            for (final HistoricalCall<String> call : calls) {
+                writer.write(call);
+            }
+        }
+    }
+
+    private List<String> scan(final CallHistoryQuery query) throws Exception {
+        final ConcurrentLinkedQueue<String> ids = new ConcurrentLinkedQueue<>();
+        try (final CallHistorySnapshotReader<String> reader = CallHistorySnapshotReader.open(path, Optional::of)) {
+            reader.scan(query, ZoneOffset.UTC, call -> ids.add(call.getId().get().value()));
+        }
+        return new ArrayList<>(ids);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        path = temporaryFolder.getRoot().toPath().resolve("history.snapshot");
+    }
+
+    @Test
+    public void willReadBackEveryField() throws Exception {
+        final HistoricalCall<String> call = GetCallHistoryFixtures.getHistoricalCall(CoreFixtures.TSC);
+        final HistoricalCall<String> emptyCall = HistoricalCall.Builder.<String> start().build(new ArrayList<>());
+        final List<HistoricalCall<String>> calls = new ArrayList<>();
+        calls.add(call);
+        calls.add(emptyCall);
+        write(calls);
+
+        final List<HistoricalCall<String>> readCalls = new ArrayList<>();
+        try (final CallHistorySnapshotReader<String> reader = CallHistorySnapshotReader.open(path, Optional::of)) {
+            reader.readAll(readCalls::add);
+        }
+
+        assertReflectionEquals(calls, readCalls);
+    }
+
+    @Test
+    public void willReadEveryRowGroupInOrder() throws Exception {
+        final List<HistoricalCall<String>> calls = getCalls();
+        write(calls);
+
+        final List<HistoricalCall<String>> readCalls = new ArrayList<>();
+        try (final CallHistorySnapshotReader<String> reader = CallHistorySnapshotReader.open(path, Optional::of)) {
+            assertThat(reader.getRowCount(), is(9L));
+            reader.readAll(readCalls::add);
+        }
+
+        assertReflectionEquals(calls, readCalls);
+    }
+
+    @Test
+    public void willScanADateRange() throws Exception {
+        write(getCalls());
+
+        final List<String> ids = scan(CallHistoryQuery.Builder.start()
+                .setFromDate(LocalDate.of(2018, 1, 3))
+                .setUpToDate(LocalDate.of(2018, 1, 5))
+                .build());
+
+        assertThat(ids, containsInAnyOrder("call-3", "call-4", "call-5"));
+    }
+
+    @Test
+    public void willScanForACallType() throws Exception {
+        write(getCalls());
+
+        assertThat(scan(CallHistoryQuery.Builder.start().setCallType(CallType.MISSED).build()), containsInAnyOrder("call-5"));
+        assertThat(scan(CallHistoryQuery.Builder.start().setCallType(CallType.INBOUND).build()), containsInAnyOrder("call-2", "call-4", "call-6", "call-8"));
+    }
+
+    @Test
+    public void willScanForAUserAndCaller() throws Exception {
+        write(getCalls());
+
+        final List<String> ids = scan(CallHistoryQuery.Builder.start()
+                .setUserId(UserId.from("user-1").get())
+                .setCaller("1001")
+                .build());
+
+        assertThat(ids, containsInAnyOrder("call-1", "call-7"));
+    }
+
+    @Test
+    public void willFindNothingForAnUnknownUser() throws Exception {
+        write(getCalls());
+
+        assertThat(scan(CallHistoryQuery.Builder.start().setUserId(UserId.from("user-3").get()).build()).isEmpty(), is(true));
+    }
+
+    @Test
+    public void willScanInParallel() throws Exception {
+        final List<HistoricalCall<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            calls.add(GetCallHistoryFixtures.getHistoricalCall("call-" + i, UserId.from("user-" + i % 10).get(), CallDirection.INCOMING, CallState.CALL_CONFERENCED,
+                    PhoneNumber.from("1000").get(), PhoneNumber.from("2000").get(), "2018-01-01T12:00:00Z", Duration.ofSeconds(i)));
+        }
+        write(calls);
+
+        final ConcurrentLinkedQueue<String> ids = new ConcurrentLinkedQueue<>();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try (final CallHistorySnapshotReader<String> reader = CallHistorySnapshotReader.open(path, Optional::of)) {
+            reader.scan(CallHistoryQuery.Builder.start().setUserId(UserId.from("user-3").get()).build(), ZoneOffset.UTC, pool, call -> ids.add(call.getId().get().value()));
+            assertThat(reader.count(CallHistoryQuery.Builder.start().setCallType(CallType.INBOUND).build(), ZoneOffset.UTC), is(1000L));
+        } finally {
+            pool.shutdown();
+        }
+
+        final List<String> expectedIds = GetCallHistoryFixtures.getCallIds(calls.stream()
+                .filter(call -> call.getUserId().get().value().equals("user-3")));
+        assertThat(ids.size(), is(100));
+        assertThat(ids.containsAll(expectedIds), is(true));
+    }
+
+    @Test
+    public void willBeMuchSmallerThanTheXml() throws Exception {
+        final String callXml = GetCallHistoryFixtures.CALL_HISTORY_RESULT.substring(
+                GetCallHistoryFixtures.CALL_HISTORY_RESULT.indexOf("<call>"),
+                GetCallHistoryFixtures.CALL_HISTORY_RESULT.indexOf("</call>") + "</call>".length());
+        final HistoricalCall<String> call = GetCallHistoryFixtures.getHistoricalCall(CoreFixtures.TSC);
+        final int callCount = 10000;
+        try (final CallHistorySnapshotWriter<String> writer = CallHistorySnapshotWriter.create(path, tsc -> tsc)) {
+            for (int i = 0; i < callCount; i++) {
+                writer.write(HistoricalCall.Builder.<String> start()
+                        .setId(CallId.from("call-" + i).get())
+                        .setUserId(call.getUserId().get())
+                        .setInterestId(call.getInterestId().get())
+                        .setState(call.getState().get())
+                        .setDirection(call.getDirection().get())
+                        .setCallerNumber(call.getCallerNumber().get())
+                        .setCallerName(call.getCallerName().get())
+                        .setCalledNumber(call.getCalledNumber().get())
+                        .setCalledName(call.getCalledName().get())
+                        .setStartTime(call.getStartTime().get().plusSeconds(i * 90L))
+                        .setDuration(call.getDuration().get())
+                        .setTsc(call.getTsc().get())
+                        .build(new ArrayList<>()));
+            }
+        }
+
+        assertThat(Files.size(path) * 10, is(lessThan((long) callXml.length() * callCount)));
+    }
+
+    @Test
+    public void willNotOpenAnIncompleteSnapshot() throws Exception {
+        write(Collections.singletonList(GetCallHistoryFixtures.getHistoricalCall(CoreFixtures.TSC)));
+        final byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+        expectedException.expect(IOException.class);
+        expectedException.expectMessage("is incomplete");
+
+        CallHistorySnapshotReader.open(path, Optional::of);
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.bt.openlink.history;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.GetCallHistoryFixtures;
+import com.bt.openlink.iq.GetCallHistoryResultBuilder;
+import com.bt.openlink.type.CallDirection;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.CallType;
+import com.bt.openlink.type.PhoneNumber;
+import com.bt.openlink.type.UserId;
+
+@SuppressWarnings("ConstantConditions")
+public class CallHistoryStoreTest {
+
+    private static final UserId USER_1 = UserId.from("user-1").get();
+    private static final UserId USER_2 = UserId.from("user-2").get();
+    private static final PhoneNumber NUMBER_1 = PhoneNumber.from("1001").get();
+    private static final PhoneNumber NUMBER_2 = PhoneNumber.from("1002").get();
+
+    private static class ResultBuilder extends GetCallHistoryResultBuilder<ResultBuilder, String, CoreFixtures.typeEnum> {
+        private ResultBuilder() {
+            super(CoreFixtures.typeEnum.class);
+        }
+    }
+
+    private CallHistoryStore<String> store;
+
+    @Before
+    public void setUp() {
+        store = new CallHistoryStore<>(ZoneOffset.UTC);
+        store.addAll(Arrays.asList(
+                GetCallHistoryFixtures.getHistoricalCall("call-1", USER_1, CallDirection.INCOMING, CallState.CONNECTION_CLEARED, NUMBER_2, NUMBER_1, "2018-01-01T09:00:00Z", Duration.ZERO),
+                GetCallHistoryFixtures.getHistoricalCall("call-2", USER_1, CallDirection.OUTGOING, CallState.CONNECTION_CLEARED, NUMBER_1, NUMBER_2, "2018-01-02T09:00:00Z", Duration.ZERO),
+                GetCallHistoryFixtures.getHistoricalCall("call-4", USER_2, CallDirection.INCOMING, CallState.CALL_MISSED, NUMBER_1, NUMBER_2, "2018-01-04T09:00:00Z", Duration.ZERO),
+                GetCallHistoryFixtures.getHistoricalCall("call-5", USER_1, CallDirection.INCOMING, CallState.CALL_MISSED, NUMBER_2, NUMBER_1, "2018-01-05T09:00:00Z", Duration.ZERO)));
+        // Added out of order
+        store.add(GetCallHistoryFixtures.getHistoricalCall("call-3", USER_1, CallDirection.INCOMING, CallState.CALL_MISSED, NUMBER_2, NUMBER_1, "2018-01-03T23:59:59Z", Duration.ZERO));
+    }
+
+    @Test
+    public void willReturnEveryCallNewestFirst() {
+
+        final CallHistoryPage<String> page = store.query(CallHistoryQuery.Builder.start().build());
+
+        assertThat(GetCallHistoryFixtures.getCallIds(page.getCalls()), contains("call-5", "call-4", "call-3", "call-2", "call-1"));
+        assertThat(page.getTotalRecordCount(), is(Optional.of(5L)));
+        assertThat(store.size(), is(5));
+    }
+
+    @Test
+    public void willFilterByUser() {
+
+        final CallHistoryPage<String> page = store.query(CallHistoryQuery.Builder.start().setUserId(USER_2).build());
+
+        assertThat(GetCallHistoryFixtures.getCallIds(page.getCalls()), contains("call-4"));
+    }
+
+    @Test
+    public void willFilterByCallType() {
+
+        final CallHistoryPage<String> page = store.query(CallHistoryQuery.Builder.start().setCallType(CallType.MISSED).build());
+
+        assertThat(GetCallHistoryFixtures.getCallIds(page.getCalls()), contains("call-5", "call-4", "call-3"));
+    }
+
+    @Test
+    public void willFilterByCallerAndCalled() {
+
+        assertThat(GetCallHistoryFixtures.getCallIds(store.query(CallHistoryQuery.Builder.start().setCaller("1001").build()).getCalls()), contains("call-4", "call-2"));
+        assertThat(GetCallHistoryFixtures.getCallIds(store.query(CallHistoryQuery.Builder.start().setCalled("1001").build()).getCalls()), contains("call-5", "call-3", "call-1"));
+    }
+
+    @Test
+    public void willFilterByAnInclusiveDateRange() {
+
+        final CallHistoryPage<String> page = store.query(CallHistoryQuery.Builder.start()
+                .setFromDate(LocalDate.of(2018, 1, 2))
+                .setUpToDate(LocalDate.of(2018, 1, 3))
+                .build());
+
+        assertThat(GetCallHistoryFixtures.getCallIds(page.getCalls()), contains("call-3", "call-2"));
+    }
+
+    @Test
+    public void willCombineFilters() {
+
+        final CallHistoryPage<String> page = store.query(CallHistoryQuery.Builder.start()
+                .setUserId(USER_1)
+                .setCallType(CallType.MISSED)
+                .setCaller("1002")
+                .setUpToDate(LocalDate.of(2018, 1, 4))
+                .build());
+
+        assertThat(GetCallHistoryFixtures.getCallIds(page.getCalls()), contains("call-3"));
+        assertThat(page.getTotalRecordCount(), is(Optional.of(1L)));
+    }
+
+    @Test
+    public void willReturnTheRequestedPage() {
+
+        final CallHistoryPage<String> singleFilterPage = store.query(CallHistoryQuery.Builder.start().setUserId(USER_1).setStart(1).setCount(2).build());
+        final CallHistoryPage<String> multipleFilterPage = store.query(CallHistoryQuery.Builder.start().setUserId(USER_1).setCalled("1001").setStart(1).setCount(1).build());
+
+        assertThat(GetCallHistoryFixtures.getCallIds(singleFilterPage.getCalls()), contains("call-3", "call-2"));
+        assertThat(singleFilterPage.getTotalRecordCount(), is(Optional.of(4L)));
+        assertThat(GetCallHistoryFixtures.getCallIds(multipleFilterPage.getCalls()), contains("call-3"));
+        assertThat(multipleFilterPage.getTotalRecordCount(), is(Optional.of(3L)));
+    }
+
+    @Test
+    public void willReturnNothingForAnUnknownValue() {
+
+        final CallHistoryPage<String> page = store.query(CallHistoryQuery.Builder.start().setCaller("unknown").build());
+
+        assertThat(page.getCalls(), is(empty()));
+        assertThat(page.getTotalRecordCount(), is(Optional.of(0L)));
+    }
+
+    @Test
+    public void willPopulateAResult() {
+        final ResultBuilder resultBuilder = new ResultBuilder();
+
+        store.query(CallHistoryQuery.Builder.start().setCallType(CallType.OUTBOUND).build(), resultBuilder);
+
+        assertThat(resultBuilder.getTotalRecordCount(), is(Optional.of(1L)));
+        assertThat(resultBuilder.getFirstRecordNumber(), is(Optional.of(0L)));
+        assertThat(resultBuilder.getRecordCountInBatch(), is(Optional.of(1L)));
+        assertThat(resultBuilder.getCalls().get(0).getId().get().value(), is("call-2"));
+    }
+
+}
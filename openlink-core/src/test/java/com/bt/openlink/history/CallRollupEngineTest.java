@@ -0,0 +1,150 @@
+package com.bt.openlink.history;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.bt.openlink.GetCallHistoryFixtures;
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallDirection;
+import com.bt.openlink.type.CallState;
+import com.bt.openlink.type.CallType;
+import com.bt.openlink.type.HistoricalCall;
+import com.bt.openlink.type.UserId;
+
+@SuppressWarnings("ConstantConditions")
+public class CallRollupEngineTest {
+
+    private static final UserId USER_1 = UserId.from("user-1").get();
+    private static final UserId USER_2 = UserId.from("user-2").get();
+    private static final Instant NINE_AM = Instant.parse("2018-01-01T09:00:00Z");
+    private static final Instant TEN_AM = Instant.parse("2018-01-01T10:00:00Z");
+    private static final Instant ELEVEN_AM = Instant.parse("2018-01-01T11:00:00Z");
+
+    @Rule public final ExpectedException expectedException = ExpectedException.none();
+
+    private CallRollupEngine engine;
+
+    @Before
+    public void setUp() {
+        engine = new CallRollupEngine(Duration.ofHours(1));
+    }
+
+    @Test
+    public void willRollUpCallsByType() {
+        engine.add(GetCallHistoryFixtures.getHistoricalCall(USER_1, CallDirection.INCOMING, CallState.CALL_CONFERENCED, "2018-01-01T09:10:00Z", Duration.ofSeconds(60)));
+        engine.add(GetCallHistoryFixtures.getHistoricalCall(USER_1, CallDirection.INCOMING, CallState.CALL_MISSED, "2018-01-01T09:20:00Z", Duration.ZERO));
+        engine.add(GetCallHistoryFixtures.getHistoricalCall(USER_1, CallDirection.OUTGOING, CallState.CALL_CONFERENCED, "2018-01-01T09:30:00Z", Duration.ofSeconds(120)));
+
+        final CallRollup rollup = engine.query(USER_1, NINE_AM, TEN_AM);
+
+        assertThat(rollup.getCallCount(), is(3L));
+        assertThat(rollup.getCallCount(CallType.INBOUND), is(1L));
+        assertThat(rollup.getCallCount(CallType.MISSED), is(1L));
+        assertThat(rollup.getCallCount(CallType.OUTBOUND), is(1L));
+        assertThat(rollup.getCallCount(CallDirection.INCOMING), is(2L));
+        assertThat(rollup.getCallCount(CallState.CALL_CONFERENCED), is(2L));
+        assertThat(rollup.getTotalDuration(), is(Duration.ofSeconds(180)));
+        assertThat(rollup.getLongestDuration(), is(Duration.ofSeconds(120)));
+        assertThat(rollup.getAverageDuration(), is(Optional.of(Duration.ofSeconds(60))));
+    }
+
+    @Test
+    public void willBucketCallsByStartTime() {
+        engine.add(GetCallHistoryFixtures.getHistoricalCall(USER_1, CallDirection.INCOMING, CallState.CALL_CONFERENCED, "2018-01-01T09:59:59Z", Duration.ofSeconds(60)));
+        engine.add(GetCallHistoryFixtures.getHistoricalCall(USER_1, CallDirection.INCOMING, CallState.CALL_CONFERENCED, "2018-01-01T10:00:00Z", Duration.ofSeconds(60)));
+        engine.add(GetCallHistoryFixtures.getHistoricalCall(USER_1, CallDirection.INCOMING, CallState.CALL_CONFERENCED, "2018-01-01T10:30:00Z", Duration.ofSeconds(60)));
+        engine.add(GetCallHistoryFixtures.getHistoricalCall(USER_2, CallDirection.INCOMING, CallState.CALL_CONFERENCED, "2018-01-01T10:30:00Z", Duration.ofSeconds(60)));
+
+        final SortedMap<Instant, CallRollup> buckets = engine.getBuckets(USER_1, NINE_AM, ELEVEN_AM);
+
+        assertThat(buckets.keySet(), contains(NINE_AM, TEN_AM));
+        assertThat(buckets.get(NINE_AM).getCallCount(), is(1L));
+        assertThat(buckets.get(TEN_AM).getCallCount(), is(2L));
+        assertThat(engine.query(USER_1, TEN_AM, ELEVEN_AM).getCallCount(), is(2L));
+        assertThat(engine.query(USER_1, TEN_AM.plusSeconds(60), TEN_AM.plusSeconds(120)).getCallCount(), is(2L));
+    }
+
+    @Test
+    public void willRollUpCompletedCalls() {
+        engine.add(Call.Builder.start()
+                .setUserId(USER_1)
+                .setDirection(CallDirection.OUTGOING)
+                .setState(CallState.CONNECTION_CLEARED)
+                .setStartTime(NINE_AM)
+                .setDuration(Duration.ofSeconds(30))
+                .build(new ArrayList<>()));
+
+        final CallRollup rollup = engine.query(USER_1, NINE_AM, TEN_AM);
+
+        assertThat(rollup.getCallCount(CallType.OUTBOUND), is(1L));
+        assertThat(rollup.getTotalDuration(), is(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    public void willIgnoreCallsWithoutAUserOrStartTime() {
+        engine.add(HistoricalCall.Builder.<String> start().setUserId(USER_1).build(new ArrayList<>()));
+        engine.add(HistoricalCall.Builder.<String> start().setStartTime(NINE_AM).build(new ArrayList<>()));
+
+        assertThat(engine.query(USER_1, Instant.EPOCH, ELEVEN_AM).getCallCount(), is(0L));
+    }
+
+    @Test
+    public void willMergeEnginesFromSeveralThreads() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final CallRollupEngine[] engines = new CallRollupEngine[4];
+        for (int i = 0; i < engines.length; i++) {
+            final CallRollupEngine threadEngine = new CallRollupEngine(Duration.ofHours(1));
+            engines[i] = threadEngine;
+            executor.execute(() -> {
+                for (int call = 0; call < 1000; call++) {
+                    threadEngine.add(GetCallHistoryFixtures.getHistoricalCall(USER_1, CallDirection.INCOMING, CallState.CALL_CONFERENCED, "2018-01-01T09:30:00Z", Duration.ofSeconds(1)));
+                    engine.add(GetCallHistoryFixtures.getHistoricalCall(USER_2, CallDirection.INCOMING, CallState.CALL_CONFERENCED, "2018-01-01T09:30:00Z", Duration.ofSeconds(1)));
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+
+        for (final CallRollupEngine threadEngine : engines) {
+            engine.merge(threadEngine);
+        }
+
+        assertThat(engine.query(USER_1, NINE_AM, TEN_AM).getCallCount(), is(4000L));
+        assertThat(engine.query(USER_2, NINE_AM, TEN_AM).getTotalDuration(), is(Duration.ofSeconds(4000)));
+    }
+
+    @Test
+    public void willNotMergeEnginesWithADifferentBucketSize() {
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Unable to merge call rollups with a different bucket size");
+
+        engine.merge(new CallRollupEngine(Duration.ofMinutes(15)));
+    }
+
+    @Test
+    public void willDiscardOldBuckets() {
+        engine.add(GetCallHistoryFixtures.getHistoricalCall(USER_1, CallDirection.INCOMING, CallState.CALL_CONFERENCED, "2018-01-01T09:30:00Z", Duration.ofSeconds(60)));
+        engine.add(GetCallHistoryFixtures.getHistoricalCall(USER_1, CallDirection.INCOMING, CallState.CALL_CONFERENCED, "2018-01-01T10:30:00Z", Duration.ofSeconds(60)));
+
+        engine.discard(TEN_AM);
+
+        assertThat(engine.getBuckets(USER_1, NINE_AM, ELEVEN_AM).keySet(), contains(TEN_AM));
+    }
+
+}
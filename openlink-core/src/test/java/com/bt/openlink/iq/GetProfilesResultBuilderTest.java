@@ -14,6 +14,8 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.ParseErrorList;
+import com.bt.openlink.ValidationLevel;
 
 public class GetProfilesResultBuilderTest {
 
@@ -74,4 +76,17 @@ public class GetProfilesResultBuilderTest {
 
         assertThat(errors, contains("Invalid get-profiles result stanza; each profile id must be unique - test-profile-id appears more than once"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void willNotCheckProfileUniquenessWhenValidatingFast() throws Exception {
+
+        final List<String> errors = new ParseErrorList(ValidationLevel.FAST);
+
+        builder.addProfile(CoreFixtures.PROFILE);
+        builder.addProfile(CoreFixtures.PROFILE);
+
+        builder.validate(errors);
+
+        assertThat(errors, is(empty()));
+    }
+}
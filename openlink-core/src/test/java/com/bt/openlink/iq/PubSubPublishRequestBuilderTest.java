@@ -15,6 +15,7 @@ import org.junit.rules.ExpectedException;
 
 import com.bt.openlink.CoreFixtures;
 import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.PubSubItem;
 
 @SuppressWarnings({"ConstantConditions", "RedundantThrows"})
 public class PubSubPublishRequestBuilderTest {
@@ -119,4 +120,45 @@ public class PubSubPublishRequestBuilderTest {
                 .validate();
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void willValidateABuilderWithMultipleItems() {
+
+        final List<String> errors = new ArrayList<>();
+        final PubSubItem callStatusItem = PubSubItem.Builder.start().setCallStatus(CoreFixtures.CALL_STATUS).build();
+        final PubSubItem deviceStatusItem = PubSubItem.Builder.start().setDeviceStatus(CoreFixtures.DEVICE_STATUS_LOGON).build();
+        builder.setInterestId(CoreFixtures.INTEREST_ID)
+                .addItem(callStatusItem)
+                .addItem(deviceStatusItem);
+
+        builder.validate();
+        builder.validate(errors);
+
+        assertThat(errors, is(empty()));
+        assertThat(builder.getItems(), contains(callStatusItem, deviceStatusItem));
+    }
+
+    @Test
+    public void willValidateCallsInEveryItemAreOnTheRightInterest() {
+
+        final List<String> errors = new ArrayList<>();
+        builder.setInterestId(InterestId.from("test-interest-id-2").get())
+                .addItem(PubSubItem.Builder.start().setCallStatus(CoreFixtures.CALL_STATUS).build());
+
+        builder.validate(errors);
+
+        assertThat(errors, contains("Invalid pub-sub publish request stanza; the call with id test-call-id is on interest test-interest-id which differs from the pub-sub node id test-interest-id-2"));
+    }
+
+    @Test
+    public void willNotBuildARequestWithBothItemsAndACallStatus() {
+
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("Items cannot be added to a request that also has a callstatus or devicestatus set");
+
+        builder.setInterestId(CoreFixtures.INTEREST_ID)
+                .setCallStatus(CoreFixtures.CALL_STATUS)
+                .addItem(PubSubItem.Builder.start().setDeviceStatus(CoreFixtures.DEVICE_STATUS_LOGON).build())
+                .validate();
+    }
+}
@@ -15,6 +15,11 @@ import org.junit.rules.ExpectedException;
 
 import com.bt.openlink.CoreFixtures;
 import com.bt.openlink.PubSubMessageFixtures;
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.PubSubItem;
 import com.bt.openlink.type.PubSubNodeId;
 
 @SuppressWarnings("ConstantConditions")
@@ -23,6 +28,12 @@ public class CallStatusMessageBuilderTest {
     private static class Builder extends CallStatusMessageBuilder<Builder, String> {
     }
 
+    private static final CallStatus CALL_STATUS_ON_ANOTHER_INTEREST = Call.Builder.start()
+            .setId(CallId.from("another-call-id").get())
+            .setInterestId(InterestId.from("another-interest-id").get())
+            .build(new ArrayList<>())
+            .toCallStatus(false);
+
     @Rule public final ExpectedException expectedException = ExpectedException.none();
 
     private Builder builder;
@@ -85,4 +96,27 @@ public class CallStatusMessageBuilderTest {
 
         assertThat(errors, contains("Invalid callstatus message stanza; the call with id test-call-id is on interest test-interest-id which differs from the pub-sub node id another-node"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void willNotValidateABuilderWithAnAdditionalItemOnADifferentInterest() {
+
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("The call with id another-call-id is on interest another-interest-id which differs from the pub-sub node id test-interest-id");
+
+        builder.setCallStatus(CoreFixtures.CALL_STATUS)
+                .addAdditionalItem(PubSubItem.Builder.start().setCallStatus(CALL_STATUS_ON_ANOTHER_INTEREST).build())
+                .validate();
+    }
+
+    @Test
+    public void willCheckTheCallsOfEveryItemAreOnTheRightNode() {
+
+        final List<String> errors = new ArrayList<>();
+
+        builder.setCallStatus(CoreFixtures.CALL_STATUS)
+                .addAdditionalItem(PubSubItem.Builder.start().setCallStatus(CALL_STATUS_ON_ANOTHER_INTEREST).build())
+                .validate(errors);
+
+        assertThat(errors, contains("Invalid pub-sub message stanza; the call with id another-call-id is on interest another-interest-id which differs from the pub-sub node id test-interest-id"));
+    }
+}
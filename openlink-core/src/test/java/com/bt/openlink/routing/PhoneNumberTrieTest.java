@@ -0,0 +1,99 @@
+package com.bt.openlink.routing;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.PhoneNumber;
+
+@SuppressWarnings("OptionalGetWithoutIsPresent")
+public class PhoneNumberTrieTest {
+
+    @Rule public final ExpectedException expectedException = ExpectedException.none();
+
+    private static final PhoneNumberTrie<String> PREFIXES = PhoneNumberTrie.Builder.<String>start()
+            .addPrefix(number("+44"), "uk")
+            .addPrefix(number("+44 20"), "london")
+            .addPrefix(number("+44 207 123"), "trading-desk")
+            .addPrefix(number("+1"), "north-america")
+            .addPrefix(number("+1 212"), "new-york")
+            .build();
+
+    private static PhoneNumber number(final String number) {
+        return PhoneNumber.from(number).get();
+    }
+
+    @Test
+    public void willFindTheLongestPrefix() {
+        assertThat(PREFIXES.size(), is(5));
+        assertThat(PREFIXES.getLongestPrefixMatch(number("+442071234567")), is(Optional.of("trading-desk")));
+        assertThat(PREFIXES.getLongestPrefixMatch(number("+442079999999")), is(Optional.of("london")));
+        assertThat(PREFIXES.getLongestPrefixMatch(number("+441619999999")), is(Optional.of("uk")));
+        assertThat(PREFIXES.getLongestPrefixMatch(number("+12125550100")), is(Optional.of("new-york")));
+        assertThat(PREFIXES.getLongestPrefixMatch(number("+33123456789")), is(Optional.empty()));
+        assertThat(PREFIXES.getLongestPrefixMatch(number("+4")), is(Optional.empty()));
+    }
+
+    @Test
+    public void willNormaliseTheNumber() {
+        assertThat(PREFIXES.getLongestPrefixMatch(number("+44 (0)20 7123-4567")), is(Optional.of("trading-desk")));
+        assertThat(PREFIXES.getLongestPrefixMatch(number("0044 207 123 4567")), is(Optional.of("trading-desk")));
+        assertThat(PREFIXES.getLongestPrefixMatch(number("(212) 555.0100")), is(Optional.empty()));
+        assertThat(PREFIXES.getLongestPrefixMatch(number("1 (212) 555.0100")), is(Optional.of("new-york")));
+        assertThat(PREFIXES.getLongestPrefixMatch(number("sip:4420@example.com")), is(Optional.empty()));
+    }
+
+    @Test
+    public void willNormaliseToE164() {
+        assertThat(PhoneNumbers.normalize(number("+44 (0)20 7123-4567")), is(PhoneNumber.from("+442071234567")));
+        assertThat(PhoneNumbers.normalize(number("00 1 212 555 0100")), is(PhoneNumber.from("+12125550100")));
+        assertThat(PhoneNumbers.normalize(number("test-caller-number")), is(Optional.empty()));
+        assertThat(PhoneNumbers.normalize(number("+")), is(Optional.empty()));
+    }
+
+    @Test
+    public void willReplaceTheValueOfAnEquivalentPrefix() {
+        final PhoneNumberTrie<String> prefixes = PhoneNumberTrie.Builder.<String>start()
+                .addPrefix(number("+44"), "uk")
+                .addPrefix(number("0044"), "united-kingdom")
+                .build();
+
+        assertThat(prefixes.size(), is(1));
+        assertThat(prefixes.getLongestPrefixMatch(number("+441619999999")), is(Optional.of("united-kingdom")));
+    }
+
+    @Test
+    public void willNotAddAPrefixThatIsNotAPhoneNumber() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The prefix 'L553' is not a phone number");
+
+        PhoneNumberTrie.Builder.<String>start().addPrefix(number("L553"), "line");
+    }
+
+    @Test
+    public void willRouteACallByTheCallerOrCalledNumber() {
+        final PhoneNumberRouter<String> router = new PhoneNumberRouter<>(PREFIXES);
+        final Call call = Call.Builder.start()
+                .setCallerNumber(number("3001"))
+                .addCallerE164Number(number("+33123456789"))
+                .addCallerE164Number(number("+442071234567"))
+                .setCalledNumber(number("+1 212 555 0100"))
+                .build(new ArrayList<>());
+
+        assertThat(router.getCallerRoute(call), is(Optional.of("trading-desk")));
+        assertThat(router.getCalledRoute(call), is(Optional.of("new-york")));
+
+        router.setPrefixes(PhoneNumberTrie.Builder.<String>start().addPrefix(number("+1"), "americas").build());
+
+        assertThat(router.getCallerRoute(call), is(Optional.empty()));
+        assertThat(router.getCalledRoute(call), is(Optional.of("americas")));
+    }
+
+}
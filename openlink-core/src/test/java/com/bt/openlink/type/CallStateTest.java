@@ -27,4 +27,10 @@ public class CallStateTest {
     public void aUserIsNotParticipatingInAnInboundCalLDelivered() throws Exception {
         assertThat(CallState.CALL_DELIVERED.isParticipating(CallDirection.INCOMING), is(false));
     }
+
+    @Test
+    public void aClearedCallIsTerminal() throws Exception {
+        assertThat(CallState.CONNECTION_CLEARED.isTerminal(), is(true));
+        assertThat(CallState.CALL_ESTABLISHED.isTerminal(), is(false));
+    }
 }
\ No newline at end of file
@@ -16,6 +16,8 @@ import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.ParseErrorList;
+import com.bt.openlink.ValidationLevel;
 
 @SuppressWarnings("ConstantConditions")
 @RunWith(MockitoJUnitRunner.class)
@@ -81,4 +83,38 @@ public class CallStatusTest {
         assertThat(callStatus.getCalls(), contains(CoreFixtures.CALL_OUTGOING_CONFERENCED, CoreFixtures.CALL_OUTGOING_CONFERENCED));
         assertThat(errors, contains("Invalid callstatus; each call id must be unique - test-call-id appears more than once"));
     }
+
+    @Test
+    public void willNotValidateUniquenessWhenValidatingFast() {
+        final List<String> errors = new ParseErrorList(ValidationLevel.FAST);
+
+        final CallStatus callStatus = CallStatus.Builder.start()
+                .addCalls(Arrays.asList(CoreFixtures.CALL_OUTGOING_CONFERENCED, CoreFixtures.CALL_OUTGOING_CONFERENCED))
+                .build(errors);
+
+        assertThat(callStatus.getCalls(), contains(CoreFixtures.CALL_OUTGOING_CONFERENCED, CoreFixtures.CALL_OUTGOING_CONFERENCED));
+        assertThat(errors.size(), is(0));
+    }
+
+    @Test
+    public void willNotValidateWhenValidationIsOff() {
+        final List<String> errors = new ParseErrorList(ValidationLevel.OFF);
+
+        final CallStatus callStatus = CallStatus.Builder.start()
+                .build(errors);
+
+        assertThat(callStatus.getCalls().size(), is(0));
+        assertThat(errors.size(), is(0));
+    }
+
+    @Test
+    public void willReportEachDuplicateCallOnce() {
+        final List<String> errors = new ArrayList<>();
+
+        CallStatus.Builder.start()
+                .addCalls(Arrays.asList(CoreFixtures.CALL_OUTGOING_CONFERENCED, CoreFixtures.CALL_OUTGOING_CONFERENCED, CoreFixtures.CALL_OUTGOING_CONFERENCED))
+                .build(errors);
+
+        assertThat(errors, contains("Invalid callstatus; each call id must be unique - test-call-id appears more than once"));
+    }
 }
@@ -17,4 +17,13 @@ public class CallTypeTest {
         assertThat(CallType.from(null), is(Optional.empty()));
     }
 
+    @Test
+    public void willDetermineTheTypeOfACall() throws Exception {
+
+        assertThat(CallType.of(CallState.CALL_MISSED, CallDirection.INCOMING).get(), is(CallType.MISSED));
+        assertThat(CallType.of(CallState.CALL_ESTABLISHED, CallDirection.INCOMING).get(), is(CallType.INBOUND));
+        assertThat(CallType.of(null, CallDirection.OUTGOING).get(), is(CallType.OUTBOUND));
+        assertThat(CallType.of(CallState.CALL_ESTABLISHED, null), is(Optional.empty()));
+    }
+
 }
\ No newline at end of file
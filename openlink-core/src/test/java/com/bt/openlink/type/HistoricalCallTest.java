@@ -56,6 +56,15 @@ public class HistoricalCallTest {
         assertThat(call.getTsc().get(), is(CoreFixtures.TSC));
     }
 
+    @Test
+    public void willDetermineTheCallType() {
+
+        assertThat(HistoricalCall.Builder.start().setDirection(CallDirection.INCOMING).setState(CallState.CONNECTION_CLEARED).build(new ArrayList<>()).getCallType(), is(Optional.of(CallType.INBOUND)));
+        assertThat(HistoricalCall.Builder.start().setDirection(CallDirection.OUTGOING).setState(CallState.CONNECTION_CLEARED).build(new ArrayList<>()).getCallType(), is(Optional.of(CallType.OUTBOUND)));
+        assertThat(HistoricalCall.Builder.start().setDirection(CallDirection.INCOMING).setState(CallState.CALL_MISSED).build(new ArrayList<>()).getCallType(), is(Optional.of(CallType.MISSED)));
+        assertThat(HistoricalCall.Builder.start().build(new ArrayList<>()).getCallType(), is(Optional.empty()));
+    }
+
     @Test
     public void willNotCreateACallWithoutAnId() {
 
@@ -0,0 +1,62 @@
+package com.bt.openlink.type;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.bt.openlink.CoreFixtures;
+
+@SuppressWarnings("OptionalGetWithoutIsPresent")
+public class KeyIndexTest {
+
+    @Test
+    public void willFindAKeyById() {
+        final List<KeyIndex.Location> locations = CoreFixtures.KEYPAGE_PROFILE.getKeyIndex().getKeys(CoreFixtures.KEY_4.getId().get());
+
+        assertThat(locations.size(), is(1));
+        final KeyIndex.Location location = locations.get(0);
+        assertThat(location.getKey(), is(CoreFixtures.KEY_4));
+        assertThat(location.getKeyPage(), is(CoreFixtures.KEY_PAGE_2));
+        assertThat(location.getKeyPageModule(), is(KeyPageModule.from("2")));
+        assertThat(location.getPageIndex(), is(1));
+        assertThat(location.getKeyIndex(), is(1));
+    }
+
+    @Test
+    public void willFindAKeyByInterest() {
+        final KeyIndex keyIndex = CoreFixtures.KEYPAGE_PROFILE.getKeyIndex();
+
+        assertThat(keyIndex.getKeys(KeyInterest.from("L554").get()).get(0).getKey(), is(CoreFixtures.KEY_2));
+        assertThat(keyIndex.getKeys(InterestId.from("L555").get()).get(0).getKey(), is(CoreFixtures.KEY_3));
+        assertThat(keyIndex.getKeys(InterestId.from("L999").get()).isEmpty(), is(true));
+    }
+
+    @Test
+    public void willFindEveryKeyWithAFunction() {
+        final List<KeyIndex.Location> locations = CoreFixtures.KEYPAGE_PROFILE.getKeyIndex().getKeys(KeyFunction.from("14").get());
+
+        assertThat(locations.size(), is(4));
+        assertThat(locations.get(0).getKey(), is(CoreFixtures.KEY_1));
+        assertThat(locations.get(3).getKey(), is(CoreFixtures.KEY_4));
+    }
+
+    @Test
+    public void willFindAKeyPage() {
+        final KeyIndex keyIndex = CoreFixtures.KEYPAGE_PROFILE.getKeyIndex();
+
+        assertThat(keyIndex.getKeyPage(KeyPageId.from("301").get()), is(Optional.of(CoreFixtures.KEY_PAGE_2)));
+        assertThat(keyIndex.getKeyPage(KeyPageId.from("302").get()), is(Optional.empty()));
+    }
+
+    @Test
+    public void willBuildTheIndexOnce() {
+        assertThat(CoreFixtures.KEYPAGE_PROFILE.getKeyIndex(), is(sameInstance(CoreFixtures.KEYPAGE_PROFILE.getKeyIndex())));
+        assertThat(CoreFixtures.KEYPAGE_PROFILE_NO_KEYPAGES.getKeyIndex().getKeys(KeyFunction.from("14").get()).isEmpty(), is(true));
+    }
+
+}
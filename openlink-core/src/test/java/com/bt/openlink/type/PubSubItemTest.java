@@ -0,0 +1,57 @@
+package com.bt.openlink.type;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.bt.openlink.CoreFixtures;
+
+@SuppressWarnings("ConstantConditions")
+public class PubSubItemTest {
+
+    @Rule public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void willCreateAPubSubItem() {
+        final ItemId itemId = ItemId.from("test-item-id").get();
+
+        final PubSubItem item = PubSubItem.Builder.start()
+                .setItemId(itemId)
+                .setCallStatus(CoreFixtures.CALL_STATUS)
+                .build();
+
+        assertThat(item.getItemId().get(), is(itemId));
+        assertThat(item.getCallStatus().get(), is(CoreFixtures.CALL_STATUS));
+        assertThat(item.getDeviceStatus(), is(Optional.empty()));
+    }
+
+    @Test
+    public void willNotCreateAnEmptyPubSubItem() {
+
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("Either a callstatus or a devicestatus must be set");
+
+        PubSubItem.Builder.start().build();
+    }
+
+    @Test
+    public void willReportAPubSubItemWithBothCallAndDeviceStatus() {
+        final List<String> errors = new ArrayList<>();
+
+        PubSubItem.Builder.start()
+                .setCallStatus(CoreFixtures.CALL_STATUS)
+                .setDeviceStatus(CoreFixtures.DEVICE_STATUS_LOGON)
+                .build(errors);
+
+        assertThat(errors, contains("Invalid pub-sub item; a callstatus and a devicestatus cannot both be present"));
+    }
+
+}
@@ -0,0 +1,221 @@
+package com.bt.openlink.smack;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.jivesoftware.smack.StanzaListener;
+import org.jivesoftware.smack.filter.StanzaFilter;
+import org.jivesoftware.smack.packet.Stanza;
+
+import com.bt.openlink.smack.iq.GetInterestRequest;
+import com.bt.openlink.smack.iq.GetInterestResult;
+import com.bt.openlink.smack.iq.MakeCallRequest;
+import com.bt.openlink.smack.iq.MakeCallResult;
+import com.bt.openlink.smack.iq.RequestActionRequest;
+import com.bt.openlink.smack.iq.RequestActionResult;
+import com.bt.openlink.type.Call;
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.Interest;
+import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.PubSubNodeId;
+
+/**
+ * Routes parsed Openlink stanzas to handlers registered against the stanza class, the interest (or equivalent pub-sub
+ * node) or the call that the stanza refers to. Each lookup is a single hash lookup, so the cost of dispatching a
+ * stanza does not depend on the number of handlers registered. Register the dispatcher once with the connection, e.g.
+ *
+ * <pre>
+ * connection.addAsyncStanzaListener(dispatcher, dispatcher);
+ * </pre>
+ *
+ * Handlers may be added and removed from any thread, including from within a handler. If a handler throws an exception,
+ * the remaining handlers are still called; the exception is then passed to the exception handler, if one was supplied,
+ * or otherwise thrown to the caller once the stanza has been dispatched.
+ */
+public class OpenlinkStanzaDispatcher implements StanzaListener, StanzaFilter {
+
+    private interface KeyExtractor {
+        void extract(@Nonnull Stanza stanza, @Nonnull Set<InterestId> interestIds, @Nonnull Set<CallId> callIds);
+    }
+
+    private static final Map<Class<? extends Stanza>, KeyExtractor> KEY_EXTRACTORS = new HashMap<>();
+    static {
+        KEY_EXTRACTORS.put(GetInterestRequest.class, (stanza, interestIds, callIds) -> ((GetInterestRequest) stanza).getInterestId().ifPresent(interestIds::add));
+        KEY_EXTRACTORS.put(GetInterestResult.class, (stanza, interestIds, callIds) -> ((GetInterestResult) stanza).getInterest().flatMap(Interest::getId).ifPresent(interestIds::add));
+        KEY_EXTRACTORS.put(MakeCallRequest.class, (stanza, interestIds, callIds) -> ((MakeCallRequest) stanza).getInterestId().ifPresent(interestIds::add));
+        KEY_EXTRACTORS.put(MakeCallResult.class, (stanza, interestIds, callIds) -> ((MakeCallResult) stanza).getCallStatus().ifPresent(callStatus -> addCallStatusKeys(callStatus, interestIds, callIds)));
+        KEY_EXTRACTORS.put(RequestActionRequest.class, (stanza, interestIds, callIds) -> {
+            final RequestActionRequest request = (RequestActionRequest) stanza;
+            request.getInterestId().ifPresent(interestIds::add);
+            request.getCallId().ifPresent(callIds::add);
+        });
+        KEY_EXTRACTORS.put(RequestActionResult.class, (stanza, interestIds, callIds) -> ((RequestActionResult) stanza).getCallStatus().ifPresent(callStatus -> addCallStatusKeys(callStatus, interestIds, callIds)));
+    }
+
+    @Nonnull private final Map<Class<?>, List<Consumer<Stanza>>> stanzaHandlers = new ConcurrentHashMap<>();
+    @Nonnull private final Map<InterestId, List<Consumer<Stanza>>> interestHandlers = new ConcurrentHashMap<>();
+    @Nonnull private final Map<CallId, List<Consumer<Stanza>>> callHandlers = new ConcurrentHashMap<>();
+    @Nullable private final BiConsumer<Stanza, RuntimeException> exceptionHandler;
+
+    /**
+     * Creates a dispatcher that throws the first exception thrown by a handler, with any others suppressed, once the
+     * stanza has been dispatched to every handler.
+     */
+    public OpenlinkStanzaDispatcher() {
+        this(null);
+    }
+
+    /**
+     * @param exceptionHandler
+     *            called with the stanza and the exception for every exception thrown by a handler, or null to throw the
+     *            exceptions to the caller
+     */
+    public OpenlinkStanzaDispatcher(@Nullable final BiConsumer<Stanza, RuntimeException> exceptionHandler) {
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    private static void addCallStatusKeys(@Nonnull final CallStatus callStatus, @Nonnull final Set<InterestId> interestIds, @Nonnull final Set<CallId> callIds) {
+        for (final Call call : callStatus.getCalls()) {
+            call.getInterestId().ifPresent(interestIds::add);
+            call.getId().ifPresent(callIds::add);
+        }
+    }
+
+    /**
+     * Adds a handler that is called for every stanza of exactly the given class.
+     *
+     * @param stanzaClass
+     *            the class of stanza, e.g. {@code RequestActionResult.class}
+     * @param handler
+     *            the handler to call
+     * @param <S>
+     *            the type of stanza
+     * @return the handler actually registered, to be passed to {@link #removeStanzaHandler(Class, Consumer)}
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public <S extends Stanza> Consumer<Stanza> addStanzaHandler(@Nonnull final Class<S> stanzaClass, @Nonnull final Consumer<? super S> handler) {
+        final Consumer<Stanza> stanzaHandler = stanza -> handler.accept((S) stanza);
+        addHandler(stanzaHandlers, stanzaClass, stanzaHandler);
+        return stanzaHandler;
+    }
+
+    public boolean removeStanzaHandler(@Nonnull final Class<? extends Stanza> stanzaClass, @Nonnull final Consumer<Stanza> handler) {
+        return removeHandler(stanzaHandlers, stanzaClass, handler);
+    }
+
+    public void addInterestHandler(@Nonnull final InterestId interestId, @Nonnull final Consumer<Stanza> handler) {
+        addHandler(interestHandlers, interestId, handler);
+    }
+
+    public boolean removeInterestHandler(@Nonnull final InterestId interestId, @Nonnull final Consumer<Stanza> handler) {
+        return removeHandler(interestHandlers, interestId, handler);
+    }
+
+    public void addPubSubNodeHandler(@Nonnull final PubSubNodeId pubSubNodeId, @Nonnull final Consumer<Stanza> handler) {
+        addInterestHandler(pubSubNodeId.toInterestId(), handler);
+    }
+
+    public boolean removePubSubNodeHandler(@Nonnull final PubSubNodeId pubSubNodeId, @Nonnull final Consumer<Stanza> handler) {
+        return removeInterestHandler(pubSubNodeId.toInterestId(), handler);
+    }
+
+    public void addCallHandler(@Nonnull final CallId callId, @Nonnull final Consumer<Stanza> handler) {
+        addHandler(callHandlers, callId, handler);
+    }
+
+    public boolean removeCallHandler(@Nonnull final CallId callId, @Nonnull final Consumer<Stanza> handler) {
+        return removeHandler(callHandlers, callId, handler);
+    }
+
+    private static <K> void addHandler(@Nonnull final Map<K, List<Consumer<Stanza>>> handlers, @Nonnull final K key, @Nonnull final Consumer<Stanza> handler) {
+        handlers.compute(key, (k, list) -> {
+            final List<Consumer<Stanza>> newList = list == null ? new CopyOnWriteArrayList<>() : list;
+            newList.add(handler);
+            return newList;
+        });
+    }
+
+    private static <K> boolean removeHandler(@Nonnull final Map<K, List<Consumer<Stanza>>> handlers, @Nonnull final K key, @Nonnull final Consumer<Stanza> handler) {
+        final boolean[] removed = new boolean[1];
+        handlers.computeIfPresent(key, (k, list) -> {
+            removed[0] = list.remove(handler);
+            return list.isEmpty() ? null : list;
+        });
+        return removed[0];
+    }
+
+    /**
+     * Indicates if the stanza is one this dispatcher could route.
+     *
+     * @param stanza
+     *            the stanza to check
+     * @return {@code true} if there is a stanza handler for the class, or the stanza is an Openlink stanza that may
+     *         refer to an interest or call
+     */
+    @Override
+    public boolean accept(@Nullable final Stanza stanza) {
+        return stanza != null && (KEY_EXTRACTORS.containsKey(stanza.getClass()) || stanzaHandlers.containsKey(stanza.getClass()));
+    }
+
+    @Override
+    public void processStanza(@Nonnull final Stanza stanza) {
+        final RuntimeException[] failure = new RuntimeException[1];
+        notifyHandlers(stanzaHandlers.get(stanza.getClass()), stanza, failure);
+
+        final KeyExtractor keyExtractor = KEY_EXTRACTORS.get(stanza.getClass());
+        if (keyExtractor != null && !(interestHandlers.isEmpty() && callHandlers.isEmpty())) {
+            final Set<InterestId> interestIds = new LinkedHashSet<>();
+            final Set<CallId> callIds = new LinkedHashSet<>();
+            keyExtractor.extract(stanza, interestIds, callIds);
+            // A handler registered for both an interest and a call is only told about a stanza once
+            final Set<Consumer<Stanza>> notified = Collections.newSetFromMap(new HashMap<>());
+            interestIds.forEach(interestId -> notifyHandlers(interestHandlers.get(interestId), stanza, notified, failure));
+            callIds.forEach(callId -> notifyHandlers(callHandlers.get(callId), stanza, notified, failure));
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    private void notifyHandlers(@Nullable final List<Consumer<Stanza>> handlers, @Nonnull final Stanza stanza, @Nonnull final RuntimeException[] failure) {
+        if (handlers != null) {
+            handlers.forEach(handler -> notifyHandler(handler, stanza, failure));
+        }
+    }
+
+    private void notifyHandlers(@Nullable final List<Consumer<Stanza>> handlers, @Nonnull final Stanza stanza, @Nonnull final Set<Consumer<Stanza>> notified, @Nonnull final RuntimeException[] failure) {
+        if (handlers != null) {
+            handlers.stream()
+                    .filter(notified::add)
+                    .forEach(handler -> notifyHandler(handler, stanza, failure));
+        }
+    }
+
+    private void notifyHandler(@Nonnull final Consumer<Stanza> handler, @Nonnull final Stanza stanza, @Nonnull final RuntimeException[] failure) {
+        try {
+            handler.accept(stanza);
+        } catch (final RuntimeException e) {
+            if (exceptionHandler != null) {
+                exceptionHandler.accept(stanza, e);
+            } else if (failure[0] == null) {
+                failure[0] = e;
+            } else {
+                failure[0].addSuppressed(e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.bt.openlink.smack;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jxmpp.jid.Jid;
+
+import com.bt.openlink.history.CallHistoryPage;
+import com.bt.openlink.history.CallHistoryPager;
+import com.bt.openlink.smack.iq.GetCallHistoryRequest;
+import com.bt.openlink.smack.iq.GetCallHistoryResult;
+
+/**
+ * Requests pages of call history for a {@link CallHistoryPager} over a Smack connection, e.g.
+ *
+ * <pre>
+ * new CallHistoryPager&lt;&gt;(new SmackCallHistoryPageFetcher(connection, () -&gt; GetCallHistoryRequest.Builder.start()
+ *         .setTo(openlinkServer)
+ *         .setJID(user)
+ *         .setFromDate(fromDate)
+ *         .setUpToDate(upToDate)), 100, 4, 8);
+ * </pre>
+ *
+ * Requests are sent asynchronously, so no thread is blocked waiting for a page.
+ */
+public class SmackCallHistoryPageFetcher implements CallHistoryPager.PageFetcher<Jid> {
+
+    @Nonnull private final XMPPConnection connection;
+    @Nonnull private final Supplier<GetCallHistoryRequest.Builder> requestBuilderSupplier;
+
+    /**
+     * @param connection
+     *            the connection to send the requests on
+     * @param requestBuilderSupplier
+     *            supplies a new request builder, with everything except the start and count set, for each page
+     */
+    public SmackCallHistoryPageFetcher(@Nonnull final XMPPConnection connection, @Nonnull final Supplier<GetCallHistoryRequest.Builder> requestBuilderSupplier) {
+        this.connection = connection;
+        this.requestBuilderSupplier = requestBuilderSupplier;
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<CallHistoryPage<Jid>> fetch(final long start, final long count) {
+        final CompletableFuture<CallHistoryPage<Jid>> page = new CompletableFuture<>();
+        try {
+            final GetCallHistoryRequest request = requestBuilderSupplier.get()
+                    .setStart(start)
+                    .setCount(count)
+                    .build();
+            connection.sendIqWithResponseCallback(request, stanza -> {
+                if (stanza instanceof GetCallHistoryResult) {
+                    final GetCallHistoryResult result = (GetCallHistoryResult) stanza;
+                    page.complete(CallHistoryPage.of(result.getTotalRecordCount(), result.getCalls()));
+                } else {
+                    page.completeExceptionally(new IllegalStateException("Unexpected response to get-call-history request: " + stanza));
+                }
+            }, page::completeExceptionally);
+        } catch (final SmackException.NotConnectedException | RuntimeException e) {
+            page.completeExceptionally(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            page.completeExceptionally(e);
+        }
+        return page;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.bt.openlink.smack;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.jivesoftware.smack.XMPPConnection;
+import org.jxmpp.jid.Jid;
+
+import com.bt.openlink.cache.FeatureCache;
+import com.bt.openlink.smack.iq.GetFeaturesRequest;
+import com.bt.openlink.smack.iq.GetFeaturesResult;
+import com.bt.openlink.smack.iq.QueryFeaturesRequest;
+import com.bt.openlink.smack.iq.QueryFeaturesResult;
+import com.bt.openlink.smack.iq.SetFeaturesRequest;
+import com.bt.openlink.smack.iq.SetFeaturesResult;
+import com.bt.openlink.type.ActiveFeature;
+import com.bt.openlink.type.Feature;
+import com.bt.openlink.type.FeatureId;
+import com.bt.openlink.type.ProfileId;
+
+/**
+ * Sends the requests for a {@link FeatureCache} to an Openlink server over a Smack connection. Requests are sent
+ * asynchronously, so no thread is blocked waiting for a result.
+ */
+public class SmackFeatureLoader implements FeatureCache.Loader {
+
+    @Nonnull private final XMPPConnection connection;
+    @Nonnull private final Jid openlinkServer;
+
+    /**
+     * @param connection
+     *            the connection to send the requests on
+     * @param openlinkServer
+     *            the Openlink server to send the requests to
+     */
+    public SmackFeatureLoader(@Nonnull final XMPPConnection connection, @Nonnull final Jid openlinkServer) {
+        this.connection = connection;
+        this.openlinkServer = openlinkServer;
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<List<Feature>> getFeatures(@Nonnull final ProfileId profileId) {
+        return SmackIqSender.send(connection, () -> GetFeaturesRequest.Builder.start()
+                .setTo(openlinkServer)
+                .setFrom(connection.getUser())
+                .setProfileId(profileId)
+                .build(), GetFeaturesResult.class, result -> Optional.of(result.getFeatures()));
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<List<ActiveFeature>> queryFeatures(@Nonnull final ProfileId profileId) {
+        return SmackIqSender.send(connection, () -> QueryFeaturesRequest.Builder.start()
+                .setTo(openlinkServer)
+                .setFrom(connection.getUser())
+                .setProfileId(profileId)
+                .build(), QueryFeaturesResult.class, result -> Optional.of(result.getFeatures()));
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Void> setFeature(@Nonnull final ProfileId profileId, @Nonnull final FeatureId featureId, @Nonnull final String value1, @Nullable final String value2, @Nullable final String value3) {
+        return SmackIqSender.send(connection, () -> {
+            final SetFeaturesRequest.Builder builder = SetFeaturesRequest.Builder.start()
+                    .setTo(openlinkServer)
+                    .setFrom(connection.getUser())
+                    .setProfileId(profileId)
+                    .setFeatureId(featureId)
+                    .setValue1(value1);
+            if (value2 != null) {
+                builder.setValue2(value2);
+            }
+            if (value3 != null) {
+                builder.setValue3(value3);
+            }
+            return builder.build();
+        }, SetFeaturesResult.class, Optional::of).thenApply(result -> null);
+    }
+
+}
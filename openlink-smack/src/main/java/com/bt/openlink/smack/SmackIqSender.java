@@ -0,0 +1,58 @@
+package com.bt.openlink.smack;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.packet.IQ;
+
+/**
+ * Sends a request asynchronously on behalf of the Smack cache loaders, completing with the value extracted from the
+ * expected result.
+ */
+final class SmackIqSender {
+
+    private SmackIqSender() {
+    }
+
+    /**
+     * @param connection
+     *            the connection to send the request on
+     * @param requestSupplier
+     *            builds the request to send
+     * @param resultClass
+     *            the class of the expected result
+     * @param getValue
+     *            extracts the value from the result
+     * @return a stage that completes with the value, or exceptionally if the request cannot be sent, an error or
+     *         unexpected response is received, or the result does not contain a value
+     */
+    @Nonnull
+    static <R extends IQ, T> CompletionStage<T> send(@Nonnull final XMPPConnection connection, @Nonnull final Supplier<IQ> requestSupplier, @Nonnull final Class<R> resultClass, @Nonnull final Function<R, Optional<T>> getValue) {
+        final CompletableFuture<T> value = new CompletableFuture<>();
+        try {
+            final IQ request = requestSupplier.get();
+            connection.sendIqWithResponseCallback(request, stanza -> {
+                final Optional<T> result = resultClass.isInstance(stanza) ? getValue.apply(resultClass.cast(stanza)) : Optional.empty();
+                if (result.isPresent()) {
+                    value.complete(result.get());
+                } else {
+                    value.completeExceptionally(new IllegalStateException("Unexpected response to " + request.getClass().getSimpleName() + ": " + stanza));
+                }
+            }, value::completeExceptionally);
+        } catch (final SmackException.NotConnectedException | RuntimeException e) {
+            value.completeExceptionally(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            value.completeExceptionally(e);
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.bt.openlink.smack;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nonnull;
+
+import org.jivesoftware.smack.XMPPConnection;
+import org.jxmpp.jid.Jid;
+
+import com.bt.openlink.cache.ProfileCache;
+import com.bt.openlink.smack.iq.GetInterestRequest;
+import com.bt.openlink.smack.iq.GetInterestResult;
+import com.bt.openlink.smack.iq.GetInterestsRequest;
+import com.bt.openlink.smack.iq.GetInterestsResult;
+import com.bt.openlink.smack.iq.GetProfileRequest;
+import com.bt.openlink.smack.iq.GetProfileResult;
+import com.bt.openlink.smack.iq.GetProfilesRequest;
+import com.bt.openlink.smack.iq.GetProfilesResult;
+import com.bt.openlink.type.Interest;
+import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.Profile;
+import com.bt.openlink.type.ProfileId;
+
+/**
+ * Sends the requests for a {@link ProfileCache} to an Openlink server over a Smack connection. Requests are sent
+ * asynchronously, so no thread is blocked waiting for a result.
+ */
+public class SmackProfileLoader implements ProfileCache.Loader<Jid> {
+
+    @Nonnull private final XMPPConnection connection;
+    @Nonnull private final Jid openlinkServer;
+
+    /**
+     * @param connection
+     *            the connection to send the requests on
+     * @param openlinkServer
+     *            the Openlink server to send the requests to
+     */
+    public SmackProfileLoader(@Nonnull final XMPPConnection connection, @Nonnull final Jid openlinkServer) {
+        this.connection = connection;
+        this.openlinkServer = openlinkServer;
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<List<Profile>> getProfiles(@Nonnull final Jid user) {
+        return SmackIqSender.send(connection, () -> GetProfilesRequest.Builder.start()
+                .setTo(openlinkServer)
+                .setFrom(connection.getUser())
+                .setJID(user)
+                .build(), GetProfilesResult.class, result -> Optional.of(result.getProfiles()));
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Profile> getProfile(@Nonnull final ProfileId profileId) {
+        return SmackIqSender.send(connection, () -> GetProfileRequest.Builder.start()
+                .setTo(openlinkServer)
+                .setFrom(connection.getUser())
+                .setProfileId(profileId)
+                .build(), GetProfileResult.class, GetProfileResult::getProfile);
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<List<Interest>> getInterests(@Nonnull final ProfileId profileId) {
+        return SmackIqSender.send(connection, () -> GetInterestsRequest.Builder.start()
+                .setTo(openlinkServer)
+                .setFrom(connection.getUser())
+                .setProfileId(profileId)
+                .build(), GetInterestsResult.class, result -> Optional.of(result.getInterests()));
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Interest> getInterest(@Nonnull final InterestId interestId) {
+        return SmackIqSender.send(connection, () -> GetInterestRequest.Builder.start()
+                .setTo(openlinkServer)
+                .setFrom(connection.getUser())
+                .setInterestId(interestId)
+                .build(), GetInterestResult.class, GetInterestResult::getInterest);
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.bt.openlink.smack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.jivesoftware.smack.StanzaListener;
+import org.jivesoftware.smack.filter.StanzaFilter;
+import org.jivesoftware.smack.packet.Stanza;
+
+import com.bt.openlink.flow.StatusPublisher;
+import com.bt.openlink.smack.iq.MakeCallResult;
+import com.bt.openlink.smack.iq.ManageVoiceMessageResult;
+import com.bt.openlink.smack.iq.RequestActionResult;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.DeviceStatus;
+
+/**
+ * Offers the call status and device status carried by Openlink stanzas to a pair of {@link StatusPublisher}s.
+ * Register the listener with the connection, e.g.
+ *
+ * <pre>
+ * connection.addSyncStanzaListener(listener, listener);
+ * </pre>
+ *
+ * As the publishers never block, the listener can safely be called on the connection's reader thread; subscribers are
+ * signalled on the publishers' executors as and when they request items.
+ */
+public class SmackStatusListener implements StanzaListener, StanzaFilter {
+
+    @Nullable private final StatusPublisher<CallStatus> callStatusPublisher;
+    @Nullable private final StatusPublisher<DeviceStatus> deviceStatusPublisher;
+
+    /**
+     * @param callStatusPublisher
+     *            the publisher to offer call status to, or {@code null} if call status is not required
+     * @param deviceStatusPublisher
+     *            the publisher to offer device status to, or {@code null} if device status is not required
+     */
+    public SmackStatusListener(@Nullable final StatusPublisher<CallStatus> callStatusPublisher, @Nullable final StatusPublisher<DeviceStatus> deviceStatusPublisher) {
+        this.callStatusPublisher = callStatusPublisher;
+        this.deviceStatusPublisher = deviceStatusPublisher;
+    }
+
+    @Override
+    public boolean accept(@Nullable final Stanza stanza) {
+        return (callStatusPublisher != null && (stanza instanceof MakeCallResult || stanza instanceof RequestActionResult))
+                || (deviceStatusPublisher != null && stanza instanceof ManageVoiceMessageResult);
+    }
+
+    @Override
+    public void processStanza(@Nonnull final Stanza stanza) {
+        if (callStatusPublisher != null) {
+            if (stanza instanceof MakeCallResult) {
+                ((MakeCallResult) stanza).getCallStatus().ifPresent(callStatusPublisher::offer);
+            } else if (stanza instanceof RequestActionResult) {
+                ((RequestActionResult) stanza).getCallStatus().ifPresent(callStatusPublisher::offer);
+            }
+        }
+        if (deviceStatusPublisher != null && stanza instanceof ManageVoiceMessageResult) {
+            ((ManageVoiceMessageResult) stanza).getDeviceStatus().ifPresent(deviceStatusPublisher::offer);
+        }
+    }
+
+}
@@ -1,19 +1,14 @@
 package com.bt.openlink.smack.internal;
 
 import java.io.IOException;
-import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.TimeZone;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -30,6 +25,11 @@ import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
+import com.bt.openlink.ParseError;
+import com.bt.openlink.ParseErrorList;
+import com.bt.openlink.codec.DateTimeCodec;
+import com.bt.openlink.codec.NumberCodec;
 import com.bt.openlink.iq.IQBuilder;
 import com.bt.openlink.type.Call;
 import com.bt.openlink.type.CallDirection;
@@ -74,7 +74,6 @@ import com.bt.openlink.type.VoiceRecorderInfo;
 public final class SmackPacketUtil {
 
     public static final DateTimeFormatter ISO_8601_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-    private static final DateTimeFormatter JAVA_UTIL_DATE_FORMATTER = DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss zzz yyyy");
     private static final String ATTRIBUTE_NUMBER = "number";
     private static final String ATTRIBUTE_DESTINATION = "destination";
     private static final String ATTRIBUTE_DIRECTION = "direction";
@@ -150,28 +149,13 @@ public final class SmackPacketUtil {
 
     @Nonnull
     public static Optional<Long> getLongAttribute(@Nonnull final XmlPullParser parser, @Nonnull final String attributeName) {
-        final String attributeValue = parser.getAttributeValue("", attributeName);
-        if (attributeValue == null || attributeValue.isEmpty()) {
-            return Optional.empty();
-        }
-        try {
-            return Optional.of(Long.valueOf(attributeValue));
-        } catch (final NumberFormatException ignored) {
-            return Optional.empty();
-        }
+        return NumberCodec.toOptional(NumberCodec.parseLong(parser.getAttributeValue("", attributeName)));
     }
 
     @Nonnull
     public static Optional<Integer> getIntegerAttribute(@Nonnull final XmlPullParser parser, @Nonnull final String attributeName) {
-        final String attributeValue = parser.getAttributeValue("", attributeName);
-        if (attributeValue == null || attributeValue.isEmpty()) {
-            return Optional.empty();
-        }
-        try {
-            return Optional.of(Integer.valueOf(attributeValue));
-        } catch (final NumberFormatException ignored) {
-            return Optional.empty();
-        }
+        final long value = NumberCodec.parseInt(parser.getAttributeValue("", attributeName));
+        return value == NumberCodec.INVALID ? Optional.empty() : Optional.of((int) value);
     }
 
     public static Optional<Site> getSite(final XmlPullParser parser, final List<String> errors, final String description) throws IOException, XmlPullParserException {
@@ -238,7 +222,7 @@ public final class SmackPacketUtil {
         voiceMessage.getExtension().ifPresent(extension -> voiceMessageElement.element(ELEMENT_EXTENSION, extension.value()));
         voiceMessage.getMessageLength().ifPresent(msgLength -> voiceMessageElement.element(ELEMENT_MESSAGE_LENGTH, formatVoiceMessageLength(msgLength)));
 
-        voiceMessage.getCreationDate().ifPresent(creationDate -> voiceMessageElement.element(ELEMENT_CREATION_DATE, Timestamp.from(creationDate).toString()));
+        voiceMessage.getCreationDate().ifPresent(creationDate -> voiceMessageElement.element(ELEMENT_CREATION_DATE, DateTimeCodec.formatTimestamp(creationDate.toEpochMilli(), ZoneId.systemDefault())));
 
         voiceMessageElement.closeElement(ELEMENT_VOICE_MESSAGE);
     }
@@ -277,7 +261,7 @@ public final class SmackPacketUtil {
             addCallerDetails(xml, call);
             addCalledDetails(xml, call);
             addOriginatorReferences(xml, call.getOriginatorReferences());
-            call.getStartTime().ifPresent(startTime -> xml.element(ATTRIBUTE_START_TIME, (ISO_8601_FORMATTER.format(startTime.atZone(ZoneOffset.UTC)))));
+            call.getStartTime().ifPresent(startTime -> xml.element(ATTRIBUTE_START_TIME, DateTimeCodec.formatIso8601(startTime.toEpochMilli())));
             call.getDuration().ifPresent(duration -> xml.element(ATTRIBUTE_DURATION, String.valueOf(duration.toMillis())));
             addActions(xml, call);
             addFeatures(xml, call);
@@ -301,9 +285,8 @@ public final class SmackPacketUtil {
                 participant.getParticipantCategory().ifPresent(category -> xml.attribute("category", category.getId()));
                 participant.getDirection().ifPresent(direction -> xml.attribute(ATTRIBUTE_DIRECTION, direction.getLabel()));
                 participant.getStartTime().ifPresent(startTime -> {
-                    final ZonedDateTime startTimeInUTC = startTime.atZone(TimeZone.getTimeZone("UTC").toZoneId());
-                    xml.attribute(ATTRIBUTE_START_TIME, ISO_8601_FORMATTER.format(startTimeInUTC));
-                    xml.attribute(ATTRIBUTE_TIMESTAMP, JAVA_UTIL_DATE_FORMATTER.format(startTimeInUTC));
+                    xml.attribute(ATTRIBUTE_START_TIME, DateTimeCodec.formatIso8601(startTime.toEpochMilli()));
+                    xml.attribute(ATTRIBUTE_TIMESTAMP, DateTimeCodec.formatJavaUtilDate(startTime.toEpochMilli()));
                 });
                 participant.getDuration().ifPresent(duration -> xml.attribute(ATTRIBUTE_DURATION, String.valueOf(duration.toMillis())));
                 xml.rightAngleBracket();
@@ -345,7 +328,7 @@ public final class SmackPacketUtil {
         xml.closeElement(ELEMENT_CALLER);
     }
 
-    public static void addOriginatorReferences(@Nonnull final IQChildElementXmlStringBuilder xml, @Nonnull final List<OriginatorReference> originatorReferences) {
+    public static void addOriginatorReferences(@Nonnull final XmlStringBuilder xml, @Nonnull final List<OriginatorReference> originatorReferences) {
         if (!originatorReferences.isEmpty()) {
             xml.openElement(ELEMENT_ORIGINATOR_REF);
             originatorReferences.forEach(originatorReference -> {
@@ -541,25 +524,14 @@ public final class SmackPacketUtil {
                     break;
                 case ELEMENT_MESSAGE_LENGTH:
                     getElementTextString(parser)
-                            .flatMap(msgLength -> {
-                                try {
-                                    return Optional.of(Duration.ofMillis((long) (Float.parseFloat(msgLength) * 1000)));
-                                } catch (Exception e) {
-                                    return Optional.empty();
-                                }
-                            })
+                            .flatMap(msgLength -> NumberCodec.toOptional(NumberCodec.parseSecondsAsMillis(msgLength)))
+                            .map(Duration::ofMillis)
                             .ifPresent(voiceMessageBuilder::setMessageLength);
 
                     break;
                 case ELEMENT_CREATION_DATE:
                     getElementTextString(parser)
-                            .flatMap(msgLength -> {
-                                try {
-                                    return Optional.of(Timestamp.valueOf(msgLength).toInstant());
-                                } catch (Exception e) {
-                                    return Optional.empty();
-                                }
-                            })
+                            .flatMap(creationDate -> DateTimeCodec.toInstant(DateTimeCodec.parseTimestamp(creationDate, ZoneId.systemDefault())))
                             .ifPresent(voiceMessageBuilder::setCreationDate);
                     break;
                 case ELEMENT_EXTENSION:
@@ -590,13 +562,14 @@ public final class SmackPacketUtil {
         if (!parser.getName().equals(ELEMENT_CALLSTATUS)) {
             return Optional.empty();
         }
-        final CallStatus.Builder builder = CallStatus.Builder.start();
+        final ParseContext context = ParseContext.get();
+        final CallStatus.Builder builder = context.callStatusBuilder();
         getBooleanAttribute(parser, "busy", description, errors).ifPresent(builder::setCallStatusBusy);
         getStringAttribute(parser, "fwd").flatMap(PhoneNumber::from).ifPresent(builder::setCallForward);
         parser.nextTag();
 
         while (parser.getName().equals("call")) {
-            final Call.Builder callBuilder = Call.Builder.start();
+            final Call.Builder callBuilder = context.callBuilder();
             final int callDepth = parser.getDepth();
             parser.nextTag();
             do {
@@ -641,7 +614,10 @@ public final class SmackPacketUtil {
                     getElementTestISO8601(ATTRIBUTE_START_TIME, parser, description, errors).ifPresent(callBuilder::setStartTime);
                     break;
                 case ATTRIBUTE_DURATION:
-                    getElementTextLong(ATTRIBUTE_DURATION, parser, description, errors).map(Duration::ofMillis).ifPresent(callBuilder::setDuration);
+                    final long duration = getElementTextLong(ATTRIBUTE_DURATION, parser, description, errors);
+                    if (duration != NumberCodec.INVALID) {
+                        callBuilder.setDuration(Duration.ofMillis(duration));
+                    }
                     break;
                 case ELEMENT_ACTIONS:
                     getActions(callBuilder, parser, errors);
@@ -779,11 +755,7 @@ public final class SmackPacketUtil {
     }
 
     private static List<PhoneNumber> getPhoneNumbers(final XmlPullParser parser, final String attributeName) {
-        final Optional<String> e164String = SmackPacketUtil.getStringAttribute(parser, attributeName);
-        final List<PhoneNumber> phoneNumbers = new ArrayList<>();
-        e164String.ifPresent(string -> Arrays.stream(string.split(",")).map(String::trim).map(PhoneNumber::from)
-                .filter(Optional::isPresent).map(Optional::get).forEach(phoneNumbers::add));
-        return phoneNumbers;
+        return ParseContext.get().phoneNumbers(parser.getAttributeValue("", attributeName));
     }
 
     private static void getParticipants(
@@ -793,9 +765,10 @@ public final class SmackPacketUtil {
             @Nonnull final List<String> parseErrors) throws IOException, XmlPullParserException {
 
         if (parser.getName().equals(ELEMENT_PARTICIPANTS)) {
+            final ParseContext context = ParseContext.get();
             parser.nextTag();
             while (parser.getName().equals(ELEMENT_PARTICIPANT)) {
-                final Participant.Builder participantBuilder = Participant.Builder.start();
+                final Participant.Builder participantBuilder = context.participantBuilder();
                 SmackPacketUtil.getStringAttribute(parser, "jid").ifPresent(participantBuilder::setJID);
                 SmackPacketUtil.getStringAttribute(parser, ATTRIBUTE_NUMBER).flatMap(PhoneNumber::from).ifPresent(participantBuilder::setNumber);
                 SmackPacketUtil.getStringAttribute(parser, ATTRIBUTE_DESTINATION).flatMap(PhoneNumber::from).ifPresent(participantBuilder::setDestinationNumber);
@@ -832,12 +805,14 @@ public final class SmackPacketUtil {
             final String description,
             final List<String> parseErrors) {
         final Optional<String> stringValue = SmackPacketUtil.getStringAttribute(parser, attributeName);
-        try {
-            return stringValue.map(string -> Instant.from(JAVA_UTIL_DATE_FORMATTER.parse(string)));
-        } catch (final DateTimeParseException ignored) {
-            parseErrors.add(String.format("Invalid %s; invalid %s '%s'; format should be 'dow mon dd hh:mm:ss zzz yyyy'", description, attributeName, stringValue));
+        if (!stringValue.isPresent()) {
             return Optional.empty();
         }
+        final Optional<Instant> instant = DateTimeCodec.toInstant(DateTimeCodec.parseJavaUtilDate(stringValue.get()));
+        if (!instant.isPresent()) {
+            ParseErrorList.add(parseErrors, ParseError.Code.INVALID_JAVA_UTIL_DATE, description, attributeName, stringValue.get());
+        }
+        return instant;
     }
 
     private static Optional<Instant> getISO8601Attribute(
@@ -847,12 +822,14 @@ public final class SmackPacketUtil {
             @Nonnull final List<String> parseErrors) {
 
         final Optional<String> stringValue = SmackPacketUtil.getStringAttribute(parser, attributeName);
-        try {
-            return stringValue.map(Instant::parse);
-        } catch (final DateTimeParseException ignored) {
-            parseErrors.add(String.format("Invalid %s; invalid %s '%s'; format should be compliant with XEP-0082", description, attributeName, stringValue));
+        if (!stringValue.isPresent()) {
             return Optional.empty();
         }
+        final Optional<Instant> instant = DateTimeCodec.toInstant(DateTimeCodec.parseIso8601(stringValue.get()));
+        if (!instant.isPresent()) {
+            ParseErrorList.add(parseErrors, ParseError.Code.INVALID_ISO_8601, description, attributeName, stringValue.get());
+        }
+        return instant;
     }
 
     private static void getActions(@Nonnull final Call.Builder callBuilder, final XmlPullParser parser,
@@ -923,7 +900,7 @@ public final class SmackPacketUtil {
                 builder = deviceKeyBuilder;
                 break;
             case "speakerchannel":
-                final CallFeatureSpeakerChannel.Builder speakerChannelBuilder = CallFeatureSpeakerChannel.Builder.start();
+                final CallFeatureSpeakerChannel.Builder speakerChannelBuilder = ParseContext.get().speakerChannelFeatureBuilder();
                 configureSpeakerChannelBuilder(parser, description, parseErrors, speakerChannelBuilder);
                 builder = speakerChannelBuilder;
                 break;
@@ -946,9 +923,9 @@ public final class SmackPacketUtil {
     @Nonnull
     private static CallFeature.AbstractCallFeatureBuilder getBooleanOrTextCallFeatureBuilder(final String tagText) {
         if ("true".equalsIgnoreCase(tagText) || "false".equalsIgnoreCase(tagText)) {
-            return CallFeatureBoolean.Builder.start().setEnabled(Boolean.parseBoolean(tagText));
+            return ParseContext.get().booleanFeatureBuilder().setEnabled(Boolean.parseBoolean(tagText));
         } else {
-            final CallFeatureTextValue.Builder builder = CallFeatureTextValue.Builder.start().setValue(tagText);
+            final CallFeatureTextValue.Builder builder = ParseContext.get().textValueFeatureBuilder().setValue(tagText);
             if ("VoiceMessage".equalsIgnoreCase(tagText)) {
                 builder.setType(FeatureType.VOICE_MESSAGE);
             }
@@ -958,7 +935,7 @@ public final class SmackPacketUtil {
 
     @Nonnull
     private static CallFeatureBoolean.Builder getCallFeatureBooleanBuilder(final XmlPullParser parser) throws IOException, XmlPullParserException {
-        return CallFeatureBoolean.Builder.start()
+        return ParseContext.get().booleanFeatureBuilder()
             .setEnabled(Boolean.parseBoolean(getTextValue(parser)));
     }
 
@@ -977,11 +954,11 @@ public final class SmackPacketUtil {
         switch (featureType) {
         case HANDSET:
             final Optional<Boolean> microphoneOn = getBooleanAttribute(parser, "microphone", description, parseErrors);
-            final CallFeatureHandset.Builder handsetBuilder = CallFeatureHandset.Builder.start().setEnabled(Boolean.parseBoolean(getTextValue(parser)));
+            final CallFeatureHandset.Builder handsetBuilder = ParseContext.get().handsetFeatureBuilder().setEnabled(Boolean.parseBoolean(getTextValue(parser)));
             microphoneOn.ifPresent(handsetBuilder::setMicrophoneEnabled);
             return handsetBuilder;
         case VOICE_MESSAGE:
-            return CallFeatureTextValue.Builder.start().setType(FeatureType.VOICE_MESSAGE).setValue(getTextValue(parser));
+            return ParseContext.get().textValueFeatureBuilder().setType(FeatureType.VOICE_MESSAGE).setValue(getTextValue(parser));
         case DEVICE_KEYS:
             return getDeviceKeyFeatureBuilder(parser);
         case SPEAKER_CHANNEL:
@@ -1040,7 +1017,7 @@ public final class SmackPacketUtil {
             @Nonnull final List<String> parseErrors)
             throws XmlPullParserException, IOException {
         final int initialDepth = parser.getDepth();
-        final CallFeatureSpeakerChannel.Builder speakerChannelBuilder = CallFeatureSpeakerChannel.Builder.start();
+        final CallFeatureSpeakerChannel.Builder speakerChannelBuilder = ParseContext.get().speakerChannelFeatureBuilder();
         if (parser.nextTag() == XmlPullParser.START_TAG && "speakerchannel".equalsIgnoreCase(parser.getName())) {
             configureSpeakerChannelBuilder(parser, description, parseErrors, speakerChannelBuilder);
         }
@@ -1053,7 +1030,10 @@ public final class SmackPacketUtil {
         while (parser.nextTag() == XmlPullParser.START_TAG && parser.getDepth() == enclosedTagDepth) {
             switch (parser.getName()) {
                 case ELEMENT_CHANNEL:
-                    getElementTextLong(ELEMENT_CHANNEL, parser, description, parseErrors).ifPresent(speakerChannelBuilder::setChannel);
+                    final long channel = getElementTextLong(ELEMENT_CHANNEL, parser, description, parseErrors);
+                    if (channel != NumberCodec.INVALID) {
+                        speakerChannelBuilder.setChannel(channel);
+                    }
                     break;
                 case ELEMENT_MICROPHONE:
                     getElementTextBoolean(ELEMENT_MICROPHONE, parser, description, parseErrors).ifPresent(speakerChannelBuilder::setMicrophoneActive);
@@ -1092,7 +1072,7 @@ public final class SmackPacketUtil {
         } else if ("false".equals(booleanText)) {
             return Optional.of(Boolean.FALSE);
         } else {
-            parseErrors.add(String.format("Invalid %s; invalid %s '%s'; please supply an integer", description, childElementName, booleanText));
+            ParseErrorList.add(parseErrors, ParseError.Code.INVALID_BOOLEAN, description, childElementName, booleanText);
             return Optional.empty();
         }
     }
@@ -1106,29 +1086,27 @@ public final class SmackPacketUtil {
             throws XmlPullParserException, IOException {
         if (parser.getName().equals(childElementName)) {
             final String childElementText = parser.nextText();
-            try {
-                return Optional.of(Instant.parse(childElementText));
-            } catch (final DateTimeParseException ignored) {
-                parseErrors.add(String.format("Invalid %s; invalid %s '%s'; format should be compliant with XEP-0082", description, childElementName, childElementText));
+            final Optional<Instant> instant = DateTimeCodec.toInstant(DateTimeCodec.parseIso8601(childElementText));
+            if (!instant.isPresent()) {
+                ParseErrorList.add(parseErrors, ParseError.Code.INVALID_ISO_8601, description, childElementName, childElementText);
             }
+            return instant;
         }
         return Optional.empty();
     }
 
-    @Nonnull
-    private static Optional<Long> getElementTextLong(
+    private static long getElementTextLong(
             @Nonnull final String childElementName,
             @Nonnull final XmlPullParser parser,
             @Nonnull final String stanzaDescription,
             @Nonnull final List<String> parseErrors)
             throws XmlPullParserException, IOException {
         final String childElementText = parser.nextText();
-        try {
-            return Optional.of(Long.parseLong(childElementText));
-        } catch (final NumberFormatException ignored) {
-            parseErrors.add(String.format("Invalid %s; invalid %s '%s'; please supply an integer", stanzaDescription, childElementName, childElementText));
+        final long value = NumberCodec.parseLong(childElementText);
+        if (value == NumberCodec.INVALID) {
+            ParseErrorList.add(parseErrors, ParseError.Code.INVALID_INTEGER, stanzaDescription, childElementName, childElementText);
         }
-        return Optional.empty();
+        return value;
     }
 
     @Nonnull
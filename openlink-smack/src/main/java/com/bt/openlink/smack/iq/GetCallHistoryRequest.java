@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +17,10 @@ import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
+import com.bt.openlink.ParseError;
+import com.bt.openlink.ParseErrorList;
+import com.bt.openlink.codec.NumberCodec;
 import com.bt.openlink.iq.GetCallHistoryRequestBuilder;
 import com.bt.openlink.smack.internal.SmackPacketUtil;
 import com.bt.openlink.type.CallType;
@@ -52,7 +55,7 @@ public class GetCallHistoryRequest extends OpenlinkIQ {
     public static GetCallHistoryRequest from(@Nonnull final XmlPullParser parser) throws IOException, XmlPullParserException {
 
         final Builder builder = Builder.start();
-        final List<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.newParseErrors();
 
         moveToStartOfTag(parser, OpenlinkXmppNamespace.TAG_IODATA, OpenlinkXmppNamespace.TAG_IN);
         final int inDepth = parser.getDepth();
@@ -104,17 +107,23 @@ public class GetCallHistoryRequest extends OpenlinkIQ {
             }
             break;
         case "start":
-            try {
-                elementText.map(Long::valueOf).ifPresent(builder::setStart);
-            } catch (final NumberFormatException ignored) {
-                parseErrors.add(String.format("Invalid %s; invalid start '%s'; please supply an integer", STANZA_DESCRIPTION, elementText.get()));
+            if (elementText.isPresent()) {
+                final long start = NumberCodec.parseLong(elementText.get());
+                if (start == NumberCodec.INVALID) {
+                    ParseErrorList.add(parseErrors, ParseError.Code.INVALID_INTEGER, STANZA_DESCRIPTION, "start", elementText.get());
+                } else {
+                    builder.setStart(start);
+                }
             }
             break;
         case "count":
-            try {
-                elementText.map(Long::valueOf).ifPresent(builder::setCount);
-            } catch (final NumberFormatException ignored) {
-                parseErrors.add(String.format("Invalid %s; invalid count '%s'; please supply an integer", STANZA_DESCRIPTION, elementText.get()));
+            if (elementText.isPresent()) {
+                final long count = NumberCodec.parseLong(elementText.get());
+                if (count == NumberCodec.INVALID) {
+                    ParseErrorList.add(parseErrors, ParseError.Code.INVALID_INTEGER, STANZA_DESCRIPTION, "count", elementText.get());
+                } else {
+                    builder.setCount(count);
+                }
             }
             break;
         default:
@@ -1,11 +1,9 @@
 package com.bt.openlink.smack.iq;
 
 import java.io.IOException;
-import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeParseException;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +18,12 @@ import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
+import com.bt.openlink.ParseError;
+import com.bt.openlink.ParseErrorList;
+import com.bt.openlink.codec.DateTimeCodec;
+import com.bt.openlink.codec.NumberCodec;
+import com.bt.openlink.history.CallHistoryListener;
 import com.bt.openlink.iq.GetCallHistoryResultBuilder;
 import com.bt.openlink.smack.internal.SmackPacketUtil;
 import com.bt.openlink.type.CallDirection;
@@ -47,11 +51,33 @@ public class GetCallHistoryResult extends OpenlinkIQ {
         this.calls = new ArrayList<>(builder.getCalls());
     }
 
-    @SuppressWarnings("unchecked")
     @Nonnull
     public static GetCallHistoryResult from(@Nonnull final XmlPullParser parser) throws IOException, XmlPullParserException {
-        final Builder builder = Builder.start();
-        final List<String> parseErrors = new ArrayList<>();
+        return parse(parser, Builder.start(), null);
+    }
+
+    /**
+     * Parses a get-call-history result, passing each call to the listener as soon as it has been parsed instead of
+     * retaining it. The returned result has the record counts and any parse errors, but no calls.
+     *
+     * @param parser
+     *            the parser, positioned as for {@link #from(XmlPullParser)}
+     * @param listener
+     *            the listener to pass the record counts and calls to
+     * @return the result, without any calls
+     * @throws IOException
+     *             if the stanza could not be read
+     * @throws XmlPullParserException
+     *             if the stanza is not well-formed
+     */
+    @Nonnull
+    public static GetCallHistoryResult from(@Nonnull final XmlPullParser parser, @Nonnull final CallHistoryListener<Jid> listener) throws IOException, XmlPullParserException {
+        return parse(parser, Builder.start(), listener);
+    }
+
+    @Nonnull
+    private static GetCallHistoryResult parse(@Nonnull final XmlPullParser parser, @Nonnull final Builder builder, @Nullable final CallHistoryListener<Jid> listener) throws IOException, XmlPullParserException {
+        final List<String> parseErrors = ParseContext.newParseErrors();
 
         moveToStartOfTag(parser, OpenlinkXmppNamespace.TAG_IODATA, OpenlinkXmppNamespace.TAG_IN);
         final int inDepth = parser.getDepth();
@@ -62,25 +88,65 @@ public class GetCallHistoryResult extends OpenlinkIQ {
             SmackPacketUtil.getLongAttribute(parser, "total").ifPresent(builder::setTotalRecordCount);
             SmackPacketUtil.getLongAttribute(parser, "start").ifPresent(builder::setFirstRecordNumber);
             SmackPacketUtil.getLongAttribute(parser, "count").ifPresent(builder::setRecordCountInBatch);
+            if (listener != null) {
+                listener.onRecordCounts(builder.getTotalRecordCount(), builder.getFirstRecordNumber(), builder.getRecordCountInBatch());
+            }
             parser.nextTag();
             while (parser.getDepth() > callHistoryDepth) {
                 while (parser.getEventType() == XmlPullParser.START_TAG && "call".equals(parser.getName())) {
                     final int callDepth = parser.getDepth();
                     parser.nextTag();
                     final HistoricalCall.Builder<Jid> callBuilder = HistoricalCall.Builder.start();
+                    // The start time and legacy timestamp are only parsed once the whole call has been read
+                    final String[] startTimes = new String[2];
                     while (parser.getDepth() > callDepth) {
-                        parseHistoricalCall(parser, parseErrors, callDepth, callBuilder);
+                        parseHistoricalCall(parser, parseErrors, callDepth, callBuilder, startTimes);
                     }
-                    builder.addCall(callBuilder.build(parseErrors));
+                    setStartTime(callBuilder, startTimes[0], startTimes[1], parseErrors);
+                    addCall(builder, callBuilder.build(parseErrors), listener);
                 }
                 parser.nextTag();
             }
+        } else if (listener != null) {
+            listener.onRecordCounts(Optional.empty(), Optional.empty(), Optional.empty());
         }
         ParserUtils.forwardToEndTagOfDepth(parser, inDepth + 1);
         return builder.build(parseErrors);
     }
 
-    private static void parseHistoricalCall(@Nonnull final XmlPullParser parser, final List<String> parseErrors, final int callDepth, final HistoricalCall.Builder<Jid> callBuilder)
+    private static void addCall(@Nonnull final Builder builder, @Nonnull final HistoricalCall<Jid> call, @Nullable final CallHistoryListener<Jid> listener) {
+        if (listener == null) {
+            builder.addCall(call);
+        } else {
+            builder.addStreamedCall();
+            listener.onCall(call);
+        }
+    }
+
+    // Both are validated, but the legacy timestamp is only used if there is no valid start time, as they represent the same value
+    private static void setStartTime(@Nonnull final HistoricalCall.Builder<Jid> callBuilder, @Nullable final String startTime, @Nullable final String timestamp, @Nonnull final List<String> parseErrors) {
+        long timestampMillis = DateTimeCodec.INVALID;
+        if (timestamp != null) {
+            timestampMillis = DateTimeCodec.parseTimestamp(timestamp, ZoneId.systemDefault());
+            if (timestampMillis == DateTimeCodec.INVALID) {
+                ParseErrorList.add(parseErrors, ParseError.Code.INVALID_TIMESTAMP, STANZA_DESCRIPTION, "timestamp", timestamp);
+            }
+        }
+        long startTimeMillis = DateTimeCodec.INVALID;
+        if (startTime != null) {
+            startTimeMillis = DateTimeCodec.parseIso8601(startTime);
+            if (startTimeMillis == DateTimeCodec.INVALID) {
+                ParseErrorList.add(parseErrors, ParseError.Code.INVALID_TIMESTAMP, STANZA_DESCRIPTION, "starttime", startTime);
+            }
+        }
+        if (startTimeMillis != DateTimeCodec.INVALID) {
+            callBuilder.setStartTime(Instant.ofEpochMilli(startTimeMillis));
+        } else if (timestampMillis != DateTimeCodec.INVALID) {
+            callBuilder.setStartTime(Instant.ofEpochMilli(timestampMillis));
+        }
+    }
+
+    private static void parseHistoricalCall(@Nonnull final XmlPullParser parser, final List<String> parseErrors, final int callDepth, final HistoricalCall.Builder<Jid> callBuilder, final String[] startTimes)
             throws IOException, XmlPullParserException {
         final Optional<String> elementText = SmackPacketUtil.getElementTextString(parser);
         switch (parser.getName()) {
@@ -112,27 +178,20 @@ public class GetCallHistoryResult extends OpenlinkIQ {
             elementText.ifPresent(callBuilder::setCalledName);
             break;
         case "duration":
-            try {
-                elementText.map(Long::parseLong).map(Duration::ofMillis).ifPresent(callBuilder::setDuration);
-            } catch (final NumberFormatException ignored) {
-                parseErrors.add(String.format("Invalid %s; invalid duration '%s'; please supply an integer", STANZA_DESCRIPTION, elementText.get()));
+            if (elementText.isPresent()) {
+                final long duration = NumberCodec.parseLong(elementText.get());
+                if (duration == NumberCodec.INVALID) {
+                    ParseErrorList.add(parseErrors, ParseError.Code.INVALID_INTEGER, STANZA_DESCRIPTION, "duration", elementText.get());
+                } else {
+                    callBuilder.setDuration(Duration.ofMillis(duration));
+                }
             }
             break;
         case "timestamp":
-            if (callBuilder.isStartTimeNull()) {
-                try {
-                    elementText.map(Timestamp::valueOf).map(Timestamp::toInstant).ifPresent(callBuilder::setStartTime);
-                } catch (final IllegalArgumentException ignored) {
-                    parseErrors.add(String.format("Invalid %s; invalid timestamp '%s'; please supply a valid timestamp", STANZA_DESCRIPTION, elementText.get()));
-                }
-            }
+            startTimes[1] = elementText.orElse(null);
             break;
         case "starttime":
-            try {
-                elementText.map(Instant::parse).ifPresent(callBuilder::setStartTime);
-            } catch(final DateTimeParseException ignored) {
-                parseErrors.add(String.format("Invalid %s; invalid starttime '%s'; please supply a valid starttime", STANZA_DESCRIPTION, elementText.get()));
-            }             
+            startTimes[0] = elementText.orElse(null);
             break;
         case "tsc":
             elementText.flatMap(SmackPacketUtil::getSmackJid).ifPresent(callBuilder::setTsc);
@@ -172,8 +231,8 @@ public class GetCallHistoryResult extends OpenlinkIQ {
             xml.optElement("callername", call.getCallerName().orElse(null));
             xml.optElement("called", call.getCalledNumber().map(PhoneNumber::value).orElse(null));
             xml.optElement("calledname", call.getCalledName().orElse(null));
-            xml.optElement("timestamp", call.getStartTime().map(Timestamp::from).map(Timestamp::toString).orElse(null));
-            xml.optElement("starttime", call.getStartTime().map(startTime -> SmackPacketUtil.ISO_8601_FORMATTER.format(startTime.atZone(ZoneOffset.UTC))).orElse(null));
+            xml.optElement("timestamp", call.getStartTime().map(startTime -> DateTimeCodec.formatTimestamp(startTime.toEpochMilli(), ZoneId.systemDefault())).orElse(null));
+            xml.optElement("starttime", call.getStartTime().map(startTime -> DateTimeCodec.formatIso8601(startTime.toEpochMilli())).orElse(null));
             xml.optElement("duration", call.getDuration().map(Duration::toMillis).map(String::valueOf).orElse(null));
             xml.optElement("tsc", call.getTsc().map(Jid::toString).orElse(null));
             xml.closeElement("call");
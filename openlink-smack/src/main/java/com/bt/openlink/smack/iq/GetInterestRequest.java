@@ -3,12 +3,14 @@ package com.bt.openlink.smack.iq;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.util.XmlStringBuilder;
 import org.jxmpp.jid.Jid;
 import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
@@ -21,10 +23,18 @@ public class GetInterestRequest extends OpenlinkIQ{
 
     private static final String ELEMENT_INTEREST = "interest";
     @Nullable private final InterestId interestId;
+    @Nullable private final Template template;
 	
 	private GetInterestRequest(@Nonnull Builder builder, @Nullable List<String> parseErrors) {
         super("command", OpenlinkXmppNamespace.XMPP_COMMANDS.uri(), builder, parseErrors);
         this.interestId = builder.getInterestId().orElse(null);
+        this.template = null;
+    }
+
+    private GetInterestRequest(@Nonnull final Template template, @Nonnull final Jid to, @Nonnull final String id, @Nonnull final InterestId interestId) {
+        super("command", OpenlinkXmppNamespace.XMPP_COMMANDS.uri(), template.from, template.type, to, id);
+        this.interestId = interestId;
+        this.template = template;
     }
 
     @Nonnull
@@ -51,6 +61,20 @@ public class GetInterestRequest extends OpenlinkIQ{
 
     @Override
     protected IQChildElementXmlStringBuilder getIQChildElementBuilder(IQChildElementXmlStringBuilder xml) {
+        if (template == null) {
+            addElementsBeforeInterest(xml);
+            xml.optElement(ELEMENT_INTEREST, interestId);
+            addElementsAfterInterest(xml);
+        } else {
+            xml.append(template.elementsBeforeInterest);
+            xml.optElement(ELEMENT_INTEREST, interestId);
+            xml.append(template.elementsAfterInterest);
+        }
+        return xml;
+    }
+
+    @Nonnull
+    private static XmlStringBuilder addElementsBeforeInterest(@Nonnull final XmlStringBuilder xml) {
         xml.attribute("action", "execute")
                 .attribute("node", OpenlinkXmppNamespace.OPENLINK_GET_INTEREST.uri())
                 .rightAngleBracket();
@@ -59,12 +83,67 @@ public class GetInterestRequest extends OpenlinkIQ{
                 .attribute("type", "input")
                 .rightAngleBracket();
         xml.halfOpenElement(OpenlinkXmppNamespace.TAG_IN).rightAngleBracket();
-        xml.optElement(ELEMENT_INTEREST, interestId);
+        return xml;
+    }
+
+    @Nonnull
+    private static XmlStringBuilder addElementsAfterInterest(@Nonnull final XmlStringBuilder xml) {
         xml.closeElement(OpenlinkXmppNamespace.TAG_IN);
         xml.closeElement(OpenlinkXmppNamespace.TAG_IODATA);
         return xml;
     }
 
+    /**
+     * A template for get-interest requests that differ only in who they are sent to, their id and the interest they
+     * get, e.g. for a monitoring tool. The request is validated and rendered once, when the template is created, so a
+     * request created from the template is neither built nor rendered again, other than its interest id.
+     */
+    public static final class Template {
+        @Nullable private final Jid from;
+        @Nonnull private final IQ.Type type;
+        @Nonnull private final String elementsBeforeInterest;
+        @Nonnull private final String elementsAfterInterest;
+
+        private Template(@Nonnull final GetInterestRequest prototype) {
+            this.from = prototype.getFrom();
+            this.type = prototype.getType();
+            this.elementsBeforeInterest = addElementsBeforeInterest(new XmlStringBuilder()).toString();
+            this.elementsAfterInterest = addElementsAfterInterest(new XmlStringBuilder()).toString();
+        }
+
+        /**
+         * @param prototype
+         *            a request with the same sender as the requests to create; its 'to', id and interest id are ignored
+         * @return a template for requests like the prototype
+         * @throws IllegalArgumentException
+         *             if the prototype has parse errors, or its sender has not been set
+         */
+        @Nonnull
+        public static Template from(@Nonnull final GetInterestRequest prototype) {
+            if (!prototype.getParseErrors().isEmpty()) {
+                throw new IllegalArgumentException("The prototype request has parse errors: " + prototype.getParseErrors());
+            }
+            if (prototype.getFrom() == null) {
+                throw new IllegalArgumentException("The stanza 'from' has not been set");
+            }
+            return new Template(prototype);
+        }
+
+        /**
+         * @param to
+         *            who the request is sent to
+         * @param id
+         *            the id of the request
+         * @param interestId
+         *            the interest to get
+         * @return a request like the template's prototype
+         */
+        @Nonnull
+        public GetInterestRequest newRequest(@Nonnull final Jid to, @Nonnull final String id, @Nonnull final InterestId interestId) {
+            return new GetInterestRequest(this, to, id, Objects.requireNonNull(interestId, "The get-interest request 'interestId' has not been set"));
+        }
+    }
+
     public static final class Builder extends GetInterestRequestBuilder<Builder, Jid, IQ.Type> {
 
         @Nonnull
@@ -1,7 +1,6 @@
 package com.bt.openlink.smack.iq;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +13,7 @@ import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.iq.GetInterestResultBuilder;
 import com.bt.openlink.smack.internal.SmackPacketUtil;
 import com.bt.openlink.type.Interest;
@@ -42,7 +42,7 @@ public class GetInterestResult extends OpenlinkIQ {
 
         final Builder builder = Builder.start();
 
-        final List<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.newParseErrors();
         if (parser.getName().equals(OpenlinkXmppNamespace.TAG_INTEREST)) {
             final Interest.Builder interestBuilder = Interest.Builder.start();
             final Optional<InterestId> interestId = InterestId.from(parser.getAttributeValue("", "id"));
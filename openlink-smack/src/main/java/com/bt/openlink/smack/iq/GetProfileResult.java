@@ -19,6 +19,7 @@ import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.iq.GetProfileResultBuilder;
 import com.bt.openlink.smack.internal.SmackPacketUtil;
 import com.bt.openlink.type.DeviceId;
@@ -59,7 +60,7 @@ public class GetProfileResult extends OpenlinkIQ {
         moveToStartOfTag(parser, OpenlinkXmppNamespace.TAG_IODATA, OpenlinkXmppNamespace.TAG_OUT, OpenlinkXmppNamespace.TAG_PROFILE);
 
         final Builder builder = Builder.start();
-        final List<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.newParseErrors();
         if (parser.getName().equals(OpenlinkXmppNamespace.TAG_PROFILE)) {
             final Profile.Builder profileBuilder = Profile.Builder.start();
             final String namespace = URLDecoder.decode(parser.getNamespace(), StandardCharsets.UTF_8.name());
@@ -1,7 +1,6 @@
 package com.bt.openlink.smack.iq;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -11,11 +10,13 @@ import javax.annotation.Nullable;
 
 import org.jivesoftware.smack.packet.IQ;
 import org.jivesoftware.smack.util.ParserUtils;
+import org.jivesoftware.smack.util.XmlStringBuilder;
 import org.jxmpp.jid.Jid;
 import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.iq.MakeCallRequestBuilder;
 import com.bt.openlink.smack.internal.SmackPacketUtil;
 import com.bt.openlink.type.FeatureId;
@@ -32,6 +33,7 @@ public class MakeCallRequest extends OpenlinkIQ {
     @Nullable private final PhoneNumber destination;
     @Nonnull private final List<MakeCallFeature> features;
     @Nonnull private final List<OriginatorReference> originatorReferences;
+    @Nullable private final Template template;
 
     private MakeCallRequest(@Nonnull Builder builder, @Nullable List<String> parseErrors) {
         super("command", OpenlinkXmppNamespace.XMPP_COMMANDS.uri(), builder, parseErrors);
@@ -41,6 +43,19 @@ public class MakeCallRequest extends OpenlinkIQ {
         this.destination = builder.getDestination().orElse(null);
         this.features = Collections.unmodifiableList(builder.getFeatures());
         this.originatorReferences = Collections.unmodifiableList(builder.getOriginatorReferences());
+        this.template = null;
+    }
+
+    private MakeCallRequest(@Nonnull final Template template, @Nonnull final Jid to, @Nonnull final String id, @Nullable final PhoneNumber destination) {
+        super("command", OpenlinkXmppNamespace.XMPP_COMMANDS.uri(), template.from, template.type, to, id);
+        final MakeCallRequest prototype = template.prototype;
+        this.jid = prototype.jid;
+        this.profileId = prototype.profileId;
+        this.interestId = prototype.interestId;
+        this.destination = destination;
+        this.features = prototype.features;
+        this.originatorReferences = prototype.originatorReferences;
+        this.template = template;
     }
 
     @Nonnull
@@ -78,7 +93,7 @@ public class MakeCallRequest extends OpenlinkIQ {
 
         moveToStartOfTag(parser, OpenlinkXmppNamespace.TAG_IODATA, OpenlinkXmppNamespace.TAG_IN);
 
-        final ArrayList<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.newParseErrors();
         final Builder builder = Builder.start();
         final int inDepth = parser.getDepth();
         parser.nextTag();
@@ -113,7 +128,7 @@ public class MakeCallRequest extends OpenlinkIQ {
         return builder.build(parseErrors);
     }
 
-    private static void getFeatures(final XmlPullParser parser, final ArrayList<String> parseErrors, final Builder builder) throws XmlPullParserException, IOException {
+    private static void getFeatures(final XmlPullParser parser, final List<String> parseErrors, final Builder builder) throws XmlPullParserException, IOException {
         parser.nextTag();
         final int featureDepth = parser.getDepth();
         while (parser.getName().equals(OpenlinkXmppNamespace.TAG_FEATURE)) {
@@ -144,6 +159,20 @@ public class MakeCallRequest extends OpenlinkIQ {
 
     @Override
     protected IQChildElementXmlStringBuilder getIQChildElementBuilder(IQChildElementXmlStringBuilder xml) {
+        if (template == null) {
+            addElementsBeforeDestination(xml);
+            xml.optElement("destination", destination);
+            addElementsAfterDestination(xml);
+        } else {
+            xml.append(template.elementsBeforeDestination);
+            xml.optElement("destination", destination);
+            xml.append(template.elementsAfterDestination);
+        }
+        return xml;
+    }
+
+    @Nonnull
+    private XmlStringBuilder addElementsBeforeDestination(@Nonnull final XmlStringBuilder xml) {
         xml.attribute("action", "execute")
                 .attribute("node", OpenlinkXmppNamespace.OPENLINK_MAKE_CALL.uri())
                 .rightAngleBracket();
@@ -155,7 +184,11 @@ public class MakeCallRequest extends OpenlinkIQ {
         xml.optElement("jid", jid);
         xml.optElement("profile", profileId);
         xml.optElement("interest", interestId);
-        xml.optElement("destination", destination);
+        return xml;
+    }
+
+    @Nonnull
+    private XmlStringBuilder addElementsAfterDestination(@Nonnull final XmlStringBuilder xml) {
         SmackPacketUtil.addOriginatorReferences(xml, originatorReferences);
 
         if (!features.isEmpty()) {
@@ -177,6 +210,63 @@ public class MakeCallRequest extends OpenlinkIQ {
         return xml;
     }
 
+    /**
+     * A template for make-call requests that differ only in who they are sent to, their id and their destination, e.g.
+     * for an auto-dialer. The rest of the request is validated and rendered once, when the template is created, so a
+     * request created from the template is neither built nor rendered again, other than its destination.
+     */
+    public static final class Template {
+        @Nonnull private final MakeCallRequest prototype;
+        @Nullable private final Jid from;
+        @Nonnull private final IQ.Type type;
+        @Nonnull private final String elementsBeforeDestination;
+        @Nonnull private final String elementsAfterDestination;
+
+        private Template(@Nonnull final MakeCallRequest prototype) {
+            this.prototype = prototype;
+            this.from = prototype.getFrom();
+            this.type = prototype.getType();
+            this.elementsBeforeDestination = prototype.addElementsBeforeDestination(new XmlStringBuilder()).toString();
+            this.elementsAfterDestination = prototype.addElementsAfterDestination(new XmlStringBuilder()).toString();
+        }
+
+        /**
+         * @param prototype
+         *            a request with the same sender, jid, profile, interest, features and originator references as the
+         *            requests to create; its 'to', id and destination are ignored
+         * @return a template for requests like the prototype
+         * @throws IllegalArgumentException
+         *             if the prototype has parse errors, or its sender or jid has not been set
+         */
+        @Nonnull
+        public static Template from(@Nonnull final MakeCallRequest prototype) {
+            if (!prototype.getParseErrors().isEmpty()) {
+                throw new IllegalArgumentException("The prototype request has parse errors: " + prototype.getParseErrors());
+            }
+            if (prototype.getFrom() == null) {
+                throw new IllegalArgumentException("The stanza 'from' has not been set");
+            }
+            if (!prototype.getJID().isPresent()) {
+                throw new IllegalArgumentException("The make-call request 'jid' has not been set");
+            }
+            return new Template(prototype);
+        }
+
+        /**
+         * @param to
+         *            who the request is sent to
+         * @param id
+         *            the id of the request
+         * @param destination
+         *            the number to call, if any
+         * @return a request like the template's prototype
+         */
+        @Nonnull
+        public MakeCallRequest newRequest(@Nonnull final Jid to, @Nonnull final String id, @Nullable final PhoneNumber destination) {
+            return new MakeCallRequest(this, to, id, destination);
+        }
+    }
+
     public static final class Builder extends MakeCallRequestBuilder<Builder, Jid, IQ.Type> {
 
         @Nonnull
@@ -1,7 +1,6 @@
 package com.bt.openlink.smack.iq;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +15,7 @@ import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.iq.ManageVoiceMessageRequestBuilder;
 import com.bt.openlink.type.FeatureId;
 import com.bt.openlink.type.ManageVoiceMessageAction;
@@ -73,7 +73,7 @@ public class ManageVoiceMessageRequest extends OpenlinkIQ {
 
         moveToStartOfTag(parser, OpenlinkXmppNamespace.TAG_IODATA, OpenlinkXmppNamespace.TAG_IN);
 
-        final ArrayList<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.newParseErrors();
         final ManageVoiceMessageRequest.Builder builder = ManageVoiceMessageRequest.Builder.start();
         final int inDepth = parser.getDepth();
         parser.nextTag();
@@ -106,7 +106,7 @@ public class ManageVoiceMessageRequest extends OpenlinkIQ {
     }
 
     private static void getFeatures(final XmlPullParser parser,
-                                    final ArrayList<String> parseErrors,
+                                    final List<String> parseErrors,
                                     final ManageVoiceMessageRequest.Builder builder) throws XmlPullParserException, IOException {
         parser.nextTag();
         final int featureDepth = parser.getDepth();
@@ -1,7 +1,6 @@
 package com.bt.openlink.smack.iq;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -13,6 +12,8 @@ import org.jxmpp.jid.Jid;
 import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
+import com.bt.openlink.ParseError;
+import com.bt.openlink.ParseErrorList;
 import com.bt.openlink.iq.IQBuilder;
 
 abstract class OpenlinkIQ extends IQ {
@@ -36,7 +37,7 @@ abstract class OpenlinkIQ extends IQ {
 		}
     }
 
-    @Nonnull private List<String> parseErrors;
+    @Nonnull private final List<String> parseErrors;
 
     OpenlinkIQ(@Nonnull String command, @Nonnull String uri, final @Nonnull IQBuilder<?, Jid, IQ.Type> builder, @Nullable List<String> parseErrors) {
         super(command, uri);
@@ -44,12 +45,20 @@ abstract class OpenlinkIQ extends IQ {
         builder.getFrom().ifPresent(this::setFrom);
         builder.getId().ifPresent(this::setStanzaId);
         builder.getIqType().ifPresent(this::setType);
-        if (parseErrors == null) {
-            this.parseErrors = Collections.emptyList();
-        } else {
-            this.parseErrors = new ArrayList<>(parseErrors);
-            builder.validate(parseErrors);
-        }
+        // The builder has already been validated, and the errors added, by build(parseErrors)
+        this.parseErrors = ParseErrorList.copyOf(parseErrors);
+    }
+
+    /**
+     * Creates a stanza from a template, rather than a builder; the template has already been validated.
+     */
+    OpenlinkIQ(@Nonnull String command, @Nonnull String uri, @Nullable final Jid from, @Nonnull final IQ.Type type, @Nonnull final Jid to, @Nonnull final String id) {
+        super(command, uri);
+        setFrom(from);
+        setType(type);
+        setTo(to);
+        setStanzaId(id);
+        this.parseErrors = Collections.emptyList();
     }
 
     @Nonnull
@@ -57,4 +66,12 @@ abstract class OpenlinkIQ extends IQ {
         return parseErrors;
     }
 
+    /**
+     * @return the errors found whilst parsing the stanza, with what was wrong, where and with which value
+     */
+    @Nonnull
+    public List<ParseError> getParseErrorDetails() {
+        return ParseErrorList.getParseErrors(parseErrors);
+    }
+
 }
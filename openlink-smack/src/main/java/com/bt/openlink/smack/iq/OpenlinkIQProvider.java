@@ -15,6 +15,8 @@ import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
+import com.bt.openlink.ValidationLevel;
 
 public class OpenlinkIQProvider extends IQProvider<IQ> {
 
@@ -70,13 +72,30 @@ public class OpenlinkIQProvider extends IQProvider<IQ> {
             new IQMatcher(OpenlinkXmppNamespace.OPENLINK_REQUEST_ACTION, ATTRIBUTE_STATUS, ACTION_COMPLETED, RequestActionResult::from)
             );
 
+    @Nonnull private final ValidationLevel validationLevel;
+
+    /**
+     * Creates a provider that validates the stanzas it parses in full.
+     */
+    public OpenlinkIQProvider() {
+        this(ValidationLevel.FULL);
+    }
+
+    /**
+     * @param validationLevel
+     *            how thoroughly to validate the stanzas parsed
+     */
+    public OpenlinkIQProvider(@Nonnull final ValidationLevel validationLevel) {
+        this.validationLevel = validationLevel;
+    }
+
     @Override
     public IQ parse(XmlPullParser xmlPullParser, int initialDepth) throws Exception {
         final String node = xmlPullParser.getAttributeValue("", "node");
         for (final IQMatcher iqMatcher : STANZA_TYPE_MATCHER_LIST) {
             final String value = xmlPullParser.getAttributeValue("", iqMatcher.attribute);
             if (iqMatcher.matches(node, value)) {
-                return iqMatcher.stanzaFactory.from(xmlPullParser);
+                return ParseContext.parse(validationLevel, () -> iqMatcher.stanzaFactory.from(xmlPullParser));
             }
         }
 
@@ -1,6 +1,7 @@
 package com.bt.openlink.smack.iq;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.iq.RequestActionRequestBuilder;
 import com.bt.openlink.smack.internal.SmackPacketUtil;
 import com.bt.openlink.type.CallId;
@@ -11,6 +12,7 @@ import com.bt.openlink.type.RequestAction;
 import com.bt.openlink.type.RequestActionValue;
 import org.jivesoftware.smack.packet.IQ;
 import org.jivesoftware.smack.util.ParserUtils;
+import org.jivesoftware.smack.util.XmlStringBuilder;
 import org.jxmpp.jid.Jid;
 import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
@@ -18,8 +20,8 @@ import org.xmlpull.v1.XmlPullParserException;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 
@@ -31,6 +33,7 @@ public class RequestActionRequest extends OpenlinkIQ {
     @Nullable private final RequestActionValue value2;
     @Nullable private final CallId callId;
     @Nonnull private final List<MakeCallFeature> features;
+    @Nullable private final Template template;
 
     private RequestActionRequest(@Nonnull RequestActionRequest.Builder builder,
             @Nullable List<String> parseErrors) {
@@ -41,12 +44,25 @@ public class RequestActionRequest extends OpenlinkIQ {
         this.value1 = builder.getValue1().orElse(null);
         this.value2 = builder.getValue2().orElse(null);
         this.features = builder.getFeatures();
+        this.template = null;
+    }
+
+    private RequestActionRequest(@Nonnull final Template template, @Nonnull final Jid to, @Nonnull final String id, @Nonnull final CallId callId) {
+        super("command", OpenlinkXmppNamespace.XMPP_COMMANDS.uri(), template.from, template.type, to, id);
+        final RequestActionRequest prototype = template.prototype;
+        this.interestId = prototype.interestId;
+        this.callId = callId;
+        this.action = prototype.action;
+        this.value1 = prototype.value1;
+        this.value2 = prototype.value2;
+        this.features = prototype.features;
+        this.template = template;
     }
 
     @Nonnull
     static IQ from(XmlPullParser parser) throws IOException, XmlPullParserException {
         final RequestActionRequest.Builder builder = RequestActionRequest.Builder.start();
-        final ArrayList<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.newParseErrors();
 
         moveToStartOfTag(parser, OpenlinkXmppNamespace.TAG_IODATA, OpenlinkXmppNamespace.TAG_IN);
 
@@ -91,6 +107,20 @@ public class RequestActionRequest extends OpenlinkIQ {
 
     @Override
     protected IQChildElementXmlStringBuilder getIQChildElementBuilder(final IQChildElementXmlStringBuilder xml) {
+        if (template == null) {
+            addElementsBeforeCall(xml);
+            xml.optElement("call", callId);
+            addElementsAfterCall(xml);
+        } else {
+            xml.append(template.elementsBeforeCall);
+            xml.optElement("call", callId);
+            xml.append(template.elementsAfterCall);
+        }
+        return xml;
+    }
+
+    @Nonnull
+    private XmlStringBuilder addElementsBeforeCall(@Nonnull final XmlStringBuilder xml) {
         xml.attribute("action", "execute")
                 .attribute("node", OpenlinkXmppNamespace.OPENLINK_REQUEST_ACTION.uri())
                 .rightAngleBracket();
@@ -102,7 +132,11 @@ public class RequestActionRequest extends OpenlinkIQ {
 
             getInterestId().ifPresent(interestId -> xml.element("interest", interestId.value()));
             getAction().ifPresent(action -> xml.element("action", action.getId()));
-        getCallId().ifPresent(callId -> xml.element("call", callId.value()));
+        return xml;
+    }
+
+    @Nonnull
+    private XmlStringBuilder addElementsAfterCall(@Nonnull final XmlStringBuilder xml) {
         getValue1().ifPresent(requestActionValue -> xml.optElement("value1", requestActionValue.value()));
         getValue2().ifPresent(requestActionValue -> xml.optElement("value2", requestActionValue.value()));
 
@@ -152,6 +186,66 @@ public class RequestActionRequest extends OpenlinkIQ {
         return features;
     }
 
+    /**
+     * A template for request-action requests that differ only in who they are sent to, their id and the call they act
+     * on. The rest of the request is validated and rendered once, when the template is created, so a request created
+     * from the template is neither built nor rendered again, other than its call id.
+     */
+    public static final class Template {
+        @Nonnull private final RequestActionRequest prototype;
+        @Nullable private final Jid from;
+        @Nonnull private final IQ.Type type;
+        @Nonnull private final String elementsBeforeCall;
+        @Nonnull private final String elementsAfterCall;
+
+        private Template(@Nonnull final RequestActionRequest prototype) {
+            this.prototype = prototype;
+            this.from = prototype.getFrom();
+            this.type = prototype.getType();
+            this.elementsBeforeCall = prototype.addElementsBeforeCall(new XmlStringBuilder()).toString();
+            this.elementsAfterCall = prototype.addElementsAfterCall(new XmlStringBuilder()).toString();
+        }
+
+        /**
+         * @param prototype
+         *            a request with the same sender, interest, action, values and features as the requests to create;
+         *            its 'to', id and call id are ignored
+         * @return a template for requests like the prototype
+         * @throws IllegalArgumentException
+         *             if the prototype has parse errors, or its sender, interest or action has not been set
+         */
+        @Nonnull
+        public static Template from(@Nonnull final RequestActionRequest prototype) {
+            if (!prototype.getParseErrors().isEmpty()) {
+                throw new IllegalArgumentException("The prototype request has parse errors: " + prototype.getParseErrors());
+            }
+            if (prototype.getFrom() == null) {
+                throw new IllegalArgumentException("The stanza 'from' has not been set");
+            }
+            if (!prototype.getInterestId().isPresent()) {
+                throw new IllegalArgumentException("The request-action 'interestId' has not been set");
+            }
+            if (!prototype.getAction().isPresent()) {
+                throw new IllegalArgumentException("The request-action 'action' has not been set");
+            }
+            return new Template(prototype);
+        }
+
+        /**
+         * @param to
+         *            who the request is sent to
+         * @param id
+         *            the id of the request
+         * @param callId
+         *            the call to act on
+         * @return a request like the template's prototype
+         */
+        @Nonnull
+        public RequestActionRequest newRequest(@Nonnull final Jid to, @Nonnull final String id, @Nonnull final CallId callId) {
+            return new RequestActionRequest(this, to, id, Objects.requireNonNull(callId, "The request-action 'callId' has not been set"));
+        }
+    }
+
     public static final class Builder extends RequestActionRequestBuilder<RequestActionRequest.Builder, Jid, Type> {
 
         private Builder() {
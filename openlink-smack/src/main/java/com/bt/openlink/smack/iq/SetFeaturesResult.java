@@ -1,7 +1,6 @@
 package com.bt.openlink.smack.iq;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.Nonnull;
@@ -13,6 +12,7 @@ import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.iq.IQBuilder;
 import com.bt.openlink.smack.internal.SmackPacketUtil;
 
@@ -36,7 +36,7 @@ public class SetFeaturesResult extends OpenlinkIQ {
         moveToStartOfTag(parser, OpenlinkXmppNamespace.TAG_IODATA, OpenlinkXmppNamespace.TAG_OUT);
 
         final SetFeaturesResult.Builder builder = SetFeaturesResult.Builder.start();
-        final List<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.newParseErrors();
         return builder.build(parseErrors);
     }
 
@@ -73,17 +73,6 @@ public class SetFeaturesResult extends OpenlinkIQ {
             super(Type.class);
         }
 
-        @Override
-        public void validate(final List<String> errors) {
-            validate(errors, true);
-        }
-
-        protected void validate(List<String> errors, boolean checkIQFields) {
-            if (checkIQFields) {
-                super.validate(errors);
-            }
-        }
-
         @Nonnull
         public SetFeaturesResult build() {
             super.validate();
@@ -0,0 +1,169 @@
+package com.bt.openlink.smack;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jivesoftware.smack.packet.Stanza;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.smack.iq.GetProfilesRequest;
+import com.bt.openlink.smack.iq.RequestActionRequest;
+import com.bt.openlink.smack.iq.RequestActionResult;
+import com.bt.openlink.type.CallId;
+import com.bt.openlink.type.InterestId;
+import com.bt.openlink.type.RequestAction;
+
+@SuppressWarnings("ConstantConditions")
+public class OpenlinkStanzaDispatcherTest {
+
+    private static final InterestId OTHER_INTEREST_ID = InterestId.from("other-interest-id").get();
+    private static final CallId OTHER_CALL_ID = CallId.from("other-call-id").get();
+
+    private OpenlinkStanzaDispatcher dispatcher;
+    private List<Stanza> received;
+    private RequestActionResult requestActionResult;
+
+    @Before
+    public void setUp() {
+        dispatcher = new OpenlinkStanzaDispatcher();
+        received = new ArrayList<>();
+        requestActionResult = RequestActionResult.Builder.start()
+                .setId(CoreFixtures.STANZA_ID)
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setCallStatus(CoreFixtures.CALL_STATUS)
+                .build();
+    }
+
+    @Test
+    public void willDispatchByStanzaClass() {
+        final List<RequestActionResult> results = new ArrayList<>();
+        dispatcher.addStanzaHandler(RequestActionResult.class, results::add);
+        dispatcher.addStanzaHandler(RequestActionRequest.class, received::add);
+
+        dispatcher.processStanza(requestActionResult);
+
+        assertThat(results, contains(requestActionResult));
+        assertThat(received, is(empty()));
+    }
+
+    @Test
+    public void willDispatchByInterestId() {
+        dispatcher.addInterestHandler(CoreFixtures.INTEREST_ID, received::add);
+        dispatcher.addInterestHandler(OTHER_INTEREST_ID, stanza -> received.add(null));
+
+        dispatcher.processStanza(requestActionResult);
+
+        assertThat(received, contains(requestActionResult));
+    }
+
+    @Test
+    public void willDispatchByPubSubNodeId() {
+        dispatcher.addPubSubNodeHandler(CoreFixtures.INTEREST_ID.toPubSubNodeId(), received::add);
+
+        dispatcher.processStanza(requestActionResult);
+
+        assertThat(received, contains(requestActionResult));
+    }
+
+    @Test
+    public void willDispatchByCallId() {
+        final RequestActionRequest request = RequestActionRequest.Builder.start()
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setInterestId(OTHER_INTEREST_ID)
+                .setAction(RequestAction.ANSWER_CALL)
+                .setCallId(CoreFixtures.CALL_ID)
+                .build();
+        dispatcher.addCallHandler(CoreFixtures.CALL_ID, received::add);
+        dispatcher.addCallHandler(OTHER_CALL_ID, stanza -> received.add(null));
+
+        dispatcher.processStanza(request);
+
+        assertThat(received, contains(request));
+    }
+
+    @Test
+    public void willOnlyNotifyAHandlerOnceForAStanza() {
+        final Consumer<Stanza> handler = received::add;
+        dispatcher.addInterestHandler(CoreFixtures.INTEREST_ID, handler);
+        dispatcher.addCallHandler(CoreFixtures.CALL_ID, handler);
+
+        dispatcher.processStanza(requestActionResult);
+
+        assertThat(received, contains(requestActionResult));
+    }
+
+    @Test
+    public void willNotDispatchToARemovedHandler() {
+        final Consumer<Stanza> handler = received::add;
+        dispatcher.addInterestHandler(CoreFixtures.INTEREST_ID, handler);
+        final Consumer<Stanza> stanzaHandler = dispatcher.addStanzaHandler(RequestActionResult.class, received::add);
+
+        assertThat(dispatcher.removeInterestHandler(CoreFixtures.INTEREST_ID, handler), is(true));
+        assertThat(dispatcher.removeStanzaHandler(RequestActionResult.class, stanzaHandler), is(true));
+        assertThat(dispatcher.removeInterestHandler(CoreFixtures.INTEREST_ID, handler), is(false));
+        dispatcher.processStanza(requestActionResult);
+
+        assertThat(received, is(empty()));
+    }
+
+    @Test
+    public void willContinueDispatchingIfAHandlerFails() {
+        dispatcher.addInterestHandler(CoreFixtures.INTEREST_ID, stanza -> {
+            throw new IllegalStateException("test handler failure");
+        });
+        dispatcher.addInterestHandler(CoreFixtures.INTEREST_ID, received::add);
+
+        try {
+            dispatcher.processStanza(requestActionResult);
+            fail("The handler failure was not thrown");
+        } catch (final IllegalStateException e) {
+            assertThat(e.getMessage(), is("test handler failure"));
+        }
+
+        assertThat(received, contains(requestActionResult));
+    }
+
+    @Test
+    public void willPassHandlerFailuresToTheExceptionHandler() {
+        final List<RuntimeException> failures = new ArrayList<>();
+        dispatcher = new OpenlinkStanzaDispatcher((stanza, e) -> failures.add(e));
+        final IllegalStateException failure = new IllegalStateException("test handler failure");
+        dispatcher.addInterestHandler(CoreFixtures.INTEREST_ID, stanza -> {
+            throw failure;
+        });
+        dispatcher.addCallHandler(CoreFixtures.CALL_ID, received::add);
+
+        dispatcher.processStanza(requestActionResult);
+
+        assertThat(failures, contains(failure));
+        assertThat(received, contains(requestActionResult));
+    }
+
+    @Test
+    public void willAcceptOnlyStanzasThatCanBeRouted() {
+        final GetProfilesRequest getProfilesRequest = GetProfilesRequest.Builder.start()
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setJID(Fixtures.USER_BARE_JID)
+                .build();
+
+        assertThat(dispatcher.accept(requestActionResult), is(true));
+        assertThat(dispatcher.accept(getProfilesRequest), is(false));
+
+        dispatcher.addStanzaHandler(GetProfilesRequest.class, received::add);
+
+        assertThat(dispatcher.accept(getProfilesRequest), is(true));
+    }
+
+}
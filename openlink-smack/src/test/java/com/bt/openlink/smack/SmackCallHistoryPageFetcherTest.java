@@ -0,0 +1,96 @@
+package com.bt.openlink.smack;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.jivesoftware.smack.ExceptionCallback;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.StanzaListener;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.packet.IQ;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.jxmpp.jid.Jid;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.GetCallHistoryFixtures;
+import com.bt.openlink.history.CallHistoryPage;
+import com.bt.openlink.smack.iq.GetCallHistoryRequest;
+import com.bt.openlink.smack.iq.GetCallHistoryResult;
+import com.bt.openlink.type.HistoricalCall;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SmackCallHistoryPageFetcherTest {
+
+    @Mock private XMPPConnection connection;
+    private SmackCallHistoryPageFetcher fetcher;
+
+    @Before
+    public void setUp() {
+        fetcher = new SmackCallHistoryPageFetcher(connection, () -> GetCallHistoryRequest.Builder.start()
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setJID(Fixtures.USER_BARE_JID));
+    }
+
+    @Test
+    public void willRequestAPage() throws Exception {
+        final HistoricalCall<Jid> call = GetCallHistoryFixtures.getHistoricalCall(Fixtures.TO_JID);
+
+        final CompletableFuture<CallHistoryPage<Jid>> page = fetcher.fetch(10, 5).toCompletableFuture();
+
+        final ArgumentCaptor<IQ> requestCaptor = ArgumentCaptor.forClass(IQ.class);
+        final ArgumentCaptor<StanzaListener> listenerCaptor = ArgumentCaptor.forClass(StanzaListener.class);
+        verify(connection).sendIqWithResponseCallback(requestCaptor.capture(), listenerCaptor.capture(), any(ExceptionCallback.class));
+        final GetCallHistoryRequest request = (GetCallHistoryRequest) requestCaptor.getValue();
+        assertThat(request.getJID(), is(Optional.of(Fixtures.USER_BARE_JID)));
+        assertThat(request.getStart(), is(Optional.of(10L)));
+        assertThat(request.getCount(), is(Optional.of(5L)));
+        assertThat(page.isDone(), is(false));
+
+        listenerCaptor.getValue().processStanza(GetCallHistoryResult.Builder.start()
+                .setId(CoreFixtures.STANZA_ID)
+                .setTo(Fixtures.FROM_JID)
+                .setFrom(Fixtures.TO_JID)
+                .setTotalRecordCount(11)
+                .setFirstRecordNumber(10)
+                .addCall(call)
+                .build());
+
+        assertThat(page.get().getTotalRecordCount(), is(Optional.of(11L)));
+        assertThat(page.get().getCalls(), is(Collections.singletonList(call)));
+    }
+
+    @Test
+    public void willFailThePageIfTheRequestFails() throws Exception {
+        final ArgumentCaptor<ExceptionCallback> exceptionCallbackCaptor = ArgumentCaptor.forClass(ExceptionCallback.class);
+        final Exception failure = new Exception("test failure");
+
+        final CompletableFuture<CallHistoryPage<Jid>> page = fetcher.fetch(0, 5).toCompletableFuture();
+        verify(connection).sendIqWithResponseCallback(any(IQ.class), any(StanzaListener.class), exceptionCallbackCaptor.capture());
+        exceptionCallbackCaptor.getValue().processException(failure);
+
+        assertThat(page.isCompletedExceptionally(), is(true));
+    }
+
+    @Test
+    public void willFailThePageIfNotConnected() throws Exception {
+        doThrow(SmackException.NotConnectedException.class).when(connection).sendIqWithResponseCallback(any(IQ.class), any(StanzaListener.class), any(ExceptionCallback.class));
+
+        final CompletableFuture<CallHistoryPage<Jid>> page = fetcher.fetch(0, 5).toCompletableFuture();
+
+        assertThat(page.isCompletedExceptionally(), is(true));
+    }
+
+}
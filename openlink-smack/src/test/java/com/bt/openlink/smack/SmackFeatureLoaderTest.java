@@ -0,0 +1,91 @@
+package com.bt.openlink.smack;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.jivesoftware.smack.ExceptionCallback;
+import org.jivesoftware.smack.StanzaListener;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.packet.IQ;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.smack.iq.QueryFeaturesRequest;
+import com.bt.openlink.smack.iq.QueryFeaturesResult;
+import com.bt.openlink.smack.iq.SetFeaturesRequest;
+import com.bt.openlink.smack.iq.SetFeaturesResult;
+import com.bt.openlink.type.ActiveFeature;
+import com.bt.openlink.type.FeatureType;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SmackFeatureLoaderTest {
+
+    private static final ActiveFeature ACTIVE_FEATURE = ActiveFeature.Builder.start()
+            .setId(CoreFixtures.FEATURE_ID)
+            .setType(FeatureType.HANDSET)
+            .setLabel("Handset")
+            .setValue1("false")
+            .build();
+
+    @Mock private XMPPConnection connection;
+    private SmackFeatureLoader loader;
+    private ArgumentCaptor<IQ> requestCaptor;
+    private ArgumentCaptor<StanzaListener> listenerCaptor;
+
+    @Before
+    public void setUp() {
+        doReturn(Fixtures.USER_FULL_JID).when(connection).getUser();
+        loader = new SmackFeatureLoader(connection, Fixtures.TO_JID);
+        requestCaptor = ArgumentCaptor.forClass(IQ.class);
+        listenerCaptor = ArgumentCaptor.forClass(StanzaListener.class);
+    }
+
+    @Test
+    public void willQueryTheFeaturesOfAProfile() throws Exception {
+        final CompletableFuture<List<ActiveFeature>> features = loader.queryFeatures(CoreFixtures.PROFILE_ID).toCompletableFuture();
+
+        verify(connection).sendIqWithResponseCallback(requestCaptor.capture(), listenerCaptor.capture(), any(ExceptionCallback.class));
+        final QueryFeaturesRequest request = (QueryFeaturesRequest) requestCaptor.getValue();
+        assertThat(request.getTo(), is(Fixtures.TO_JID));
+        assertThat(request.getFrom(), is(Fixtures.USER_FULL_JID));
+        assertThat(request.getProfileId(), is(Optional.of(CoreFixtures.PROFILE_ID)));
+        listenerCaptor.getValue().processStanza(QueryFeaturesResult.Builder.start()
+                .setTo(Fixtures.FROM_JID)
+                .setFrom(Fixtures.TO_JID)
+                .addFeature(ACTIVE_FEATURE)
+                .build());
+
+        assertThat(features.get(), contains(ACTIVE_FEATURE));
+    }
+
+    @Test
+    public void willSetAFeature() throws Exception {
+        final CompletableFuture<Void> result = loader.setFeature(CoreFixtures.PROFILE_ID, CoreFixtures.FEATURE_ID, "true", null, null).toCompletableFuture();
+
+        verify(connection).sendIqWithResponseCallback(requestCaptor.capture(), listenerCaptor.capture(), any(ExceptionCallback.class));
+        final SetFeaturesRequest request = (SetFeaturesRequest) requestCaptor.getValue();
+        assertThat(request.getProfileId(), is(Optional.of(CoreFixtures.PROFILE_ID)));
+        assertThat(request.getFeatureId(), is(Optional.of(CoreFixtures.FEATURE_ID)));
+        assertThat(request.getValue1(), is(Optional.of("true")));
+        assertThat(request.getValue2(), is(Optional.empty()));
+        assertThat(result.isDone(), is(false));
+        listenerCaptor.getValue().processStanza(SetFeaturesResult.Builder.createResultBuilder(request).build());
+
+        assertThat(result.isDone(), is(true));
+        assertThat(result.isCompletedExceptionally(), is(false));
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.bt.openlink.smack;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.jivesoftware.smack.ExceptionCallback;
+import org.jivesoftware.smack.StanzaListener;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.packet.IQ;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.smack.iq.GetProfilesRequest;
+import com.bt.openlink.smack.iq.GetProfilesResult;
+import com.bt.openlink.type.Interest;
+import com.bt.openlink.type.Profile;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SmackProfileLoaderTest {
+
+    @Mock private XMPPConnection connection;
+    private SmackProfileLoader loader;
+    private ArgumentCaptor<IQ> requestCaptor;
+    private ArgumentCaptor<StanzaListener> listenerCaptor;
+
+    @Before
+    public void setUp() {
+        doReturn(Fixtures.USER_FULL_JID).when(connection).getUser();
+        loader = new SmackProfileLoader(connection, Fixtures.TO_JID);
+        requestCaptor = ArgumentCaptor.forClass(IQ.class);
+        listenerCaptor = ArgumentCaptor.forClass(StanzaListener.class);
+    }
+
+    @Test
+    public void willRequestTheProfilesOfAUser() throws Exception {
+        final CompletableFuture<List<Profile>> profiles = loader.getProfiles(Fixtures.USER_BARE_JID).toCompletableFuture();
+
+        verify(connection).sendIqWithResponseCallback(requestCaptor.capture(), listenerCaptor.capture(), any(ExceptionCallback.class));
+        final GetProfilesRequest request = (GetProfilesRequest) requestCaptor.getValue();
+        assertThat(request.getTo(), is(Fixtures.TO_JID));
+        assertThat(request.getFrom(), is(Fixtures.USER_FULL_JID));
+        assertThat(request.getJID(), is(Optional.of(Fixtures.USER_BARE_JID)));
+        listenerCaptor.getValue().processStanza(GetProfilesResult.Builder.start()
+                .setTo(Fixtures.FROM_JID)
+                .setFrom(Fixtures.TO_JID)
+                .addProfile(CoreFixtures.PROFILE)
+                .build());
+
+        assertThat(profiles.get(), contains(CoreFixtures.PROFILE));
+    }
+
+    @Test
+    public void willFailOnAnUnexpectedResponse() throws Exception {
+        final CompletableFuture<Interest> interest = loader.getInterest(CoreFixtures.INTEREST_ID).toCompletableFuture();
+
+        verify(connection).sendIqWithResponseCallback(requestCaptor.capture(), listenerCaptor.capture(), any(ExceptionCallback.class));
+        listenerCaptor.getValue().processStanza(GetProfilesResult.Builder.start()
+                .setTo(Fixtures.FROM_JID)
+                .setFrom(Fixtures.TO_JID)
+                .addProfile(CoreFixtures.PROFILE)
+                .build());
+
+        assertThat(interest.isCompletedExceptionally(), is(true));
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.bt.openlink.smack;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.flow.OverflowStrategy;
+import com.bt.openlink.flow.StatusPublisher;
+import com.bt.openlink.smack.iq.GetProfilesRequest;
+import com.bt.openlink.smack.iq.ManageVoiceMessageResult;
+import com.bt.openlink.smack.iq.RequestActionResult;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.DeviceStatus;
+
+public class SmackStatusListenerTest {
+
+    private StatusPublisher<CallStatus> callStatusPublisher;
+    private StatusPublisher<DeviceStatus> deviceStatusPublisher;
+    private List<Object> received;
+    private SmackStatusListener listener;
+
+    @Before
+    public void setUp() {
+        callStatusPublisher = new StatusPublisher<>(OverflowStrategy.BUFFER, 10, callStatus -> callStatus, Runnable::run);
+        deviceStatusPublisher = new StatusPublisher<>(OverflowStrategy.BUFFER, 10, deviceStatus -> deviceStatus, Runnable::run);
+        received = new ArrayList<>();
+        callStatusPublisher.subscribe(new RecordingSubscriber<>());
+        deviceStatusPublisher.subscribe(new RecordingSubscriber<>());
+        listener = new SmackStatusListener(callStatusPublisher, deviceStatusPublisher);
+    }
+
+    @Test
+    public void willPublishTheCallStatusFromAResult() {
+        final RequestActionResult result = RequestActionResult.Builder.start()
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setCallStatus(CoreFixtures.CALL_STATUS)
+                .build();
+
+        assertThat(listener.accept(result), is(true));
+        listener.processStanza(result);
+
+        assertThat(received, contains(CoreFixtures.CALL_STATUS));
+    }
+
+    @Test
+    public void willPublishTheDeviceStatusFromAResult() {
+        final ManageVoiceMessageResult result = ManageVoiceMessageResult.Builder.start()
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setDeviceStatus(CoreFixtures.DEVICE_STATUS_LOGON)
+                .build();
+
+        assertThat(listener.accept(result), is(true));
+        listener.processStanza(result);
+
+        assertThat(received, contains(CoreFixtures.DEVICE_STATUS_LOGON));
+    }
+
+    @Test
+    public void willNotAcceptStanzasWithoutStatus() {
+        final GetProfilesRequest request = GetProfilesRequest.Builder.start()
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setJID(Fixtures.USER_BARE_JID)
+                .build();
+
+        assertThat(listener.accept(request), is(false));
+    }
+
+    private class RecordingSubscriber<T> implements Subscriber<T> {
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final T item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+}
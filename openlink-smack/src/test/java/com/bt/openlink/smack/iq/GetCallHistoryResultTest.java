@@ -1,6 +1,7 @@
 package com.bt.openlink.smack.iq;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.Assert.assertThat;
@@ -10,6 +11,7 @@ import static org.xmlunit.matchers.CompareMatcher.isIdenticalTo;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.TimeZone;
 
@@ -21,11 +23,14 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.jxmpp.jid.Jid;
 import org.jxmpp.jid.impl.JidCreate;
+import org.xmlpull.v1.XmlPullParser;
 
 import com.bt.openlink.CoreFixtures;
 import com.bt.openlink.GetCallHistoryFixtures;
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.history.CallHistoryListener;
 import com.bt.openlink.smack.Fixtures;
 import com.bt.openlink.type.HistoricalCall;
 
@@ -138,6 +143,43 @@ public class GetCallHistoryResultTest {
         assertThat(result.getCalls().get(0).getStartTime(), is(Optional.of(Instant.parse("2011-12-13T14:15:16.178Z"))));
     }
 
+    @Test
+    public void willReportAnInvalidTimestampAlongsideAValidStartTime() throws Exception {
+
+        final GetCallHistoryResult result = PacketParserUtils.parseStanza(GetCallHistoryFixtures.CALL_HISTORY_RESULT_WITH_BAD_TIMESTAMP);
+
+        assertThat(result.getCalls().get(0).getStartTime(), is(Optional.of(Instant.parse("2011-12-13T14:15:16.178Z"))));
+        assertThat(result.getParseErrors(), contains("Invalid get-call-history result; invalid timestamp 'not-a-timestamp'; please supply a valid timestamp"));
+    }
+
+    @Test
+    public void willStreamCallsToAListener() throws Exception {
+        final List<String> events = new ArrayList<>();
+        final List<HistoricalCall<Jid>> calls = new ArrayList<>();
+        final XmlPullParser parser = PacketParserUtils.getParserFor(GetCallHistoryFixtures.CALL_HISTORY_RESULT);
+        // Move to the <command> element, as the IQ provider would
+        parser.nextTag();
+
+        final GetCallHistoryResult result = GetCallHistoryResult.from(parser, new CallHistoryListener<Jid>() {
+            @Override
+            public void onRecordCounts(final Optional<Long> totalRecordCount, final Optional<Long> firstRecordNumber, final Optional<Long> recordCountInBatch) {
+                events.add("counts " + totalRecordCount.get() + "/" + firstRecordNumber.get() + "/" + recordCountInBatch.get());
+            }
+
+            @Override
+            public void onCall(final HistoricalCall<Jid> call) {
+                events.add("call");
+                calls.add(call);
+            }
+        });
+
+        assertThat(events, contains("counts 2/0/1", "call"));
+        assertReflectionEquals(Collections.singletonList(GetCallHistoryFixtures.getHistoricalCall(JidCreate.from(CoreFixtures.TSC))), calls);
+        assertThat(result.getCalls(), is(empty()));
+        assertThat(result.getTotalRecordCount(), is(Optional.of(2L)));
+        assertThat(result.getParseErrors(), is(empty()));
+    }
+
     @Test
     public void willCreateAResultFromARequest() throws Exception {
 
@@ -20,6 +20,7 @@ import com.bt.openlink.CoreFixtures;
 import com.bt.openlink.GetInterestFixtures;
 import com.bt.openlink.OpenlinkXmppNamespace;
 import com.bt.openlink.smack.Fixtures;
+import com.bt.openlink.type.InterestId;
 
 @SuppressWarnings("ConstantConditions")
 public class GetInterestRequestTest {
@@ -66,6 +67,49 @@ public class GetInterestRequestTest {
         assertThat(request.toXML().toString(), isIdenticalTo(GetInterestFixtures.GET_INTEREST_REQUEST).ignoreWhitespace());
     }
 
+    @Test
+    public void willGenerateAnXmppStanzaFromATemplate() throws Exception {
+
+        final GetInterestRequest prototype = GetInterestRequest.Builder.start()
+                .setId("prototype-id")
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setInterestId(InterestId.from("prototype-interest-id").get())
+                .build();
+
+        final GetInterestRequest request = GetInterestRequest.Template.from(prototype).newRequest(Fixtures.TO_JID, CoreFixtures.STANZA_ID, CoreFixtures.INTEREST_ID);
+
+        assertThat(request.toXML().toString(), isIdenticalTo(GetInterestFixtures.GET_INTEREST_REQUEST).ignoreWhitespace());
+        assertThat(request.getInterestId().get(), is(CoreFixtures.INTEREST_ID));
+    }
+
+    @Test
+    public void willNotGenerateARequestFromATemplateWithoutAnInterestId() throws Exception {
+
+        final GetInterestRequest.Template template = GetInterestRequest.Template.from(GetInterestRequest.Builder.start()
+                .setId("prototype-id")
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setInterestId(InterestId.from("prototype-interest-id").get())
+                .build());
+
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage("The get-interest request 'interestId' has not been set");
+
+        template.newRequest(Fixtures.TO_JID, CoreFixtures.STANZA_ID, null);
+    }
+
+    @Test
+    public void willNotGenerateATemplateFromAPrototypeWithParseErrors() throws Exception {
+
+        final GetInterestRequest prototype = PacketParserUtils.parseStanza(GetInterestFixtures.GET_INTEREST_REQUEST_WITH_BAD_VALUES);
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The prototype request has parse errors");
+
+        GetInterestRequest.Template.from(prototype);
+    }
+
     @Test
     public void willGenerateAnXmppStanzaWithARandomId() throws Exception {
 
@@ -4,6 +4,7 @@ import com.bt.openlink.CoreFixtures;
 import com.bt.openlink.OpenlinkXmppNamespace;
 import com.bt.openlink.RequestActionFixtures;
 import com.bt.openlink.smack.Fixtures;
+import com.bt.openlink.type.CallId;
 import com.bt.openlink.type.MakeCallFeature;
 import com.bt.openlink.type.RequestAction;
 import org.jivesoftware.smack.packet.IQ;
@@ -76,6 +77,56 @@ public class RequestActionRequestTest {
         assertThat(request.toXML().toString(), isIdenticalTo(RequestActionFixtures.REQUEST_ACTION_REQUEST).ignoreWhitespace());
     }
 
+    @Test
+    public void willGenerateAnXmppStanzaFromATemplate() throws Exception {
+
+        final RequestActionRequest prototype = RequestActionRequest.Builder.start()
+                .setId("prototype-id")
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setInterestId(CoreFixtures.INTEREST_ID)
+                .setAction(RequestAction.START_VOICE_DROP)
+                .setCallId(CallId.from("prototype-call-id").get())
+                .setValue1(RequestActionFixtures.REQUEST_ACTION_VALUE_1)
+                .setValue2(RequestActionFixtures.REQUEST_ACTION_VALUE_2)
+                .build();
+
+        final RequestActionRequest request = RequestActionRequest.Template.from(prototype).newRequest(Fixtures.TO_JID, CoreFixtures.STANZA_ID, CoreFixtures.CALL_ID);
+
+        assertThat(request.toXML().toString(), isIdenticalTo(RequestActionFixtures.REQUEST_ACTION_REQUEST).ignoreWhitespace());
+        assertThat(request.getCallId().get(), is(CoreFixtures.CALL_ID));
+        assertThat(request.getAction().get(), is(RequestAction.START_VOICE_DROP));
+    }
+
+    @Test
+    public void willNotGenerateARequestFromATemplateWithoutACallId() throws Exception {
+
+        final RequestActionRequest.Template template = RequestActionRequest.Template.from(RequestActionRequest.Builder.start()
+                .setId("prototype-id")
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setInterestId(CoreFixtures.INTEREST_ID)
+                .setAction(RequestAction.HOLD_CALL)
+                .setCallId(CallId.from("prototype-call-id").get())
+                .build());
+
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage("The request-action 'callId' has not been set");
+
+        template.newRequest(Fixtures.TO_JID, CoreFixtures.STANZA_ID, null);
+    }
+
+    @Test
+    public void willNotGenerateATemplateFromAPrototypeWithParseErrors() throws Exception {
+
+        final RequestActionRequest prototype = PacketParserUtils.parseStanza(RequestActionFixtures.REQUEST_ACTION_REQUEST_WITH_BAD_VALUES);
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The prototype request has parse errors");
+
+        RequestActionRequest.Template.from(prototype);
+    }
+
     @Test
     public void willParseAnXmppStanza() throws Exception {
 
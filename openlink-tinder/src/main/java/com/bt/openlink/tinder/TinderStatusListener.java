@@ -0,0 +1,93 @@
+package com.bt.openlink.tinder;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.xmpp.packet.IQ;
+import org.xmpp.packet.Message;
+import org.xmpp.packet.Packet;
+
+import com.bt.openlink.flow.StatusPublisher;
+import com.bt.openlink.tinder.iq.MakeCallResult;
+import com.bt.openlink.tinder.iq.ManageVoiceMessageResult;
+import com.bt.openlink.tinder.iq.OpenlinkIQParser;
+import com.bt.openlink.tinder.iq.PubSubPublishRequest;
+import com.bt.openlink.tinder.iq.RequestActionResult;
+import com.bt.openlink.tinder.message.OpenlinkMessageParser;
+import com.bt.openlink.tinder.message.OpenlinkPubSubMessage;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.DeviceStatus;
+import com.bt.openlink.type.PubSubItem;
+
+/**
+ * Offers the call status and device status carried by Openlink packets - pub-sub events and publish requests as well
+ * as the results of call related requests - to a pair of {@link StatusPublisher}s. As the publishers never block, the
+ * listener can safely be called on the thread that receives packets from the server; subscribers are signalled on the
+ * publishers' executors as and when they request items.
+ */
+public class TinderStatusListener {
+
+    @Nullable private final StatusPublisher<CallStatus> callStatusPublisher;
+    @Nullable private final StatusPublisher<DeviceStatus> deviceStatusPublisher;
+
+    /**
+     * @param callStatusPublisher
+     *            the publisher to offer call status to, or {@code null} if call status is not required
+     * @param deviceStatusPublisher
+     *            the publisher to offer device status to, or {@code null} if device status is not required
+     */
+    public TinderStatusListener(@Nullable final StatusPublisher<CallStatus> callStatusPublisher, @Nullable final StatusPublisher<DeviceStatus> deviceStatusPublisher) {
+        this.callStatusPublisher = callStatusPublisher;
+        this.deviceStatusPublisher = deviceStatusPublisher;
+    }
+
+    /**
+     * Offers any status in the packet to the appropriate publisher. The packet may be either a raw packet, or one that
+     * has already been parsed with {@link OpenlinkMessageParser} or {@link OpenlinkIQParser}.
+     *
+     * @param packet
+     *            the packet received
+     */
+    public void processPacket(@Nonnull final Packet packet) {
+        final Packet parsedPacket;
+        if (packet instanceof OpenlinkPubSubMessage) {
+            parsedPacket = packet;
+        } else if (packet instanceof Message) {
+            parsedPacket = OpenlinkMessageParser.parse((Message) packet);
+        } else if (packet.getClass() == IQ.class) {
+            parsedPacket = OpenlinkIQParser.parse((IQ) packet);
+        } else {
+            parsedPacket = packet;
+        }
+
+        if (parsedPacket instanceof OpenlinkPubSubMessage) {
+            offerItems(((OpenlinkPubSubMessage) parsedPacket).getItems());
+        } else if (parsedPacket instanceof PubSubPublishRequest) {
+            offerItems(((PubSubPublishRequest) parsedPacket).getItems());
+        }
+        if (callStatusPublisher != null) {
+            if (parsedPacket instanceof MakeCallResult) {
+                ((MakeCallResult) parsedPacket).getCallStatus().ifPresent(callStatusPublisher::offer);
+            } else if (parsedPacket instanceof RequestActionResult) {
+                ((RequestActionResult) parsedPacket).getCallStatus().ifPresent(callStatusPublisher::offer);
+            }
+        }
+        if (deviceStatusPublisher != null && parsedPacket instanceof ManageVoiceMessageResult) {
+            ((ManageVoiceMessageResult) parsedPacket).getDeviceStatus().ifPresent(deviceStatusPublisher::offer);
+        }
+    }
+
+    private void offerItems(@Nonnull final List<PubSubItem> items) {
+        for (final PubSubItem item : items) {
+            if (callStatusPublisher != null) {
+                item.getCallStatus().ifPresent(callStatusPublisher::offer);
+            }
+            if (deviceStatusPublisher != null) {
+                item.getDeviceStatus().ifPresent(deviceStatusPublisher::offer);
+            }
+        }
+    }
+
+}
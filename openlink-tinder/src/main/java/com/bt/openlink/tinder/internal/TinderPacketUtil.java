@@ -1,11 +1,9 @@
 package com.bt.openlink.tinder.internal;
 
-import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
@@ -15,18 +13,24 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.TimeZone;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import org.dom4j.DocumentHelper;
 import org.dom4j.Element;
+import org.dom4j.QName;
 import org.xmpp.packet.IQ;
 import org.xmpp.packet.JID;
 import org.xmpp.packet.Message;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
+import com.bt.openlink.ParseError;
+import com.bt.openlink.ParseErrorList;
+import com.bt.openlink.codec.DateTimeCodec;
+import com.bt.openlink.codec.NumberCodec;
 import com.bt.openlink.message.PubSubMessageBuilder;
 import com.bt.openlink.type.Call;
 import com.bt.openlink.type.CallDirection;
@@ -56,6 +60,7 @@ import com.bt.openlink.type.ParticipantCategory;
 import com.bt.openlink.type.ParticipantType;
 import com.bt.openlink.type.PhoneNumber;
 import com.bt.openlink.type.ProfileId;
+import com.bt.openlink.type.PubSubItem;
 import com.bt.openlink.type.PubSubNodeId;
 import com.bt.openlink.type.RecorderChannel;
 import com.bt.openlink.type.RecorderNumber;
@@ -76,7 +81,6 @@ import com.bt.openlink.type.VoiceRecorderInfo;
 public final class TinderPacketUtil {
 
     public static final DateTimeFormatter ISO_8601_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-    private static final DateTimeFormatter JAVA_UTIL_DATE_FORMATTER = DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss zzz yyyy");
     private static final String ATTRIBUTE_DIRECTION = "direction";
     private static final String ATTRIBUTE_DESTINATION = "destination";
     private static final String ATTRIBUTE_NUMBER = "number";
@@ -194,11 +198,11 @@ public final class TinderPacketUtil {
             @Nonnull final List<String> parseErrors) {
         final String childElementText = getNullableChildElementString(parentElement, childElementName);
         if (childElementText != null) {
-            try {
-                return Optional.of(Instant.parse(childElementText));
-            } catch (final DateTimeParseException ignored) {
-                parseErrors.add(String.format("Invalid %s; invalid %s '%s'; format should be compliant with XEP-0082", stanzaDescription, childElementName, childElementText));
+            final Optional<Instant> instant = DateTimeCodec.toInstant(DateTimeCodec.parseIso8601(childElementText));
+            if (!instant.isPresent()) {
+                ParseErrorList.add(parseErrors, ParseError.Code.INVALID_ISO_8601, stanzaDescription, childElementName, childElementText);
             }
+            return instant;
         }
         return Optional.empty();
     }
@@ -211,11 +215,11 @@ public final class TinderPacketUtil {
             @Nonnull final List<String> parseErrors) {
         final String childElementText = getNullableChildElementString(parentElement, childElementName);
         if (childElementText != null) {
-            try {
-                return Optional.of(Long.parseLong(childElementText));
-            } catch (final NumberFormatException ignored) {
-                parseErrors.add(String.format("Invalid %s; invalid %s '%s'; please supply an integer", stanzaDescription, childElementName, childElementText));
+            final long value = NumberCodec.parseLong(childElementText);
+            if (value == NumberCodec.INVALID) {
+                ParseErrorList.add(parseErrors, ParseError.Code.INVALID_INTEGER, stanzaDescription, childElementName, childElementText);
             }
+            return NumberCodec.toOptional(value);
         }
         return Optional.empty();
     }
@@ -227,7 +231,7 @@ public final class TinderPacketUtil {
             @Nonnull final String stanzaDescription,
             @Nonnull final List<String> parseErrors) {
         final String childElementText = getNullableChildElementString(parentElement, childElementName);
-        return getBoolean(childElementText, stanzaDescription, parseErrors);
+        return getBoolean(childElementText, childElementName, stanzaDescription, parseErrors);
     }
 
     @Nonnull
@@ -265,7 +269,7 @@ public final class TinderPacketUtil {
             attributeValue = valueString == null || valueString.isEmpty() ? null : valueString;
         }
         if (attributeValue == null && isRequired) {
-            parseErrors.add(String.format("Invalid %s; missing '%s' attribute is mandatory", stanzaDescription, attributeName));
+            ParseErrorList.add(parseErrors, ParseError.Code.MISSING_ATTRIBUTE, stanzaDescription, attributeName, null);
         }
         return attributeValue;
     }
@@ -273,48 +277,57 @@ public final class TinderPacketUtil {
     @Nonnull
     private static Optional<Long> getLongAttribute(final Element parentElement, final String attributeName, final String description, final List<String> parseErrors) {
         final Optional<String> stringValue = getStringAttribute(parentElement, attributeName);
-        try {
-            return stringValue.map(Long::valueOf);
-        } catch (final NumberFormatException e) {
-            parseErrors.add(String.format("Invalid %s; Unable to parse number attribute %s: '%s'", description, attributeName, stringValue));
+        if (!stringValue.isPresent()) {
             return Optional.empty();
         }
+        final long value = NumberCodec.parseLong(stringValue.get());
+        if (value == NumberCodec.INVALID) {
+            ParseErrorList.add(parseErrors, ParseError.Code.INVALID_NUMBER_ATTRIBUTE, description, attributeName, stringValue.get());
+        }
+        return NumberCodec.toOptional(value);
     }
 
     @Nonnull
     public static Optional<Integer> getIntegerAttribute(final Element parentElement, final String attributeName, final String description, final List<String> parseErrors) {
         final Optional<String> stringValue = getStringAttribute(parentElement, attributeName);
-        try {
-            return stringValue.map(Integer::valueOf);
-        } catch (final NumberFormatException e) {
-            parseErrors.add(String.format("Invalid %s; Unable to parse number attribute %s: '%s'", description, attributeName, stringValue));
+        if (!stringValue.isPresent()) {
+            return Optional.empty();
+        }
+        final long value = NumberCodec.parseInt(stringValue.get());
+        if (value == NumberCodec.INVALID) {
+            ParseErrorList.add(parseErrors, ParseError.Code.INVALID_NUMBER_ATTRIBUTE, description, attributeName, stringValue.get());
             return Optional.empty();
         }
+        return Optional.of((int) value);
     }
 
     private static Optional<Instant> getISO8601Attribute(final Element parentElement, final String attributeName, final String description, final List<String> parseErrors) {
         final Optional<String> stringValue = getStringAttribute(parentElement, attributeName, false, description, parseErrors);
-        try {
-            return stringValue.map(Instant::parse);
-        } catch (final DateTimeParseException ignored) {
-            parseErrors.add(String.format("Invalid %s; invalid %s '%s'; format should be compliant with XEP-0082", description, attributeName, stringValue));
+        if (!stringValue.isPresent()) {
             return Optional.empty();
         }
+        final Optional<Instant> instant = DateTimeCodec.toInstant(DateTimeCodec.parseIso8601(stringValue.get()));
+        if (!instant.isPresent()) {
+            ParseErrorList.add(parseErrors, ParseError.Code.INVALID_ISO_8601, description, attributeName, stringValue.get());
+        }
+        return instant;
     }
 
     private static Optional<Instant> getJavaUtilDateAttribute(final Element parentElement, final String attributeName, final String description, final List<String> parseErrors) {
         final Optional<String> stringValue = getStringAttribute(parentElement, attributeName, false, description, parseErrors);
-        try {
-            return stringValue.map(string -> Instant.from(JAVA_UTIL_DATE_FORMATTER.parse(string)));
-        } catch (final DateTimeParseException ignored) {
-            parseErrors.add(String.format("Invalid %s; invalid %s '%s'; format should be 'dow mon dd hh:mm:ss zzz yyyy'", description, attributeName, stringValue));
+        if (!stringValue.isPresent()) {
             return Optional.empty();
         }
+        final Optional<Instant> instant = DateTimeCodec.toInstant(DateTimeCodec.parseJavaUtilDate(stringValue.get()));
+        if (!instant.isPresent()) {
+            ParseErrorList.add(parseErrors, ParseError.Code.INVALID_JAVA_UTIL_DATE, description, attributeName, stringValue.get());
+        }
+        return instant;
     }
 
     @Nonnull
     public static Optional<Boolean> getBooleanAttribute(final Element element, final String id, final String description, final List<String> parseErrors) {
-        return getBoolean(getNullableStringAttribute(element, id), description, parseErrors);
+        return getBoolean(getNullableStringAttribute(element, id), id, description, parseErrors);
     }
 
     @Nonnull
@@ -332,6 +345,56 @@ public final class TinderPacketUtil {
         return ioInputElement.addElement(OpenlinkXmppNamespace.TAG_IN);
     }
 
+    /**
+     * Copies the element of a command request for a stanza template. The input element of the copy always has the
+     * variable element, in its proper place, so that each request created from the template only has to set its text.
+     *
+     * @param prototype
+     *            the request on which the template is based
+     * @param variableElementName
+     *            the name of the input element that differs between requests
+     * @param precedingElementNames
+     *            the names of the input elements that precede the variable element
+     * @return the element for the template
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static Element createTemplateElement(@Nonnull final IQ prototype, @Nonnull final String variableElementName, @Nonnull final String... precedingElementNames) {
+        final Element templateElement = prototype.getElement().createCopy();
+        final Element inElement = getChildElement(templateElement, "command", OpenlinkXmppNamespace.TAG_IODATA, OpenlinkXmppNamespace.TAG_IN);
+        if (inElement.element(variableElementName) == null) {
+            final List<Element> inChildElements = inElement.elements();
+            final List<String> precedingNames = Arrays.asList(precedingElementNames);
+            int index = 0;
+            while (index < inChildElements.size() && precedingNames.contains(inChildElements.get(index).getName())) {
+                index++;
+            }
+            inChildElements.add(index, DocumentHelper.createElement(QName.get(variableElementName, inElement.getNamespace())));
+        }
+        return templateElement;
+    }
+
+    /**
+     * @param templateElement
+     *            the element created by {@link #createTemplateElement(IQ, String, String...)}
+     * @param variableElementName
+     *            the name of the input element that differs between requests
+     * @param value
+     *            the value of the variable element for this request, or null to omit it
+     * @return a copy of the template element with the value set
+     */
+    @Nonnull
+    public static Element createElementFromTemplate(@Nonnull final Element templateElement, @Nonnull final String variableElementName, @Nullable final Object value) {
+        final Element element = templateElement.createCopy();
+        final Element variableElement = getChildElement(element, "command", OpenlinkXmppNamespace.TAG_IODATA, OpenlinkXmppNamespace.TAG_IN, variableElementName);
+        if (value == null) {
+            variableElement.detach();
+        } else {
+            variableElement.setText(value.toString());
+        }
+        return element;
+    }
+
     @Nonnull
     public static Element addCommandIOOutputElement(@Nonnull final IQ result, @Nonnull final OpenlinkXmppNamespace namespace) {
         final Element commandElement = addCommandElement(result);
@@ -382,7 +445,7 @@ public final class TinderPacketUtil {
             addOriginatorReferences(callElement, call.getOriginatorReferences());
             final Element calledNameElement = calledElement.addElement("name");
             call.getCalledName().ifPresent(calledNameElement::setText);
-            call.getStartTime().ifPresent(startTime -> callElement.addElement(ATTRIBUTE_START_TIME).setText(ISO_8601_FORMATTER.format(startTime.atZone(ZoneOffset.UTC))));
+            call.getStartTime().ifPresent(startTime -> callElement.addElement(ATTRIBUTE_START_TIME).setText(DateTimeCodec.formatIso8601(startTime.toEpochMilli())));
             call.getDuration().ifPresent(duration -> callElement.addElement(ATTRIBUTE_DURATION).setText(String.valueOf(duration.toMillis())));
             addActions(call, callElement);
             addFeatures(call, callElement);
@@ -427,7 +490,8 @@ public final class TinderPacketUtil {
                     voiceMessage.getAction().map(ManageVoiceMessageAction::getId).ifPresent(action -> TinderPacketUtil.addElementWithTextIfNotNull(voiceMessageElement, "action", action));
                     voiceMessage.getExtension().ifPresent(exten -> TinderPacketUtil.addElementWithTextIfNotNull(voiceMessageElement, "exten", exten));
                     voiceMessage.getMessageLength().map(duration -> duration.toMillis() / 1000f).ifPresent(msglen -> TinderPacketUtil.addElementWithTextIfNotNull(voiceMessageElement, "msglen", msglen));
-                    voiceMessage.getCreationDate().map(Timestamp::from).ifPresent(creationdate -> TinderPacketUtil.addElementWithTextIfNotNull(voiceMessageElement, "creationdate", creationdate));
+                    voiceMessage.getCreationDate().map(creationDate -> DateTimeCodec.formatTimestamp(creationDate.toEpochMilli(), ZoneId.systemDefault()))
+                            .ifPresent(creationdate -> TinderPacketUtil.addElementWithTextIfNotNull(voiceMessageElement, "creationdate", creationdate));
                 });
             });
         }
@@ -508,10 +572,9 @@ public final class TinderPacketUtil {
                 participant.getParticipantCategory().ifPresent(category -> participantElement.addAttribute("category", category.getId()));
                 participant.getDirection().ifPresent(direction -> participantElement.addAttribute(ATTRIBUTE_DIRECTION, direction.getLabel()));
                 participant.getStartTime().ifPresent(startTime -> {
-                    final ZonedDateTime startTimeInUTC = startTime.atZone(TimeZone.getTimeZone("UTC").toZoneId());
-                    participantElement.addAttribute(ATTRIBUTE_START_TIME, ISO_8601_FORMATTER.format(startTimeInUTC));
+                    participantElement.addAttribute(ATTRIBUTE_START_TIME, DateTimeCodec.formatIso8601(startTime.toEpochMilli()));
                     // Include the legacy timestamp attribute too
-                        participantElement.addAttribute(ATTRIBUTE_TIMESTAMP, JAVA_UTIL_DATE_FORMATTER.format(startTimeInUTC));
+                        participantElement.addAttribute(ATTRIBUTE_TIMESTAMP, DateTimeCodec.formatJavaUtilDate(startTime.toEpochMilli()));
                     });
                 participant.getDuration().ifPresent(duration -> participantElement.addAttribute(ATTRIBUTE_DURATION, String.valueOf(duration.toMillis())));
             });
@@ -543,15 +606,7 @@ public final class TinderPacketUtil {
     }
 
     private static List<PhoneNumber> getPhoneNumbers(@Nullable final Element parentElement, final String attributeName) {
-        final Optional<String> e164String = getStringAttribute(parentElement, attributeName);
-        final List<PhoneNumber> phoneNumbers = new ArrayList<>();
-        e164String.ifPresent(string -> Arrays.stream(string.split(","))
-                .map(String::trim)
-                .map(PhoneNumber::from)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .forEach(phoneNumbers::add));
-        return phoneNumbers;
+        return ParseContext.get().phoneNumbers(getNullableStringAttribute(parentElement, attributeName));
     }
 
     @SuppressWarnings("unchecked")
@@ -561,14 +616,15 @@ public final class TinderPacketUtil {
             return Optional.empty();
         }
 
-        final CallStatus.Builder builder = CallStatus.Builder.start();
+        final ParseContext context = ParseContext.get();
+        final CallStatus.Builder builder = context.callStatusBuilder();
         TinderPacketUtil.getBooleanAttribute(callStatusElement, "busy", "callstatus busy attribute", parseErrors).ifPresent(builder::setCallStatusBusy);
         TinderPacketUtil.getStringAttribute(callStatusElement, "fwd").flatMap(PhoneNumber::from).ifPresent(builder::setCallForward);
         final List<Element> callElements = callStatusElement.elements("call");
         for (final Element callElement : callElements) {
             final Element callerElement = getChildElement(callElement, "caller");
             final Element calledElement = getChildElement(callElement, "called");
-            final Call.Builder callBuilder = Call.Builder.start();
+            final Call.Builder callBuilder = context.callBuilder();
             CallId.from(getNullableChildElementString(callElement, "id")).ifPresent(callBuilder::setId);
             TelephonyCallId.from(getNullableStringAttribute(getChildElement(callElement, "id"), "telephony")).ifPresent(callBuilder::setTelephonyCallId);
             ConferenceId.from(getNullableChildElementString(callElement, "conference")).ifPresent(callBuilder::setConferenceId);
@@ -649,26 +705,22 @@ public final class TinderPacketUtil {
                     TinderPacketUtil.getOptionalChildElementString(voiceMessageElement, "status").flatMap(VoiceMessageStatus::from).ifPresent(messageBuilder::setStatus);
                     TinderPacketUtil.getOptionalChildElementString(voiceMessageElement, "action").flatMap(ManageVoiceMessageAction::from).ifPresent(messageBuilder::setAction);
                     final Optional<String> optionalMsgLen = TinderPacketUtil.getOptionalChildElementString(voiceMessageElement, "msglen");
-                    try {
-                        optionalMsgLen
-                                .map(Float::valueOf)
-                                .map(value -> value * 1000)
-                                .map(Float::longValue)
-                                .map(Duration::ofMillis)
-                                .ifPresent(messageBuilder::setMessageLength);
-                    } catch (final NumberFormatException ignored) {
-                        //noinspection OptionalGetWithoutIsPresent - seems to be a bug in IntelliJ
-                        parseErrors.add(String.format("Invalid %s; invalid msglen '%s'; please supply an integer", stanzaDescription, optionalMsgLen.get()));
+                    if (optionalMsgLen.isPresent()) {
+                        final long msgLen = NumberCodec.parseSecondsAsMillis(optionalMsgLen.get());
+                        if (msgLen == NumberCodec.INVALID) {
+                            ParseErrorList.add(parseErrors, ParseError.Code.INVALID_INTEGER, stanzaDescription, "msglen", optionalMsgLen.get());
+                        } else {
+                            messageBuilder.setMessageLength(Duration.ofMillis(msgLen));
+                        }
                     }
                     final Optional<String> optionalCreationDate = TinderPacketUtil.getOptionalChildElementString(voiceMessageElement, "creationdate");
-                    try {
-                        optionalCreationDate
-                                .map(Timestamp::valueOf)
-                                .map(Timestamp::toInstant)
-                                .ifPresent(messageBuilder::setCreationDate);
-                    } catch( final DateTimeParseException ignored) {
-                        //noinspection OptionalGetWithoutIsPresent - seems to be a bug in IntelliJ
-                        parseErrors.add(String.format("Invalid %s; invalid creationdate '%s'; please supply an integer", stanzaDescription, optionalCreationDate.get()));
+                    if (optionalCreationDate.isPresent()) {
+                        final long creationDate = DateTimeCodec.parseTimestamp(optionalCreationDate.get(), ZoneId.systemDefault());
+                        if (creationDate == DateTimeCodec.INVALID) {
+                            ParseErrorList.add(parseErrors, ParseError.Code.INVALID_TIMESTAMP, stanzaDescription, "creationdate", optionalCreationDate.get());
+                        } else {
+                            messageBuilder.setCreationDate(Instant.ofEpochMilli(creationDate));
+                        }
                     }
                     TinderPacketUtil.getOptionalChildElementString(voiceMessageElement, "exten").flatMap(PhoneNumber::from).ifPresent(messageBuilder::setExtension);
                     featureBuilder.setVoiceMessage(messageBuilder.build(parseErrors));
@@ -721,9 +773,9 @@ public final class TinderPacketUtil {
 
     private static CallFeature.AbstractCallFeatureBuilder getBooleanOrTextCallFeatureBuilder(final String elementText) {
         if (elementText.equalsIgnoreCase("true") || elementText.equalsIgnoreCase("false")) {
-            return CallFeatureBoolean.Builder.start().setEnabled(Boolean.parseBoolean(elementText));
+            return ParseContext.get().booleanFeatureBuilder().setEnabled(Boolean.parseBoolean(elementText));
         } else {
-            final CallFeatureTextValue.Builder builder = CallFeatureTextValue.Builder.start().setValue(elementText);
+            final CallFeatureTextValue.Builder builder = ParseContext.get().textValueFeatureBuilder().setValue(elementText);
             if ("VoiceMessage".equalsIgnoreCase(elementText)) {
                 builder.setType(FeatureType.VOICE_MESSAGE);
             }
@@ -735,11 +787,11 @@ public final class TinderPacketUtil {
         switch (featureType) {
         case HANDSET:
             final Optional<Boolean> microphoneOn = getBooleanAttribute(featureElement, "microphone", description, parseErrors);
-            final CallFeatureHandset.Builder handsetBuilder = CallFeatureHandset.Builder.start().setEnabled(Boolean.parseBoolean(featureElement.getText()));
+            final CallFeatureHandset.Builder handsetBuilder = ParseContext.get().handsetFeatureBuilder().setEnabled(Boolean.parseBoolean(featureElement.getText()));
             microphoneOn.ifPresent(handsetBuilder::setMicrophoneEnabled);
             return handsetBuilder;
         case VOICE_MESSAGE:
-            return CallFeatureTextValue.Builder.start().setType(FeatureType.VOICE_MESSAGE).setValue(featureElement.getText());
+            return ParseContext.get().textValueFeatureBuilder().setType(FeatureType.VOICE_MESSAGE).setValue(featureElement.getText());
         case DEVICE_KEYS:
             return getDeviceKeyFeatureBuilder(featureElement);
         case SPEAKER_CHANNEL:
@@ -752,8 +804,8 @@ public final class TinderPacketUtil {
     }
 
     private static CallFeatureBoolean.Builder getBooleanFeatureBuilder(final Element featureElement, final String description, final List<String> parseErrors) {
-        final CallFeatureBoolean.Builder booleanBuilder = CallFeatureBoolean.Builder.start();
-        getBoolean(featureElement.getText(), description, parseErrors).ifPresent(booleanBuilder::setEnabled);
+        final CallFeatureBoolean.Builder booleanBuilder = ParseContext.get().booleanFeatureBuilder();
+        getBoolean(featureElement.getText(), featureElement.getName(), description, parseErrors).ifPresent(booleanBuilder::setEnabled);
 
         return booleanBuilder;
     }
@@ -780,7 +832,7 @@ public final class TinderPacketUtil {
 
         final Element speakerChannelElement = getChildElement(featureElement, "speakerchannel");
 
-        final CallFeatureSpeakerChannel.Builder speakerChannelBuilder = CallFeatureSpeakerChannel.Builder.start();
+        final CallFeatureSpeakerChannel.Builder speakerChannelBuilder = ParseContext.get().speakerChannelFeatureBuilder();
         getChildElementLong(speakerChannelElement, "channel", description, parseErrors).ifPresent(speakerChannelBuilder::setChannel);
         getChildElementBoolean(speakerChannelElement, "microphone", description, parseErrors).ifPresent(speakerChannelBuilder::setMicrophoneActive);
         getChildElementBoolean(speakerChannelElement, "mute", description, parseErrors).ifPresent(speakerChannelBuilder::setMuteRequested);
@@ -801,14 +853,14 @@ public final class TinderPacketUtil {
     }
 
     @Nonnull
-    private static Optional<Boolean> getBoolean(@Nullable final String value, final String description, final List<String> parseErrors) {
+    private static Optional<Boolean> getBoolean(@Nullable final String value, final String fieldName, final String description, final List<String> parseErrors) {
         if ("true".equalsIgnoreCase(value)) {
             return Optional.of(Boolean.TRUE);
         } else if ("false".equalsIgnoreCase(value)) {
             return Optional.of(Boolean.FALSE);
         }
         if (value != null) {
-            parseErrors.add(String.format("Invalid %s: %s is neither true or false", description, value));
+            ParseErrorList.add(parseErrors, ParseError.Code.INVALID_BOOLEAN, description, fieldName, value);
         }
         return Optional.empty();
     }
@@ -817,9 +869,10 @@ public final class TinderPacketUtil {
     private static void getParticipants(@Nonnull final Element callElement, @Nonnull final Call.Builder callBuilder, @Nonnull final String description, @Nonnull final List<String> parseErrors) {
         final Element participantsElement = callElement.element("participants");
         if (participantsElement != null) {
+            final ParseContext context = ParseContext.get();
             final List<Element> participantElements = participantsElement.elements("participant");
             for (final Element participantElement : participantElements) {
-                final Participant.Builder participantBuilder = Participant.Builder.start();
+                final Participant.Builder participantBuilder = context.participantBuilder();
                 getStringAttribute(participantElement, "jid", false, description, parseErrors).ifPresent(participantBuilder::setJID);
                 getStringAttribute(participantElement, ATTRIBUTE_NUMBER, false, description, parseErrors).flatMap(PhoneNumber::from).ifPresent(participantBuilder::setNumber);
                 participantBuilder.addE164Numbers(getPhoneNumbers(participantElement, "e164Number"));
@@ -868,6 +921,51 @@ public final class TinderPacketUtil {
         return itemElement;
     }
 
+    public static void addAdditionalPubSubItems(@Nonnull final Element messageElement, @Nonnull final PubSubMessageBuilder<?, ?> builder) {
+        final Element itemsElement = getChildElement(messageElement, "event", "items");
+        for (final PubSubItem item : builder.getAdditionalItems()) {
+            final Element itemElement = itemsElement.addElement("item");
+            item.getItemId().ifPresent(id -> itemElement.addAttribute("id", id.value()));
+            item.getCallStatus().ifPresent(callStatus -> addCallStatus(itemElement, callStatus));
+            item.getDeviceStatus().ifPresent(deviceStatus -> addDeviceStatus(itemElement, deviceStatus));
+        }
+    }
+
+    /**
+     * Parses every item in a pub-sub event except the first, which is parsed by the message itself.
+     *
+     * @param message
+     *            the pub-sub event message
+     * @param description
+     *            the description of the message, for error reporting
+     * @param parseErrors
+     *            the list to which any errors are added
+     * @return the second and subsequent items in the event
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static List<PubSubItem> getAdditionalPubSubItems(@Nonnull final Message message, @Nonnull final String description, @Nonnull final List<String> parseErrors) {
+        final Element itemsElement = getChildElement(message.getElement(), "event", "items");
+        if (itemsElement == null) {
+            return Collections.emptyList();
+        }
+        final List<Element> itemElements = itemsElement.elements("item");
+        if (itemElements.size() < 2) {
+            return Collections.emptyList();
+        }
+        final Optional<PubSubNodeId> pubSubNodeId = PubSubNodeId.from(itemsElement.attributeValue("node"));
+        final List<PubSubItem> items = new ArrayList<>(itemElements.size() - 1);
+        for (final Element itemElement : itemElements.subList(1, itemElements.size())) {
+            final PubSubItem.Builder itemBuilder = PubSubItem.Builder.start();
+            pubSubNodeId.ifPresent(itemBuilder::setPubSubNodeId);
+            ItemId.from(getNullableStringAttribute(itemElement, "id")).ifPresent(itemBuilder::setItemId);
+            getCallStatus(itemElement, description, parseErrors).ifPresent(itemBuilder::setCallStatus);
+            getDeviceStatus(getChildElement(itemElement, "devicestatus"), description, parseErrors).ifPresent(itemBuilder::setDeviceStatus);
+            items.add(itemBuilder.build(parseErrors));
+        }
+        return items;
+    }
+
     public static void addDelay(@Nonnull final Element messageElement, @Nonnull final PubSubMessageBuilder<?, ?> builder) {
         builder.getDelay().ifPresent(stamp -> messageElement.addElement("delay", "urn:xmpp:delay").addAttribute("stamp", stamp.toString()));
     }
@@ -889,10 +987,11 @@ public final class TinderPacketUtil {
         final Optional<String> stampOptional = TinderPacketUtil.getStringAttribute(delayElement, "stamp");
         if (stampOptional.isPresent()) {
             final String stamp = stampOptional.get();
-            try {
-                builder.setDelay(Instant.parse(stamp));
-            } catch (final DateTimeParseException e) {
-                parseErrors.add(String.format("Invalid %s; invalid timestamp '%s'; format should be compliant with XEP-0082", description, stamp));
+            final long delay = DateTimeCodec.parseIso8601(stamp);
+            if (delay == DateTimeCodec.INVALID) {
+                ParseErrorList.add(parseErrors, ParseError.Code.INVALID_ISO_8601, description, "timestamp", stamp);
+            } else {
+                builder.setDelay(Instant.ofEpochMilli(delay));
             }
         }
         return itemElement;
@@ -1,11 +1,10 @@
 package com.bt.openlink.tinder.iq;
 
-import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeParseException;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +16,11 @@ import org.xmpp.packet.IQ;
 import org.xmpp.packet.JID;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
+import com.bt.openlink.ParseError;
+import com.bt.openlink.ParseErrorList;
+import com.bt.openlink.codec.DateTimeCodec;
+import com.bt.openlink.history.CallHistoryListener;
 import com.bt.openlink.iq.GetCallHistoryResultBuilder;
 import com.bt.openlink.tinder.internal.TinderPacketUtil;
 import com.bt.openlink.type.CallDirection;
@@ -57,27 +61,51 @@ public class GetCallHistoryResult extends OpenlinkIQ {
             call.getCallerName().ifPresent(callerName -> TinderPacketUtil.addElementWithTextIfNotNull(callElement, "callername", callerName));
             call.getCalledNumber().ifPresent(called -> TinderPacketUtil.addElementWithTextIfNotNull(callElement, "called", called));
             call.getCalledName().ifPresent(calledName -> TinderPacketUtil.addElementWithTextIfNotNull(callElement, "calledname", calledName));
-            call.getStartTime().map(Timestamp::from).ifPresent(timestamp -> TinderPacketUtil.addElementWithTextIfNotNull(callElement, "timestamp", timestamp));
-            call.getStartTime().map(startTime -> TinderPacketUtil.ISO_8601_FORMATTER.format(startTime.atZone(ZoneOffset.UTC)))
+            call.getStartTime().map(startTime -> DateTimeCodec.formatTimestamp(startTime.toEpochMilli(), ZoneId.systemDefault())).ifPresent(timestamp -> TinderPacketUtil.addElementWithTextIfNotNull(callElement, "timestamp", timestamp));
+            call.getStartTime().map(startTime -> DateTimeCodec.formatIso8601(startTime.toEpochMilli()))
                     .ifPresent(startTime -> TinderPacketUtil.addElementWithTextIfNotNull(callElement, "starttime", startTime));
             call.getDuration().ifPresent(duration -> TinderPacketUtil.addElementWithTextIfNotNull(callElement, "duration", duration.toMillis()));
             call.getTsc().ifPresent(tsc -> TinderPacketUtil.addElementWithTextIfNotNull(callElement, "tsc", tsc));
         });
     }
 
-    @SuppressWarnings("unchecked")
     @Nonnull
     public static GetCallHistoryResult from(@Nonnull IQ iq) {
-        final List<String> parseErrors = new ArrayList<>();
         final GetCallHistoryResult.Builder builder = GetCallHistoryResult.Builder.start(iq);
+        return parse(iq, builder, null);
+    }
+
+    /**
+     * Parses a get-call-history result, passing each call to the listener as soon as it has been parsed instead of
+     * retaining it. The returned result has the record counts and any parse errors, but no calls.
+     *
+     * @param iq
+     *            the IQ to parse
+     * @param listener
+     *            the listener to pass the record counts and calls to
+     * @return the result, without any calls
+     */
+    @Nonnull
+    public static GetCallHistoryResult from(@Nonnull IQ iq, @Nonnull final CallHistoryListener<JID> listener) {
+        return parse(iq, GetCallHistoryResult.Builder.start(iq), listener);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private static GetCallHistoryResult parse(@Nonnull IQ iq, @Nonnull final Builder builder, @Nullable final CallHistoryListener<JID> listener) {
+        final List<String> parseErrors = ParseContext.newParseErrors();
         final Element outElement = TinderPacketUtil.getIOOutElement(iq);
         final Element callHistoryElement = TinderPacketUtil.getChildElement(outElement, "callhistory");
         TinderPacketUtil.getIntegerAttribute(callHistoryElement, "total", STANZA_DESCRIPTION, parseErrors).ifPresent(builder::setTotalRecordCount);
         TinderPacketUtil.getIntegerAttribute(callHistoryElement, "start", STANZA_DESCRIPTION, parseErrors).ifPresent(builder::setFirstRecordNumber);
         TinderPacketUtil.getIntegerAttribute(callHistoryElement, "count", STANZA_DESCRIPTION, parseErrors).ifPresent(builder::setRecordCountInBatch);
+        if (listener != null) {
+            listener.onRecordCounts(builder.getTotalRecordCount(), builder.getFirstRecordNumber(), builder.getRecordCountInBatch());
+        }
         if (callHistoryElement != null) {
-            final List<Element> calls = callHistoryElement.elements("call");
-            calls.forEach(callElement -> {
+            final Iterator<Element> callElements = callHistoryElement.elementIterator("call");
+            while (callElements.hasNext()) {
+                final Element callElement = callElements.next();
                 final HistoricalCall.Builder<JID> historicalCallBuilder = HistoricalCall.Builder.start();
                 TinderPacketUtil.getOptionalChildElementString(callElement, "id").flatMap(CallId::from).ifPresent(historicalCallBuilder::setId);
                 TinderPacketUtil.getOptionalChildElementString(callElement, "profile").flatMap(UserId::from).ifPresent(historicalCallBuilder::setUserId);
@@ -89,31 +117,39 @@ public class GetCallHistoryResult extends OpenlinkIQ {
                 TinderPacketUtil.getOptionalChildElementString(callElement, "called").flatMap(PhoneNumber::from).ifPresent(historicalCallBuilder::setCalledNumber);
                 TinderPacketUtil.getOptionalChildElementString(callElement, "calledname").ifPresent(historicalCallBuilder::setCalledName);
                 TinderPacketUtil.getChildElementLong(callElement, "duration", STANZA_DESCRIPTION, parseErrors).map(Duration::ofMillis).ifPresent(historicalCallBuilder::setDuration);
-                if (historicalCallBuilder.isStartTimeNull()) {
-                    final Optional<String> optionalTimestamp = TinderPacketUtil.getOptionalChildElementString(callElement, "timestamp");
-                    try {
-                        optionalTimestamp
-                                .map(Timestamp::valueOf)
-                                .map(Timestamp::toInstant)
-                                .ifPresent(historicalCallBuilder::setStartTime);
-                    } catch (final IllegalArgumentException ignored) {
-                        parseErrors.add(String.format("Invalid %s; invalid timestamp '%s'; please supply a valid timestamp", STANZA_DESCRIPTION, optionalTimestamp.get()));
-                    }
+                // Both are validated, but the legacy timestamp is only used if there is no valid start time, as they represent the same value
+                final Optional<String> optionalTimestamp = TinderPacketUtil.getOptionalChildElementString(callElement, "timestamp");
+                final Optional<Instant> timestamp = optionalTimestamp.flatMap(text -> DateTimeCodec.toInstant(DateTimeCodec.parseTimestamp(text, ZoneId.systemDefault())));
+                if (optionalTimestamp.isPresent() && !timestamp.isPresent()) {
+                    ParseErrorList.add(parseErrors, ParseError.Code.INVALID_TIMESTAMP, STANZA_DESCRIPTION, "timestamp", optionalTimestamp.get());
                 }
                 final Optional<String> optionalStartTime = TinderPacketUtil.getOptionalChildElementString(callElement, "starttime");
-                try {
-                    optionalStartTime.map(Instant::parse).ifPresent(historicalCallBuilder::setStartTime);
-                } catch (final DateTimeParseException ignored) {
-                    parseErrors.add(String.format("Invalid %s; invalid starttime '%s'; please supply a valid starttime", STANZA_DESCRIPTION, optionalStartTime.get()));
+                final Optional<Instant> startTime = optionalStartTime.flatMap(text -> DateTimeCodec.toInstant(DateTimeCodec.parseIso8601(text)));
+                if (optionalStartTime.isPresent() && !startTime.isPresent()) {
+                    ParseErrorList.add(parseErrors, ParseError.Code.INVALID_TIMESTAMP, STANZA_DESCRIPTION, "starttime", optionalStartTime.get());
+                }
+                if (startTime.isPresent()) {
+                    historicalCallBuilder.setStartTime(startTime.get());
+                } else {
+                    timestamp.ifPresent(historicalCallBuilder::setStartTime);
                 }
                 TinderPacketUtil.getJID(TinderPacketUtil.getNullableChildElementString(callElement, "tsc")).ifPresent(historicalCallBuilder::setTsc);
-                builder.addCall(historicalCallBuilder.build(parseErrors));
-            });
+                addCall(builder, historicalCallBuilder.build(parseErrors), listener);
+            }
         }
 
         return builder.build(parseErrors);
     }
 
+    private static void addCall(@Nonnull final Builder builder, @Nonnull final HistoricalCall<JID> call, @Nullable final CallHistoryListener<JID> listener) {
+        if (listener == null) {
+            builder.addCall(call);
+        } else {
+            builder.addStreamedCall();
+            listener.onCall(call);
+        }
+    }
+
     @SuppressWarnings("WeakerAccess")
     @Nonnull
     public Optional<Long> getTotalRecordCount() {
@@ -1,7 +1,7 @@
 package com.bt.openlink.tinder.iq;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import javax.annotation.Nonnull;
@@ -12,6 +12,7 @@ import org.xmpp.packet.IQ;
 import org.xmpp.packet.JID;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.iq.GetInterestRequestBuilder;
 import com.bt.openlink.tinder.internal.TinderPacketUtil;
 import com.bt.openlink.type.InterestId;
@@ -26,6 +27,11 @@ public class GetInterestRequest extends OpenlinkIQ {
         TinderPacketUtil.addElementWithTextIfNotNull(inElement, "interest", interestId);
     }
 
+    private GetInterestRequest(@Nonnull final Template template, @Nonnull final JID to, @Nonnull final String id, @Nonnull final InterestId interestId) {
+        super(TinderPacketUtil.createElementFromTemplate(template.element, "interest", interestId), to, id);
+        this.interestId = interestId;
+    }
+
     @Nonnull
     public Optional<InterestId> getInterestId() {
         return Optional.ofNullable(interestId);
@@ -33,7 +39,7 @@ public class GetInterestRequest extends OpenlinkIQ {
 
     @Nonnull
     public static GetInterestRequest from(@Nonnull IQ iq) {
-        final List<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.newParseErrors();
         final Element inElement = TinderPacketUtil.getIOInElement(iq);
         final Builder builder = Builder.start(iq);
         InterestId.from(TinderPacketUtil.getNullableChildElementString(inElement, "interest")).ifPresent(builder::setInterestId);
@@ -42,6 +48,51 @@ public class GetInterestRequest extends OpenlinkIQ {
         return request;
     }
 
+    /**
+     * A template for get-interest requests that differ only in who they are sent to, their id and the interest they
+     * get, e.g. for a monitoring tool. The request is validated and its element built once, when the template is
+     * created; a request created from the template is a copy of that element, rather than being built again.
+     */
+    public static final class Template {
+        @Nonnull private final Element element;
+
+        private Template(@Nonnull final GetInterestRequest prototype) {
+            this.element = TinderPacketUtil.createTemplateElement(prototype, "interest");
+        }
+
+        /**
+         * @param prototype
+         *            a request with the same sender as the requests to create; its 'to', id and interest id are ignored
+         * @return a template for requests like the prototype
+         * @throws IllegalArgumentException
+         *             if the prototype has parse errors, or its sender has not been set
+         */
+        @Nonnull
+        public static Template from(@Nonnull final GetInterestRequest prototype) {
+            if (!prototype.getParseErrors().isEmpty()) {
+                throw new IllegalArgumentException("The prototype request has parse errors: " + prototype.getParseErrors());
+            }
+            if (prototype.getFrom() == null) {
+                throw new IllegalArgumentException("The stanza 'from' has not been set");
+            }
+            return new Template(prototype);
+        }
+
+        /**
+         * @param to
+         *            who the request is sent to
+         * @param id
+         *            the id of the request
+         * @param interestId
+         *            the interest to get
+         * @return a request like the template's prototype
+         */
+        @Nonnull
+        public GetInterestRequest newRequest(@Nonnull final JID to, @Nonnull final String id, @Nonnull final InterestId interestId) {
+            return new GetInterestRequest(this, to, id, Objects.requireNonNull(interestId, "The get-interest request 'interestId' has not been set"));
+        }
+    }
+
     public static final class Builder extends GetInterestRequestBuilder<Builder, JID, Type> {
 
         @Nonnull
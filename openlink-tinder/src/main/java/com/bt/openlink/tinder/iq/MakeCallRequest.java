@@ -1,6 +1,5 @@
 package com.bt.openlink.tinder.iq;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -13,6 +12,7 @@ import org.xmpp.packet.IQ;
 import org.xmpp.packet.JID;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.iq.MakeCallRequestBuilder;
 import com.bt.openlink.tinder.internal.TinderPacketUtil;
 import com.bt.openlink.type.FeatureId;
@@ -55,6 +55,17 @@ public class MakeCallRequest extends OpenlinkIQ {
         }
     }
 
+    private MakeCallRequest(@Nonnull final Template template, @Nonnull final JID to, @Nonnull final String id, @Nullable final PhoneNumber destination) {
+        super(TinderPacketUtil.createElementFromTemplate(template.element, "destination", destination), to, id);
+        final MakeCallRequest prototype = template.prototype;
+        this.jid = prototype.jid;
+        this.profileId = prototype.profileId;
+        this.interestId = prototype.interestId;
+        this.destination = destination;
+        this.features = prototype.features;
+        this.originatorReferences = prototype.originatorReferences;
+    }
+
     @Nonnull
     public Optional<JID> getJID() {
         return Optional.ofNullable(jid);
@@ -87,7 +98,7 @@ public class MakeCallRequest extends OpenlinkIQ {
 
     @Nonnull
     public static MakeCallRequest from(@Nonnull IQ iq) {
-        final List<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.newParseErrors();
         final Element inElement = TinderPacketUtil.getIOInElement(iq);
         final Builder builder = Builder.start(iq);
         TinderPacketUtil.getJID(TinderPacketUtil.getNullableChildElementString(inElement, "jid")).ifPresent(builder::setJID);
@@ -116,6 +127,57 @@ public class MakeCallRequest extends OpenlinkIQ {
         }
     }
 
+    /**
+     * A template for make-call requests that differ only in who they are sent to, their id and their destination, e.g.
+     * for an auto-dialer. The rest of the request is validated and its element built once, when the template is
+     * created; a request created from the template is a copy of that element, rather than being built again.
+     */
+    public static final class Template {
+        @Nonnull private final MakeCallRequest prototype;
+        @Nonnull private final Element element;
+
+        private Template(@Nonnull final MakeCallRequest prototype) {
+            this.prototype = prototype;
+            this.element = TinderPacketUtil.createTemplateElement(prototype, "destination", "jid", "profile", "interest");
+        }
+
+        /**
+         * @param prototype
+         *            a request with the same sender, jid, profile, interest, features and originator references as the
+         *            requests to create; its 'to', id and destination are ignored
+         * @return a template for requests like the prototype
+         * @throws IllegalArgumentException
+         *             if the prototype has parse errors, or its sender or jid has not been set
+         */
+        @Nonnull
+        public static Template from(@Nonnull final MakeCallRequest prototype) {
+            if (!prototype.getParseErrors().isEmpty()) {
+                throw new IllegalArgumentException("The prototype request has parse errors: " + prototype.getParseErrors());
+            }
+            if (prototype.getFrom() == null) {
+                throw new IllegalArgumentException("The stanza 'from' has not been set");
+            }
+            if (!prototype.getJID().isPresent()) {
+                throw new IllegalArgumentException("The make-call request 'jid' has not been set");
+            }
+            return new Template(prototype);
+        }
+
+        /**
+         * @param to
+         *            who the request is sent to
+         * @param id
+         *            the id of the request
+         * @param destination
+         *            the number to call, if any
+         * @return a request like the template's prototype
+         */
+        @Nonnull
+        public MakeCallRequest newRequest(@Nonnull final JID to, @Nonnull final String id, @Nullable final PhoneNumber destination) {
+            return new MakeCallRequest(this, to, id, destination);
+        }
+    }
+
     public static final class Builder extends MakeCallRequestBuilder<Builder, JID, Type> {
 
         @Nonnull
@@ -1,6 +1,5 @@
 package com.bt.openlink.tinder.iq;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +11,7 @@ import org.xmpp.packet.IQ;
 import org.xmpp.packet.JID;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.iq.ManageVoiceMessageResultBuilder;
 import com.bt.openlink.tinder.internal.TinderPacketUtil;
 import com.bt.openlink.type.DeviceStatus;
@@ -34,7 +34,7 @@ public class ManageVoiceMessageResult extends OpenlinkIQ {
 
     @Nonnull
     public static ManageVoiceMessageResult from(@Nonnull IQ iq) {
-        final List<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.newParseErrors();
         final Element outElement = TinderPacketUtil.getIOOutElement(iq);
         final Element deviceStatusElement = TinderPacketUtil.getChildElement(outElement, "devicestatus");
         final Builder builder = Builder.start(iq);
@@ -1,32 +1,40 @@
 package com.bt.openlink.tinder.iq;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import org.dom4j.Element;
 import org.xmpp.packet.IQ;
 import org.xmpp.packet.JID;
 
+import com.bt.openlink.ParseError;
+import com.bt.openlink.ParseErrorList;
 import com.bt.openlink.iq.IQBuilder;
 
 abstract class OpenlinkIQ extends IQ {
 
-    @Nonnull private List<String> parseErrors;
+    @Nonnull private final List<String> parseErrors;
 
     OpenlinkIQ(@Nonnull final IQBuilder<?, JID, IQ.Type> builder, @Nullable final List<String> parseErrors) {
         builder.getTo().ifPresent(this::setTo);
         builder.getFrom().ifPresent(this::setFrom);
         builder.getId().ifPresent(this::setID);
         builder.getIqType().ifPresent(this::setType);
-        if (parseErrors == null) {
-            this.parseErrors = Collections.emptyList();
-        } else {
-            this.parseErrors = new ArrayList<>(parseErrors);
-            builder.validate(parseErrors);
-        }
+        // The builder has already been validated, and the errors added, by build(parseErrors)
+        this.parseErrors = ParseErrorList.copyOf(parseErrors);
+    }
+
+    /**
+     * Creates a stanza from a template, rather than a builder; the template has already been validated.
+     */
+    OpenlinkIQ(@Nonnull final Element element, @Nonnull final JID to, @Nonnull final String id) {
+        super(element, true);
+        setTo(to);
+        setID(id);
+        this.parseErrors = Collections.emptyList();
     }
 
     @Nonnull
@@ -34,4 +42,12 @@ abstract class OpenlinkIQ extends IQ {
         return parseErrors;
     }
 
+    /**
+     * @return the errors found whilst parsing the stanza, with what was wrong, where and with which value
+     */
+    @Nonnull
+    public List<ParseError> getParseErrorDetails() {
+        return ParseErrorList.getParseErrors(parseErrors);
+    }
+
 }
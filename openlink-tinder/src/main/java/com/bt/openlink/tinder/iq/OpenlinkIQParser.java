@@ -11,6 +11,8 @@ import org.xmpp.packet.Packet;
 import org.xmpp.packet.PacketError;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
+import com.bt.openlink.ValidationLevel;
 import com.bt.openlink.tinder.internal.TinderPacketUtil;
 
 public final class OpenlinkIQParser {
@@ -70,9 +72,28 @@ public final class OpenlinkIQParser {
             new IQMatcher(OpenlinkXmppNamespace.OPENLINK_REQUEST_ACTION, ATTRIBUTE_ACTION, ACTION_EXECUTE, RequestActionRequest::from),
             new IQMatcher(OpenlinkXmppNamespace.OPENLINK_REQUEST_ACTION, ATTRIBUTE_STATUS, ACTION_COMPLETED, RequestActionResult::from));
 
-    @SuppressWarnings("unchecked")
     @Nonnull
     public static <P extends Packet> P parse(@Nonnull final IQ iq) {
+        return parse(iq, ValidationLevel.FULL);
+    }
+
+    /**
+     * @param iq
+     *            the IQ to parse
+     * @param validationLevel
+     *            how thoroughly to validate the IQ
+     * @param <P>
+     *            the type of IQ expected
+     * @return the parsed IQ, or the original IQ if it is not an Openlink IQ
+     */
+    @Nonnull
+    public static <P extends Packet> P parse(@Nonnull final IQ iq, @Nonnull final ValidationLevel validationLevel) {
+        return ParseContext.parse(validationLevel, () -> parseIQ(iq));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private static <P extends Packet> P parseIQ(@Nonnull final IQ iq) {
         final String namespace = iq.getChildElement().getNamespaceURI();
         switch (namespace) {
         case "http://jabber.org/protocol/commands":
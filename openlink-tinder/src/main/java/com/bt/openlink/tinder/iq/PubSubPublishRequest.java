@@ -1,6 +1,7 @@
 package com.bt.openlink.tinder.iq;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,30 +13,72 @@ import org.xmpp.packet.IQ;
 import org.xmpp.packet.JID;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.iq.PubSubPublishRequestBuilder;
 import com.bt.openlink.tinder.internal.TinderPacketUtil;
 import com.bt.openlink.type.CallStatus;
 import com.bt.openlink.type.DeviceStatus;
+import com.bt.openlink.type.ItemId;
+import com.bt.openlink.type.PubSubItem;
 import com.bt.openlink.type.PubSubNodeId;
 
 public class PubSubPublishRequest extends OpenlinkIQ {
     private static final String STANZA_DESCRIPTION = "PubSub unsubscribe request";
 
     @Nullable private final PubSubNodeId pubSubNodeId;
-    @Nullable private final CallStatus callStatus;
-    @Nullable private final DeviceStatus deviceStatus;
+    @Nonnull private final List<PubSubItem> items;
 
-    private PubSubPublishRequest(@Nonnull Builder builder, @Nullable List<String> parseErrors) {
+    private PubSubPublishRequest(@Nonnull Builder builder, @Nonnull List<PubSubItem> items, @Nullable List<String> parseErrors) {
         super(builder, parseErrors);
         this.pubSubNodeId = builder.getPubSubNodeId().orElse(null);
-        this.callStatus = builder.getCallStatus().orElse(null);
-        this.deviceStatus = builder.getDeviceStatus().orElse(null);
+        this.items = items;
         final Element pubSubElement = this.getElement().addElement("pubsub", OpenlinkXmppNamespace.XMPP_PUBSUB.uri());
         final Element publishElement = pubSubElement.addElement("publish");
         getPubSubNodeId().ifPresent(nodeId -> publishElement.addAttribute("node", nodeId.value()));
-        final Element itemElement = publishElement.addElement("item");
-        getCallStatus().ifPresent(status->TinderPacketUtil.addCallStatus(itemElement, status));
-        getDeviceStatus().ifPresent(status -> TinderPacketUtil.addDeviceStatus(itemElement, status));
+        if (builder.getItems().isEmpty()) {
+            final Element itemElement = publishElement.addElement("item");
+            builder.getCallStatus().ifPresent(status -> TinderPacketUtil.addCallStatus(itemElement, status));
+            builder.getDeviceStatus().ifPresent(status -> TinderPacketUtil.addDeviceStatus(itemElement, status));
+        } else {
+            for (final PubSubItem item : builder.getItems()) {
+                final Element itemElement = publishElement.addElement("item");
+                item.getItemId().ifPresent(itemId -> itemElement.addAttribute("id", itemId.value()));
+                item.getCallStatus().ifPresent(status -> TinderPacketUtil.addCallStatus(itemElement, status));
+                item.getDeviceStatus().ifPresent(status -> TinderPacketUtil.addDeviceStatus(itemElement, status));
+            }
+        }
+    }
+
+    /**
+     * Gathers the items published by the request, recording the node they are published to on each, as the items of
+     * an event do. A request with a call or device status but no items publishes a single item with that status, and a
+     * request without any has no items.
+     */
+    @Nonnull
+    private static List<PubSubItem> toItems(@Nonnull final Builder builder, @Nullable final List<String> parseErrors) {
+        final PubSubNodeId pubSubNodeId = builder.getPubSubNodeId().orElse(null);
+        if (builder.getItems().isEmpty()) {
+            if (!builder.getCallStatus().isPresent() && !builder.getDeviceStatus().isPresent()) {
+                return Collections.emptyList();
+            }
+            final PubSubItem.Builder itemBuilder = PubSubItem.Builder.start();
+            builder.getCallStatus().ifPresent(itemBuilder::setCallStatus);
+            builder.getDeviceStatus().ifPresent(itemBuilder::setDeviceStatus);
+            return Collections.singletonList(toItem(itemBuilder, pubSubNodeId, parseErrors));
+        }
+        final List<PubSubItem> items = new ArrayList<>(builder.getItems().size());
+        for (final PubSubItem item : builder.getItems()) {
+            items.add(pubSubNodeId == null || item.getPubSubNodeId().isPresent() ? item : toItem(PubSubItem.Builder.start(item), pubSubNodeId, parseErrors));
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    @Nonnull
+    private static PubSubItem toItem(@Nonnull final PubSubItem.Builder itemBuilder, @Nullable final PubSubNodeId pubSubNodeId, @Nullable final List<String> parseErrors) {
+        if (pubSubNodeId != null) {
+            itemBuilder.setPubSubNodeId(pubSubNodeId);
+        }
+        return parseErrors == null ? itemBuilder.build() : itemBuilder.build(parseErrors);
     }
 
     @Nonnull
@@ -43,27 +86,56 @@ public class PubSubPublishRequest extends OpenlinkIQ {
         return Optional.ofNullable(pubSubNodeId);
     }
 
+    /**
+     * @return every item in the request, in the order they appear
+     */
+    @Nonnull
+    public List<PubSubItem> getItems() {
+        return items;
+    }
+
+    /**
+     * @return the call status in the first item of the request, if any. Use {@link #getItems()} for requests that
+     *         publish more than one item.
+     */
     @Nonnull
     public Optional<CallStatus> getCallStatus() {
-        return Optional.ofNullable(callStatus);
+        return items.isEmpty() ? Optional.empty() : items.get(0).getCallStatus();
     }
 
+    /**
+     * @return the device status in the first item of the request, if any. Use {@link #getItems()} for requests that
+     *         publish more than one item.
+     */
     @Nonnull
     public Optional<DeviceStatus> getDeviceStatus() {
-        return Optional.ofNullable(deviceStatus);
+        return items.isEmpty() ? Optional.empty() : items.get(0).getDeviceStatus();
     }
 
     @SuppressWarnings("unchecked")
     @Nonnull
     public static PubSubPublishRequest from(@Nonnull IQ iq) {
-        final List<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.get().parseErrors();
         final Builder builder = Builder.start(iq);
         final Element publishElement = TinderPacketUtil.getChildElement(iq.getElement(), "pubsub", "publish");
         PubSubNodeId.from(TinderPacketUtil.getNullableStringAttribute(publishElement, "node")).ifPresent(builder::setPubSubNodeId);
-        final Element itemElement = TinderPacketUtil.getChildElement(publishElement, "item");
-        TinderPacketUtil.getCallStatus(itemElement, STANZA_DESCRIPTION, parseErrors).ifPresent(builder::setCallStatus);
-        final Element deviceStatusElement = TinderPacketUtil.getChildElement(itemElement, "devicestatus");
-        TinderPacketUtil.getDeviceStatus(deviceStatusElement, STANZA_DESCRIPTION, parseErrors).ifPresent(builder::setDeviceStatus);
+        final List<Element> itemElements = publishElement == null ? Collections.emptyList() : publishElement.elements("item");
+        if (itemElements.size() <= 1 && TinderPacketUtil.getNullableStringAttribute(TinderPacketUtil.getChildElement(publishElement, "item"), "id") == null) {
+            final Element itemElement = TinderPacketUtil.getChildElement(publishElement, "item");
+            TinderPacketUtil.getCallStatus(itemElement, STANZA_DESCRIPTION, parseErrors).ifPresent(builder::setCallStatus);
+            final Element deviceStatusElement = TinderPacketUtil.getChildElement(itemElement, "devicestatus");
+            TinderPacketUtil.getDeviceStatus(deviceStatusElement, STANZA_DESCRIPTION, parseErrors).ifPresent(builder::setDeviceStatus);
+        } else {
+            for (final Element itemElement : itemElements) {
+                final PubSubItem.Builder itemBuilder = PubSubItem.Builder.start();
+                builder.getPubSubNodeId().ifPresent(itemBuilder::setPubSubNodeId);
+                ItemId.from(TinderPacketUtil.getNullableStringAttribute(itemElement, "id")).ifPresent(itemBuilder::setItemId);
+                TinderPacketUtil.getCallStatus(itemElement, STANZA_DESCRIPTION, parseErrors).ifPresent(itemBuilder::setCallStatus);
+                final Element deviceStatusElement = TinderPacketUtil.getChildElement(itemElement, "devicestatus");
+                TinderPacketUtil.getDeviceStatus(deviceStatusElement, STANZA_DESCRIPTION, parseErrors).ifPresent(itemBuilder::setDeviceStatus);
+                builder.addItem(itemBuilder.build(parseErrors));
+            }
+        }
         final PubSubPublishRequest request = builder.build(parseErrors);
         request.setID(iq.getID());
         return request;
@@ -90,13 +162,13 @@ public class PubSubPublishRequest extends OpenlinkIQ {
         @Nonnull
         public PubSubPublishRequest build() {
             super.validate();
-            return new PubSubPublishRequest(this, null);
+            return new PubSubPublishRequest(this, toItems(this, null), null);
         }
 
         @Nonnull
         private PubSubPublishRequest build(@Nonnull final List<String> errors) {
             super.validate(errors, true);
-            return new PubSubPublishRequest(this, errors);
+            return new PubSubPublishRequest(this, toItems(this, errors), errors);
         }
     }
 
@@ -1,7 +1,7 @@
 package com.bt.openlink.tinder.iq;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import javax.annotation.Nonnull;
@@ -12,6 +12,7 @@ import org.xmpp.packet.IQ;
 import org.xmpp.packet.JID;
 
 import com.bt.openlink.OpenlinkXmppNamespace;
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.iq.RequestActionRequestBuilder;
 import com.bt.openlink.tinder.internal.TinderPacketUtil;
 import com.bt.openlink.type.CallId;
@@ -56,7 +57,7 @@ public class RequestActionRequest extends OpenlinkIQ {
     @SuppressWarnings("unchecked")
     @Nonnull
     public static RequestActionRequest from(@Nonnull IQ iq) {
-        final List<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.newParseErrors();
         final Element inElement = TinderPacketUtil.getIOInElement(iq);
         final Builder builder = Builder.start(iq);
         InterestId.from(TinderPacketUtil.getNullableChildElementString(inElement, "interest")).ifPresent(builder::setInterestId);
@@ -80,6 +81,17 @@ public class RequestActionRequest extends OpenlinkIQ {
         return request;
     }
 
+    private RequestActionRequest(@Nonnull final Template template, @Nonnull final JID to, @Nonnull final String id, @Nonnull final CallId callId) {
+        super(TinderPacketUtil.createElementFromTemplate(template.element, "call", callId), to, id);
+        final RequestActionRequest prototype = template.prototype;
+        this.interestId = prototype.interestId;
+        this.action = prototype.action;
+        this.callId = callId;
+        this.value1 = prototype.value1;
+        this.value2 = prototype.value2;
+        this.features = prototype.features;
+    }
+
     @Nonnull
     public Optional<InterestId> getInterestId() {
         return Optional.ofNullable(interestId);
@@ -110,6 +122,60 @@ public class RequestActionRequest extends OpenlinkIQ {
         return features;
     }
 
+    /**
+     * A template for request-action requests that differ only in who they are sent to, their id and the call they act
+     * on. The rest of the request is validated and its element built once, when the template is created; a request
+     * created from the template is a copy of that element, rather than being built again.
+     */
+    public static final class Template {
+        @Nonnull private final RequestActionRequest prototype;
+        @Nonnull private final Element element;
+
+        private Template(@Nonnull final RequestActionRequest prototype) {
+            this.prototype = prototype;
+            this.element = TinderPacketUtil.createTemplateElement(prototype, "call", "interest", OpenlinkXmppNamespace.TAG_ACTION);
+        }
+
+        /**
+         * @param prototype
+         *            a request with the same sender, interest, action, values and features as the requests to create;
+         *            its 'to', id and call id are ignored
+         * @return a template for requests like the prototype
+         * @throws IllegalArgumentException
+         *             if the prototype has parse errors, or its sender, interest or action has not been set
+         */
+        @Nonnull
+        public static Template from(@Nonnull final RequestActionRequest prototype) {
+            if (!prototype.getParseErrors().isEmpty()) {
+                throw new IllegalArgumentException("The prototype request has parse errors: " + prototype.getParseErrors());
+            }
+            if (prototype.getFrom() == null) {
+                throw new IllegalArgumentException("The stanza 'from' has not been set");
+            }
+            if (!prototype.getInterestId().isPresent()) {
+                throw new IllegalArgumentException("The request-action 'interestId' has not been set");
+            }
+            if (!prototype.getAction().isPresent()) {
+                throw new IllegalArgumentException("The request-action 'action' has not been set");
+            }
+            return new Template(prototype);
+        }
+
+        /**
+         * @param to
+         *            who the request is sent to
+         * @param id
+         *            the id of the request
+         * @param callId
+         *            the call to act on
+         * @return a request like the template's prototype
+         */
+        @Nonnull
+        public RequestActionRequest newRequest(@Nonnull final JID to, @Nonnull final String id, @Nonnull final CallId callId) {
+            return new RequestActionRequest(this, to, id, Objects.requireNonNull(callId, "The request-action 'callId' has not been set"));
+        }
+    }
+
     public static final class Builder extends RequestActionRequestBuilder<Builder, JID, Type> {
 
         @Nonnull
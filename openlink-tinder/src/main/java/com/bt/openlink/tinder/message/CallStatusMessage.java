@@ -1,6 +1,5 @@
 package com.bt.openlink.tinder.message;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,9 +10,11 @@ import org.dom4j.Element;
 import org.xmpp.packet.JID;
 import org.xmpp.packet.Message;
 
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.message.CallStatusMessageBuilder;
 import com.bt.openlink.tinder.internal.TinderPacketUtil;
 import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.PubSubItem;
 
 public class CallStatusMessage extends OpenlinkPubSubMessage {
 
@@ -21,12 +22,13 @@ public class CallStatusMessage extends OpenlinkPubSubMessage {
 
     @Nullable private final CallStatus callStatus;
 
-    private CallStatusMessage(@Nonnull final Builder builder, @Nullable final List<String> parseErrors) {
-        super(builder, parseErrors);
+    private CallStatusMessage(@Nonnull final Builder builder, @Nonnull final List<PubSubItem> items, @Nullable final List<String> parseErrors) {
+        super(builder, items, parseErrors);
         this.callStatus = builder.getCallStatus().orElse(null);
         final Element messageElement = getElement();
         final Element itemElement = TinderPacketUtil.addPubSubMetaData(messageElement, builder);
         getCallStatus().ifPresent(status->TinderPacketUtil.addCallStatus(itemElement, status));
+        TinderPacketUtil.addAdditionalPubSubItems(messageElement, builder);
         TinderPacketUtil.addDelay(messageElement, builder);
     }
 
@@ -37,10 +39,16 @@ public class CallStatusMessage extends OpenlinkPubSubMessage {
 
     @Nonnull
     public static CallStatusMessage from(@Nonnull final Message message) {
-        final List<String> parseErrors = new ArrayList<>();
+        return ParseContext.parse(() -> parse(message));
+    }
+
+    @Nonnull
+    private static CallStatusMessage parse(@Nonnull final Message message) {
+        final List<String> parseErrors = ParseContext.get().parseErrors();
         final Builder builder = Builder.start();
         final Element itemElement = TinderPacketUtil.setPubSubMetaData(message, builder, STANZA_DESCRIPTION, parseErrors);
         TinderPacketUtil.getCallStatus(itemElement, "callstatus message", parseErrors).ifPresent(builder::setCallStatus);
+        builder.addAdditionalItems(TinderPacketUtil.getAdditionalPubSubItems(message, STANZA_DESCRIPTION, parseErrors));
         return builder.build(parseErrors);
     }
 
@@ -57,13 +65,13 @@ public class CallStatusMessage extends OpenlinkPubSubMessage {
         @Nonnull
         public CallStatusMessage build() {
             super.validate();
-            return new CallStatusMessage(this, null);
+            return new CallStatusMessage(this, toItems(this, getCallStatus().orElse(null), null, null), null);
         }
 
         @Nonnull
         protected CallStatusMessage build(final List<String> parseErrors) {
             super.validate(parseErrors);
-            return new CallStatusMessage(this, parseErrors);
+            return new CallStatusMessage(this, toItems(this, getCallStatus().orElse(null), null, parseErrors), parseErrors);
         }
     }
 }
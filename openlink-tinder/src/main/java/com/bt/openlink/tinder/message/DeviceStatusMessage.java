@@ -1,6 +1,5 @@
 package com.bt.openlink.tinder.message;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,9 +10,11 @@ import org.dom4j.Element;
 import org.xmpp.packet.JID;
 import org.xmpp.packet.Message;
 
+import com.bt.openlink.ParseContext;
 import com.bt.openlink.message.DeviceStatusMessageBuilder;
 import com.bt.openlink.tinder.internal.TinderPacketUtil;
 import com.bt.openlink.type.DeviceStatus;
+import com.bt.openlink.type.PubSubItem;
 
 public class DeviceStatusMessage extends OpenlinkPubSubMessage {
 
@@ -21,22 +22,24 @@ public class DeviceStatusMessage extends OpenlinkPubSubMessage {
 
     @Nullable private final DeviceStatus deviceStatus;
 
-    private DeviceStatusMessage(@Nonnull final Builder builder, @Nullable final List<String> parseErrors) {
-        super(builder, parseErrors);
+    private DeviceStatusMessage(@Nonnull final Builder builder, @Nonnull final List<PubSubItem> items, @Nullable final List<String> parseErrors) {
+        super(builder, items, parseErrors);
         this.deviceStatus = builder.getDeviceStatus().orElse(null);
         final Element messageElement = getElement();
         final Element itemElement = TinderPacketUtil.addPubSubMetaData(messageElement, builder);
         getDeviceStatus().ifPresent(status -> TinderPacketUtil.addDeviceStatus(itemElement, status));
+        TinderPacketUtil.addAdditionalPubSubItems(messageElement, builder);
         TinderPacketUtil.addDelay(messageElement, builder);
     }
 
     @Nonnull
     public static DeviceStatusMessage from(@Nonnull final Message message) {
-        final List<String> parseErrors = new ArrayList<>();
+        final List<String> parseErrors = ParseContext.newParseErrors();
         final Builder builder = Builder.start();
         final Element itemElement = TinderPacketUtil.setPubSubMetaData(message, builder, STANZA_DESCRIPTION, parseErrors);
         final Element deviceStatusElement = TinderPacketUtil.getChildElement(itemElement, "devicestatus");
         TinderPacketUtil.getDeviceStatus(deviceStatusElement, STANZA_DESCRIPTION, parseErrors).ifPresent(builder::setDeviceStatus);
+        builder.addAdditionalItems(TinderPacketUtil.getAdditionalPubSubItems(message, STANZA_DESCRIPTION, parseErrors));
         return builder.build(parseErrors);
     }
 
@@ -58,13 +61,13 @@ public class DeviceStatusMessage extends OpenlinkPubSubMessage {
         @Nonnull
         public DeviceStatusMessage build() {
             super.validate();
-            return new DeviceStatusMessage(this, null);
+            return new DeviceStatusMessage(this, toItems(this, null, getDeviceStatus().orElse(null), null), null);
         }
 
         @Nonnull
         protected DeviceStatusMessage build(final List<String> parseErrors) {
             super.validate(parseErrors, true);
-            return new DeviceStatusMessage(this, parseErrors);
+            return new DeviceStatusMessage(this, toItems(this, null, getDeviceStatus().orElse(null), parseErrors), parseErrors);
         }
     }
 }
@@ -8,6 +8,8 @@ import org.dom4j.Element;
 import org.xmpp.packet.Message;
 import org.xmpp.packet.Packet;
 
+import com.bt.openlink.ParseContext;
+import com.bt.openlink.ValidationLevel;
 import com.bt.openlink.tinder.internal.TinderPacketUtil;
 
 public final class OpenlinkMessageParser {
@@ -15,9 +17,28 @@ public final class OpenlinkMessageParser {
     private OpenlinkMessageParser() {
     }
 
-    @SuppressWarnings("unchecked")
     @Nonnull
     public static <P extends Packet> P parse(@Nonnull final Message message) {
+        return parse(message, ValidationLevel.FULL);
+    }
+
+    /**
+     * @param message
+     *            the message to parse
+     * @param validationLevel
+     *            how thoroughly to validate the message
+     * @param <P>
+     *            the type of message expected
+     * @return the parsed message, or the original message if it is not an Openlink message
+     */
+    @Nonnull
+    public static <P extends Packet> P parse(@Nonnull final Message message, @Nonnull final ValidationLevel validationLevel) {
+        return ParseContext.parse(validationLevel, () -> parseMessage(message));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private static <P extends Packet> P parseMessage(@Nonnull final Message message) {
 
         final List elements = message.getElement().elements();
         if (elements.isEmpty()) {
@@ -12,8 +12,13 @@ import javax.annotation.Nullable;
 import org.xmpp.packet.JID;
 import org.xmpp.packet.Message;
 
+import com.bt.openlink.ParseError;
+import com.bt.openlink.ParseErrorList;
 import com.bt.openlink.message.PubSubMessageBuilder;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.DeviceStatus;
 import com.bt.openlink.type.ItemId;
+import com.bt.openlink.type.PubSubItem;
 import com.bt.openlink.type.PubSubNodeId;
 
 public class OpenlinkPubSubMessage extends Message {
@@ -21,23 +26,76 @@ public class OpenlinkPubSubMessage extends Message {
     @Nullable private final Instant delay;
     @Nullable private final PubSubNodeId pubSubNodeId;
     @Nullable private final ItemId itemId;
+    @Nonnull private final List<PubSubItem> items;
 
     @Nonnull
-    private List<String> parseErrors;
+    private final List<String> parseErrors;
 
-    OpenlinkPubSubMessage(@Nonnull final PubSubMessageBuilder<?, JID> builder, @Nullable final List<String> parseErrors) {
+    OpenlinkPubSubMessage(
+            @Nonnull final PubSubMessageBuilder<?, JID> builder,
+            @Nonnull final List<PubSubItem> items,
+            @Nullable final List<String> parseErrors) {
         builder.getTo().ifPresent(this::setTo);
         builder.getFrom().ifPresent(this::setFrom);
         builder.getId().ifPresent(this::setID);
         this.delay = builder.getDelay().orElse(null);
         this.pubSubNodeId = builder.getPubSubNodeId().orElse(null);
         this.itemId = builder.getItemId().orElse(null);
-        if (parseErrors == null) {
-            this.parseErrors = Collections.emptyList();
-        } else {
-            this.parseErrors = new ArrayList<>(parseErrors);
-            builder.validate(parseErrors);
+        this.items = items;
+        // The builder and its items have already been validated, and the errors added, by build(parseErrors)
+        this.parseErrors = ParseErrorList.copyOf(parseErrors);
+    }
+
+    /**
+     * Gathers the items of the event, starting with the one that carries the message's own payload, and records the
+     * node of the event on each. Called once the builder has been validated, before the message is created, so that
+     * any errors in the items are added to those of the message.
+     *
+     * @param builder
+     *            the validated builder
+     * @param callStatus
+     *            the call status of the message's own item, if any
+     * @param deviceStatus
+     *            the device status of the message's own item, if any
+     * @param parseErrors
+     *            the list to add any errors to, or null if the items must be valid
+     * @return every item in the event
+     */
+    @Nonnull
+    static List<PubSubItem> toItems(
+            @Nonnull final PubSubMessageBuilder<?, JID> builder,
+            @Nullable final CallStatus callStatus,
+            @Nullable final DeviceStatus deviceStatus,
+            @Nullable final List<String> parseErrors) {
+        final PubSubNodeId pubSubNodeId = builder.getPubSubNodeId().orElse(null);
+        final List<PubSubItem> items = new ArrayList<>(1 + builder.getAdditionalItems().size());
+        final PubSubItem.Builder itemBuilder = toItemBuilder(callStatus, deviceStatus);
+        builder.getItemId().ifPresent(itemBuilder::setItemId);
+        items.add(toItem(itemBuilder, pubSubNodeId, parseErrors));
+        for (final PubSubItem additionalItem : builder.getAdditionalItems()) {
+            items.add(additionalItem.getPubSubNodeId().isPresent() ? additionalItem : toItem(PubSubItem.Builder.start(additionalItem), pubSubNodeId, parseErrors));
         }
+        return Collections.unmodifiableList(items);
+    }
+
+    @Nonnull
+    private static PubSubItem.Builder toItemBuilder(@Nullable final CallStatus callStatus, @Nullable final DeviceStatus deviceStatus) {
+        final PubSubItem.Builder itemBuilder = PubSubItem.Builder.start();
+        if (callStatus != null) {
+            itemBuilder.setCallStatus(callStatus);
+        }
+        if (deviceStatus != null) {
+            itemBuilder.setDeviceStatus(deviceStatus);
+        }
+        return itemBuilder;
+    }
+
+    @Nonnull
+    private static PubSubItem toItem(@Nonnull final PubSubItem.Builder itemBuilder, @Nullable final PubSubNodeId pubSubNodeId, @Nullable final List<String> parseErrors) {
+        if (pubSubNodeId != null) {
+            itemBuilder.setPubSubNodeId(pubSubNodeId);
+        }
+        return parseErrors == null ? itemBuilder.build() : itemBuilder.build(parseErrors);
     }
 
     @Nonnull
@@ -45,6 +103,14 @@ public class OpenlinkPubSubMessage extends Message {
         return parseErrors;
     }
 
+    /**
+     * @return the errors found whilst parsing the stanza, with what was wrong, where and with which value
+     */
+    @Nonnull
+    public List<ParseError> getParseErrorDetails() {
+        return ParseErrorList.getParseErrors(parseErrors);
+    }
+
     @Nonnull
     public Optional<Instant> getDelay() {
         return Optional.ofNullable(delay);
@@ -60,5 +126,12 @@ public class OpenlinkPubSubMessage extends Message {
         return Optional.ofNullable(itemId);
     }
 
+    /**
+     * @return every item in the event, starting with the one that carries this message's own payload
+     */
+    @Nonnull
+    public List<PubSubItem> getItems() {
+        return items;
+    }
 
 }
@@ -0,0 +1,109 @@
+package com.bt.openlink.tinder;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.bt.openlink.CoreFixtures;
+import com.bt.openlink.PubSubMessageFixtures;
+import com.bt.openlink.flow.OverflowStrategy;
+import com.bt.openlink.flow.StatusPublisher;
+import com.bt.openlink.tinder.iq.RequestActionResult;
+import com.bt.openlink.type.CallStatus;
+import com.bt.openlink.type.DeviceStatus;
+
+public class TinderStatusListenerTest {
+
+    private List<Object> received;
+    private TinderStatusListener listener;
+
+    @Before
+    public void setUp() {
+        final StatusPublisher<CallStatus> callStatusPublisher = new StatusPublisher<>(OverflowStrategy.BUFFER, 10, callStatus -> callStatus, Runnable::run);
+        final StatusPublisher<DeviceStatus> deviceStatusPublisher = new StatusPublisher<>(OverflowStrategy.BUFFER, 10, deviceStatus -> deviceStatus, Runnable::run);
+        received = new ArrayList<>();
+        callStatusPublisher.subscribe(new RecordingSubscriber<>());
+        deviceStatusPublisher.subscribe(new RecordingSubscriber<>());
+        listener = new TinderStatusListener(callStatusPublisher, deviceStatusPublisher);
+    }
+
+    @Test
+    public void willPublishTheCallStatusFromAnUnparsedMessage() {
+
+        listener.processPacket(Fixtures.messageFrom(PubSubMessageFixtures.CALL_STATUS_MESSAGE));
+
+        assertThat(received.size(), is(1));
+        assertThat(((CallStatus) received.get(0)).getCalls().get(0).getId(), is(CoreFixtures.CALL_OUTGOING_CONFERENCED.getId()));
+    }
+
+    @Test
+    public void willPublishTheDeviceStatusFromAnUnparsedMessage() {
+
+        listener.processPacket(Fixtures.messageFrom(PubSubMessageFixtures.DEVICE_STATUS_MESSAGE));
+
+        assertThat(received.size(), is(1));
+        assertThat(((DeviceStatus) received.get(0)).getProfileId(), is(CoreFixtures.DEVICE_STATUS_LOGON.getProfileId()));
+    }
+
+    @Test
+    public void willPublishEveryItemInAMessage() {
+
+        listener.processPacket(Fixtures.messageFrom(PubSubMessageFixtures.CALL_STATUS_MESSAGE_WITH_MULTIPLE_ITEMS));
+
+        assertThat(received.size(), is(2));
+        assertThat(received.get(0) instanceof CallStatus, is(true));
+        assertThat(received.get(1) instanceof DeviceStatus, is(true));
+    }
+
+    @Test
+    public void willPublishTheCallStatusFromAResult() {
+        final RequestActionResult result = RequestActionResult.Builder.start()
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setCallStatus(CoreFixtures.CALL_STATUS)
+                .build();
+
+        listener.processPacket(result);
+
+        assertThat(received, contains(CoreFixtures.CALL_STATUS));
+    }
+
+    @Test
+    public void willIgnoreAnArbitraryMessage() {
+
+        listener.processPacket(Fixtures.messageFrom(PubSubMessageFixtures.ARBITRARY_PUBSUB_MESSAGE));
+
+        assertThat(received, is(empty()));
+    }
+
+    private class RecordingSubscriber<T> implements Subscriber<T> {
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final T item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+}
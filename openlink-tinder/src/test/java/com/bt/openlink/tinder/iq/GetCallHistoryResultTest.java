@@ -10,6 +10,7 @@ import static org.xmlunit.matchers.CompareMatcher.isIdenticalTo;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.TimeZone;
 
@@ -23,6 +24,7 @@ import org.xmpp.packet.JID;
 
 import com.bt.openlink.CoreFixtures;
 import com.bt.openlink.GetCallHistoryFixtures;
+import com.bt.openlink.history.CallHistoryListener;
 import com.bt.openlink.tinder.Fixtures;
 import com.bt.openlink.type.HistoricalCall;
 
@@ -130,6 +132,31 @@ public class GetCallHistoryResultTest {
                 "Invalid call history; incorrect batch record count"));
     }
 
+    @Test
+    public void willStreamCallsToAListener() {
+        final List<String> events = new ArrayList<>();
+        final List<HistoricalCall<JID>> calls = new ArrayList<>();
+
+        final GetCallHistoryResult result = GetCallHistoryResult.from(Fixtures.iqFrom(GetCallHistoryFixtures.CALL_HISTORY_RESULT), new CallHistoryListener<JID>() {
+            @Override
+            public void onRecordCounts(final Optional<Long> totalRecordCount, final Optional<Long> firstRecordNumber, final Optional<Long> recordCountInBatch) {
+                events.add("counts " + totalRecordCount.get() + "/" + firstRecordNumber.get() + "/" + recordCountInBatch.get());
+            }
+
+            @Override
+            public void onCall(final HistoricalCall<JID> call) {
+                events.add("call");
+                calls.add(call);
+            }
+        });
+
+        assertThat(events, contains("counts 2/0/1", "call"));
+        assertReflectionEquals(Collections.singletonList(GetCallHistoryFixtures.getHistoricalCall(new JID(CoreFixtures.TSC))), calls);
+        assertThat(result.getCalls(), is(empty()));
+        assertThat(result.getTotalRecordCount(), is(Optional.of(2L)));
+        assertThat(result.getParseErrors(), is(empty()));
+    }
+
     @Test
     public void willPreferStartTimeOverTimestamp() {
 
@@ -138,6 +165,15 @@ public class GetCallHistoryResultTest {
         assertThat(result.getCalls().get(0).getStartTime(), is(Optional.of(Instant.parse("2011-12-13T14:15:16.178Z"))));
     }
 
+    @Test
+    public void willReportAnInvalidTimestampAlongsideAValidStartTime() {
+
+        final GetCallHistoryResult result = OpenlinkIQParser.parse(Fixtures.iqFrom(GetCallHistoryFixtures.CALL_HISTORY_RESULT_WITH_BAD_TIMESTAMP));
+
+        assertThat(result.getCalls().get(0).getStartTime(), is(Optional.of(Instant.parse("2011-12-13T14:15:16.178Z"))));
+        assertThat(result.getParseErrors(), contains("Invalid get-call-history result; invalid timestamp 'not-a-timestamp'; please supply a valid timestamp"));
+    }
+
     @Test
     public void willCreateAResultFromARequest() {
 
@@ -15,7 +15,9 @@ import org.xmpp.packet.IQ;
 
 import com.bt.openlink.CoreFixtures;
 import com.bt.openlink.GetInterestFixtures;
+import com.bt.openlink.ValidationLevel;
 import com.bt.openlink.tinder.Fixtures;
+import com.bt.openlink.type.InterestId;
 
 @SuppressWarnings("OptionalGetWithoutIsPresent")
 public class GetInterestRequestTest {
@@ -52,6 +54,49 @@ public class GetInterestRequestTest {
         assertThat(request.toXML(), isIdenticalTo(GetInterestFixtures.GET_INTEREST_REQUEST).ignoreWhitespace());
     }
 
+    @Test
+    public void willGenerateAnXmppStanzaFromATemplate() {
+
+        final GetInterestRequest prototype = GetInterestRequest.Builder.start()
+                .setId("prototype-id")
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setInterestId(InterestId.from("prototype-interest-id").get())
+                .build();
+
+        final GetInterestRequest request = GetInterestRequest.Template.from(prototype).newRequest(Fixtures.TO_JID, CoreFixtures.STANZA_ID, CoreFixtures.INTEREST_ID);
+
+        assertThat(request.toXML(), isIdenticalTo(GetInterestFixtures.GET_INTEREST_REQUEST).ignoreWhitespace());
+        assertThat(request.getInterestId().get(), is(CoreFixtures.INTEREST_ID));
+    }
+
+    @Test
+    public void willNotGenerateARequestFromATemplateWithoutAnInterestId() {
+
+        final GetInterestRequest.Template template = GetInterestRequest.Template.from(GetInterestRequest.Builder.start()
+                .setId("prototype-id")
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setInterestId(InterestId.from("prototype-interest-id").get())
+                .build());
+
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage("The get-interest request 'interestId' has not been set");
+
+        template.newRequest(Fixtures.TO_JID, CoreFixtures.STANZA_ID, null);
+    }
+
+    @Test
+    public void willNotGenerateATemplateFromAPrototypeWithParseErrors() {
+
+        final GetInterestRequest prototype = GetInterestRequest.from(Fixtures.iqFrom(GetInterestFixtures.GET_INTEREST_REQUEST_WITH_BAD_VALUES));
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The prototype request has parse errors");
+
+        GetInterestRequest.Template.from(prototype);
+    }
+
     @Test
     public void willGenerateAnXmppStanzaWithARandomId() {
 
@@ -89,6 +134,14 @@ public class GetInterestRequestTest {
                 "Invalid get-interest request stanza; missing 'interest'"));
     }
 
+    @Test
+    public void willNotValidateAStanzaParsedWithValidationOff() {
+
+        final GetInterestRequest request = OpenlinkIQParser.parse(Fixtures.iqFrom(GetInterestFixtures.GET_INTEREST_REQUEST_WITH_BAD_VALUES), ValidationLevel.OFF);
+
+        assertThat(request.getParseErrors(), is(empty()));
+    }
+
     @Test
     public void willGenerateAStanzaEvenWithParsingErrors() {
 
@@ -15,6 +15,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.xmpp.packet.IQ;
+import org.xmpp.packet.JID;
 
 import com.bt.openlink.CoreFixtures;
 import com.bt.openlink.MakeCallFixtures;
@@ -83,6 +84,60 @@ public class MakeCallRequestTest {
         assertThat(request.toXML(), isIdenticalTo(MakeCallFixtures.MAKE_CALL_REQUEST).ignoreWhitespace());
     }
 
+    @Test
+    public void willGenerateAnXmppStanzaFromATemplate() {
+
+        final MakeCallRequest prototype = MakeCallRequest.Builder.start()
+                .setId("prototype-id")
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setJID(Fixtures.USER_FULL_JID)
+                .setProfileId(CoreFixtures.PROFILE_ID)
+                .setInterestId(CoreFixtures.INTEREST_ID)
+                .addOriginatorReference(CoreFixtures.ORIGINATOR_REFERENCE)
+                .addOriginatorReference("key2", "value2")
+                .addFeature(MakeCallFixtures.MAKE_CALL_FEATURE)
+                .build();
+        final MakeCallRequest.Template template = MakeCallRequest.Template.from(prototype);
+
+        final MakeCallRequest request = template.newRequest(Fixtures.TO_JID, CoreFixtures.STANZA_ID, CoreFixtures.CALLED_DESTINATION);
+        final MakeCallRequest requestWithoutDestination = template.newRequest(Fixtures.TO_JID, "prototype-id", null);
+
+        assertThat(request.toXML(), isIdenticalTo(MakeCallFixtures.MAKE_CALL_REQUEST).ignoreWhitespace());
+        assertThat(request.getDestination(), is(Optional.of(CoreFixtures.CALLED_DESTINATION)));
+        assertThat(request.getProfileId(), is(Optional.of(CoreFixtures.PROFILE_ID)));
+        assertThat(request.getParseErrors(), is(empty()));
+        assertThat(requestWithoutDestination.toXML(), isIdenticalTo(prototype.toXML()).ignoreWhitespace());
+    }
+
+    @Test
+    public void willNotGenerateATemplateFromAPrototypeWithParseErrors() {
+
+        final MakeCallRequest prototype = MakeCallRequest.from(Fixtures.iqFrom(MakeCallFixtures.MAKE_CALL_REQUEST_WITH_BAD_VALUES));
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The prototype request has parse errors");
+
+        MakeCallRequest.Template.from(prototype);
+    }
+
+    @Test
+    public void willNotGenerateATemplateFromAPrototypeWithoutASender() {
+
+        final MakeCallRequest prototype = MakeCallRequest.Builder.start()
+                .setId("prototype-id")
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setJID(Fixtures.USER_FULL_JID)
+                .build();
+        prototype.setFrom((JID) null);
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The stanza 'from' has not been set");
+
+        MakeCallRequest.Template.from(prototype);
+    }
+
     @Test
     public void willParseAnXmppStanza() {
 
@@ -1,6 +1,8 @@
 package com.bt.openlink.tinder.iq;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.junit.Assert.assertThat;
 import static org.unitils.reflectionassert.ReflectionAssert.assertReflectionEquals;
 import static org.xmlunit.matchers.CompareMatcher.isIdenticalTo;
@@ -21,6 +23,7 @@ import com.bt.openlink.PubSubMessageFixtures;
 import com.bt.openlink.PubSubPublishFixtures;
 import com.bt.openlink.tinder.Fixtures;
 import com.bt.openlink.type.DeviceStatus;
+import com.bt.openlink.type.PubSubItem;
 import com.bt.openlink.type.PubSubNodeId;
 
 @SuppressWarnings("OptionalGetWithoutIsPresent")
@@ -107,9 +110,20 @@ public class PubSubPublishRequestTest {
         assertThat(request.getType(), is(IQ.Type.set));
         assertThat(request.getPubSubNodeId().get(), is(PubSubMessageFixtures.NODE_ID));
         assertReflectionEquals(CoreFixtures.CALL_STATUS, request.getCallStatus().get());
+        assertThat(request.getItems().get(0).getPubSubNodeId(), is(Optional.of(PubSubMessageFixtures.NODE_ID)));
         assertThat(request.getParseErrors().size(), is(0));
     }
 
+    @Test
+    public void willNotHaveAnyItemsWhenParsingAStanzaWithoutAStatus() {
+
+        final PubSubPublishRequest request = OpenlinkIQParser.parse(Fixtures.iqFrom(PubSubPublishFixtures.PUBLISH_REQUEST_WITHOUT_A_STATUS));
+
+        assertThat(request.getItems(), is(empty()));
+        assertThat(request.getCallStatus(), is(Optional.empty()));
+        assertThat(request.getParseErrors(), contains("Invalid pub-sub publish request stanza; missing callstatus or devicestatus"));
+    }
+
     @Test
     public void willRoundTripAnXmppStanza() {
 
@@ -160,5 +174,46 @@ public class PubSubPublishRequestTest {
         assertReflectionEquals(CoreFixtures.DEVICE_STATUS_LOGON, deviceStatus);
     }
 
+    @Test
+    public void willGenerateAMultipleItemXmppStanza() {
+
+        final PubSubPublishRequest request = PubSubPublishRequest.Builder.start()
+                .setId(CoreFixtures.STANZA_ID)
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setInterestId(CoreFixtures.INTEREST_ID)
+                .addItem(PubSubItem.Builder.start().setItemId(PubSubPublishFixtures.CALL_STATUS_ITEM_ID).setCallStatus(CoreFixtures.CALL_STATUS).build())
+                .addItem(PubSubItem.Builder.start().setItemId(PubSubPublishFixtures.DEVICE_STATUS_ITEM_ID).setDeviceStatus(CoreFixtures.DEVICE_STATUS_LOGON).build())
+                .build();
+
+        assertThat(request.toXML(), isIdenticalTo(PubSubPublishFixtures.PUBLISH_REQUEST_MULTIPLE_ITEMS).ignoreWhitespace());
+        assertThat(request.getItems().size(), is(2));
+        assertThat(request.getCallStatus().get(), is(CoreFixtures.CALL_STATUS));
+    }
+
+    @Test
+    public void willParseAMultipleItemXmppStanza() {
+
+        final PubSubPublishRequest request = OpenlinkIQParser.parse(Fixtures.iqFrom(PubSubPublishFixtures.PUBLISH_REQUEST_MULTIPLE_ITEMS));
+
+        assertThat(request.getParseErrors().size(), is(0));
+        assertThat(request.getItems().size(), is(2));
+        final PubSubItem callStatusItem = request.getItems().get(0);
+        assertThat(callStatusItem.getItemId().get(), is(PubSubPublishFixtures.CALL_STATUS_ITEM_ID));
+        assertThat(callStatusItem.getPubSubNodeId(), is(Optional.of(PubSubMessageFixtures.NODE_ID)));
+        assertReflectionEquals(CoreFixtures.CALL_STATUS, callStatusItem.getCallStatus().get());
+        final PubSubItem deviceStatusItem = request.getItems().get(1);
+        assertThat(deviceStatusItem.getItemId().get(), is(PubSubPublishFixtures.DEVICE_STATUS_ITEM_ID));
+        assertThat(deviceStatusItem.getPubSubNodeId(), is(Optional.of(PubSubMessageFixtures.NODE_ID)));
+        assertReflectionEquals(CoreFixtures.DEVICE_STATUS_LOGON, deviceStatusItem.getDeviceStatus().get());
+    }
+
+    @Test
+    public void willRoundTripAMultipleItemXmppStanza() {
+
+        final PubSubPublishRequest request = OpenlinkIQParser.parse(Fixtures.iqFrom(PubSubPublishFixtures.PUBLISH_REQUEST_MULTIPLE_ITEMS));
+
+        assertThat(request.toXML(), isIdenticalTo(PubSubPublishFixtures.PUBLISH_REQUEST_MULTIPLE_ITEMS).ignoreWhitespace());
+    }
 
-}
\ No newline at end of file
+}
@@ -9,18 +9,24 @@ import static org.xmlunit.matchers.CompareMatcher.isIdenticalTo;
 
 import java.util.Optional;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.xmpp.packet.IQ;
 
 import com.bt.openlink.CoreFixtures;
 import com.bt.openlink.RequestActionFixtures;
 import com.bt.openlink.tinder.Fixtures;
+import com.bt.openlink.type.CallId;
 import com.bt.openlink.type.MakeCallFeature;
 import com.bt.openlink.type.RequestAction;
 
 @SuppressWarnings("OptionalGetWithoutIsPresent")
 public class RequestActionRequestTest {
 
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
     @Test
     public void canCreateAStanza() {
 
@@ -62,6 +68,56 @@ public class RequestActionRequestTest {
         assertThat(request.toXML(), isIdenticalTo(RequestActionFixtures.REQUEST_ACTION_REQUEST).ignoreWhitespace());
     }
 
+    @Test
+    public void willGenerateAnXmppStanzaFromATemplate() {
+
+        final RequestActionRequest prototype = RequestActionRequest.Builder.start()
+                .setId("prototype-id")
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setInterestId(CoreFixtures.INTEREST_ID)
+                .setAction(RequestAction.START_VOICE_DROP)
+                .setCallId(CallId.from("prototype-call-id").get())
+                .setValue1(RequestActionFixtures.REQUEST_ACTION_VALUE_1)
+                .setValue2(RequestActionFixtures.REQUEST_ACTION_VALUE_2)
+                .build();
+
+        final RequestActionRequest request = RequestActionRequest.Template.from(prototype).newRequest(Fixtures.TO_JID, CoreFixtures.STANZA_ID, CoreFixtures.CALL_ID);
+
+        assertThat(request.toXML(), isIdenticalTo(RequestActionFixtures.REQUEST_ACTION_REQUEST).ignoreWhitespace());
+        assertThat(request.getCallId().get(), is(CoreFixtures.CALL_ID));
+        assertThat(request.getAction().get(), is(RequestAction.START_VOICE_DROP));
+    }
+
+    @Test
+    public void willNotGenerateARequestFromATemplateWithoutACallId() {
+
+        final RequestActionRequest.Template template = RequestActionRequest.Template.from(RequestActionRequest.Builder.start()
+                .setId("prototype-id")
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setInterestId(CoreFixtures.INTEREST_ID)
+                .setAction(RequestAction.HOLD_CALL)
+                .setCallId(CallId.from("prototype-call-id").get())
+                .build());
+
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage("The request-action 'callId' has not been set");
+
+        template.newRequest(Fixtures.TO_JID, CoreFixtures.STANZA_ID, null);
+    }
+
+    @Test
+    public void willNotGenerateATemplateFromAPrototypeWithParseErrors() {
+
+        final RequestActionRequest prototype = RequestActionRequest.from(Fixtures.iqFrom(RequestActionFixtures.REQUEST_ACTION_REQUEST_WITH_BAD_VALUES));
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The prototype request has parse errors");
+
+        RequestActionRequest.Template.from(prototype);
+    }
+
     @Test
     public void willParseAnXmppStanza() {
 
@@ -19,6 +19,7 @@ import com.bt.openlink.CoreFixtures;
 import com.bt.openlink.PubSubMessageFixtures;
 import com.bt.openlink.tinder.Fixtures;
 import com.bt.openlink.type.ItemId;
+import com.bt.openlink.type.PubSubItem;
 
 @SuppressWarnings("OptionalGetWithoutIsPresent")
 public class CallStatusMessageTest {
@@ -80,7 +81,7 @@ public class CallStatusMessageTest {
         assertThat(message.getFrom(), is(Fixtures.FROM_JID));
         assertThat(message.getPubSubNodeId().get(), is(PubSubMessageFixtures.NODE_ID));
         assertThat(message.getItemId().get(), is(PubSubMessageFixtures.ITEM_ID));
-        assertThat(EqualsBuilder.reflectionEquals(CoreFixtures.CALL_STATUS, message.getCallStatus().get(), false, null, true), is(true));
+        assertThat(EqualsBuilder.reflectionEquals(CoreFixtures.CALL_STATUS, message.getCallStatus().get(), false, null, true, "hash"), is(true));
         assertThat(message.getParseErrors().size(), is(0));
     }
 
@@ -135,4 +136,47 @@ public class CallStatusMessageTest {
 
         assertThat(message.getParseErrors(), contains("Invalid participant; the legacy timestamp field does not match the start time field", "Invalid participant; the legacy timestamp field does not match the start time field"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void willParseEveryItemInAnEvent() {
+        final Message stanza = Fixtures.messageFrom(PubSubMessageFixtures.CALL_STATUS_MESSAGE_WITH_MULTIPLE_ITEMS);
+
+        final CallStatusMessage message = OpenlinkMessageParser.parse(stanza);
+
+        assertThat(message.getParseErrors().size(), is(0));
+        assertThat(message.getItems().size(), is(2));
+        final PubSubItem firstItem = message.getItems().get(0);
+        assertThat(firstItem.getPubSubNodeId().get(), is(PubSubMessageFixtures.NODE_ID));
+        assertThat(firstItem.getItemId().get(), is(PubSubMessageFixtures.ITEM_ID));
+        assertThat(firstItem.getCallStatus(), is(message.getCallStatus()));
+        final PubSubItem secondItem = message.getItems().get(1);
+        assertThat(secondItem.getPubSubNodeId().get(), is(PubSubMessageFixtures.NODE_ID));
+        assertThat(secondItem.getItemId().get(), is(PubSubMessageFixtures.SECOND_ITEM_ID));
+        assertThat(EqualsBuilder.reflectionEquals(CoreFixtures.DEVICE_STATUS_LOGON, secondItem.getDeviceStatus().get(), false, null, true, "hash"), is(true));
+    }
+
+    @Test
+    public void willBuildAMessageWithMultipleItems() {
+
+        final CallStatusMessage message = CallStatusMessage.Builder.start()
+                .setId(CoreFixtures.STANZA_ID)
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setPubSubNodeId(PubSubMessageFixtures.NODE_ID)
+                .setItemId(PubSubMessageFixtures.ITEM_ID)
+                .setCallStatus(CoreFixtures.CALL_STATUS)
+                .addAdditionalItem(PubSubItem.Builder.start().setItemId(PubSubMessageFixtures.SECOND_ITEM_ID).setDeviceStatus(CoreFixtures.DEVICE_STATUS_LOGON).build())
+                .build();
+
+        assertThat(message.toXML(), isIdenticalTo(PubSubMessageFixtures.CALL_STATUS_MESSAGE_WITH_MULTIPLE_ITEMS).ignoreWhitespace());
+    }
+
+    @Test
+    public void willRoundTripAMessageWithMultipleItems() {
+        final Message stanza = Fixtures.messageFrom(PubSubMessageFixtures.CALL_STATUS_MESSAGE_WITH_MULTIPLE_ITEMS);
+
+        final CallStatusMessage message = OpenlinkMessageParser.parse(stanza);
+
+        assertThat(message.toXML(), isIdenticalTo(PubSubMessageFixtures.CALL_STATUS_MESSAGE_WITH_MULTIPLE_ITEMS).ignoreWhitespace());
+    }
+}
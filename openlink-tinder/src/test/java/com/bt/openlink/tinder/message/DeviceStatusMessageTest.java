@@ -1,6 +1,7 @@
 package com.bt.openlink.tinder.message;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.empty;
 import static org.junit.Assert.assertThat;
 import static org.xmlunit.matchers.CompareMatcher.isIdenticalTo;
 
@@ -17,6 +18,7 @@ import com.bt.openlink.PubSubMessageFixtures;
 import com.bt.openlink.tinder.Fixtures;
 import com.bt.openlink.type.DeviceStatus;
 import com.bt.openlink.type.ItemId;
+import com.bt.openlink.type.PubSubItem;
 
 @SuppressWarnings("OptionalGetWithoutIsPresent")
 public class DeviceStatusMessageTest {
@@ -83,6 +85,38 @@ public class DeviceStatusMessageTest {
         assertThat(message.getPubSubNodeId().get(), is(PubSubMessageFixtures.NODE_ID));
         assertThat(message.getItemId().get(), is(PubSubMessageFixtures.ITEM_ID));
         final DeviceStatus deviceStatus = message.getDeviceStatus().get();
-        assertThat(EqualsBuilder.reflectionEquals(CoreFixtures.DEVICE_STATUS_LOGON, deviceStatus, false, null, true), is(true));
+        assertThat(EqualsBuilder.reflectionEquals(CoreFixtures.DEVICE_STATUS_LOGON, deviceStatus, false, null, true, "hash"), is(true));
+    }
+
+    @Test
+    public void willBuildAMessageWithMultipleItems() {
+
+        final DeviceStatusMessage message = DeviceStatusMessage.Builder.start()
+                .setId(CoreFixtures.STANZA_ID)
+                .setTo(Fixtures.TO_JID)
+                .setFrom(Fixtures.FROM_JID)
+                .setPubSubNodeId(PubSubMessageFixtures.NODE_ID)
+                .setItemId(PubSubMessageFixtures.ITEM_ID)
+                .setDeviceStatus(CoreFixtures.DEVICE_STATUS_LOGON)
+                .addAdditionalItem(PubSubItem.Builder.start().setItemId(PubSubMessageFixtures.SECOND_ITEM_ID).setCallStatus(CoreFixtures.CALL_STATUS).build())
+                .build();
+
+        assertThat(message.toXML(), isIdenticalTo(PubSubMessageFixtures.DEVICE_STATUS_MESSAGE_WITH_MULTIPLE_ITEMS).ignoreWhitespace());
+        assertThat(message.getItems().size(), is(2));
+        assertThat(message.getItems().get(1).getPubSubNodeId().get(), is(PubSubMessageFixtures.NODE_ID));
+        assertThat(message.getItems().get(1).getItemId().get(), is(PubSubMessageFixtures.SECOND_ITEM_ID));
+    }
+
+    @Test
+    public void willRoundTripAMessageWithMultipleItems() {
+        final Message stanza = Fixtures.messageFrom(PubSubMessageFixtures.DEVICE_STATUS_MESSAGE_WITH_MULTIPLE_ITEMS);
+
+        final DeviceStatusMessage message = OpenlinkMessageParser.parse(stanza);
+
+        assertThat(message.getParseErrors(), is(empty()));
+        assertThat(message.getItems().size(), is(2));
+        assertThat(message.getItems().get(0).getDeviceStatus(), is(message.getDeviceStatus()));
+        assertThat(message.getItems().get(1).getPubSubNodeId().get(), is(PubSubMessageFixtures.NODE_ID));
+        assertThat(message.toXML(), isIdenticalTo(PubSubMessageFixtures.DEVICE_STATUS_MESSAGE_WITH_MULTIPLE_ITEMS).ignoreWhitespace());
     }
 }
\ No newline at end of file